@@ -0,0 +1,84 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.interceptor;
+
+import org.springframework.util.Assert;
+
+/**
+ * Settings for delivering invocations of a single-argument async method in
+ * batches to a bulk method on the same target, taking a {@link java.util.List}
+ * of arguments.
+ *
+ * @since 4.3
+ * @see AsyncExecutionInterceptor#getBatchSpec
+ */
+public class AsyncBatchSpec {
+
+	private final String bulkMethodName;
+
+	private final int batchSize;
+
+	private final long batchTimeout;
+
+
+	/**
+	 * Create a new {@code AsyncBatchSpec}.
+	 * @param bulkMethodName the name of the bulk method to deliver invocations to
+	 * @param batchSize the maximum number of invocations per batch
+	 * @param batchTimeout the maximum time (in milliseconds) to buffer an invocation
+	 * before delivering an incomplete batch
+	 */
+	public AsyncBatchSpec(String bulkMethodName, int batchSize, long batchTimeout) {
+		Assert.hasText(bulkMethodName, "Bulk method name must not be empty");
+		Assert.isTrue(batchSize > 0, "Batch size must be greater than 0");
+		Assert.isTrue(batchTimeout >= 0, "Batch timeout must not be negative");
+		this.bulkMethodName = bulkMethodName;
+		this.batchSize = batchSize;
+		this.batchTimeout = batchTimeout;
+	}
+
+
+	/**
+	 * Return the name of the bulk method to deliver invocations to.
+	 */
+	public String getBulkMethodName() {
+		return this.bulkMethodName;
+	}
+
+	/**
+	 * Return the maximum number of invocations per batch.
+	 */
+	public int getBatchSize() {
+		return this.batchSize;
+	}
+
+	/**
+	 * Return the maximum time (in milliseconds) to buffer an invocation
+	 * before delivering an incomplete batch.
+	 */
+	public long getBatchTimeout() {
+		return this.batchTimeout;
+	}
+
+
+	@Override
+	public String toString() {
+		return "AsyncBatchSpec [bulkMethod=" + this.bulkMethodName + ", batchSize=" + this.batchSize +
+				", batchTimeout=" + this.batchTimeout + "ms]";
+	}
+
+}
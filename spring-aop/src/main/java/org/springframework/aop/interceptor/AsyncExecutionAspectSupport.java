@@ -43,6 +43,7 @@ import org.springframework.util.ClassUtils;
 import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureCallback;
 
 /**
  * Base class for asynchronous method execution aspects, such as
@@ -275,6 +276,23 @@ public abstract class AsyncExecutionAspectSupport implements BeanFactoryAware {
 		}
 	}
 
+	/**
+	 * Expose the given future as the declared return type of an async method.
+	 * @param future the future for the async execution result
+	 * @param returnType the declared return type (potentially a {@link Future} variant)
+	 * @return a corresponding {@link Future} handle, or {@code null} for other return types
+	 * @since 4.3
+	 */
+	protected Object adaptFuture(ListenableFuture<Object> future, Class<?> returnType) {
+		if (completableFuturePresent) {
+			Future<Object> result = CompletableFutureDelegate.adaptListenableFuture(returnType, future);
+			if (result != null) {
+				return result;
+			}
+		}
+		return (Future.class.isAssignableFrom(returnType) ? future : null);
+	}
+
 	/**
 	 * Handles a fatal error thrown while asynchronously invoking the specified
 	 * {@link Method}.
@@ -326,6 +344,24 @@ public abstract class AsyncExecutionAspectSupport implements BeanFactoryAware {
 				}
 			}, executor);
 		}
+
+		public static <T> Future<T> adaptListenableFuture(Class<?> returnType, ListenableFuture<T> future) {
+			if (!CompletableFuture.class.isAssignableFrom(returnType)) {
+				return null;
+			}
+			final CompletableFuture<T> completableFuture = new CompletableFuture<T>();
+			future.addCallback(new ListenableFutureCallback<T>() {
+				@Override
+				public void onSuccess(T result) {
+					completableFuture.complete(result);
+				}
+				@Override
+				public void onFailure(Throwable ex) {
+					completableFuture.completeExceptionally(ex);
+				}
+			});
+			return completableFuture;
+		}
 	}
 
 }
@@ -17,7 +17,9 @@
 package org.springframework.aop.interceptor;
 
 import java.lang.reflect.Method;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
@@ -32,6 +34,7 @@ import org.springframework.core.Ordered;
 import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.concurrent.ListenableFuture;
 
 /**
  * AOP Alliance {@code MethodInterceptor} that processes method invocations
@@ -53,6 +56,10 @@ import org.springframework.util.ClassUtils;
  * return type however, such exceptions cannot be transmitted back. In that case an
  * {@link AsyncUncaughtExceptionHandler} can be registered to process such exceptions.
  *
+ * <p>Invocations of single-argument methods may also be buffered and delivered in
+ * batches to a bulk method taking a {@code List} of arguments, according to the
+ * {@link AsyncBatchSpec} returned from {@link #getBatchSpec} for the method.
+ *
  * <p>As of Spring 3.1.2 the {@code AnnotationAsyncExecutionInterceptor} subclass is
  * preferred for use due to its support for executor qualification in conjunction with
  * Spring's {@code @Async} annotation.
@@ -67,6 +74,14 @@ import org.springframework.util.ClassUtils;
  */
 public class AsyncExecutionInterceptor extends AsyncExecutionAspectSupport implements MethodInterceptor, Ordered {
 
+	private static final Object NO_BATCHING = new Object();
+
+
+	private final Map<Method, Object> batchSpecCache = new ConcurrentHashMap<Method, Object>(16);
+
+	private final AsyncInvocationBatcher batcher = new AsyncInvocationBatcher(this);
+
+
 	/**
 	 * Create a new instance with a default {@link AsyncUncaughtExceptionHandler}.
 	 * @param defaultExecutor the {@link Executor} (typically a Spring {@link AsyncTaskExecutor}
@@ -108,6 +123,11 @@ public class AsyncExecutionInterceptor extends AsyncExecutionAspectSupport imple
 					"No executor specified and no default executor set on AsyncExecutionInterceptor either");
 		}
 
+		AsyncBatchSpec batchSpec = determineBatchSpec(userDeclaredMethod);
+		if (batchSpec != null) {
+			return doSubmitBatched(invocation, userDeclaredMethod, batchSpec, executor);
+		}
+
 		Callable<Object> task = new Callable<Object>() {
 			@Override
 			public Object call() throws Exception {
@@ -130,6 +150,43 @@ public class AsyncExecutionInterceptor extends AsyncExecutionAspectSupport imple
 		return doSubmit(task, executor, invocation.getMethod().getReturnType());
 	}
 
+	private Object doSubmitBatched(MethodInvocation invocation, Method method, AsyncBatchSpec batchSpec,
+			AsyncTaskExecutor executor) {
+
+		Object[] args = invocation.getArguments();
+		if (args.length != 1) {
+			throw new IllegalStateException("Batched async method must declare a single parameter: " + method);
+		}
+		if (invocation.getThis() == null) {
+			throw new IllegalStateException("No target object to batch invocations for: " + method);
+		}
+		ListenableFuture<Object> future = this.batcher.submit(invocation.getThis(), method, args[0], batchSpec, executor);
+		return adaptFuture(future, invocation.getMethod().getReturnType());
+	}
+
+	private AsyncBatchSpec determineBatchSpec(Method method) {
+		Object cached = this.batchSpecCache.get(method);
+		if (cached == null) {
+			AsyncBatchSpec batchSpec = getBatchSpec(method);
+			cached = (batchSpec != null ? batchSpec : NO_BATCHING);
+			this.batchSpecCache.put(method, cached);
+		}
+		return (cached != NO_BATCHING ? (AsyncBatchSpec) cached : null);
+	}
+
+	/**
+	 * Return the settings for delivering invocations of the given method in batches
+	 * to a bulk method, if applicable. The result will be cached for further use.
+	 * <p>This implementation returns {@code null}, i.e. no batching. Subclasses may
+	 * override to provide batch settings, e.g. via an annotation on the given method.
+	 * @param method the user-declared async method
+	 * @return the batch settings, or {@code null} to execute every invocation individually
+	 * @since 4.3
+	 */
+	protected AsyncBatchSpec getBatchSpec(Method method) {
+		return null;
+	}
+
 	/**
 	 * This implementation is a no-op for compatibility in Spring 3.1.2.
 	 * Subclasses may override to provide support for extracting qualifier information,
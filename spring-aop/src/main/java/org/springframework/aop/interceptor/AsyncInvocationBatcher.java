@@ -0,0 +1,304 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.interceptor;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.concurrent.SettableListenableFuture;
+
+/**
+ * Buffers invocations of single-argument async methods per target object and
+ * delivers them in batches to a bulk method, as specified by an {@link AsyncBatchSpec}.
+ *
+ * <p>Each batch is collected by a task running on the method's executor: the task
+ * waits until the batch is full or the batch timeout has elapsed since the first
+ * invocation, closes the batch and invokes the bulk method with its arguments.
+ * Further invocations go to a new batch from then on.
+ *
+ * @since 4.3
+ * @see AsyncExecutionInterceptor
+ */
+class AsyncInvocationBatcher {
+
+	private final AsyncExecutionInterceptor interceptor;
+
+	private final ConcurrentMap<TargetKey, Batch> batches = new ConcurrentHashMap<TargetKey, Batch>(16);
+
+	private final ConcurrentMap<TargetKey, Method> bulkMethods = new ConcurrentHashMap<TargetKey, Method>(16);
+
+
+	public AsyncInvocationBatcher(AsyncExecutionInterceptor interceptor) {
+		this.interceptor = interceptor;
+	}
+
+
+	/**
+	 * Add an invocation of the given method to the current batch for the target.
+	 * @param target the target object
+	 * @param method the user-declared async method
+	 * @param argument the single argument of the invocation
+	 * @param spec the batch settings for the method
+	 * @param executor the executor to collect and deliver the batch on
+	 * @return a future completed with the invocation's share of the bulk result
+	 */
+	public SettableListenableFuture<Object> submit(Object target, Method method, Object argument,
+			AsyncBatchSpec spec, Executor executor) {
+
+		Method bulkMethod = getBulkMethod(target.getClass(), method, spec.getBulkMethodName());
+		TargetKey key = new TargetKey(target, method);
+		SettableListenableFuture<Object> future = new SettableListenableFuture<Object>();
+		while (true) {
+			Batch batch = this.batches.get(key);
+			boolean created = false;
+			if (batch == null) {
+				Batch newBatch = new Batch(key, spec.getBatchSize());
+				batch = this.batches.putIfAbsent(key, newBatch);
+				if (batch == null) {
+					batch = newBatch;
+					created = true;
+				}
+			}
+			synchronized (batch) {
+				if (batch.closed) {
+					// Delivery already started: retry with a new batch
+					continue;
+				}
+				batch.arguments.add(argument);
+				batch.futures.add(future);
+				if (batch.arguments.size() >= spec.getBatchSize()) {
+					close(batch);
+				}
+			}
+			if (created) {
+				BatchDelivery delivery = new BatchDelivery(batch, method, bulkMethod, spec.getBatchTimeout());
+				try {
+					executor.execute(delivery);
+				}
+				catch (RuntimeException ex) {
+					synchronized (batch) {
+						close(batch);
+					}
+					delivery.fail(ex);
+					throw ex;
+				}
+			}
+			return future;
+		}
+	}
+
+	private Method getBulkMethod(Class<?> targetClass, Method method, String bulkMethodName) {
+		TargetKey key = new TargetKey(targetClass, method);
+		Method bulkMethod = this.bulkMethods.get(key);
+		if (bulkMethod == null) {
+			bulkMethod = findBulkMethod(targetClass, bulkMethodName);
+			if (bulkMethod == null) {
+				throw new IllegalStateException("No bulk method '" + bulkMethodName + "' with a single List " +
+						"parameter found on " + targetClass.getName() + " for batched async method " + method);
+			}
+			ReflectionUtils.makeAccessible(bulkMethod);
+			this.bulkMethods.put(key, bulkMethod);
+		}
+		return bulkMethod;
+	}
+
+	private Method findBulkMethod(Class<?> targetClass, String bulkMethodName) {
+		Class<?> searchType = targetClass;
+		while (searchType != null && searchType != Object.class) {
+			for (Method candidate : searchType.getDeclaredMethods()) {
+				if (candidate.getName().equals(bulkMethodName) && !candidate.isBridge() &&
+						candidate.getParameterTypes().length == 1 &&
+						candidate.getParameterTypes()[0].isAssignableFrom(List.class)) {
+					return candidate;
+				}
+			}
+			searchType = searchType.getSuperclass();
+		}
+		return null;
+	}
+
+	/**
+	 * Close the given batch for further invocations, waking up its delivery task.
+	 * To be called while holding the batch's monitor.
+	 */
+	private void close(Batch batch) {
+		if (!batch.closed) {
+			batch.closed = true;
+			this.batches.remove(batch.key, batch);
+			batch.notifyAll();
+		}
+	}
+
+
+	/**
+	 * Identity-based key for a target object (or class) and method.
+	 */
+	private static final class TargetKey {
+
+		private final Object target;
+
+		private final Method method;
+
+		public TargetKey(Object target, Method method) {
+			this.target = target;
+			this.method = method;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof TargetKey)) {
+				return false;
+			}
+			TargetKey otherKey = (TargetKey) other;
+			return (this.target == otherKey.target && this.method.equals(otherKey.method));
+		}
+
+		@Override
+		public int hashCode() {
+			return (System.identityHashCode(this.target) * 31 + this.method.hashCode());
+		}
+	}
+
+
+	/**
+	 * The invocations buffered for a target object and method.
+	 */
+	private static class Batch {
+
+		private final TargetKey key;
+
+		private final long startTime = System.nanoTime();
+
+		private final List<Object> arguments;
+
+		private final List<SettableListenableFuture<Object>> futures;
+
+		private boolean closed;
+
+		public Batch(TargetKey key, int batchSize) {
+			this.key = key;
+			this.arguments = new ArrayList<Object>(batchSize);
+			this.futures = new ArrayList<SettableListenableFuture<Object>>(batchSize);
+		}
+	}
+
+
+	/**
+	 * Task waiting for a batch to fill up or time out, then invoking the bulk method.
+	 */
+	private class BatchDelivery implements Runnable {
+
+		private final Batch batch;
+
+		private final Method method;
+
+		private final Method bulkMethod;
+
+		private final long batchTimeout;
+
+		public BatchDelivery(Batch batch, Method method, Method bulkMethod, long batchTimeout) {
+			this.batch = batch;
+			this.method = method;
+			this.bulkMethod = bulkMethod;
+			this.batchTimeout = batchTimeout;
+		}
+
+		@Override
+		public void run() {
+			synchronized (this.batch) {
+				long deadline = this.batch.startTime + TimeUnit.MILLISECONDS.toNanos(this.batchTimeout);
+				long remaining;
+				while (!this.batch.closed && (remaining = deadline - System.nanoTime()) > 0) {
+					try {
+						TimeUnit.NANOSECONDS.timedWait(this.batch, remaining);
+					}
+					catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+						break;
+					}
+				}
+				close(this.batch);
+			}
+			deliver();
+		}
+
+		private void deliver() {
+			List<Object> arguments = this.batch.arguments;
+			List<SettableListenableFuture<Object>> futures = this.batch.futures;
+			try {
+				Object result = this.bulkMethod.invoke(this.batch.key.target, arguments);
+				if (result instanceof Future) {
+					result = ((Future<?>) result).get();
+				}
+				if (result instanceof List) {
+					List<?> results = (List<?>) result;
+					if (results.size() != arguments.size()) {
+						throw new IllegalStateException("Bulk method " + this.bulkMethod + " returned " +
+								results.size() + " results for " + arguments.size() + " arguments");
+					}
+					for (int i = 0; i < futures.size(); i++) {
+						futures.get(i).set(results.get(i));
+					}
+				}
+				else {
+					for (SettableListenableFuture<Object> future : futures) {
+						future.set(null);
+					}
+				}
+			}
+			catch (InvocationTargetException ex) {
+				fail(ex.getTargetException());
+			}
+			catch (ExecutionException ex) {
+				fail(ex.getCause());
+			}
+			catch (Throwable ex) {
+				fail(ex);
+			}
+		}
+
+		public void fail(Throwable ex) {
+			for (SettableListenableFuture<Object> future : this.batch.futures) {
+				future.setException(ex);
+			}
+			if (!Future.class.isAssignableFrom(this.method.getReturnType())) {
+				// No caller to transmit the exception to: handle it for each batched invocation
+				for (Object argument : this.batch.arguments) {
+					try {
+						interceptor.handleError(ex, this.method, new Object[] {argument});
+					}
+					catch (Throwable ex2) {
+						interceptor.logger.error("Failed to handle exception from bulk method " + this.bulkMethod, ex2);
+					}
+				}
+			}
+		}
+	}
+
+}
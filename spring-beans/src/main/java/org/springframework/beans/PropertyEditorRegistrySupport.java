@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@
 package org.springframework.beans;
 
 import java.beans.PropertyEditor;
+import java.beans.PropertyEditorSupport;
 import java.io.File;
 import java.io.InputStream;
 import java.io.Reader;
@@ -72,6 +73,8 @@ import org.springframework.core.convert.ConversionService;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.ResourceArrayPropertyEditor;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.NumberUtils;
+import org.springframework.util.StringUtils;
 
 /**
  * Base implementation of the {@link PropertyEditorRegistry} interface.
@@ -87,6 +90,9 @@ import org.springframework.util.ClassUtils;
  */
 public class PropertyEditorRegistrySupport implements PropertyEditorRegistry {
 
+	/** Marker for types that have been checked to not have a default editor */
+	private static final PropertyEditor NO_DEFAULT_EDITOR = new PropertyEditorSupport();
+
 	private static Class<?> zoneIdClass;
 
 	static {
@@ -108,6 +114,8 @@ public class PropertyEditorRegistrySupport implements PropertyEditorRegistry {
 
 	private Map<Class<?>, PropertyEditor> defaultEditors;
 
+	private boolean defaultEditorsShared = false;
+
 	private Map<Class<?>, PropertyEditor> overriddenDefaultEditors;
 
 	private Map<Class<?>, PropertyEditor> customEditors;
@@ -116,6 +124,8 @@ public class PropertyEditorRegistrySupport implements PropertyEditorRegistry {
 
 	private Map<Class<?>, PropertyEditor> customEditorCache;
 
+	private List<PropertyEditorRegistrar> pendingRegistrars;
+
 
 	/**
 	 * Specify a Spring 3.0 ConversionService to use for converting
@@ -154,6 +164,8 @@ public class PropertyEditorRegistrySupport implements PropertyEditorRegistry {
 	 */
 	public void useConfigValueEditors() {
 		this.configValueEditorsActive = true;
+		// Config value types might have been checked without those editors before...
+		this.defaultEditors = null;
 	}
 
 	/**
@@ -166,6 +178,7 @@ public class PropertyEditorRegistrySupport implements PropertyEditorRegistry {
 	 * @see #registerCustomEditor(Class, PropertyEditor)
 	 */
 	public void overrideDefaultEditor(Class<?> requiredType, PropertyEditor propertyEditor) {
+		applyPendingRegistrars();
 		if (this.overriddenDefaultEditors == null) {
 			this.overriddenDefaultEditors = new HashMap<Class<?>, PropertyEditor>();
 		}
@@ -174,7 +187,8 @@ public class PropertyEditorRegistrySupport implements PropertyEditorRegistry {
 
 	/**
 	 * Retrieve the default editor for the given property type, if any.
-	 * <p>Lazily registers the default editors, if they are active.
+	 * <p>Lazily registers the default editor for the given type, if the
+	 * default editors are active.
 	 * @param requiredType type of the property
 	 * @return the default editor, or {@code null} if none found
 	 * @see #registerDefaultEditors
@@ -183,91 +197,186 @@ public class PropertyEditorRegistrySupport implements PropertyEditorRegistry {
 		if (!this.defaultEditorsActive) {
 			return null;
 		}
+		applyPendingRegistrars();
 		if (this.overriddenDefaultEditors != null) {
 			PropertyEditor editor = this.overriddenDefaultEditors.get(requiredType);
 			if (editor != null) {
 				return editor;
 			}
 		}
-		if (this.defaultEditors == null) {
-			createDefaultEditors();
+		PropertyEditor editor = (this.defaultEditors != null ? this.defaultEditors.get(requiredType) : null);
+		if (editor == null && requiredType != null) {
+			editor = createDefaultEditor(requiredType);
+			if (this.defaultEditors == null) {
+				this.defaultEditors = new HashMap<Class<?>, PropertyEditor>(8);
+			}
+			else if (this.defaultEditorsShared) {
+				// Copy on write: the map is shared with nested registries
+				this.defaultEditors = new HashMap<Class<?>, PropertyEditor>(this.defaultEditors);
+				this.defaultEditorsShared = false;
+			}
+			this.defaultEditors.put(requiredType, (editor != null ? editor : NO_DEFAULT_EDITOR));
 		}
-		return this.defaultEditors.get(requiredType);
+		return (editor != NO_DEFAULT_EDITOR ? editor : null);
 	}
 
 	/**
-	 * Actually register the default editors for this registry instance.
+	 * Actually create the default editor for the given type, if any.
+	 * <p>Default editors are created one type at a time, since most registry
+	 * instances only ever need a few of them.
 	 */
-	private void createDefaultEditors() {
-		this.defaultEditors = new HashMap<Class<?>, PropertyEditor>(64);
-
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private PropertyEditor createDefaultEditor(Class<?> requiredType) {
 		// Simple editors, without parameterization capabilities.
 		// The JDK does not contain a default editor for any of these target types.
-		this.defaultEditors.put(Charset.class, new CharsetEditor());
-		this.defaultEditors.put(Class.class, new ClassEditor());
-		this.defaultEditors.put(Class[].class, new ClassArrayEditor());
-		this.defaultEditors.put(Currency.class, new CurrencyEditor());
-		this.defaultEditors.put(File.class, new FileEditor());
-		this.defaultEditors.put(InputStream.class, new InputStreamEditor());
-		this.defaultEditors.put(InputSource.class, new InputSourceEditor());
-		this.defaultEditors.put(Locale.class, new LocaleEditor());
-		this.defaultEditors.put(Pattern.class, new PatternEditor());
-		this.defaultEditors.put(Properties.class, new PropertiesEditor());
-		this.defaultEditors.put(Reader.class, new ReaderEditor());
-		this.defaultEditors.put(Resource[].class, new ResourceArrayPropertyEditor());
-		this.defaultEditors.put(TimeZone.class, new TimeZoneEditor());
-		this.defaultEditors.put(URI.class, new URIEditor());
-		this.defaultEditors.put(URL.class, new URLEditor());
-		this.defaultEditors.put(UUID.class, new UUIDEditor());
-		if (zoneIdClass != null) {
-			this.defaultEditors.put(zoneIdClass, new ZoneIdEditor());
+		if (Charset.class == requiredType) {
+			return new CharsetEditor();
+		}
+		if (Class.class == requiredType) {
+			return new ClassEditor();
+		}
+		if (Class[].class == requiredType) {
+			return new ClassArrayEditor();
+		}
+		if (Currency.class == requiredType) {
+			return new CurrencyEditor();
+		}
+		if (File.class == requiredType) {
+			return new FileEditor();
+		}
+		if (InputStream.class == requiredType) {
+			return new InputStreamEditor();
+		}
+		if (InputSource.class == requiredType) {
+			return new InputSourceEditor();
+		}
+		if (Locale.class == requiredType) {
+			return new LocaleEditor();
+		}
+		if (Pattern.class == requiredType) {
+			return new PatternEditor();
+		}
+		if (Properties.class == requiredType) {
+			return new PropertiesEditor();
+		}
+		if (Reader.class == requiredType) {
+			return new ReaderEditor();
+		}
+		if (Resource[].class == requiredType) {
+			return new ResourceArrayPropertyEditor();
+		}
+		if (TimeZone.class == requiredType) {
+			return new TimeZoneEditor();
+		}
+		if (URI.class == requiredType) {
+			return new URIEditor();
+		}
+		if (URL.class == requiredType) {
+			return new URLEditor();
+		}
+		if (UUID.class == requiredType) {
+			return new UUIDEditor();
+		}
+		if (zoneIdClass != null && zoneIdClass == requiredType) {
+			return new ZoneIdEditor();
 		}
 
 		// Default instances of collection editors.
 		// Can be overridden by registering custom instances of those as custom editors.
-		this.defaultEditors.put(Collection.class, new CustomCollectionEditor(Collection.class));
-		this.defaultEditors.put(Set.class, new CustomCollectionEditor(Set.class));
-		this.defaultEditors.put(SortedSet.class, new CustomCollectionEditor(SortedSet.class));
-		this.defaultEditors.put(List.class, new CustomCollectionEditor(List.class));
-		this.defaultEditors.put(SortedMap.class, new CustomMapEditor(SortedMap.class));
+		if (Collection.class == requiredType || Set.class == requiredType ||
+				SortedSet.class == requiredType || List.class == requiredType) {
+			return new CustomCollectionEditor((Class<? extends Collection>) requiredType);
+		}
+		if (SortedMap.class == requiredType) {
+			return new CustomMapEditor(SortedMap.class);
+		}
 
 		// Default editors for primitive arrays.
-		this.defaultEditors.put(byte[].class, new ByteArrayPropertyEditor());
-		this.defaultEditors.put(char[].class, new CharArrayPropertyEditor());
+		if (byte[].class == requiredType) {
+			return new ByteArrayPropertyEditor();
+		}
+		if (char[].class == requiredType) {
+			return new CharArrayPropertyEditor();
+		}
 
 		// The JDK does not contain a default editor for char!
-		this.defaultEditors.put(char.class, new CharacterEditor(false));
-		this.defaultEditors.put(Character.class, new CharacterEditor(true));
+		if (char.class == requiredType || Character.class == requiredType) {
+			return new CharacterEditor(Character.class == requiredType);
+		}
 
 		// Spring's CustomBooleanEditor accepts more flag values than the JDK's default editor.
-		this.defaultEditors.put(boolean.class, new CustomBooleanEditor(false));
-		this.defaultEditors.put(Boolean.class, new CustomBooleanEditor(true));
+		if (boolean.class == requiredType || Boolean.class == requiredType) {
+			return new CustomBooleanEditor(Boolean.class == requiredType);
+		}
 
 		// The JDK does not contain default editors for number wrapper types!
 		// Override JDK primitive number editors with our own CustomNumberEditor.
-		this.defaultEditors.put(byte.class, new CustomNumberEditor(Byte.class, false));
-		this.defaultEditors.put(Byte.class, new CustomNumberEditor(Byte.class, true));
-		this.defaultEditors.put(short.class, new CustomNumberEditor(Short.class, false));
-		this.defaultEditors.put(Short.class, new CustomNumberEditor(Short.class, true));
-		this.defaultEditors.put(int.class, new CustomNumberEditor(Integer.class, false));
-		this.defaultEditors.put(Integer.class, new CustomNumberEditor(Integer.class, true));
-		this.defaultEditors.put(long.class, new CustomNumberEditor(Long.class, false));
-		this.defaultEditors.put(Long.class, new CustomNumberEditor(Long.class, true));
-		this.defaultEditors.put(float.class, new CustomNumberEditor(Float.class, false));
-		this.defaultEditors.put(Float.class, new CustomNumberEditor(Float.class, true));
-		this.defaultEditors.put(double.class, new CustomNumberEditor(Double.class, false));
-		this.defaultEditors.put(Double.class, new CustomNumberEditor(Double.class, true));
-		this.defaultEditors.put(BigDecimal.class, new CustomNumberEditor(BigDecimal.class, true));
-		this.defaultEditors.put(BigInteger.class, new CustomNumberEditor(BigInteger.class, true));
+		Class<? extends Number> numberType = getNumberType(requiredType);
+		if (numberType != null) {
+			return new CustomNumberEditor(numberType, !requiredType.isPrimitive());
+		}
 
 		// Only register config value editors if explicitly requested.
-		if (this.configValueEditorsActive) {
-			StringArrayPropertyEditor sae = new StringArrayPropertyEditor();
-			this.defaultEditors.put(String[].class, sae);
-			this.defaultEditors.put(short[].class, sae);
-			this.defaultEditors.put(int[].class, sae);
-			this.defaultEditors.put(long[].class, sae);
+		if (this.configValueEditorsActive && (String[].class == requiredType ||
+				short[].class == requiredType || int[].class == requiredType || long[].class == requiredType)) {
+			return new StringArrayPropertyEditor();
 		}
+
+		return null;
+	}
+
+	/**
+	 * Determine whether text values for the given type may be converted
+	 * through {@link #convertDefaultNumber} instead of a default editor
+	 * instance, i.e. whether it is a number type whose default
+	 * {@link CustomNumberEditor} has not been overridden.
+	 * @param requiredType type of the property
+	 */
+	boolean hasDefaultNumberConversion(Class<?> requiredType) {
+		if (!this.defaultEditorsActive || getNumberType(requiredType) == null) {
+			return false;
+		}
+		applyPendingRegistrars();
+		return (this.overriddenDefaultEditors == null || !this.overriddenDefaultEditors.containsKey(requiredType));
+	}
+
+	/**
+	 * Convert the given text to the given number type, the same way that
+	 * the default {@link CustomNumberEditor} for that type would.
+	 * @param text the text to convert
+	 * @param requiredType a type that {@link #hasDefaultNumberConversion} applies to
+	 * @return the converted number, or {@code null} for an empty wrapper value
+	 * @throws IllegalArgumentException if the text cannot be parsed
+	 */
+	static Number convertDefaultNumber(String text, Class<?> requiredType) {
+		if (!requiredType.isPrimitive() && !StringUtils.hasText(text)) {
+			// Treat empty String as null value.
+			return null;
+		}
+		return NumberUtils.parseNumber(text, getNumberType(requiredType));
+	}
+
+	/**
+	 * Return the number class that a default {@link CustomNumberEditor}
+	 * would parse values of the given type into, if any.
+	 */
+	@SuppressWarnings("unchecked")
+	private static Class<? extends Number> getNumberType(Class<?> requiredType) {
+		if (requiredType == null) {
+			return null;
+		}
+		if (requiredType.isPrimitive()) {
+			if (boolean.class == requiredType || char.class == requiredType || void.class == requiredType) {
+				return null;
+			}
+			return (Class<? extends Number>) ClassUtils.resolvePrimitiveIfNecessary(requiredType);
+		}
+		if (Byte.class == requiredType || Short.class == requiredType || Integer.class == requiredType ||
+				Long.class == requiredType || Float.class == requiredType || Double.class == requiredType ||
+				BigDecimal.class == requiredType || BigInteger.class == requiredType) {
+			return (Class<? extends Number>) requiredType;
+		}
+		return null;
 	}
 
 	/**
@@ -275,9 +384,12 @@ public class PropertyEditorRegistrySupport implements PropertyEditorRegistry {
 	 * @param target the target registry to copy to
 	 */
 	protected void copyDefaultEditorsTo(PropertyEditorRegistrySupport target) {
+		applyPendingRegistrars();
 		target.defaultEditorsActive = this.defaultEditorsActive;
 		target.configValueEditorsActive = this.configValueEditorsActive;
+		// Share until either registry lazily adds a further default editor
 		target.defaultEditors = this.defaultEditors;
+		target.defaultEditorsShared = this.defaultEditorsShared = (this.defaultEditors != null);
 		target.overriddenDefaultEditors = this.overriddenDefaultEditors;
 	}
 
@@ -286,6 +398,37 @@ public class PropertyEditorRegistrySupport implements PropertyEditorRegistry {
 	// Management of custom editors
 	//---------------------------------------------------------------------
 
+	/**
+	 * Add a registrar whose editors will be registered with this instance
+	 * right before any of its editors are accessed for the first time.
+	 * <p>This avoids creating editor instances for registry instances that
+	 * never need to convert any values, which is common for BeanWrappers
+	 * created by a bean factory. Custom editors registered later on will
+	 * still take precedence over the editors of the given registrar.
+	 * @param registrar the registrar to apply lazily
+	 * @since 4.3
+	 */
+	public void addPropertyEditorRegistrar(PropertyEditorRegistrar registrar) {
+		if (this.pendingRegistrars == null) {
+			this.pendingRegistrars = new LinkedList<PropertyEditorRegistrar>();
+		}
+		this.pendingRegistrars.add(registrar);
+	}
+
+	/**
+	 * Apply the registrars added through {@link #addPropertyEditorRegistrar}
+	 * that have not been applied yet.
+	 */
+	private void applyPendingRegistrars() {
+		if (this.pendingRegistrars != null) {
+			List<PropertyEditorRegistrar> registrars = this.pendingRegistrars;
+			this.pendingRegistrars = null;
+			for (PropertyEditorRegistrar registrar : registrars) {
+				registrar.registerCustomEditors(this);
+			}
+		}
+	}
+
 	@Override
 	public void registerCustomEditor(Class<?> requiredType, PropertyEditor propertyEditor) {
 		registerCustomEditor(requiredType, null, propertyEditor);
@@ -296,6 +439,7 @@ public class PropertyEditorRegistrySupport implements PropertyEditorRegistry {
 		if (requiredType == null && propertyPath == null) {
 			throw new IllegalArgumentException("Either requiredType or propertyPath is required");
 		}
+		applyPendingRegistrars();
 		if (propertyPath != null) {
 			if (this.customEditorsForPath == null) {
 				this.customEditorsForPath = new LinkedHashMap<String, CustomEditorHolder>(16);
@@ -313,6 +457,7 @@ public class PropertyEditorRegistrySupport implements PropertyEditorRegistry {
 
 	@Override
 	public PropertyEditor findCustomEditor(Class<?> requiredType, String propertyPath) {
+		applyPendingRegistrars();
 		Class<?> requiredTypeToUse = requiredType;
 		if (propertyPath != null) {
 			if (this.customEditorsForPath != null) {
@@ -348,6 +493,7 @@ public class PropertyEditorRegistrySupport implements PropertyEditorRegistry {
 	 * @return whether a matching custom editor has been found
 	 */
 	public boolean hasCustomEditorForElement(Class<?> elementType, String propertyPath) {
+		applyPendingRegistrars();
 		if (propertyPath != null && this.customEditorsForPath != null) {
 			for (Map.Entry<String, CustomEditorHolder> entry : this.customEditorsForPath.entrySet()) {
 				if (PropertyAccessorUtils.matchesProperty(entry.getKey(), propertyPath)) {
@@ -432,6 +578,7 @@ public class PropertyEditorRegistrySupport implements PropertyEditorRegistry {
 	 * @return the property type, or {@code null} if not determinable
 	 */
 	protected Class<?> guessPropertyTypeFromEditors(String propertyName) {
+		applyPendingRegistrars();
 		if (this.customEditorsForPath != null) {
 			CustomEditorHolder editorHolder = this.customEditorsForPath.get(propertyName);
 			if (editorHolder == null) {
@@ -457,6 +604,7 @@ public class PropertyEditorRegistrySupport implements PropertyEditorRegistry {
 	 * will be copied. If this is null, all editors will be copied.
 	 */
 	protected void copyCustomEditorsTo(PropertyEditorRegistry target, String nestedProperty) {
+		applyPendingRegistrars();
 		String actualPropertyName =
 				(nestedProperty != null ? PropertyAccessorUtils.getPropertyName(nestedProperty) : null);
 		if (this.customEditors != null) {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -189,10 +189,17 @@ class TypeConverterDelegate {
 					convertedValue = StringUtils.commaDelimitedListToStringArray((String) convertedValue);
 				}
 			}
-			if (editor == null) {
-				editor = findDefaultEditor(requiredType);
+			if (editor == null && convertedValue instanceof String &&
+					this.propertyEditorRegistry.hasDefaultNumberConversion(requiredType)) {
+				// Same result as the default CustomNumberEditor, without needing an editor instance.
+				convertedValue = PropertyEditorRegistrySupport.convertDefaultNumber((String) convertedValue, requiredType);
+			}
+			else {
+				if (editor == null) {
+					editor = findDefaultEditor(requiredType);
+				}
+				convertedValue = doConvertValue(oldValue, convertedValue, requiredType, editor);
 			}
-			convertedValue = doConvertValue(oldValue, convertedValue, requiredType, editor);
 		}
 
 		boolean standardConversion = false;
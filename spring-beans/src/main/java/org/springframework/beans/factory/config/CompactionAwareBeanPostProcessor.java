@@ -0,0 +1,45 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.config;
+
+/**
+ * Subinterface of {@link BeanPostProcessor} that adds a callback for releasing
+ * per-bean metadata once a bean factory compacts its metadata, typically after
+ * all non-lazy singletons have been created.
+ *
+ * <p>The typical usage is to evict cached introspection results, such as
+ * injection metadata, which will not be needed anymore for a singleton bean
+ * that has been fully initialized already. Implementations must be able to
+ * transparently rebuild any released metadata in case it is requested again.
+ * The callback is only invoked along with the release of the creation metadata
+ * in the bean's merged bean definition, so metadata derived from it may be dropped.
+ *
+ * @since 4.3
+ * @see org.springframework.beans.factory.support.AbstractBeanFactory#compactMetadata()
+ */
+public interface CompactionAwareBeanPostProcessor extends BeanPostProcessor {
+
+	/**
+	 * Release any metadata that this post-processor holds for the given
+	 * singleton bean, which has been fully initialized at this point.
+	 * @param beanName the name of the bean
+	 * @param beanType the target type of the bean (not a proxy class)
+	 * @return the number of metadata entries released
+	 */
+	int releaseMetadata(String beanName, Class<?> beanType);
+
+}
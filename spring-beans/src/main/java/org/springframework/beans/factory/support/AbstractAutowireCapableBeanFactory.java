@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -653,6 +653,15 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 			return preResolved;
 		}
 
+		Method factoryMethodToIntrospect = mbd.factoryMethodToIntrospect;
+		if (factoryMethodToIntrospect != null && mbd.isFactoryMethodUnique &&
+				factoryMethodToIntrospect.getTypeParameters().length == 0) {
+			// Factory method specified in advance with a non-generic signature.
+			Class<?> returnType = factoryMethodToIntrospect.getReturnType();
+			mbd.resolvedFactoryMethodReturnType = returnType;
+			return returnType;
+		}
+
 		Class<?> factoryClass;
 		boolean isStatic = true;
 
@@ -1732,6 +1741,19 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 		this.factoryBeanInstanceCache.remove(beanName);
 	}
 
+	/**
+	 * Overridden to release the filtered property descriptors for the bean type as well,
+	 * unless other beans of the same type may still need them.
+	 */
+	@Override
+	protected int releaseMetadata(String beanName, Class<?> beanType) {
+		int released = super.releaseMetadata(beanName, beanType);
+		if (!isTypeMetadataInUse(beanType) && this.filteredPropertyDescriptorsCache.remove(beanType) != null) {
+			released++;
+		}
+		return released;
+	}
+
 
 	/**
 	 * Special DependencyDescriptor variant for Spring's good old autowire="byType" mode.
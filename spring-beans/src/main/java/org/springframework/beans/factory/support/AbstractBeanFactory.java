@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@
 package org.springframework.beans.factory.support;
 
 import java.beans.PropertyEditor;
+import java.lang.reflect.Method;
 import java.security.AccessControlContext;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
@@ -63,6 +64,7 @@ import org.springframework.beans.factory.config.BeanDefinitionHolder;
 import org.springframework.beans.factory.config.BeanExpressionContext;
 import org.springframework.beans.factory.config.BeanExpressionResolver;
 import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.CompactionAwareBeanPostProcessor;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
 import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
@@ -1124,7 +1126,26 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
 				(registry instanceof PropertyEditorRegistrySupport ? (PropertyEditorRegistrySupport) registry : null);
 		if (registrySupport != null) {
 			registrySupport.useConfigValueEditors();
+			if (!this.propertyEditorRegistrars.isEmpty() || !this.customEditors.isEmpty()) {
+				// Only create the editors once the registry actually needs to convert a value.
+				registrySupport.addPropertyEditorRegistrar(new PropertyEditorRegistrar() {
+					@Override
+					public void registerCustomEditors(PropertyEditorRegistry registry) {
+						doRegisterCustomEditors(registry);
+					}
+				});
+			}
 		}
+		else {
+			doRegisterCustomEditors(registry);
+		}
+	}
+
+	/**
+	 * Actually register this BeanFactory's custom editors with the given registry.
+	 * @param registry the PropertyEditorRegistry to initialize
+	 */
+	private void doRegisterCustomEditors(PropertyEditorRegistry registry) {
 		if (!this.propertyEditorRegistrars.isEmpty()) {
 			for (PropertyEditorRegistrar registrar : this.propertyEditorRegistrars) {
 				try {
@@ -1315,6 +1336,108 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
 		}
 	}
 
+	/**
+	 * Release metadata that is only needed for creating singleton beans,
+	 * for all singletons that have been fully initialized at this point.
+	 * <p>Merged bean definitions for such singletons are kept for type lookups
+	 * but release their resolved constructor arguments, and all registered
+	 * {@link CompactionAwareBeanPostProcessor CompactionAwareBeanPostProcessors}
+	 * will be asked to release their metadata for those beans as well.
+	 * Metadata for prototypes and scoped beans as well as for singletons
+	 * which have not been created yet remains untouched.
+	 * <p>Each singleton is checked and released while holding the
+	 * {@link #getSingletonMutex() singleton mutex}, so this method may be
+	 * called while other singletons are still being created, e.g. during
+	 * a background warm-up of deferred singletons.
+	 * @return the number of metadata entries released
+	 * @since 4.3
+	 * @see #releaseMetadata(String, Class)
+	 */
+	public int compactMetadata() {
+		int released = 0;
+		for (String beanName : new ArrayList<String>(this.mergedBeanDefinitions.keySet())) {
+			// Singleton creation holds the same mutex: no bean may enter creation in the meantime.
+			synchronized (getSingletonMutex()) {
+				RootBeanDefinition mbd = this.mergedBeanDefinitions.get(beanName);
+				if (mbd != null && mbd.isSingleton() && !mbd.creationMetadataReleased &&
+						!isCurrentlyInCreation(beanName)) {
+					Object singletonInstance = getSingleton(beanName, false);
+					if (singletonInstance != null) {
+						releaseCreationMetadata(mbd);
+						released += 1 + releaseMetadata(beanName, determineReleasableType(mbd, singletonInstance));
+					}
+				}
+			}
+		}
+		return released;
+	}
+
+	/**
+	 * Release the resolved constructor arguments of the given merged bean definition.
+	 * A resolved factory method is kept since type matching may introspect it.
+	 */
+	private void releaseCreationMetadata(RootBeanDefinition mbd) {
+		synchronized (mbd.constructorArgumentLock) {
+			if (!(mbd.resolvedConstructorOrFactoryMethod instanceof Method)) {
+				mbd.resolvedConstructorOrFactoryMethod = null;
+			}
+			mbd.constructorArgumentsResolved = false;
+			mbd.resolvedConstructorArguments = null;
+			mbd.preparedConstructorArguments = null;
+		}
+		mbd.creationMetadataReleased = true;
+	}
+
+	/**
+	 * Determine whether type-level metadata for the given type may still be
+	 * needed, i.e. whether any merged bean definition which has not been
+	 * {@link #compactMetadata() compacted} may lead to a bean of that type.
+	 * @param beanType the bean type to check
+	 * @return {@code true} if the type may still be in use, {@code false} otherwise
+	 * @since 4.3
+	 */
+	protected boolean isTypeMetadataInUse(Class<?> beanType) {
+		for (RootBeanDefinition mbd : this.mergedBeanDefinitions.values()) {
+			if (!mbd.creationMetadataReleased &&
+					(beanType == mbd.getTargetType() || beanType.getName().equals(mbd.getBeanClassName()))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Determine the type that creation metadata has been cached for:
+	 * the bean class as resolved by the bean definition, or the user class
+	 * of the given instance (behind a CGLIB proxy) in case of a factory method.
+	 */
+	private Class<?> determineReleasableType(RootBeanDefinition mbd, Object singletonInstance) {
+		if (mbd.getFactoryMethodName() == null && mbd.getTargetType() != null) {
+			return mbd.getTargetType();
+		}
+		return ClassUtils.getUserClass(singletonInstance);
+	}
+
+	/**
+	 * Release any further metadata for the given singleton bean, as part of
+	 * a {@link #compactMetadata()} run.
+	 * <p>The default implementation delegates to all registered
+	 * {@link CompactionAwareBeanPostProcessor CompactionAwareBeanPostProcessors}.
+	 * @param beanName the name of the bean
+	 * @param beanType the target type of the bean, i.e. not any proxy class
+	 * @return the number of metadata entries released
+	 * @since 4.3
+	 */
+	protected int releaseMetadata(String beanName, Class<?> beanType) {
+		int released = 0;
+		for (BeanPostProcessor bp : getBeanPostProcessors()) {
+			if (bp instanceof CompactionAwareBeanPostProcessor) {
+				released += ((CompactionAwareBeanPostProcessor) bp).releaseMetadata(beanName, beanType);
+			}
+		}
+		return released;
+	}
+
 	/**
 	 * Resolve the bean class for the specified bean definition,
 	 * resolving a bean class name into a Class reference (if necessary)
@@ -287,6 +287,14 @@ class ConstructorResolver {
 	 * @param mbd the bean definition to check
 	 */
 	public void resolveFactoryMethodIfPossible(RootBeanDefinition mbd) {
+		Method preResolved = mbd.factoryMethodToIntrospect;
+		if (preResolved != null && mbd.isFactoryMethodUnique) {
+			synchronized (mbd.constructorArgumentLock) {
+				mbd.resolvedConstructorOrFactoryMethod = preResolved;
+			}
+			return;
+		}
+
 		Class<?> factoryClass;
 		boolean isStatic;
 		if (mbd.getFactoryBeanName() != null) {
@@ -421,15 +429,24 @@ class ConstructorResolver {
 			// Try all methods with this name to see if they match the given arguments.
 			factoryClass = ClassUtils.getUserClass(factoryClass);
 
-			Method[] rawCandidates = getCandidateMethods(factoryClass, mbd);
-			List<Method> candidateSet = new ArrayList<Method>();
-			for (Method candidate : rawCandidates) {
-				if (Modifier.isStatic(candidate.getModifiers()) == isStatic && mbd.isFactoryMethod(candidate)) {
-					candidateSet.add(candidate);
+			Method[] candidates;
+			Method preResolved = mbd.factoryMethodToIntrospect;
+			if (preResolved != null && mbd.isFactoryMethodUnique &&
+					Modifier.isStatic(preResolved.getModifiers()) == isStatic) {
+				// Factory method specified in advance: no need to introspect the factory class.
+				candidates = new Method[] {preResolved};
+			}
+			else {
+				Method[] rawCandidates = getCandidateMethods(factoryClass, mbd);
+				List<Method> candidateSet = new ArrayList<Method>();
+				for (Method candidate : rawCandidates) {
+					if (Modifier.isStatic(candidate.getModifiers()) == isStatic && mbd.isFactoryMethod(candidate)) {
+						candidateSet.add(candidate);
+					}
 				}
+				candidates = candidateSet.toArray(new Method[candidateSet.size()]);
+				AutowireUtils.sortFactoryMethods(candidates);
 			}
-			Method[] candidates = candidateSet.toArray(new Method[candidateSet.size()]);
-			AutowireUtils.sortFactoryMethods(candidates);
 
 			ConstructorArgumentValues resolvedValues = null;
 			boolean autowiring = (mbd.getResolvedAutowireMode() == RootBeanDefinition.AUTOWIRE_CONSTRUCTOR);
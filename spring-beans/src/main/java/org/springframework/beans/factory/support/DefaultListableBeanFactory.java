@@ -42,11 +42,13 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.inject.Provider;
 
 import org.springframework.beans.BeansException;
 import org.springframework.beans.TypeConverter;
 import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.BeanCreationNotAllowedException;
 import org.springframework.beans.factory.BeanCurrentlyInCreationException;
 import org.springframework.beans.factory.BeanDefinitionStoreException;
 import org.springframework.beans.factory.BeanFactory;
@@ -149,6 +151,9 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Whether to allow eager class loading even for lazy-init beans */
 	private boolean allowEagerClassLoading = true;
 
+	/** Whether to defer the initialization of non-infrastructure singletons */
+	private boolean deferredSingletonInitialization = false;
+
 	/** Optional OrderComparator for dependency Lists and arrays */
 	private Comparator<Object> dependencyComparator;
 
@@ -167,6 +172,12 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Map of singleton-only bean names, keyed by dependency type */
 	private final Map<Class<?>, String[]> singletonBeanNamesByType = new ConcurrentHashMap<Class<?>, String[]>(64);
 
+	/** Number of by-type lookups served from the by-type caches */
+	private final AtomicLong byTypeCacheHits = new AtomicLong();
+
+	/** Number of by-type lookups that required a full scan of all beans */
+	private final AtomicLong byTypeCacheMisses = new AtomicLong();
+
 	/** List of bean definition names, in registration order */
 	private volatile List<String> beanDefinitionNames = new ArrayList<String>(256);
 
@@ -179,6 +190,9 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Whether bean definition metadata may be cached for all beans */
 	private volatile boolean configurationFrozen = false;
 
+	/** Names of singletons deferred by preInstantiateSingletons, in registration order */
+	private volatile List<String> deferredSingletonNames;
+
 
 	/**
 	 * Create a new DefaultListableBeanFactory.
@@ -262,6 +276,35 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return this.allowEagerClassLoading;
 	}
 
+	/**
+	 * Set whether {@link #preInstantiateSingletons()} should defer the
+	 * initialization of all non-lazy application singletons, i.e. of all
+	 * singletons with {@link BeanDefinition#ROLE_APPLICATION}.
+	 * <p>Default is "false". Switch this to "true" for fast factory startup:
+	 * Only infrastructure singletons will be created eagerly then, while
+	 * application singletons will be created on first access or through a
+	 * subsequent {@link #initializeDeferredSingletons()} call, typically
+	 * performed in a background thread.
+	 * <p>Note that initialization errors for deferred singletons will not be
+	 * reported at startup, and that {@link SmartInitializingSingleton} callbacks
+	 * on deferred singletons will only be triggered by
+	 * {@link #initializeDeferredSingletons()}.
+	 * @since 4.3
+	 * @see #initializeDeferredSingletons()
+	 */
+	public void setDeferredSingletonInitialization(boolean deferredSingletonInitialization) {
+		this.deferredSingletonInitialization = deferredSingletonInitialization;
+	}
+
+	/**
+	 * Return whether {@link #preInstantiateSingletons()} defers the
+	 * initialization of non-lazy application singletons.
+	 * @since 4.3
+	 */
+	public boolean isDeferredSingletonInitialization() {
+		return this.deferredSingletonInitialization;
+	}
+
 	/**
 	 * Set a {@link java.util.Comparator} for dependency Lists and arrays.
 	 * @see org.springframework.core.OrderComparator
@@ -402,7 +445,22 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 
 	@Override
 	public String[] getBeanNamesForType(ResolvableType type) {
-		return doGetBeanNamesForType(type, true, true);
+		Class<?> resolved = type.resolve();
+		if (!isConfigurationFrozen() || resolved == null) {
+			return doGetBeanNamesForType(type, true, true);
+		}
+		// Determine candidates by raw type (cached), refining generics on the candidates only.
+		String[] candidateNames = getBeanNamesForType(resolved, true, true);
+		if (!type.hasGenerics() || candidateNames.length == 0) {
+			return candidateNames;
+		}
+		List<String> result = new ArrayList<String>(candidateNames.length);
+		for (String candidateName : candidateNames) {
+			if (isTypeMatch(candidateName, type)) {
+				result.add(candidateName);
+			}
+		}
+		return StringUtils.toStringArray(result);
 	}
 
 	@Override
@@ -419,8 +477,10 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 				(includeNonSingletons ? this.allBeanNamesByType : this.singletonBeanNamesByType);
 		String[] resolvedBeanNames = cache.get(type);
 		if (resolvedBeanNames != null) {
+			this.byTypeCacheHits.incrementAndGet();
 			return resolvedBeanNames;
 		}
+		this.byTypeCacheMisses.incrementAndGet();
 		resolvedBeanNames = doGetBeanNamesForType(ResolvableType.forRawClass(type), includeNonSingletons, true);
 		if (ClassUtils.isCacheSafe(type, getBeanClassLoader())) {
 			cache.put(type, resolvedBeanNames);
@@ -508,6 +568,29 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return StringUtils.toStringArray(result);
 	}
 
+	/**
+	 * Return the number of {@code getBeanNamesForType} lookups that have been
+	 * served from this factory's by-type cache, which is active once the
+	 * configuration has been {@link #freezeConfiguration() frozen}.
+	 * @since 4.3
+	 * @see #getByTypeCacheMissCount()
+	 */
+	public long getByTypeCacheHitCount() {
+		return this.byTypeCacheHits.get();
+	}
+
+	/**
+	 * Return the number of {@code getBeanNamesForType} lookups that consulted
+	 * this factory's by-type cache but had to fall back to a full scan of all
+	 * bean definitions and manually registered singletons. Lookups that bypass
+	 * the cache, e.g. before the configuration is frozen, are not counted.
+	 * @since 4.3
+	 * @see #getByTypeCacheHitCount()
+	 */
+	public long getByTypeCacheMissCount() {
+		return this.byTypeCacheMisses.get();
+	}
+
 	/**
 	 * Check whether the specified bean would need to be eagerly initialized
 	 * in order to determine its type.
@@ -748,36 +831,122 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		// While this may not be part of the regular factory bootstrap, it does otherwise work fine.
 		List<String> beanNames = new ArrayList<String>(this.beanDefinitionNames);
 
+		List<String> deferredNames = (this.deferredSingletonInitialization ? new ArrayList<String>() : null);
+
 		// Trigger initialization of all non-lazy singleton beans...
 		for (String beanName : beanNames) {
 			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
 			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
-				if (isFactoryBean(beanName)) {
-					final FactoryBean<?> factory = (FactoryBean<?>) getBean(FACTORY_BEAN_PREFIX + beanName);
-					boolean isEagerInit;
-					if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
-						isEagerInit = AccessController.doPrivileged(new PrivilegedAction<Boolean>() {
-							@Override
-							public Boolean run() {
-								return ((SmartFactoryBean<?>) factory).isEagerInit();
-							}
-						}, getAccessControlContext());
-					}
-					else {
-						isEagerInit = (factory instanceof SmartFactoryBean &&
-								((SmartFactoryBean<?>) factory).isEagerInit());
-					}
-					if (isEagerInit) {
-						getBean(beanName);
-					}
+				if (deferredNames != null && bd.getRole() == BeanDefinition.ROLE_APPLICATION) {
+					deferredNames.add(beanName);
 				}
 				else {
-					getBean(beanName);
+					preInstantiateSingleton(beanName);
 				}
 			}
 		}
 
+		if (deferredNames != null) {
+			// Deferred singletons get their post-initialization callback later on...
+			beanNames.removeAll(deferredNames);
+			this.deferredSingletonNames = deferredNames;
+			if (this.logger.isDebugEnabled()) {
+				this.logger.debug("Deferred initialization of singletons " + deferredNames + " in " + this);
+			}
+		}
+
 		// Trigger post-initialization callback for all applicable beans...
+		invokeAfterSingletonsInstantiated(beanNames);
+	}
+
+	/**
+	 * Initialize all singletons that have been deferred by a preceding
+	 * {@link #preInstantiateSingletons()} call in
+	 * {@link #setDeferredSingletonInitialization deferred mode}, in registration
+	 * order and with their dependencies initialized first, then invoke the
+	 * {@link SmartInitializingSingleton} callback on them.
+	 * <p>This method may run concurrently with regular {@link #getBean} calls:
+	 * A deferred singleton that has been requested in the meantime will simply
+	 * be skipped. Initialization stops silently once this factory's singletons
+	 * are being destroyed.
+	 * <p>A deferred singleton that fails to initialize does not affect the
+	 * remaining ones: its exception gets logged, and the bean will be attempted
+	 * to be created again on first access (propagating the failure then).
+	 * @since 4.3
+	 * @see #setDeferredSingletonInitialization
+	 */
+	public void initializeDeferredSingletons() throws BeansException {
+		List<String> beanNames = this.deferredSingletonNames;
+		if (beanNames == null) {
+			return;
+		}
+		if (this.logger.isDebugEnabled()) {
+			this.logger.debug("Initializing deferred singletons in " + this);
+		}
+
+		for (String beanName : beanNames) {
+			if (this.deferredSingletonNames != beanNames) {
+				// Singletons destroyed in the meantime...
+				return;
+			}
+			if (!containsSingleton(beanName)) {
+				try {
+					preInstantiateSingleton(beanName);
+				}
+				catch (BeanCreationNotAllowedException ex) {
+					return;
+				}
+				catch (BeansException ex) {
+					if (this.logger.isWarnEnabled()) {
+						this.logger.warn("Failed to initialize deferred singleton '" + beanName + "'", ex);
+					}
+				}
+			}
+		}
+
+		synchronized (this.beanDefinitionMap) {
+			if (this.deferredSingletonNames != beanNames) {
+				return;
+			}
+			this.deferredSingletonNames = null;
+		}
+		invokeAfterSingletonsInstantiated(beanNames);
+	}
+
+	/**
+	 * Initialize the given non-lazy singleton, honoring the
+	 * {@link SmartFactoryBean#isEagerInit()} flag in case of a FactoryBean.
+	 */
+	private void preInstantiateSingleton(String beanName) {
+		if (isFactoryBean(beanName)) {
+			final FactoryBean<?> factory = (FactoryBean<?>) getBean(FACTORY_BEAN_PREFIX + beanName);
+			boolean isEagerInit;
+			if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
+				isEagerInit = AccessController.doPrivileged(new PrivilegedAction<Boolean>() {
+					@Override
+					public Boolean run() {
+						return ((SmartFactoryBean<?>) factory).isEagerInit();
+					}
+				}, getAccessControlContext());
+			}
+			else {
+				isEagerInit = (factory instanceof SmartFactoryBean &&
+						((SmartFactoryBean<?>) factory).isEagerInit());
+			}
+			if (isEagerInit) {
+				getBean(beanName);
+			}
+		}
+		else {
+			getBean(beanName);
+		}
+	}
+
+	/**
+	 * Invoke {@link SmartInitializingSingleton#afterSingletonsInstantiated()}
+	 * on all of the given singletons that implement that interface.
+	 */
+	private void invokeAfterSingletonsInstantiated(List<String> beanNames) {
 		for (String beanName : beanNames) {
 			Object singletonInstance = getSingleton(beanName);
 			if (singletonInstance instanceof SmartInitializingSingleton) {
@@ -881,6 +1050,10 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		if (oldBeanDefinition != null || containsSingleton(beanName)) {
 			resetBeanDefinition(beanName);
 		}
+		else if (isConfigurationFrozen()) {
+			// The new bean's type is not known upfront: rebuild any by-type mappings.
+			clearByTypeCache();
+		}
 	}
 
 	@Override
@@ -948,6 +1121,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	@Override
 	public void registerSingleton(String beanName, Object singletonObject) throws IllegalStateException {
 		super.registerSingleton(beanName, singletonObject);
+		boolean manualSingleton = !this.beanDefinitionMap.containsKey(beanName);
 
 		if (hasBeanCreationStarted()) {
 			// Cannot modify startup-time collection elements anymore (for stable iteration)
@@ -967,18 +1141,32 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			}
 		}
 
-		clearByTypeCache();
+		if (manualSingleton && !(singletonObject instanceof FactoryBean)) {
+			// A plain object can only add its name to the mappings for its own types.
+			clearByTypeCacheForInstance(singletonObject);
+		}
+		else {
+			clearByTypeCache();
+		}
 	}
 
 	@Override
 	public void destroySingleton(String beanName) {
 		super.destroySingleton(beanName);
-		this.manualSingletonNames.remove(beanName);
-		clearByTypeCache();
+		if (this.manualSingletonNames.contains(beanName) && !this.beanDefinitionMap.containsKey(beanName)) {
+			this.manualSingletonNames.remove(beanName);
+			// A removed manual singleton only affects the mappings that contain its name.
+			clearByTypeCacheForBeanName(beanName);
+		}
+		else {
+			this.manualSingletonNames.remove(beanName);
+			clearByTypeCache();
+		}
 	}
 
 	@Override
 	public void destroySingletons() {
+		this.deferredSingletonNames = null;
 		super.destroySingletons();
 		this.manualSingletonNames.clear();
 		clearByTypeCache();
@@ -992,6 +1180,41 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		this.singletonBeanNamesByType.clear();
 	}
 
+	/**
+	 * Remove the by-type mappings for all types that the given object is an instance of.
+	 */
+	private void clearByTypeCacheForInstance(Object singletonObject) {
+		clearByTypeCacheForInstance(this.allBeanNamesByType, singletonObject);
+		clearByTypeCacheForInstance(this.singletonBeanNamesByType, singletonObject);
+	}
+
+	private static void clearByTypeCacheForInstance(Map<Class<?>, String[]> cache, Object singletonObject) {
+		for (Iterator<Class<?>> it = cache.keySet().iterator(); it.hasNext();) {
+			if (it.next().isInstance(singletonObject)) {
+				it.remove();
+			}
+		}
+	}
+
+	/**
+	 * Remove the by-type mappings that contain the given bean name.
+	 */
+	private void clearByTypeCacheForBeanName(String beanName) {
+		clearByTypeCacheForBeanName(this.allBeanNamesByType, beanName);
+		clearByTypeCacheForBeanName(this.singletonBeanNamesByType, beanName);
+	}
+
+	private static void clearByTypeCacheForBeanName(Map<Class<?>, String[]> cache, String beanName) {
+		String factoryBeanName = FACTORY_BEAN_PREFIX + beanName;
+		for (Iterator<String[]> it = cache.values().iterator(); it.hasNext();) {
+			String[] beanNames = it.next();
+			if (ObjectUtils.containsElement(beanNames, beanName) ||
+					ObjectUtils.containsElement(beanNames, factoryBeanName)) {
+				it.remove();
+			}
+		}
+	}
+
 
 	//---------------------------------------------------------------------
 	// Dependency resolution functionality
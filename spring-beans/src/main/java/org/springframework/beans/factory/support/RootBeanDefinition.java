@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2013 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -56,6 +56,9 @@ public class RootBeanDefinition extends AbstractBeanDefinition {
 
 	boolean isFactoryMethodUnique = false;
 
+	/** Package-visible field for a factory method that has been resolved in advance */
+	volatile Method factoryMethodToIntrospect;
+
 	final Object constructorArgumentLock = new Object();
 
 	/** Package-visible field for caching the resolved constructor or factory method */
@@ -81,6 +84,9 @@ public class RootBeanDefinition extends AbstractBeanDefinition {
 	/** Package-visible field that indicates a before-instantiation post-processor having kicked in */
 	volatile Boolean beforeInstantiationResolved;
 
+	/** Package-visible field that indicates the release of creation metadata for a created singleton */
+	volatile boolean creationMetadataReleased = false;
+
 	private Set<Member> externallyManagedConfigMembers;
 
 	private Set<String> externallyManagedInitMethods;
@@ -175,6 +181,7 @@ public class RootBeanDefinition extends AbstractBeanDefinition {
 		this.decoratedDefinition = original.decoratedDefinition;
 		this.targetType = original.targetType;
 		this.isFactoryMethodUnique = original.isFactoryMethodUnique;
+		this.factoryMethodToIntrospect = original.factoryMethodToIntrospect;
 	}
 
 	/**
@@ -244,6 +251,19 @@ public class RootBeanDefinition extends AbstractBeanDefinition {
 		return (candidate != null && candidate.getName().equals(getFactoryMethodName()));
 	}
 
+	/**
+	 * Set a resolved Java Method for the factory method on this bean definition,
+	 * e.g. from bean definitions that have been precomputed at build time.
+	 * <p>Typically combined with {@link #setUniqueFactoryMethodName}, in which case
+	 * the given method will be used as the only candidate for instantiation,
+	 * avoiding the introspection of all methods on the factory class.
+	 * @param method the resolved factory method, or {@code null} to reset it
+	 * @since 4.3
+	 */
+	public void setResolvedFactoryMethod(Method method) {
+		this.factoryMethodToIntrospect = method;
+	}
+
 	/**
 	 * Return the resolved factory method as a Java Method object, if available.
 	 * @return the factory method, or {@code null} if not found or not resolved yet
@@ -251,8 +271,11 @@ public class RootBeanDefinition extends AbstractBeanDefinition {
 	public Method getResolvedFactoryMethod() {
 		synchronized (this.constructorArgumentLock) {
 			Object candidate = this.resolvedConstructorOrFactoryMethod;
-			return (candidate instanceof Method ? (Method) candidate : null);
+			if (candidate instanceof Method) {
+				return (Method) candidate;
+			}
 		}
+		return this.factoryMethodToIntrospect;
 	}
 
 	public void registerExternallyManagedConfigMember(Member configMember) {
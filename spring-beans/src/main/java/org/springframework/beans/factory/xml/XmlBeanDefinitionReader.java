@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2013 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,8 +18,13 @@ package org.springframework.beans.factory.xml;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import javax.xml.parsers.ParserConfigurationException;
 
 import org.w3c.dom.Document;
@@ -45,6 +50,8 @@ import org.springframework.core.io.DescriptiveResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.util.Assert;
 import org.springframework.util.xml.SimpleSaxErrorHandler;
 import org.springframework.util.xml.XmlValidationModeDetector;
@@ -63,6 +70,12 @@ import org.springframework.util.xml.XmlValidationModeDetector;
  * talking to the latter's implementation of the
  * {@link org.springframework.beans.factory.support.BeanDefinitionRegistry} interface.
  *
+ * <p>When loading multiple resources at once, the XML documents may be parsed
+ * concurrently through a {@link #setDocumentLoadingExecutor document loading executor}.
+ * Bean definitions are still registered one document after the other, in the
+ * order of the given resources, with each DOM document being released right after
+ * its registration.
+ *
  * @author Juergen Hoeller
  * @author Rob Harrop
  * @author Chris Beams
@@ -120,7 +133,9 @@ public class XmlBeanDefinitionReader extends AbstractBeanDefinitionReader {
 
 	private ErrorHandler errorHandler = new SimpleSaxErrorHandler(logger);
 
-	private final XmlValidationModeDetector validationModeDetector = new XmlValidationModeDetector();
+	private AsyncTaskExecutor documentLoadingExecutor;
+
+	private int documentLoadingLookahead = Runtime.getRuntime().availableProcessors();
 
 	private final ThreadLocal<Set<EncodedResource>> resourcesCurrentlyBeingLoaded =
 			new NamedThreadLocal<Set<EncodedResource>>("XML bean definition resources currently being loaded");
@@ -278,6 +293,38 @@ public class XmlBeanDefinitionReader extends AbstractBeanDefinitionReader {
 		this.errorHandler = errorHandler;
 	}
 
+	/**
+	 * Specify an executor for parsing XML documents concurrently when loading
+	 * multiple resources at once, e.g. several config locations of an application context.
+	 * <p>Documents get parsed (and validated) ahead of time on the given executor,
+	 * while their bean definitions are registered in the calling thread in the
+	 * order of the given resources, just like with sequential loading.
+	 * The configured {@link DocumentLoader}, {@link EntityResolver} and
+	 * {@link ErrorHandler} need to be thread-safe in such a scenario,
+	 * as is the case for the default implementations.
+	 * <p>Default is none, parsing each document right before registering its
+	 * bean definitions.
+	 * @since 4.3
+	 * @see #setDocumentLoadingLookahead
+	 * @see #loadBeanDefinitions(Resource...)
+	 */
+	public void setDocumentLoadingExecutor(AsyncTaskExecutor documentLoadingExecutor) {
+		this.documentLoadingExecutor = documentLoadingExecutor;
+	}
+
+	/**
+	 * Set the maximum number of documents to parse ahead of the document whose
+	 * bean definitions are currently being registered, bounding the number of
+	 * DOM documents held in memory at any point in time.
+	 * <p>Default is the number of available processors. Only applies when a
+	 * {@link #setDocumentLoadingExecutor document loading executor} has been specified.
+	 * @since 4.3
+	 */
+	public void setDocumentLoadingLookahead(int documentLoadingLookahead) {
+		Assert.isTrue(documentLoadingLookahead > 0, "Document loading lookahead must be greater than 0");
+		this.documentLoadingLookahead = documentLoadingLookahead;
+	}
+
 	/**
 	 * Specify the {@link BeanDefinitionDocumentReader} implementation to use,
 	 * responsible for the actual reading of the XML bean definition document.
@@ -351,6 +398,151 @@ public class XmlBeanDefinitionReader extends AbstractBeanDefinitionReader {
 		}
 	}
 
+	/**
+	 * Load bean definitions from the specified XML files.
+	 * <p>If a {@link #setDocumentLoadingExecutor document loading executor} has been
+	 * specified, the documents are parsed concurrently while their bean definitions
+	 * get registered in the given order.
+	 * @param resources the resource descriptors for the XML files
+	 * @return the number of bean definitions found
+	 * @throws BeanDefinitionStoreException in case of loading or parsing errors
+	 */
+	@Override
+	public int loadBeanDefinitions(Resource... resources) throws BeanDefinitionStoreException {
+		if (this.documentLoadingExecutor == null || resources.length < 2) {
+			return super.loadBeanDefinitions(resources);
+		}
+
+		// Initialize shared parsing state upfront, for concurrent access from the loading threads.
+		getEntityResolver();
+		List<Future<Document>> documents = new ArrayList<Future<Document>>(resources.length);
+		int counter = 0;
+		try {
+			for (int i = 0; i < resources.length; i++) {
+				while (documents.size() < resources.length && documents.size() <= i + this.documentLoadingLookahead) {
+					documents.add(submitDocumentLoading(new EncodedResource(resources[documents.size()])));
+				}
+				Future<Document> document = documents.set(i, null);
+				counter += registerLoadedDocument(new EncodedResource(resources[i]), document);
+			}
+		}
+		finally {
+			for (Future<Document> document : documents) {
+				if (document != null) {
+					document.cancel(true);
+				}
+			}
+		}
+		return counter;
+	}
+
+	/**
+	 * Load bean definitions from the specified resource locations.
+	 * <p>If a {@link #setDocumentLoadingExecutor document loading executor} has been
+	 * specified, all locations are resolved upfront (including any patterns), with their
+	 * documents being parsed concurrently while their bean definitions get registered
+	 * in the given order.
+	 * @param locations the resource locations, to be loaded with the ResourceLoader
+	 * (or ResourcePatternResolver) of this bean definition reader
+	 * @return the number of bean definitions found
+	 * @throws BeanDefinitionStoreException in case of loading or parsing errors
+	 */
+	@Override
+	public int loadBeanDefinitions(String... locations) throws BeanDefinitionStoreException {
+		ResourceLoader resourceLoader = getResourceLoader();
+		if (this.documentLoadingExecutor == null || resourceLoader == null) {
+			return super.loadBeanDefinitions(locations);
+		}
+
+		List<Resource> resources = new ArrayList<Resource>();
+		for (String location : locations) {
+			if (resourceLoader instanceof ResourcePatternResolver) {
+				try {
+					for (Resource resource : ((ResourcePatternResolver) resourceLoader).getResources(location)) {
+						resources.add(resource);
+					}
+				}
+				catch (IOException ex) {
+					throw new BeanDefinitionStoreException(
+							"Could not resolve bean definition resource pattern [" + location + "]", ex);
+				}
+			}
+			else {
+				resources.add(resourceLoader.getResource(location));
+			}
+		}
+		return loadBeanDefinitions(resources.toArray(new Resource[resources.size()]));
+	}
+
+	/**
+	 * Submit the parsing of the given XML file to the document loading executor.
+	 */
+	private Future<Document> submitDocumentLoading(final EncodedResource encodedResource) {
+		return this.documentLoadingExecutor.submit(new Callable<Document>() {
+			@Override
+			public Document call() throws Exception {
+				Resource resource = encodedResource.getResource();
+				InputStream inputStream = resource.getInputStream();
+				try {
+					InputSource inputSource = new InputSource(inputStream);
+					if (encodedResource.getEncoding() != null) {
+						inputSource.setEncoding(encodedResource.getEncoding());
+					}
+					return doLoadDocument(inputSource, resource);
+				}
+				finally {
+					inputStream.close();
+				}
+			}
+		});
+	}
+
+	/**
+	 * Register the bean definitions from a document parsed by the document loading executor.
+	 */
+	private int registerLoadedDocument(EncodedResource encodedResource, Future<Document> document)
+			throws BeanDefinitionStoreException {
+
+		Resource resource = encodedResource.getResource();
+		if (logger.isInfoEnabled()) {
+			logger.info("Loading XML bean definitions from " + resource);
+		}
+
+		Set<EncodedResource> currentResources = this.resourcesCurrentlyBeingLoaded.get();
+		if (currentResources == null) {
+			currentResources = new HashSet<EncodedResource>(4);
+			this.resourcesCurrentlyBeingLoaded.set(currentResources);
+		}
+		if (!currentResources.add(encodedResource)) {
+			throw new BeanDefinitionStoreException(
+					"Detected cyclic loading of " + encodedResource + " - check your import definitions!");
+		}
+		try {
+			Document doc;
+			try {
+				doc = document.get();
+			}
+			catch (ExecutionException ex) {
+				throw ex.getCause();
+			}
+			return registerBeanDefinitions(doc, resource);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new BeanDefinitionStoreException(resource.getDescription(),
+					"Interrupted while parsing XML document from " + resource, ex);
+		}
+		catch (Throwable ex) {
+			throw translateLoadingException(ex, resource);
+		}
+		finally {
+			currentResources.remove(encodedResource);
+			if (currentResources.isEmpty()) {
+				this.resourcesCurrentlyBeingLoaded.remove();
+			}
+		}
+	}
+
 	/**
 	 * Load bean definitions from the specified XML file.
 	 * @param inputSource the SAX InputSource to read from
@@ -391,27 +583,37 @@ public class XmlBeanDefinitionReader extends AbstractBeanDefinitionReader {
 			Document doc = doLoadDocument(inputSource, resource);
 			return registerBeanDefinitions(doc, resource);
 		}
-		catch (BeanDefinitionStoreException ex) {
-			throw ex;
+		catch (Throwable ex) {
+			throw translateLoadingException(ex, resource);
 		}
-		catch (SAXParseException ex) {
-			throw new XmlBeanDefinitionStoreException(resource.getDescription(),
-					"Line " + ex.getLineNumber() + " in XML document from " + resource + " is invalid", ex);
+	}
+
+	/**
+	 * Translate the given exception thrown while loading the specified XML file.
+	 */
+	private BeanDefinitionStoreException translateLoadingException(Throwable ex, Resource resource) {
+		if (ex instanceof BeanDefinitionStoreException) {
+			return (BeanDefinitionStoreException) ex;
 		}
-		catch (SAXException ex) {
-			throw new XmlBeanDefinitionStoreException(resource.getDescription(),
-					"XML document from " + resource + " is invalid", ex);
+		else if (ex instanceof SAXParseException) {
+			return new XmlBeanDefinitionStoreException(resource.getDescription(), "Line " +
+					((SAXParseException) ex).getLineNumber() + " in XML document from " + resource + " is invalid",
+					(SAXParseException) ex);
 		}
-		catch (ParserConfigurationException ex) {
-			throw new BeanDefinitionStoreException(resource.getDescription(),
+		else if (ex instanceof SAXException) {
+			return new XmlBeanDefinitionStoreException(resource.getDescription(),
+					"XML document from " + resource + " is invalid", (SAXException) ex);
+		}
+		else if (ex instanceof ParserConfigurationException) {
+			return new BeanDefinitionStoreException(resource.getDescription(),
 					"Parser configuration exception parsing XML from " + resource, ex);
 		}
-		catch (IOException ex) {
-			throw new BeanDefinitionStoreException(resource.getDescription(),
+		else if (ex instanceof IOException) {
+			return new BeanDefinitionStoreException(resource.getDescription(),
 					"IOException parsing XML document from " + resource, ex);
 		}
-		catch (Throwable ex) {
-			throw new BeanDefinitionStoreException(resource.getDescription(),
+		else {
+			return new BeanDefinitionStoreException(resource.getDescription(),
 					"Unexpected exception parsing XML document from " + resource, ex);
 		}
 	}
@@ -481,7 +683,8 @@ public class XmlBeanDefinitionReader extends AbstractBeanDefinitionReader {
 		}
 
 		try {
-			return this.validationModeDetector.detectValidationMode(inputStream);
+			// Detector keeps parsing state: use a fresh one for concurrent document loading
+			return new XmlValidationModeDetector().detectValidationMode(inputStream);
 		}
 		catch (IOException ex) {
 			throw new BeanDefinitionStoreException("Unable to determine validation mode for [" +
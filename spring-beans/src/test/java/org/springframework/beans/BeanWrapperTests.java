@@ -16,12 +16,22 @@
 
 package org.springframework.beans;
 
+import java.beans.PropertyEditor;
+import java.beans.PropertyEditorSupport;
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 
 import org.junit.Test;
 
+import org.springframework.beans.propertyeditors.LocaleEditor;
+import org.springframework.beans.propertyeditors.StringArrayPropertyEditor;
+import org.springframework.beans.propertyeditors.StringTrimmerEditor;
+import org.springframework.tests.sample.beans.NumberTestBean;
 import org.springframework.tests.sample.beans.TestBean;
 
 import static org.junit.Assert.*;
@@ -194,6 +204,83 @@ public class BeanWrapperTests extends AbstractPropertyAccessorTests {
 		assertEquals("x", accessor.getPropertyValue("object.name"));
 	}
 
+	@Test
+	public void propertyEditorRegistrarAppliedOnFirstConversion() {
+		TestBean target = new TestBean();
+		BeanWrapperImpl accessor = createAccessor(target);
+		final List<PropertyEditorRegistry> registries = new ArrayList<PropertyEditorRegistry>();
+		accessor.addPropertyEditorRegistrar(new PropertyEditorRegistrar() {
+			@Override
+			public void registerCustomEditors(PropertyEditorRegistry registry) {
+				registries.add(registry);
+				registry.registerCustomEditor(String.class, "name", new StringTrimmerEditor(false));
+				registry.registerCustomEditor(String.class, "touchy", new StringTrimmerEditor(false));
+			}
+		});
+		assertEquals(0, accessor.getPropertyValue("age"));
+		assertTrue(registries.isEmpty());
+
+		accessor.registerCustomEditor(String.class, "touchy", new PropertyEditorSupport() {
+			@Override
+			public void setAsText(String text) {
+				setValue("custom");
+			}
+		});
+		assertEquals(1, registries.size());
+		accessor.setPropertyValue("name", " tom ");
+		accessor.setPropertyValue("touchy", " x ");
+		assertEquals("tom", target.getName());
+		assertEquals("custom", target.getTouchy());
+		assertEquals(1, registries.size());
+	}
+
+	@Test
+	public void defaultEditorsCreatedOnDemand() {
+		BeanWrapperImpl accessor = createAccessor(new TestBean());
+		assertNull(accessor.getDefaultEditor(String[].class));
+		assertNull(accessor.getDefaultEditor(String[].class));
+		accessor.useConfigValueEditors();
+		assertTrue(accessor.getDefaultEditor(String[].class) instanceof StringArrayPropertyEditor);
+
+		BeanWrapperImpl copy = createAccessor(new TestBean());
+		accessor.copyDefaultEditorsTo(copy);
+		assertSame(accessor.getDefaultEditor(String[].class), copy.getDefaultEditor(String[].class));
+		PropertyEditor localeEditor = copy.getDefaultEditor(Locale.class);
+		assertTrue(localeEditor instanceof LocaleEditor);
+		assertNotSame(localeEditor, accessor.getDefaultEditor(Locale.class));
+	}
+
+	@Test
+	public void defaultNumberConversion() {
+		NumberTestBean target = new NumberTestBean();
+		BeanWrapperImpl accessor = createAccessor(target);
+		accessor.setPropertyValue("int1", " 5 ");
+		accessor.setPropertyValue("int2", "0x10");
+		accessor.setPropertyValue("bigDecimal", "1.5");
+		assertEquals(5, target.getInt1());
+		assertEquals(Integer.valueOf(16), target.getInt2());
+		assertEquals(new BigDecimal("1.5"), target.getBigDecimal());
+
+		accessor.setPropertyValue("int2", "");
+		assertNull(target.getInt2());
+		try {
+			accessor.setPropertyValue("int1", "");
+			fail("Should have thrown TypeMismatchException");
+		}
+		catch (TypeMismatchException ex) {
+			// expected
+		}
+
+		accessor.overrideDefaultEditor(int.class, new PropertyEditorSupport() {
+			@Override
+			public void setAsText(String text) {
+				setValue(42);
+			}
+		});
+		accessor.setPropertyValue("int1", "5");
+		assertEquals(42, target.getInt1());
+	}
+
 
 	@SuppressWarnings("unused")
 	private static class GetterBean {
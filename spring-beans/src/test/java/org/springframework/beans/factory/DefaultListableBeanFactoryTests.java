@@ -27,6 +27,7 @@ import java.security.PrivilegedAction;
 import java.text.NumberFormat;
 import java.text.ParseException;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
@@ -1633,6 +1634,64 @@ public class DefaultListableBeanFactoryTests {
 		assertEquals(0, lbf.getBeanNamesForType(ResolvableType.forClassWithGenerics(FactoryBean.class, String.class)).length);
 	}
 
+	@Test
+	public void testGetBeanNamesForGenericTypeWithFrozenConfiguration() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.registerBeanDefinition("stringComparator", new RootBeanDefinition(StringComparator.class));
+		lbf.registerBeanDefinition("integerComparator", new RootBeanDefinition(IntegerComparator.class));
+		RootBeanDefinition factoryBean = new RootBeanDefinition(ConstructorDependencyFactoryBean.class);
+		factoryBean.setScope(RootBeanDefinition.SCOPE_PROTOTYPE);
+		lbf.registerBeanDefinition("factoryBean", factoryBean);
+
+		// Lookups bypassing the cache are not counted
+		assertEquals(2, lbf.getBeanNamesForType(Comparator.class).length);
+		assertEquals(0, lbf.getByTypeCacheMissCount());
+		assertEquals(0, lbf.getByTypeCacheHitCount());
+		lbf.freezeConfiguration();
+
+		assertArrayEquals(new String[] {"stringComparator"},
+				lbf.getBeanNamesForType(ResolvableType.forClassWithGenerics(Comparator.class, String.class)));
+		assertArrayEquals(new String[] {"integerComparator"},
+				lbf.getBeanNamesForType(ResolvableType.forClassWithGenerics(Comparator.class, Integer.class)));
+		assertArrayEquals(new String[] {"stringComparator", "integerComparator"},
+				lbf.getBeanNamesForType(ResolvableType.forClass(Comparator.class)));
+		assertArrayEquals(new String[] {"&factoryBean"},
+				lbf.getBeanNamesForType(ResolvableType.forClassWithGenerics(FactoryBean.class, Object.class)));
+		assertEquals(0, lbf.getBeanNamesForType(ResolvableType.forClassWithGenerics(FactoryBean.class, String.class)).length);
+
+		// Raw type candidates determined once, then refined per generic query
+		assertEquals(2, lbf.getByTypeCacheMissCount());
+		assertEquals(3, lbf.getByTypeCacheHitCount());
+	}
+
+	@Test
+	public void testByTypeCacheInvalidationForManualSingletons() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.registerBeanDefinition("stringComparator", new RootBeanDefinition(StringComparator.class));
+		lbf.freezeConfiguration();
+
+		assertEquals(1, lbf.getBeanNamesForType(Comparator.class).length);
+		assertEquals(1, lbf.getBeanNamesForType(StringComparator.class).length);
+		assertEquals(0, lbf.getBeanNamesForType(TestBean.class).length);
+		assertEquals(3, lbf.getByTypeCacheMissCount());
+
+		lbf.registerSingleton("integerComparator", new IntegerComparator());
+		assertEquals(1, lbf.getBeanNamesForType(StringComparator.class).length);
+		assertEquals(0, lbf.getBeanNamesForType(TestBean.class).length);
+		assertEquals(3, lbf.getByTypeCacheMissCount());
+		assertArrayEquals(new String[] {"stringComparator", "integerComparator"}, lbf.getBeanNamesForType(Comparator.class));
+		assertEquals(4, lbf.getByTypeCacheMissCount());
+
+		lbf.destroySingleton("integerComparator");
+		assertEquals(1, lbf.getBeanNamesForType(StringComparator.class).length);
+		assertEquals(4, lbf.getByTypeCacheMissCount());
+		assertArrayEquals(new String[] {"stringComparator"}, lbf.getBeanNamesForType(Comparator.class));
+		assertEquals(5, lbf.getByTypeCacheMissCount());
+
+		lbf.registerBeanDefinition("testBean", new RootBeanDefinition(TestBean.class));
+		assertEquals(1, lbf.getBeanNamesForType(TestBean.class).length);
+	}
+
 	private RootBeanDefinition createConstructorDependencyBeanDefinition(int age) {
 		RootBeanDefinition bd = new RootBeanDefinition(ConstructorDependency.class);
 		bd.setScope(RootBeanDefinition.SCOPE_PROTOTYPE);
@@ -2059,6 +2118,71 @@ public class DefaultListableBeanFactoryTests {
 		}
 	}
 
+	@Test
+	public void testDeferredSingletonInitialization() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.setDeferredSingletonInitialization(true);
+		RootBeanDefinition infrastructure = new RootBeanDefinition(TestBean.class);
+		infrastructure.setRole(BeanDefinition.ROLE_INFRASTRUCTURE);
+		lbf.registerBeanDefinition("infrastructure", infrastructure);
+		RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+		bd.getPropertyValues().add("spouse", new RuntimeBeanReference("spouse"));
+		lbf.registerBeanDefinition("test", bd);
+		lbf.registerBeanDefinition("spouse", new RootBeanDefinition(TestBean.class));
+		lbf.registerBeanDefinition("smart", new RootBeanDefinition(SmartSingleton.class));
+		lbf.preInstantiateSingletons();
+
+		assertTrue(lbf.containsSingleton("infrastructure"));
+		assertFalse(lbf.containsSingleton("test"));
+		assertFalse(lbf.containsSingleton("spouse"));
+		assertFalse(lbf.containsSingleton("smart"));
+
+		TestBean spouse = (TestBean) lbf.getBean("spouse");
+		lbf.initializeDeferredSingletons();
+		assertSame(spouse, ((TestBean) lbf.getBean("test")).getSpouse());
+		assertTrue(lbf.getBean("smart", SmartSingleton.class).instantiated);
+
+		// Callbacks only get invoked once
+		lbf.getBean("smart", SmartSingleton.class).instantiated = false;
+		lbf.initializeDeferredSingletons();
+		assertFalse(lbf.getBean("smart", SmartSingleton.class).instantiated);
+	}
+
+	@Test
+	public void testDeferredSingletonInitializationWithFailingSingleton() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.setDeferredSingletonInitialization(true);
+		RootBeanDefinition failing = new RootBeanDefinition(TestBean.class);
+		failing.getPropertyValues().add("age", "notANumber");
+		lbf.registerBeanDefinition("failing", failing);
+		lbf.registerBeanDefinition("test", new RootBeanDefinition(TestBean.class));
+		lbf.registerBeanDefinition("smart", new RootBeanDefinition(SmartSingleton.class));
+		lbf.preInstantiateSingletons();
+
+		lbf.initializeDeferredSingletons();
+		assertFalse(lbf.containsSingleton("failing"));
+		assertTrue(lbf.containsSingleton("test"));
+		assertTrue(lbf.getBean("smart", SmartSingleton.class).instantiated);
+		try {
+			lbf.getBean("failing");
+			fail("Should have thrown BeanCreationException");
+		}
+		catch (BeanCreationException ex) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testDeferredSingletonInitializationAfterDestruction() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.setDeferredSingletonInitialization(true);
+		lbf.registerBeanDefinition("test", new RootBeanDefinition(TestBean.class));
+		lbf.preInstantiateSingletons();
+		lbf.destroySingletons();
+		lbf.initializeDeferredSingletons();
+		assertFalse(lbf.containsSingleton("test"));
+	}
+
 	@Test
 	public void testCircularReferenceThroughAutowiring() {
 		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
@@ -3229,6 +3353,35 @@ public class DefaultListableBeanFactoryTests {
 	}
 
 
+	public static class SmartSingleton implements SmartInitializingSingleton {
+
+		boolean instantiated;
+
+		@Override
+		public void afterSingletonsInstantiated() {
+			this.instantiated = true;
+		}
+	}
+
+
+	public static class StringComparator implements Comparator<String> {
+
+		@Override
+		public int compare(String o1, String o2) {
+			return o1.compareTo(o2);
+		}
+	}
+
+
+	public static class IntegerComparator implements Comparator<Integer> {
+
+		@Override
+		public int compare(Integer o1, Integer o2) {
+			return o1.compareTo(o2);
+		}
+	}
+
+
 	@Priority(5)
 	private static class HighPriorityTestBean extends TestBean {
 	}
@@ -24,6 +24,7 @@ import java.lang.annotation.Target;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -48,7 +49,9 @@ import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.UnsatisfiedDependencyException;
 import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.CompactionAwareBeanPostProcessor;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.DependencyDescriptor;
 import org.springframework.beans.factory.config.TypedStringValue;
 import org.springframework.beans.factory.support.AutowireCandidateQualifier;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
@@ -61,6 +64,7 @@ import org.springframework.tests.sample.beans.ITestBean;
 import org.springframework.tests.sample.beans.IndexedTestBean;
 import org.springframework.tests.sample.beans.NestedTestBean;
 import org.springframework.tests.sample.beans.TestBean;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.SerializationTestUtils;
 
 import static org.junit.Assert.*;
@@ -111,6 +115,91 @@ public class AutowiredAnnotationBeanPostProcessorTests {
 		assertSame(tb, bean.getTestBean2());
 	}
 
+	@Test
+	public void testResourceInjectionAfterMetadataCompaction() {
+		DefaultListableBeanFactory bf = new DefaultListableBeanFactory();
+		AutowiredAnnotationBeanPostProcessor bpp = new AutowiredAnnotationBeanPostProcessor();
+		bpp.setBeanFactory(bf);
+		bf.addBeanPostProcessor(bpp);
+		bf.registerBeanDefinition("singletonBean", new RootBeanDefinition(ResourceInjectionBean.class));
+		RootBeanDefinition bd = new RootBeanDefinition(ResourceInjectionBean.class);
+		bd.setScope(RootBeanDefinition.SCOPE_PROTOTYPE);
+		bf.registerBeanDefinition("prototypeBean", bd);
+		TestBean tb = new TestBean();
+		bf.registerSingleton("testBean", tb);
+		bf.preInstantiateSingletons();
+		bf.getBean("prototypeBean");
+
+		// creation metadata and autowiring metadata for the singleton only,
+		// keeping the property descriptors which the prototype still needs
+		assertEquals(2, bf.compactMetadata());
+		assertEquals(0, bf.compactMetadata());
+		assertEquals(0, bpp.releaseMetadata("singletonBean", ResourceInjectionBean.class));
+
+		ResourceInjectionBean bean = (ResourceInjectionBean) bf.getBean("prototypeBean");
+		assertSame(tb, bean.getTestBean());
+		assertSame(tb, bean.getTestBean2());
+		assertTrue(bf.isSingleton("singletonBean"));
+		assertSame(tb, bf.getBean("singletonBean", ResourceInjectionBean.class).getTestBean2());
+	}
+
+	@Test
+	public void testMetadataCompactionWithSubsequentTypeLookups() {
+		DefaultListableBeanFactory bf = new DefaultListableBeanFactory();
+		AutowiredAnnotationBeanPostProcessor bpp = new AutowiredAnnotationBeanPostProcessor();
+		bpp.setBeanFactory(bf);
+		bf.addBeanPostProcessor(bpp);
+		bf.registerBeanDefinition("singletonBean", new RootBeanDefinition(ResourceInjectionBean.class));
+		bf.registerSingleton("testBean", new TestBean());
+		bf.preInstantiateSingletons();
+		BeanDefinition mbd = bf.getMergedBeanDefinition("singletonBean");
+
+		// creation metadata, property descriptors and autowiring metadata
+		assertEquals(3, bf.compactMetadata());
+		assertArrayEquals(new String[] {"singletonBean"}, bf.getBeanNamesForType(ResourceInjectionBean.class));
+		assertTrue(bf.isAutowireCandidate("singletonBean", new DependencyDescriptor(
+				ReflectionUtils.findField(ResourceInjectionBean.class, "testBean"), false)));
+		assertSame(mbd, bf.getMergedBeanDefinition("singletonBean"));
+		assertEquals(0, bf.compactMetadata());
+	}
+
+	@Test
+	public void testMetadataCompactionForProxiedBean() {
+		DefaultListableBeanFactory bf = new DefaultListableBeanFactory();
+		AutowiredAnnotationBeanPostProcessor bpp = new AutowiredAnnotationBeanPostProcessor();
+		bpp.setBeanFactory(bf);
+		bf.addBeanPostProcessor(bpp);
+		final List<Class<?>> releasedTypes = new ArrayList<Class<?>>();
+		bf.addBeanPostProcessor(new CompactionAwareBeanPostProcessor() {
+			@Override
+			public Object postProcessBeforeInitialization(Object bean, String beanName) {
+				return bean;
+			}
+			@Override
+			public Object postProcessAfterInitialization(final Object bean, String beanName) {
+				return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {ITestBean.class},
+						new InvocationHandler() {
+							@Override
+							public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+								return method.invoke(bean, args);
+							}
+						});
+			}
+			@Override
+			public int releaseMetadata(String beanName, Class<?> beanType) {
+				releasedTypes.add(beanType);
+				return 0;
+			}
+		});
+		bf.registerBeanDefinition("proxiedBean", new RootBeanDefinition(TestBean.class));
+		bf.preInstantiateSingletons();
+		assertTrue(Proxy.isProxyClass(bf.getBean("proxiedBean").getClass()));
+
+		// merged bean definition, property descriptors and autowiring metadata for the target class
+		assertEquals(3, bf.compactMetadata());
+		assertEquals(Collections.<Class<?>>singletonList(TestBean.class), releasedTypes);
+	}
+
 	@Test
 	public void testExtendedResourceInjection() {
 		DefaultListableBeanFactory bf = new DefaultListableBeanFactory();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,9 @@
 package org.springframework.beans.factory.xml;
 
 import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
@@ -27,6 +30,7 @@ import org.springframework.beans.factory.support.SimpleBeanDefinitionRegistry;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.tests.sample.beans.TestBean;
 import org.springframework.util.ObjectUtils;
 
@@ -144,6 +148,76 @@ public class XmlBeanDefinitionReaderTests {
 		doTestValidation("validateWithXsd.xml");
 	}
 
+	@Test
+	public void parallelDocumentLoading() {
+		Resource[] resources = new Resource[] {
+				new ClassPathResource("collections.xml", getClass()),
+				new ClassPathResource("test.xml", getClass()),
+				new ClassPathResource("validateWithXsd.xml", getClass()),
+				new ClassPathResource("factory-methods.xml", getClass()),
+				new ClassPathResource("validateWithDtd.xml", getClass())};
+
+		DefaultListableBeanFactory sequential = new DefaultListableBeanFactory();
+		int sequentialCount = new XmlBeanDefinitionReader(sequential).loadBeanDefinitions(resources);
+
+		DefaultListableBeanFactory parallel = new DefaultListableBeanFactory();
+		XmlBeanDefinitionReader reader = new XmlBeanDefinitionReader(parallel);
+		reader.setDocumentLoadingExecutor(new SimpleAsyncTaskExecutor());
+		reader.setDocumentLoadingLookahead(2);
+		int parallelCount = reader.loadBeanDefinitions(resources);
+
+		assertEquals(sequentialCount, parallelCount);
+		assertArrayEquals(sequential.getBeanDefinitionNames(), parallel.getBeanDefinitionNames());
+		// Later files override earlier ones, just like with sequential loading
+		assertEquals(sequential.getBeanDefinition("testBean").getResourceDescription(),
+				parallel.getBeanDefinition("testBean").getResourceDescription());
+		assertTrue(parallel.getBeanDefinition("testBean").getResourceDescription().contains("validateWithDtd.xml"));
+	}
+
+	@Test
+	public void parallelDocumentLoadingWithLocations() {
+		DefaultListableBeanFactory factory = new DefaultListableBeanFactory();
+		XmlBeanDefinitionReader reader = new XmlBeanDefinitionReader(factory);
+		reader.setDocumentLoadingExecutor(new SimpleAsyncTaskExecutor());
+		reader.loadBeanDefinitions("classpath:org/springframework/beans/factory/xml/validateWithDtd.xml",
+				"classpath*:org/springframework/beans/factory/xml/import*.xml");
+		assertTrue(factory.containsBeanDefinition("testBean"));
+		assertTrue(factory.containsBeanDefinition("rod"));
+	}
+
+	@Test
+	public void parallelDocumentLoadingWithSinglePatternLocation() {
+		final AtomicInteger submitted = new AtomicInteger();
+		DefaultListableBeanFactory factory = new DefaultListableBeanFactory();
+		XmlBeanDefinitionReader reader = new XmlBeanDefinitionReader(factory);
+		reader.setDocumentLoadingExecutor(new SimpleAsyncTaskExecutor() {
+			@Override
+			public <T> Future<T> submit(Callable<T> task) {
+				submitted.incrementAndGet();
+				return super.submit(task);
+			}
+		});
+		reader.loadBeanDefinitions("classpath*:org/springframework/beans/factory/xml/import*.xml");
+		assertTrue(factory.containsBeanDefinition("rod"));
+		assertEquals(2, submitted.get());
+	}
+
+	@Test
+	public void parallelDocumentLoadingWithInvalidDocument() {
+		DefaultListableBeanFactory factory = new DefaultListableBeanFactory();
+		XmlBeanDefinitionReader reader = new XmlBeanDefinitionReader(factory);
+		reader.setDocumentLoadingExecutor(new SimpleAsyncTaskExecutor());
+		try {
+			reader.loadBeanDefinitions(new ClassPathResource("validateWithDtd.xml", getClass()),
+					new ClassPathResource("invalidPerSchema.xml", getClass()));
+			fail("Should have thrown XmlBeanDefinitionStoreException");
+		}
+		catch (XmlBeanDefinitionStoreException ex) {
+			assertTrue(ex.getResourceDescription().contains("invalidPerSchema.xml"));
+		}
+		assertTrue(factory.containsBeanDefinition("testBean"));
+	}
+
 	private void doTestValidation(String resourceName) throws Exception {
 		DefaultListableBeanFactory factory = new DefaultListableBeanFactory();
 		Resource resource = new ClassPathResource(resourceName, getClass());
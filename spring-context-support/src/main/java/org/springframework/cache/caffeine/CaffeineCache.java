@@ -20,7 +20,10 @@ import java.util.concurrent.Callable;
 import java.util.function.Function;
 
 import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 
+import org.springframework.cache.CacheStatistics;
+import org.springframework.cache.CacheStatisticsProvider;
 import org.springframework.cache.support.AbstractValueAdaptingCache;
 import org.springframework.lang.UsesJava8;
 import org.springframework.util.Assert;
@@ -29,6 +32,9 @@ import org.springframework.util.Assert;
  * Spring {@link org.springframework.cache.Cache} adapter implementation
  * on top of a Caffeine {@link com.github.benmanes.caffeine.cache.Cache} instance.
  *
+ * <p>Exposes the statistics of the Caffeine cache as {@link CacheStatistics},
+ * provided that they are being recorded (see {@code Caffeine.recordStats()}).
+ *
  * <p>Requires Caffeine 2.1 or higher.
  *
  * @author Ben Manes
@@ -37,7 +43,7 @@ import org.springframework.util.Assert;
  * @since 4.3
  */
 @UsesJava8
-public class CaffeineCache extends AbstractValueAdaptingCache {
+public class CaffeineCache extends AbstractValueAdaptingCache implements CacheStatisticsProvider {
 
 	private final String name;
 
@@ -83,6 +89,11 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 		return this.cache;
 	}
 
+	@Override
+	public CacheStatistics getCacheStatistics() {
+		return (this.cache.policy().isRecordingStats() ? new CaffeineCacheStatistics(this.cache.stats()) : null);
+	}
+
 	@Override
 	public ValueWrapper get(Object key) {
 		if (this.cache instanceof LoadingCache) {
@@ -163,4 +174,52 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 		}
 	}
 
+
+	/**
+	 * {@link CacheStatistics} snapshot backed by Caffeine's {@link CacheStats}.
+	 */
+	private static class CaffeineCacheStatistics implements CacheStatistics {
+
+		private final CacheStats stats;
+
+		public CaffeineCacheStatistics(CacheStats stats) {
+			this.stats = stats;
+		}
+
+		@Override
+		public long getHitCount() {
+			return this.stats.hitCount();
+		}
+
+		@Override
+		public long getMissCount() {
+			return this.stats.missCount();
+		}
+
+		@Override
+		public long getPutCount() {
+			return -1;
+		}
+
+		@Override
+		public long getEvictionCount() {
+			return this.stats.evictionCount();
+		}
+
+		@Override
+		public long getLoadSuccessCount() {
+			return this.stats.loadSuccessCount();
+		}
+
+		@Override
+		public long getLoadFailureCount() {
+			return this.stats.loadFailureCount();
+		}
+
+		@Override
+		public long getTotalLoadTime() {
+			return this.stats.totalLoadTime();
+		}
+	}
+
 }
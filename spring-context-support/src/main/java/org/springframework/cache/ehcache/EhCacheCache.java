@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,20 +21,26 @@ import java.util.concurrent.Callable;
 import net.sf.ehcache.Ehcache;
 import net.sf.ehcache.Element;
 import net.sf.ehcache.Status;
+import net.sf.ehcache.statistics.StatisticsGateway;
 
 import org.springframework.cache.Cache;
+import org.springframework.cache.CacheStatistics;
+import org.springframework.cache.CacheStatisticsProvider;
 import org.springframework.cache.support.SimpleValueWrapper;
 import org.springframework.util.Assert;
 
 /**
  * {@link Cache} implementation on top of an {@link Ehcache} instance.
  *
+ * <p>Exposes the statistics kept by EhCache as {@link CacheStatistics},
+ * without any information about loads through {@link #get(Object, Callable)}.
+ *
  * @author Costin Leau
  * @author Juergen Hoeller
  * @author Stephane Nicoll
  * @since 3.1
  */
-public class EhCacheCache implements Cache {
+public class EhCacheCache implements Cache, CacheStatisticsProvider {
 
 	private final Ehcache cache;
 
@@ -62,6 +68,11 @@ public class EhCacheCache implements Cache {
 		return this.cache;
 	}
 
+	@Override
+	public CacheStatistics getCacheStatistics() {
+		return new EhCacheStatistics(this.cache.getStatistics());
+	}
+
 	@Override
 	public ValueWrapper get(Object key) {
 		Element element = lookup(key);
@@ -146,4 +157,53 @@ public class EhCacheCache implements Cache {
 		return (element != null ? new SimpleValueWrapper(element.getObjectValue()) : null);
 	}
 
+
+	/**
+	 * {@link CacheStatistics} view on EhCache's {@link StatisticsGateway}.
+	 */
+	private static class EhCacheStatistics implements CacheStatistics {
+
+		private final StatisticsGateway statistics;
+
+		public EhCacheStatistics(StatisticsGateway statistics) {
+			this.statistics = statistics;
+		}
+
+		@Override
+		public long getHitCount() {
+			return this.statistics.cacheHitCount();
+		}
+
+		@Override
+		public long getMissCount() {
+			return this.statistics.cacheMissCount();
+		}
+
+		@Override
+		public long getPutCount() {
+			return this.statistics.cachePutCount();
+		}
+
+		@Override
+		public long getEvictionCount() {
+			return this.statistics.cacheEvictedCount() + this.statistics.cacheExpiredCount() +
+					this.statistics.cacheRemoveCount();
+		}
+
+		@Override
+		public long getLoadSuccessCount() {
+			return -1;
+		}
+
+		@Override
+		public long getLoadFailureCount() {
+			return -1;
+		}
+
+		@Override
+		public long getTotalLoadTime() {
+			return -1;
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,9 +19,12 @@ package org.springframework.cache.guava;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 
+import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 
+import org.springframework.cache.CacheStatistics;
+import org.springframework.cache.CacheStatisticsProvider;
 import org.springframework.cache.support.AbstractValueAdaptingCache;
 import org.springframework.util.Assert;
 
@@ -29,18 +32,25 @@ import org.springframework.util.Assert;
  * Spring {@link org.springframework.cache.Cache} adapter implementation
  * on top of a Guava {@link com.google.common.cache.Cache} instance.
  *
+ * <p>Exposes the statistics of the Guava cache as {@link CacheStatistics},
+ * provided that they are being recorded (see {@code CacheBuilder.recordStats()}).
+ * Since Guava does not tell whether a cache records statistics, this needs to
+ * be indicated through the {@code recordingStats} constructor argument.
+ *
  * <p>Requires Google Guava 12.0 or higher.
  *
  * @author Juergen Hoeller
  * @author Stephane Nicoll
  * @since 4.0
  */
-public class GuavaCache extends AbstractValueAdaptingCache {
+public class GuavaCache extends AbstractValueAdaptingCache implements CacheStatisticsProvider {
 
 	private final String name;
 
 	private final com.google.common.cache.Cache<Object, Object> cache;
 
+	private final boolean recordingStats;
+
 
 	/**
 	 * Create a {@link GuavaCache} instance with the specified name and the
@@ -61,11 +71,29 @@ public class GuavaCache extends AbstractValueAdaptingCache {
 	 * values for this cache
 	 */
 	public GuavaCache(String name, com.google.common.cache.Cache<Object, Object> cache, boolean allowNullValues) {
+		this(name, cache, allowNullValues, false);
+	}
+
+	/**
+	 * Create a {@link GuavaCache} instance with the specified name and the
+	 * given internal {@link com.google.common.cache.Cache} to use.
+	 * @param name the name of the cache
+	 * @param cache the backing Guava Cache instance
+	 * @param allowNullValues whether to accept and convert {@code null}
+	 * values for this cache
+	 * @param recordingStats whether the given Guava Cache records statistics
+	 * (i.e. has been built with {@code CacheBuilder.recordStats()})
+	 * @since 4.3
+	 */
+	public GuavaCache(String name, com.google.common.cache.Cache<Object, Object> cache,
+			boolean allowNullValues, boolean recordingStats) {
+
 		super(allowNullValues);
 		Assert.notNull(name, "Name must not be null");
 		Assert.notNull(cache, "Cache must not be null");
 		this.name = name;
 		this.cache = cache;
+		this.recordingStats = recordingStats;
 	}
 
 
@@ -79,6 +107,11 @@ public class GuavaCache extends AbstractValueAdaptingCache {
 		return this.cache;
 	}
 
+	@Override
+	public CacheStatistics getCacheStatistics() {
+		return (this.recordingStats ? new GuavaCacheStatistics(this.cache.stats()) : null);
+	}
+
 	@Override
 	public ValueWrapper get(Object key) {
 		if (this.cache instanceof LoadingCache) {
@@ -162,4 +195,52 @@ public class GuavaCache extends AbstractValueAdaptingCache {
 		}
 	}
 
+
+	/**
+	 * {@link CacheStatistics} snapshot backed by Guava's {@link CacheStats}.
+	 */
+	private static class GuavaCacheStatistics implements CacheStatistics {
+
+		private final CacheStats stats;
+
+		public GuavaCacheStatistics(CacheStats stats) {
+			this.stats = stats;
+		}
+
+		@Override
+		public long getHitCount() {
+			return this.stats.hitCount();
+		}
+
+		@Override
+		public long getMissCount() {
+			return this.stats.missCount();
+		}
+
+		@Override
+		public long getPutCount() {
+			return -1;
+		}
+
+		@Override
+		public long getEvictionCount() {
+			return this.stats.evictionCount();
+		}
+
+		@Override
+		public long getLoadSuccessCount() {
+			return this.stats.loadSuccessCount();
+		}
+
+		@Override
+		public long getLoadFailureCount() {
+			return this.stats.loadExceptionCount();
+		}
+
+		@Override
+		public long getTotalLoadTime() {
+			return this.stats.totalLoadTime();
+		}
+	}
+
 }
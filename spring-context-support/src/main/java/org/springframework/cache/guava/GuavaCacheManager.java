@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2014 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -63,6 +63,8 @@ public class GuavaCacheManager implements CacheManager {
 
 	private boolean allowNullValues = true;
 
+	private boolean statisticsEnabled = false;
+
 
 	/**
 	 * Construct a dynamic GuavaCacheManager,
@@ -166,6 +168,33 @@ public class GuavaCacheManager implements CacheManager {
 		return this.allowNullValues;
 	}
 
+	/**
+	 * Specify whether to record {@link org.springframework.cache.CacheStatistics}
+	 * for all caches of this cache manager, applying {@code recordStats()} to the
+	 * Guava CacheBuilder.
+	 * <p>Default is "false". Note that a {@code recordStats} setting in a given
+	 * CacheBuilder or specification is not reflected in the statistics of the
+	 * caches unless this flag is set as well, since Guava does not expose it.
+	 * <p>Note: A change of the statistics setting will reset all existing caches,
+	 * if any, to reconfigure them with the new statistics requirement.
+	 * @since 4.3
+	 * @see GuavaCache#getCacheStatistics()
+	 */
+	public void setStatisticsEnabled(boolean statisticsEnabled) {
+		if (this.statisticsEnabled != statisticsEnabled) {
+			this.statisticsEnabled = statisticsEnabled;
+			refreshKnownCaches();
+		}
+	}
+
+	/**
+	 * Return whether this cache manager records statistics for all its caches.
+	 * @since 4.3
+	 */
+	public boolean isStatisticsEnabled() {
+		return this.statisticsEnabled;
+	}
+
 
 	@Override
 	public Collection<String> getCacheNames() {
@@ -193,7 +222,7 @@ public class GuavaCacheManager implements CacheManager {
 	 * @return the Spring GuavaCache adapter (or a decorator thereof)
 	 */
 	protected Cache createGuavaCache(String name) {
-		return new GuavaCache(name, createNativeGuavaCache(name), isAllowNullValues());
+		return new GuavaCache(name, createNativeGuavaCache(name), isAllowNullValues(), isStatisticsEnabled());
 	}
 
 	/**
@@ -202,6 +231,9 @@ public class GuavaCacheManager implements CacheManager {
 	 * @return the native Guava Cache instance
 	 */
 	protected com.google.common.cache.Cache<Object, Object> createNativeGuavaCache(String name) {
+		if (isStatisticsEnabled()) {
+			this.cacheBuilder.recordStats();
+		}
 		if (this.cacheLoader != null) {
 			return this.cacheBuilder.build(this.cacheLoader);
 		}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,6 +28,10 @@ import org.springframework.util.Assert;
  * {@link org.springframework.cache.Cache} implementation on top of a
  * {@link javax.cache.Cache} instance.
  *
+ * <p>As JCache only exposes its statistics through JMX, statistics for this cache
+ * are recorded by a {@link org.springframework.cache.support.StatisticsCacheDecorator}
+ * when enabled on the {@link JCacheCacheManager}.
+ *
  * <p>Note: This class has been updated for JCache 1.0, as of Spring 4.0.
  *
  * @author Juergen Hoeller
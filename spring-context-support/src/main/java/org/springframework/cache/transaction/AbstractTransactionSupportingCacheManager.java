@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2012 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -55,7 +55,8 @@ public abstract class AbstractTransactionSupportingCacheManager extends Abstract
 
 	@Override
 	protected Cache decorateCache(Cache cache) {
-		return (isTransactionAware() ? new TransactionAwareCacheDecorator(cache) : cache);
+		Cache decorated = super.decorateCache(cache);
+		return (isTransactionAware() ? new TransactionAwareCacheDecorator(decorated) : decorated);
 	}
 
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,8 @@ package org.springframework.cache.transaction;
 import java.util.concurrent.Callable;
 
 import org.springframework.cache.Cache;
+import org.springframework.cache.CacheStatistics;
+import org.springframework.cache.CacheStatisticsProvider;
 import org.springframework.transaction.support.TransactionSynchronizationAdapter;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
@@ -39,7 +41,7 @@ import org.springframework.util.Assert;
  * @since 3.2
  * @see TransactionAwareCacheManagerProxy
  */
-public class TransactionAwareCacheDecorator implements Cache {
+public class TransactionAwareCacheDecorator implements Cache, CacheStatisticsProvider {
 
 	private final Cache targetCache;
 
@@ -64,6 +66,16 @@ public class TransactionAwareCacheDecorator implements Cache {
 		return this.targetCache.getNativeCache();
 	}
 
+	/**
+	 * Return the statistics of the target Cache, if it exposes any.
+	 * @since 4.3
+	 */
+	@Override
+	public CacheStatistics getCacheStatistics() {
+		return (this.targetCache instanceof CacheStatisticsProvider ?
+				((CacheStatisticsProvider) this.targetCache).getCacheStatistics() : null);
+	}
+
 	@Override
 	public ValueWrapper get(Object key) {
 		return this.targetCache.get(key);
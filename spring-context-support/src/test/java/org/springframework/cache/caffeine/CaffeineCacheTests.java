@@ -22,6 +22,7 @@ import org.junit.Test;
 
 import org.springframework.cache.AbstractCacheTests;
 import org.springframework.cache.Cache;
+import org.springframework.cache.CacheStatistics;
 
 import static org.junit.Assert.*;
 
@@ -67,4 +68,25 @@ public class CaffeineCacheTests extends AbstractCacheTests<CaffeineCache> {
 		assertEquals(value, cache.get(key).get()); // not changed
 	}
 
+	@Test
+	public void testNoStatisticsUnlessRecorded() {
+		assertNull(getCache().getCacheStatistics());
+	}
+
+	@Test
+	public void testStatistics() {
+		CaffeineCache cache = new CaffeineCache(CACHE_NAME, Caffeine.newBuilder().recordStats().build());
+		cache.put("a", "1");
+		cache.get("a");
+		cache.get("b");
+		cache.get("c", () -> "3");
+
+		CacheStatistics statistics = cache.getCacheStatistics();
+		assertEquals(1, statistics.getHitCount());
+		assertEquals(2, statistics.getMissCount());
+		assertEquals(-1, statistics.getPutCount());
+		assertEquals(1, statistics.getLoadSuccessCount());
+		assertEquals(0, statistics.getLoadFailureCount());
+	}
+
 }
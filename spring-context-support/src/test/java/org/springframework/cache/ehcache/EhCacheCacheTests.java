@@ -26,6 +26,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import org.springframework.cache.AbstractCacheTests;
+import org.springframework.cache.CacheStatistics;
 import org.springframework.tests.Assume;
 import org.springframework.tests.TestGroup;
 
@@ -67,6 +68,21 @@ public class EhCacheCacheTests extends AbstractCacheTests<EhCacheCache> {
 		return nativeCache;
 	}
 
+	@Test
+	public void testStatistics() {
+		cache.put("a", "1");
+		cache.get("a");
+		cache.get("b");
+		cache.evict("a");
+
+		CacheStatistics statistics = cache.getCacheStatistics();
+		assertEquals(1, statistics.getHitCount());
+		assertEquals(1, statistics.getMissCount());
+		assertEquals(1, statistics.getPutCount());
+		assertEquals(1, statistics.getEvictionCount());
+		assertEquals(-1, statistics.getLoadSuccessCount());
+	}
+
 	@Test
 	public void testExpiredElements() throws Exception {
 		Assume.group(TestGroup.LONG_RUNNING);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -178,6 +178,18 @@ public class GuavaCacheManagerTests {
 		assertNull(cache1.get("foo"));
 	}
 
+	@Test
+	public void statisticsEnabled() {
+		GuavaCacheManager cm = new GuavaCacheManager("c1");
+		assertNull(((GuavaCache) cm.getCache("c1")).getCacheStatistics());
+
+		cm.setStatisticsEnabled(true);
+		GuavaCache cache1 = (GuavaCache) cm.getCache("c1");
+		cache1.get("key1");
+		assertNotNull(cache1.getCacheStatistics());
+		assertEquals(1, cache1.getCacheStatistics().getMissCount());
+	}
+
 	@SuppressWarnings("unchecked")
 	private CacheLoader<Object, Object> mockCacheLoader() {
 		return mock(CacheLoader.class);
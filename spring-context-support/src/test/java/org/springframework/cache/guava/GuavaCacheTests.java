@@ -22,6 +22,7 @@ import org.junit.Test;
 
 import org.springframework.cache.AbstractCacheTests;
 import org.springframework.cache.Cache;
+import org.springframework.cache.CacheStatistics;
 
 import static org.junit.Assert.*;
 
@@ -49,6 +50,27 @@ public class GuavaCacheTests extends AbstractCacheTests<GuavaCache> {
 		return nativeCache;
 	}
 
+	@Test
+	public void testStatistics() {
+		GuavaCache cache = new GuavaCache(CACHE_NAME, CacheBuilder.newBuilder().recordStats().build(), true, true);
+		cache.put("a", "1");
+		cache.get("a");
+		cache.get("b");
+		cache.get("c", () -> "3");
+
+		CacheStatistics statistics = cache.getCacheStatistics();
+		assertEquals(1, statistics.getHitCount());
+		assertEquals(2, statistics.getMissCount());
+		assertEquals(-1, statistics.getPutCount());
+		assertEquals(1, statistics.getLoadSuccessCount());
+		assertEquals(0, statistics.getLoadFailureCount());
+	}
+
+	@Test
+	public void testStatisticsNotRecorded() {
+		assertNull(getCache().getCacheStatistics());
+	}
+
 	@Test
 	public void putIfAbsentNullValue() throws Exception {
 		GuavaCache cache = getCache();
@@ -22,9 +22,14 @@ import javax.cache.Cache;
 import javax.cache.CacheManager;
 
 import org.junit.Before;
+import org.junit.Test;
 
+import org.springframework.cache.CacheStatisticsProvider;
+import org.springframework.cache.support.StatisticsCacheDecorator;
 import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManagerTests;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
 
+import static org.junit.Assert.*;
 import static org.mockito.BDDMockito.*;
 
 /**
@@ -80,6 +85,31 @@ public class JCacheCacheManagerTests extends AbstractTransactionSupportingCacheM
 	}
 
 
+	@Test
+	public void statisticsEnabled() {
+		JCacheCacheManager statisticsCacheManager = new JCacheCacheManager(cacheManagerMock.getCacheManager());
+		statisticsCacheManager.setStatisticsEnabled(true);
+		statisticsCacheManager.afterPropertiesSet();
+
+		org.springframework.cache.Cache cache = statisticsCacheManager.getCache(CACHE_NAME);
+		assertTrue(cache instanceof StatisticsCacheDecorator);
+		cache.get("key");
+		assertEquals(1, ((CacheStatisticsProvider) cache).getCacheStatistics().getMissCount());
+	}
+
+	@Test
+	public void statisticsEnabledWithTransactionAwareness() {
+		JCacheCacheManager statisticsCacheManager = new JCacheCacheManager(cacheManagerMock.getCacheManager());
+		statisticsCacheManager.setStatisticsEnabled(true);
+		statisticsCacheManager.setTransactionAware(true);
+		statisticsCacheManager.afterPropertiesSet();
+
+		org.springframework.cache.Cache cache = statisticsCacheManager.getCache(CACHE_NAME);
+		assertTrue(cache instanceof TransactionAwareCacheDecorator);
+		assertNotNull(((CacheStatisticsProvider) cache).getCacheStatistics());
+	}
+
+
 	private static class CacheManagerMock {
 
 		private final List<String> cacheNames;
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Extension of the {@link Cache} interface for caches that can look up and
+ * store several entries at once, e.g. in a single round-trip to a remote store.
+ *
+ * <p>Caches that do not implement this interface are accessed one key at a
+ * time by the caching infrastructure instead.
+ *
+ * @since 4.3
+ * @see org.springframework.cache.annotation.Cacheable#bulkKeys
+ */
+public interface BulkCache extends Cache {
+
+	/**
+	 * Return the values to which this cache maps the specified keys.
+	 * <p>Keys without a mapping in the cache are not contained in the returned
+	 * map; a mapping to a {@code null} value is exposed as a {@link ValueWrapper}
+	 * holding {@code null}, as with {@link #get(Object)}.
+	 * @param keys the keys whose associated values are to be returned
+	 * @return a map from each key found in the cache to its value
+	 * (never {@code null})
+	 */
+	Map<Object, ValueWrapper> getAll(Collection<?> keys);
+
+	/**
+	 * Associate each value of the given map with its key in this cache.
+	 * <p>Equivalent to calling {@link #put(Object, Object)} for each entry.
+	 * @param entries the keys and values to store
+	 */
+	void putAll(Map<?, ?> entries);
+
+}
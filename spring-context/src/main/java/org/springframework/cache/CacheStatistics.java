@@ -0,0 +1,76 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache;
+
+/**
+ * Statistics about the usage of a {@link Cache}: hits and misses, puts,
+ * evictions as well as loads through {@link Cache#get(Object, java.util.concurrent.Callable)}.
+ *
+ * <p>Implementations may either be a live view of the underlying counters or
+ * a point-in-time snapshot, so callers should obtain fresh statistics from
+ * the {@link CacheStatisticsProvider} whenever they need current values.
+ * Statistics that the underlying cache does not keep track of are reported
+ * as -1.
+ *
+ * @since 4.3
+ * @see CacheStatisticsProvider
+ */
+public interface CacheStatistics {
+
+	/**
+	 * Return the number of lookups that found a value in the cache.
+	 */
+	long getHitCount();
+
+	/**
+	 * Return the number of lookups that did not find a value in the cache.
+	 */
+	long getMissCount();
+
+	/**
+	 * Return the number of values stored in the cache, including loaded values,
+	 * or -1 if not tracked.
+	 */
+	long getPutCount();
+
+	/**
+	 * Return the number of entries removed from the cache, or -1 if not tracked.
+	 * <p>Depending on the cache, these are entries evicted by the cache provider
+	 * itself (on behalf of its size or expiration policy) or entries explicitly
+	 * removed through {@link Cache#evict}.
+	 */
+	long getEvictionCount();
+
+	/**
+	 * Return the number of values successfully loaded into the cache,
+	 * or -1 if not tracked.
+	 */
+	long getLoadSuccessCount();
+
+	/**
+	 * Return the number of attempts to load a value into the cache that failed
+	 * with an exception, or -1 if not tracked.
+	 */
+	long getLoadFailureCount();
+
+	/**
+	 * Return the total time (in nanoseconds) spent loading values into the cache,
+	 * or -1 if not tracked.
+	 */
+	long getTotalLoadTime();
+
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache;
+
+/**
+ * Interface to be implemented by {@link Cache} implementations (or decorators)
+ * that are able to expose {@link CacheStatistics} about their usage.
+ *
+ * <p>Statistics are either obtained from the underlying cache provider, if it
+ * keeps track of them, or counted by the cache adapter itself.
+ *
+ * @since 4.3
+ * @see org.springframework.cache.support.StatisticsCacheDecorator
+ * @see org.springframework.cache.support.CacheStatisticsExporter
+ */
+public interface CacheStatisticsProvider {
+
+	/**
+	 * Return the current statistics of this cache.
+	 * @return the statistics, or {@code null} if this cache is not
+	 * configured to record statistics
+	 */
+	CacheStatistics getCacheStatistics();
+
+}
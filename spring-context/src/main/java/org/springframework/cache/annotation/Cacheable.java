@@ -170,9 +170,65 @@ public @interface Cacheable {
 	 * This is effectively a hint and the actual cache provider that you are
 	 * using may not support it in a synchronized fashion. Check your provider
 	 * documentation for more details on the actual semantics.
+	 * <p>Methods returning a {@link org.springframework.util.concurrent.ListenableFuture}
+	 * or a {@link java.util.concurrent.CompletableFuture} and declaring no other kind of
+	 * cache operation coalesce concurrent loads for the same key anyway, without
+	 * blocking, so this flag is ignored for them.
 	 * @since 4.3
 	 * @see org.springframework.cache.Cache#get(Object, Callable)
 	 */
 	boolean sync() default false;
 
+	/**
+	 * Spring Expression Language (SpEL) expression pointing to a {@link java.util.Collection}
+	 * argument of the method whose elements are to be cached individually, e.g.
+	 * {@code "#ids"} for a {@code Map<Long, User> findUsers(Collection<Long> ids)} method.
+	 * <p>Every element serves as a cache key of its own, with all elements being
+	 * looked up at once where the cache supports it. The method is then invoked
+	 * with the missing elements only, and is expected to return a {@link java.util.Map}
+	 * from element to value: its entries get cached, and the result is reassembled
+	 * from both cached and loaded values, in the order of the original collection.
+	 * Elements that are neither cached nor returned by the method are left out.
+	 * <p>Default is {@code ""}, meaning that the method result is cached as a whole.
+	 * <p>This attribute has the following limitations:
+	 * <ol>
+	 * <li>{@link #key} and {@link #keyGenerator} are not supported</li>
+	 * <li>{@link #sync} is not supported</li>
+	 * <li>No other cache-related operation can be combined</li>
+	 * <li>The expression needs to be a plain reference to a {@code Collection}
+	 * parameter, e.g. {@code "#ids"} or {@code "#p0"}; varargs methods are not supported</li>
+	 * </ol>
+	 * {@link #condition} applies to the invocation as a whole, whereas {@link #unless}
+	 * is evaluated for every single value, exposed as {@code #result}. Invoking the
+	 * method with the missing elements only requires proxy-based caching; with
+	 * AspectJ weaving, the method is invoked with the original collection.
+	 * @since 4.3
+	 * @see org.springframework.cache.BulkCache
+	 */
+	String bulkKeys() default "";
+
+	/**
+	 * The age (in milliseconds) after which a cached value is to be refreshed ahead
+	 * of its expiration.
+	 * <p>A cache hit on an older entry still returns the cached value immediately,
+	 * but triggers a single asynchronous invocation of the method for the same
+	 * arguments, whose result replaces the cached value. Frequently accessed entries
+	 * are therefore kept up to date without callers ever waiting for a reload.
+	 * <p>Default is -1, meaning no refresh ahead. Cached values are stored as-is:
+	 * their write time is tracked in memory by the cache aspect. An entry that was
+	 * not written through the aspect (e.g. by another node sharing the cache) is
+	 * therefore considered as written when first read by such an operation.
+	 * <p>Refreshes are performed by the {@code refreshExecutor} of the cache aspect,
+	 * defaulting to the unique {@link org.springframework.core.task.TaskExecutor}
+	 * bean in the context, if any, or to a
+	 * {@link org.springframework.core.task.SimpleAsyncTaskExecutor} otherwise.
+	 * As a consequence, a refresh does not run within the caller's transaction or
+	 * other thread-bound context. Not supported in combination with {@link #sync},
+	 * {@link #bulkKeys} or on methods returning a {@code ListenableFuture} or a
+	 * {@code CompletableFuture}.
+	 * @since 4.3
+	 * @see org.springframework.cache.interceptor.CacheAspectSupport#setRefreshExecutor
+	 */
+	long refreshAfter() default -1;
+
 }
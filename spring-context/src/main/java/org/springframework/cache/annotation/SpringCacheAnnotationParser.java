@@ -31,6 +31,7 @@ import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
+import org.springframework.util.concurrent.ListenableFuture;
 
 /**
  * Strategy implementation for parsing Spring's {@link Caching}, {@link Cacheable},
@@ -110,10 +111,23 @@ public class SpringCacheAnnotationParser implements CacheAnnotationParser, Seria
 		builder.setCacheManager(cacheable.cacheManager());
 		builder.setCacheResolver(cacheable.cacheResolver());
 		builder.setSync(cacheable.sync());
+		builder.setBulkKeys(cacheable.bulkKeys());
+		builder.setRefreshAfter(cacheable.refreshAfter());
 
 		defaultConfig.applyDefault(builder);
 		CacheableOperation op = builder.build();
 		validateCacheOperation(ae, op);
+		if (StringUtils.hasText(cacheable.bulkKeys())) {
+			validateBulkCacheableOperation(ae, cacheable);
+		}
+		if (cacheable.refreshAfter() >= 0 && (cacheable.sync() || StringUtils.hasText(cacheable.bulkKeys()))) {
+			throw new IllegalStateException("Invalid cache annotation configuration on '" +
+					ae.toString() + "'. 'refreshAfter' cannot be combined with 'sync' or 'bulkKeys'.");
+		}
+		if (cacheable.refreshAfter() >= 0 && ae instanceof Method && isFutureType(((Method) ae).getReturnType())) {
+			throw new IllegalStateException("Invalid cache annotation configuration on '" +
+					ae.toString() + "'. 'refreshAfter' is not supported on methods returning a future.");
+		}
 
 		return op;
 	}
@@ -223,6 +237,33 @@ public class SpringCacheAnnotationParser implements CacheAnnotationParser, Seria
 		}
 	}
 
+	/**
+	 * Validates the specified {@link Cacheable} annotation declaring bulk keys:
+	 * as every element serves as a cache key of its own, no key may be specified
+	 * locally. A class-level default key generator is ignored instead.
+	 */
+	private void validateBulkCacheableOperation(AnnotatedElement ae, Cacheable cacheable) {
+		if (StringUtils.hasText(cacheable.key()) || StringUtils.hasText(cacheable.keyGenerator())) {
+			throw new IllegalStateException("Invalid cache annotation configuration on '" +
+					ae.toString() + "'. 'bulkKeys' cannot be combined with 'key' or 'keyGenerator': " +
+					"every element of the bulk keys collection serves as a cache key of its own.");
+		}
+		if (cacheable.sync()) {
+			throw new IllegalStateException("Invalid cache annotation configuration on '" +
+					ae.toString() + "'. 'bulkKeys' cannot be combined with 'sync'.");
+		}
+		if (ae instanceof Method && ((Method) ae).isVarArgs()) {
+			throw new IllegalStateException("Invalid cache annotation configuration on '" +
+					ae.toString() + "'. 'bulkKeys' is not supported on varargs methods.");
+		}
+	}
+
+	private boolean isFutureType(Class<?> returnType) {
+		return (ListenableFuture.class == returnType ||
+				"java.util.concurrent.CompletableFuture".equals(returnType.getName()) ||
+				"java.util.concurrent.CompletionStage".equals(returnType.getName()));
+	}
+
 	@Override
 	public boolean equals(Object other) {
 		return (this == other || other instanceof SpringCacheAnnotationParser);
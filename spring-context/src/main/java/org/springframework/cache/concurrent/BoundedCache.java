@@ -0,0 +1,665 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.util.Assert;
+
+/**
+ * {@link org.springframework.cache.Cache} implementation with an optional bound
+ * on the number of entries (or their total weight) and optional expiration of
+ * entries after write and/or after access, without any external dependencies.
+ *
+ * <p>Bounded caches evict entries based on a frequency-aware admission policy:
+ * new entries first go into a small LRU window; when leaving that window, they
+ * are only admitted into the main space if they have been used more often than
+ * the least recently used entry there, as estimated by a compact frequency
+ * sketch (a TinyLFU-style filter). This keeps the cache from being flushed by
+ * one-off scans while still adapting to changing access patterns.
+ *
+ * <p>Reads are recorded in a lossy buffer and writes in a queue, both of which
+ * get applied to the eviction policy under a lock in small batches, piggybacking
+ * on regular cache operations. No background thread is required; expired entries
+ * are removed during such maintenance as well as when encountered on lookup.
+ *
+ * <p>Typically configured through a {@link BoundedCacheSpec} and created through
+ * {@link BoundedCacheManager}.
+ *
+ * @since 4.3
+ * @see BoundedCacheSpec
+ * @see BoundedCacheManager
+ */
+public class BoundedCache extends AbstractValueAdaptingCache {
+
+	private static final int READ_BUFFER_SIZE = 128;
+
+	private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+
+	private static final int READ_DRAIN_MASK = 31;
+
+	private static final int NONE = 0;
+
+	private static final int WINDOW = 1;
+
+	private static final int MAIN = 2;
+
+
+	private final String name;
+
+	private final ConcurrentMap<Object, Node> data = new ConcurrentHashMap<Object, Node>(256);
+
+	private final long maximum;
+
+	private final Weigher weigher;
+
+	private final long expireAfterWriteNanos;
+
+	private final long expireAfterAccessNanos;
+
+	private final boolean hasPolicy;
+
+	private final boolean recordsReads;
+
+	private final AtomicReferenceArray<Node> readBuffer = new AtomicReferenceArray<Node>(READ_BUFFER_SIZE);
+
+	private final AtomicLong readCount = new AtomicLong();
+
+	private final Queue<Runnable> writeBuffer = new ConcurrentLinkedQueue<Runnable>();
+
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+	// Policy state below: only to be accessed with the eviction lock held
+
+	private final FrequencySketch sketch = new FrequencySketch();
+
+	private final NodeDeque window = new NodeDeque(false);
+
+	private final NodeDeque main = new NodeDeque(false);
+
+	private final NodeDeque writeOrder = new NodeDeque(true);
+
+	private final long windowMaximum;
+
+	private long windowWeight;
+
+	private long mainWeight;
+
+
+	/**
+	 * Create a new BoundedCache with the specified name and maximum number of entries.
+	 * @param name the name of the cache
+	 * @param maximumSize the maximum number of entries
+	 */
+	public BoundedCache(String name, long maximumSize) {
+		this(name, maximumSizeSpec(maximumSize), true);
+	}
+
+	/**
+	 * Create a new BoundedCache with the specified name and settings.
+	 * @param name the name of the cache
+	 * @param spec the size and expiration settings to apply
+	 * @param allowNullValues whether to accept and convert {@code null}
+	 * values for this cache
+	 */
+	public BoundedCache(String name, BoundedCacheSpec spec, boolean allowNullValues) {
+		super(allowNullValues);
+		Assert.notNull(name, "Name must not be null");
+		Assert.notNull(spec, "BoundedCacheSpec must not be null");
+		spec.validate();
+		this.name = name;
+		this.maximum = (spec.getMaximumWeight() >= 0 ? spec.getMaximumWeight() : spec.getMaximumSize());
+		this.weigher = spec.getWeigher();
+		this.expireAfterWriteNanos = toNanos(spec.getExpireAfterWrite());
+		this.expireAfterAccessNanos = toNanos(spec.getExpireAfterAccess());
+		this.hasPolicy = (this.maximum >= 0 || expires());
+		this.recordsReads = (this.maximum >= 0 || this.expireAfterAccessNanos >= 0);
+		// Admission window of about 1% of the maximum
+		this.windowMaximum = Math.max(1, this.maximum / 100);
+	}
+
+	private static BoundedCacheSpec maximumSizeSpec(long maximumSize) {
+		BoundedCacheSpec spec = new BoundedCacheSpec();
+		spec.setMaximumSize(maximumSize);
+		return spec;
+	}
+
+	private static long toNanos(long millis) {
+		return (millis >= 0 ? TimeUnit.MILLISECONDS.toNanos(millis) : -1);
+	}
+
+
+	@Override
+	public final String getName() {
+		return this.name;
+	}
+
+	/**
+	 * This implementation returns the {@code BoundedCache} itself,
+	 * not exposing its internal data structures.
+	 */
+	@Override
+	public final Object getNativeCache() {
+		return this;
+	}
+
+	/**
+	 * Return the current number of entries in this cache, possibly
+	 * including entries that have expired but not been removed yet.
+	 */
+	public long size() {
+		return this.data.size();
+	}
+
+	/**
+	 * Return the current total weight of all entries as seen by the
+	 * eviction policy, i.e. the number of entries if no Weigher is used.
+	 */
+	public long weightedSize() {
+		this.evictionLock.lock();
+		try {
+			maintenance();
+			return this.windowWeight + this.mainWeight;
+		}
+		finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+	/**
+	 * Perform any pending maintenance right away: apply buffered reads and
+	 * writes to the eviction policy, remove expired entries and evict entries
+	 * exceeding the configured maximum.
+	 * <p>Not necessary for the cache to function properly since maintenance
+	 * happens along with regular cache operations. May be used to release
+	 * memory held by expired entries in a cache that is idle otherwise.
+	 */
+	public void cleanUp() {
+		this.evictionLock.lock();
+		try {
+			maintenance();
+		}
+		finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+
+	@Override
+	protected Object lookup(Object key) {
+		Node node = this.data.get(key);
+		if (node == null) {
+			return null;
+		}
+		if (expires()) {
+			long now = currentTime();
+			if (isExpired(node, now)) {
+				if (this.data.remove(key, node)) {
+					afterRemoval(node);
+				}
+				return null;
+			}
+			if (this.expireAfterAccessNanos >= 0) {
+				node.accessTime = now;
+			}
+		}
+		afterRead(node);
+		return node.value;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		ValueWrapper existing = get(key);
+		if (existing != null) {
+			return (T) existing.get();
+		}
+		synchronized (this.data) {
+			existing = get(key);
+			if (existing != null) {
+				return (T) existing.get();
+			}
+			T value;
+			try {
+				value = valueLoader.call();
+			}
+			catch (Exception ex) {
+				throw new ValueRetrievalException(key, valueLoader, ex);
+			}
+			put(key, value);
+			return value;
+		}
+	}
+
+	@Override
+	public void put(Object key, Object value) {
+		Node node = createNode(key, toStoreValue(value));
+		Node existing = this.data.put(key, node);
+		if (existing != null) {
+			afterRemoval(existing);
+		}
+		afterAddition(node);
+	}
+
+	@Override
+	public ValueWrapper putIfAbsent(Object key, Object value) {
+		Node node = createNode(key, toStoreValue(value));
+		while (true) {
+			Node existing = this.data.putIfAbsent(key, node);
+			if (existing == null) {
+				afterAddition(node);
+				return null;
+			}
+			if (!expires() || !isExpired(existing, currentTime())) {
+				afterRead(existing);
+				return toValueWrapper(existing.value);
+			}
+			if (this.data.replace(key, existing, node)) {
+				afterRemoval(existing);
+				afterAddition(node);
+				return null;
+			}
+		}
+	}
+
+	@Override
+	public void evict(Object key) {
+		Node existing = this.data.remove(key);
+		if (existing != null) {
+			afterRemoval(existing);
+		}
+	}
+
+	@Override
+	public void clear() {
+		this.evictionLock.lock();
+		try {
+			drainBuffers();
+			for (Node node : this.data.values()) {
+				if (this.data.remove(node.key, node)) {
+					node.retired = true;
+				}
+			}
+			unlinkAll(this.window);
+			unlinkAll(this.main);
+		}
+		finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+	/**
+	 * Return the current time in nanoseconds, as a basis for expiration.
+	 */
+	long currentTime() {
+		return System.nanoTime();
+	}
+
+
+	private Node createNode(Object key, Object storeValue) {
+		int weight = (this.weigher != null ? this.weigher.weigh(key, storeValue) : 1);
+		Assert.isTrue(weight >= 0, "Weigher must not return a negative weight");
+		long now = (expires() ? currentTime() : 0);
+		return new Node(key, storeValue, weight, now);
+	}
+
+	private boolean expires() {
+		return (this.expireAfterWriteNanos >= 0 || this.expireAfterAccessNanos >= 0);
+	}
+
+	private boolean isExpired(Node node, long now) {
+		return ((this.expireAfterWriteNanos >= 0 && now - node.writeTime >= this.expireAfterWriteNanos) ||
+				(this.expireAfterAccessNanos >= 0 && now - node.accessTime >= this.expireAfterAccessNanos));
+	}
+
+	private void afterRead(Node node) {
+		if (this.recordsReads) {
+			long count = this.readCount.getAndIncrement();
+			this.readBuffer.lazySet((int) (count & READ_BUFFER_MASK), node);
+			if ((count & READ_DRAIN_MASK) == READ_DRAIN_MASK) {
+				scheduleMaintenance();
+			}
+		}
+	}
+
+	private void afterAddition(final Node node) {
+		if (this.hasPolicy) {
+			this.writeBuffer.add(new Runnable() {
+				@Override
+				public void run() {
+					link(node);
+				}
+			});
+			scheduleMaintenance();
+		}
+	}
+
+	private void afterRemoval(final Node node) {
+		node.retired = true;
+		if (this.hasPolicy) {
+			this.writeBuffer.add(new Runnable() {
+				@Override
+				public void run() {
+					unlink(node);
+				}
+			});
+			scheduleMaintenance();
+		}
+	}
+
+	private void scheduleMaintenance() {
+		// Whoever holds the lock re-checks for pending writes after releasing it,
+		// so no write gets stuck in the buffer if we cannot acquire the lock here
+		while (this.evictionLock.tryLock()) {
+			try {
+				maintenance();
+			}
+			finally {
+				this.evictionLock.unlock();
+			}
+			if (this.writeBuffer.isEmpty()) {
+				break;
+			}
+		}
+	}
+
+	private void maintenance() {
+		drainBuffers();
+		if (expires()) {
+			expireEntries(currentTime());
+		}
+		if (this.maximum >= 0) {
+			evictEntries();
+		}
+	}
+
+	private void drainBuffers() {
+		for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+			Node node = this.readBuffer.get(i);
+			if (node != null) {
+				this.readBuffer.lazySet(i, null);
+				onAccess(node);
+			}
+		}
+		Runnable task;
+		while ((task = this.writeBuffer.poll()) != null) {
+			task.run();
+		}
+	}
+
+	private void onAccess(Node node) {
+		if (node.queue == WINDOW) {
+			this.window.moveToBack(node);
+		}
+		else if (node.queue == MAIN) {
+			this.main.moveToBack(node);
+		}
+		else {
+			return;
+		}
+		if (this.maximum >= 0) {
+			this.sketch.increment(node.key);
+		}
+	}
+
+	private void link(Node node) {
+		if (node.retired || node.queue != NONE) {
+			return;
+		}
+		node.queue = WINDOW;
+		this.window.addLast(node);
+		this.windowWeight += node.weight;
+		if (this.expireAfterWriteNanos >= 0) {
+			this.writeOrder.addLast(node);
+		}
+		if (this.maximum >= 0) {
+			this.sketch.ensureCapacity(this.weigher != null ? this.data.size() : this.maximum);
+			this.sketch.increment(node.key);
+		}
+	}
+
+	private void unlink(Node node) {
+		if (node.queue == WINDOW) {
+			this.window.remove(node);
+			this.windowWeight -= node.weight;
+		}
+		else if (node.queue == MAIN) {
+			this.main.remove(node);
+			this.mainWeight -= node.weight;
+		}
+		else {
+			return;
+		}
+		node.queue = NONE;
+		if (this.expireAfterWriteNanos >= 0) {
+			this.writeOrder.remove(node);
+		}
+	}
+
+	private void unlinkAll(NodeDeque deque) {
+		Node node;
+		while ((node = deque.peekFirst()) != null) {
+			unlink(node);
+		}
+	}
+
+	private void removeEntry(Node node) {
+		unlink(node);
+		if (this.data.remove(node.key, node)) {
+			node.retired = true;
+		}
+	}
+
+	private void expireEntries(long now) {
+		if (this.expireAfterAccessNanos >= 0) {
+			expireEntries(this.window, now);
+			expireEntries(this.main, now);
+		}
+		if (this.expireAfterWriteNanos >= 0) {
+			expireEntries(this.writeOrder, now);
+		}
+	}
+
+	private void expireEntries(NodeDeque deque, long now) {
+		Node node;
+		while ((node = deque.peekFirst()) != null && isExpired(node, now)) {
+			removeEntry(node);
+		}
+	}
+
+	private void evictEntries() {
+		// Move entries from the window into the main space if they are
+		// used more frequently than the main space's eviction candidate
+		while (this.windowWeight > this.windowMaximum) {
+			Node candidate = this.window.peekFirst();
+			this.window.remove(candidate);
+			this.windowWeight -= candidate.weight;
+			candidate.queue = MAIN;
+			this.main.addLast(candidate);
+			this.mainWeight += candidate.weight;
+			while (this.windowWeight + this.mainWeight > this.maximum) {
+				Node victim = this.main.peekFirst();
+				if (victim == candidate ||
+						this.sketch.frequency(candidate.key) <= this.sketch.frequency(victim.key)) {
+					removeEntry(candidate);
+					break;
+				}
+				removeEntry(victim);
+			}
+		}
+		// Still exceeding the maximum, e.g. through a single heavy entry...
+		while (this.windowWeight + this.mainWeight > this.maximum) {
+			Node victim = this.main.peekFirst();
+			if (victim == null) {
+				victim = this.window.peekFirst();
+			}
+			if (victim == null) {
+				break;
+			}
+			removeEntry(victim);
+		}
+	}
+
+
+	/**
+	 * Strategy for determining the weight of a cache entry, in
+	 * combination with a {@link BoundedCacheSpec#setMaximumWeight maximum weight}.
+	 */
+	public interface Weigher {
+
+		/**
+		 * Return the weight of the given entry, relative to other entries.
+		 * @param key the key of the entry
+		 * @param value the value of the entry (possibly the internal
+		 * representation of a {@code null} value)
+		 * @return a non-negative weight
+		 */
+		int weigh(Object key, Object value);
+	}
+
+
+	/**
+	 * A cache entry, including its links in the policy's deques.
+	 */
+	private static final class Node {
+
+		final Object key;
+
+		final Object value;
+
+		final int weight;
+
+		final long writeTime;
+
+		volatile long accessTime;
+
+		volatile boolean retired;
+
+		int queue = NONE;
+
+		Node previous;
+
+		Node next;
+
+		Node previousInWriteOrder;
+
+		Node nextInWriteOrder;
+
+		Node(Object key, Object value, int weight, long now) {
+			this.key = key;
+			this.value = value;
+			this.weight = weight;
+			this.writeTime = now;
+			this.accessTime = now;
+		}
+	}
+
+
+	/**
+	 * Doubly-linked list of nodes, either in access order or in write order.
+	 */
+	private static final class NodeDeque {
+
+		private final boolean writeOrder;
+
+		private Node first;
+
+		private Node last;
+
+		NodeDeque(boolean writeOrder) {
+			this.writeOrder = writeOrder;
+		}
+
+		Node peekFirst() {
+			return this.first;
+		}
+
+		void addLast(Node node) {
+			setPrevious(node, this.last);
+			setNext(node, null);
+			if (this.last == null) {
+				this.first = node;
+			}
+			else {
+				setNext(this.last, node);
+			}
+			this.last = node;
+		}
+
+		void remove(Node node) {
+			Node previous = getPrevious(node);
+			Node next = getNext(node);
+			if (previous == null) {
+				this.first = next;
+			}
+			else {
+				setNext(previous, next);
+			}
+			if (next == null) {
+				this.last = previous;
+			}
+			else {
+				setPrevious(next, previous);
+			}
+			setPrevious(node, null);
+			setNext(node, null);
+		}
+
+		void moveToBack(Node node) {
+			if (node != this.last) {
+				remove(node);
+				addLast(node);
+			}
+		}
+
+		private Node getPrevious(Node node) {
+			return (this.writeOrder ? node.previousInWriteOrder : node.previous);
+		}
+
+		private Node getNext(Node node) {
+			return (this.writeOrder ? node.nextInWriteOrder : node.next);
+		}
+
+		private void setPrevious(Node node, Node previous) {
+			if (this.writeOrder) {
+				node.previousInWriteOrder = previous;
+			}
+			else {
+				node.previous = previous;
+			}
+		}
+
+		private void setNext(Node node, Node next) {
+			if (this.writeOrder) {
+				node.nextInWriteOrder = next;
+			}
+			else {
+				node.next = next;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.util.Assert;
+
+/**
+ * {@link CacheManager} implementation that lazily builds {@link BoundedCache}
+ * instances for each {@link #getCache} request. Also supports a 'static' mode where
+ * the set of cache names is pre-defined through {@link #setCacheNames}, with no
+ * dynamic creation of further cache regions at runtime.
+ *
+ * <p>Each cache is configured through a {@link BoundedCacheSpec}: either a
+ * specific one registered for its name via {@link #setCacheSpecs}, or the
+ * {@link #setDefaultCacheSpec default spec}. A spec-compliant expression value
+ * can also be applied via the {@link #setCacheSpecification "cacheSpecification"}
+ * bean property, e.g. "maximumSize=1000,expireAfterWrite=10m".
+ *
+ * <p>Unlike {@link ConcurrentMapCacheManager}, this CacheManager is suitable for
+ * memory-bounded caching in production, without any third-party cache provider.
+ *
+ * @since 4.3
+ * @see BoundedCache
+ * @see BoundedCacheSpec
+ */
+public class BoundedCacheManager implements CacheManager {
+
+	/**
+	 * The maximum number of entries per cache unless specified otherwise: {@value}.
+	 * @see #setDefaultCacheSpec
+	 */
+	public static final long DEFAULT_MAXIMUM_SIZE = 10000;
+
+
+	private final ConcurrentMap<String, Cache> cacheMap = new ConcurrentHashMap<String, Cache>(16);
+
+	private boolean dynamic = true;
+
+	private boolean allowNullValues = true;
+
+	private BoundedCacheSpec defaultCacheSpec = createDefaultCacheSpec();
+
+	private final Map<String, BoundedCacheSpec> cacheSpecs = new HashMap<String, BoundedCacheSpec>();
+
+
+	/**
+	 * Construct a dynamic BoundedCacheManager,
+	 * lazily creating cache instances as they are being requested.
+	 */
+	public BoundedCacheManager() {
+	}
+
+	/**
+	 * Construct a static BoundedCacheManager,
+	 * managing caches for the specified cache names only.
+	 */
+	public BoundedCacheManager(String... cacheNames) {
+		setCacheNames(Arrays.asList(cacheNames));
+	}
+
+
+	/**
+	 * Specify the set of cache names for this CacheManager's 'static' mode.
+	 * <p>The number of caches and their names will be fixed after a call to this method,
+	 * with no creation of further cache regions at runtime.
+	 * <p>Calling this with a {@code null} collection argument resets the
+	 * mode to 'dynamic', allowing for further creation of caches again.
+	 */
+	public void setCacheNames(Collection<String> cacheNames) {
+		if (cacheNames != null) {
+			for (String name : cacheNames) {
+				this.cacheMap.put(name, createBoundedCache(name));
+			}
+			this.dynamic = false;
+		}
+		else {
+			this.dynamic = true;
+		}
+	}
+
+	/**
+	 * Set the {@link BoundedCacheSpec} to use for all caches without a
+	 * specific spec of their own.
+	 * <p>Default is a cache with a maximum size of {@link #DEFAULT_MAXIMUM_SIZE}
+	 * entries, without expiration.
+	 * @see #setCacheSpecs
+	 */
+	public void setDefaultCacheSpec(BoundedCacheSpec defaultCacheSpec) {
+		Assert.notNull(defaultCacheSpec, "Default BoundedCacheSpec must not be null");
+		defaultCacheSpec.validate();
+		this.defaultCacheSpec = defaultCacheSpec;
+		refreshKnownCaches();
+	}
+
+	/**
+	 * Set the default cache specification String to use for all caches
+	 * without a specific spec of their own.
+	 * @see BoundedCacheSpec#parse
+	 * @see #setDefaultCacheSpec
+	 */
+	public void setCacheSpecification(String cacheSpecification) {
+		setDefaultCacheSpec(BoundedCacheSpec.parse(cacheSpecification));
+	}
+
+	/**
+	 * Register specific {@link BoundedCacheSpec BoundedCacheSpecs} per cache name,
+	 * taking precedence over the {@link #setDefaultCacheSpec default spec}.
+	 */
+	public void setCacheSpecs(Map<String, BoundedCacheSpec> cacheSpecs) {
+		for (BoundedCacheSpec spec : cacheSpecs.values()) {
+			spec.validate();
+		}
+		this.cacheSpecs.clear();
+		this.cacheSpecs.putAll(cacheSpecs);
+		refreshKnownCaches();
+	}
+
+	/**
+	 * Specify whether to accept and convert {@code null} values for all caches
+	 * in this cache manager.
+	 * <p>Default is "true". An internal holder object will be used to store
+	 * user-level {@code null}s.
+	 * <p>Note: A change of the null-value setting will reset all existing caches,
+	 * if any, to reconfigure them with the new null-value requirement.
+	 */
+	public void setAllowNullValues(boolean allowNullValues) {
+		if (allowNullValues != this.allowNullValues) {
+			this.allowNullValues = allowNullValues;
+			refreshKnownCaches();
+		}
+	}
+
+	/**
+	 * Return whether this cache manager accepts and converts {@code null} values
+	 * for all of its caches.
+	 */
+	public boolean isAllowNullValues() {
+		return this.allowNullValues;
+	}
+
+
+	@Override
+	public Collection<String> getCacheNames() {
+		return Collections.unmodifiableSet(this.cacheMap.keySet());
+	}
+
+	@Override
+	public Cache getCache(String name) {
+		Cache cache = this.cacheMap.get(name);
+		if (cache == null && this.dynamic) {
+			synchronized (this.cacheMap) {
+				cache = this.cacheMap.get(name);
+				if (cache == null) {
+					cache = createBoundedCache(name);
+					this.cacheMap.put(name, cache);
+				}
+			}
+		}
+		return cache;
+	}
+
+	/**
+	 * Create a new BoundedCache instance for the specified cache name.
+	 * @param name the name of the cache
+	 * @return the BoundedCache (or a decorator thereof)
+	 */
+	protected Cache createBoundedCache(String name) {
+		return new BoundedCache(name, getCacheSpec(name), isAllowNullValues());
+	}
+
+	/**
+	 * Return the {@link BoundedCacheSpec} to apply to the specified cache.
+	 * @param name the name of the cache
+	 * @return the specific spec for the cache, or the default spec
+	 */
+	protected BoundedCacheSpec getCacheSpec(String name) {
+		BoundedCacheSpec spec = this.cacheSpecs.get(name);
+		return (spec != null ? spec : this.defaultCacheSpec);
+	}
+
+	/**
+	 * Recreate the known caches with the current settings.
+	 */
+	private void refreshKnownCaches() {
+		for (Map.Entry<String, Cache> entry : this.cacheMap.entrySet()) {
+			entry.setValue(createBoundedCache(entry.getKey()));
+		}
+	}
+
+
+	private static BoundedCacheSpec createDefaultCacheSpec() {
+		BoundedCacheSpec spec = new BoundedCacheSpec();
+		spec.setMaximumSize(DEFAULT_MAXIMUM_SIZE);
+		return spec;
+	}
+
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Configuration settings for a {@link BoundedCache}: maximum number of entries
+ * or maximum total weight, as well as expiration after write and after access.
+ *
+ * <p>Can also be built from a specification String through {@link #parse},
+ * e.g. "maximumSize=1000,expireAfterAccess=10m". Supported keys are
+ * {@code maximumSize}, {@code maximumWeight}, {@code expireAfterWrite}
+ * and {@code expireAfterAccess}; durations are specified as a number
+ * followed by one of the units "d", "h", "m", "s" or "ms".
+ *
+ * @since 4.3
+ * @see BoundedCache
+ * @see BoundedCacheManager
+ */
+public class BoundedCacheSpec {
+
+	private long maximumSize = -1;
+
+	private long maximumWeight = -1;
+
+	private BoundedCache.Weigher weigher;
+
+	private long expireAfterWrite = -1;
+
+	private long expireAfterAccess = -1;
+
+
+	/**
+	 * Set the maximum number of entries in the cache.
+	 * <p>Default is -1, indicating no size limit.
+	 * Mutually exclusive with {@link #setMaximumWeight "maximumWeight"}.
+	 */
+	public void setMaximumSize(long maximumSize) {
+		this.maximumSize = maximumSize;
+	}
+
+	/**
+	 * Return the maximum number of entries in the cache, or -1 if not limited.
+	 */
+	public long getMaximumSize() {
+		return this.maximumSize;
+	}
+
+	/**
+	 * Set the maximum total weight of all entries in the cache,
+	 * as determined by the {@link #setWeigher Weigher}.
+	 * <p>Default is -1, indicating no weight limit.
+	 */
+	public void setMaximumWeight(long maximumWeight) {
+		this.maximumWeight = maximumWeight;
+	}
+
+	/**
+	 * Return the maximum total weight of the cache, or -1 if not limited.
+	 */
+	public long getMaximumWeight() {
+		return this.maximumWeight;
+	}
+
+	/**
+	 * Set the {@link BoundedCache.Weigher} to determine the weight of each entry,
+	 * in combination with a {@link #setMaximumWeight "maximumWeight"}.
+	 */
+	public void setWeigher(BoundedCache.Weigher weigher) {
+		this.weigher = weigher;
+	}
+
+	/**
+	 * Return the {@link BoundedCache.Weigher} to use, if any.
+	 */
+	public BoundedCache.Weigher getWeigher() {
+		return this.weigher;
+	}
+
+	/**
+	 * Set the time (in milliseconds) after which an entry expires once
+	 * it has been created or its value has been replaced.
+	 * <p>Default is -1, indicating no expiration after write.
+	 */
+	public void setExpireAfterWrite(long expireAfterWrite) {
+		this.expireAfterWrite = expireAfterWrite;
+	}
+
+	/**
+	 * Return the time (in milliseconds) after which an entry expires
+	 * once written, or -1 if none.
+	 */
+	public long getExpireAfterWrite() {
+		return this.expireAfterWrite;
+	}
+
+	/**
+	 * Set the time (in milliseconds) after which an entry expires once it
+	 * has been last read or written.
+	 * <p>Default is -1, indicating no expiration after access.
+	 */
+	public void setExpireAfterAccess(long expireAfterAccess) {
+		this.expireAfterAccess = expireAfterAccess;
+	}
+
+	/**
+	 * Return the time (in milliseconds) after which an entry expires
+	 * once accessed, or -1 if none.
+	 */
+	public long getExpireAfterAccess() {
+		return this.expireAfterAccess;
+	}
+
+	/**
+	 * Validate this specification, checking for a consistent size limit.
+	 * @throws IllegalStateException if the settings are inconsistent
+	 */
+	public void validate() {
+		if (this.maximumSize >= 0 && this.maximumWeight >= 0) {
+			throw new IllegalStateException("Specify either 'maximumSize' or 'maximumWeight', not both");
+		}
+		if (this.maximumWeight >= 0 && this.weigher == null) {
+			throw new IllegalStateException("'maximumWeight' requires a Weigher");
+		}
+		if (this.weigher != null && this.maximumWeight < 0) {
+			throw new IllegalStateException("A Weigher requires 'maximumWeight' to be specified");
+		}
+	}
+
+
+	/**
+	 * Parse the given specification String into a {@code BoundedCacheSpec}.
+	 * @param specification a comma-separated list of key-value pairs,
+	 * e.g. "maximumSize=1000,expireAfterWrite=30s"
+	 * @return the corresponding {@code BoundedCacheSpec}
+	 * @throws IllegalArgumentException if the specification cannot be parsed
+	 */
+	public static BoundedCacheSpec parse(String specification) {
+		Assert.notNull(specification, "Specification must not be null");
+		BoundedCacheSpec spec = new BoundedCacheSpec();
+		for (String pair : StringUtils.commaDelimitedListToStringArray(specification)) {
+			if (!StringUtils.hasText(pair)) {
+				continue;
+			}
+			int separator = pair.indexOf('=');
+			if (separator == -1) {
+				throw new IllegalArgumentException("Invalid cache specification entry '" + pair + "' in [" +
+						specification + "]: expected key=value");
+			}
+			String key = pair.substring(0, separator).trim();
+			String value = pair.substring(separator + 1).trim();
+			if ("maximumSize".equals(key)) {
+				spec.setMaximumSize(parseLong(key, value));
+			}
+			else if ("maximumWeight".equals(key)) {
+				spec.setMaximumWeight(parseLong(key, value));
+			}
+			else if ("expireAfterWrite".equals(key)) {
+				spec.setExpireAfterWrite(parseDuration(key, value));
+			}
+			else if ("expireAfterAccess".equals(key)) {
+				spec.setExpireAfterAccess(parseDuration(key, value));
+			}
+			else {
+				throw new IllegalArgumentException("Unknown cache specification key '" + key + "' in [" +
+						specification + "]");
+			}
+		}
+		return spec;
+	}
+
+	private static long parseLong(String key, String value) {
+		try {
+			return Long.parseLong(value);
+		}
+		catch (NumberFormatException ex) {
+			throw new IllegalArgumentException("Invalid value '" + value + "' for '" + key + "'", ex);
+		}
+	}
+
+	private static long parseDuration(String key, String value) {
+		TimeUnit unit;
+		String amount;
+		if (value.endsWith("ms")) {
+			unit = TimeUnit.MILLISECONDS;
+			amount = value.substring(0, value.length() - 2);
+		}
+		else {
+			char suffix = (value.length() > 0 ? value.charAt(value.length() - 1) : ' ');
+			switch (suffix) {
+				case 'd':
+					unit = TimeUnit.DAYS;
+					break;
+				case 'h':
+					unit = TimeUnit.HOURS;
+					break;
+				case 'm':
+					unit = TimeUnit.MINUTES;
+					break;
+				case 's':
+					unit = TimeUnit.SECONDS;
+					break;
+				default:
+					throw new IllegalArgumentException("Invalid duration '" + value + "' for '" + key +
+							"': expected a number followed by one of 'd', 'h', 'm', 's' or 'ms'");
+			}
+			amount = value.substring(0, value.length() - 1);
+		}
+		return unit.toMillis(parseLong(key, amount.trim()));
+	}
+
+
+	@Override
+	public String toString() {
+		return "BoundedCacheSpec [maximumSize=" + this.maximumSize + ", maximumWeight=" + this.maximumWeight +
+				", expireAfterWrite=" + this.expireAfterWrite + "ms, expireAfterAccess=" +
+				this.expireAfterAccess + "ms]";
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,11 +19,18 @@ package org.springframework.cache.concurrent;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import org.springframework.cache.BulkCache;
+import org.springframework.cache.CacheStatistics;
+import org.springframework.cache.CacheStatisticsProvider;
 import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.CacheStatisticsCounter;
 import org.springframework.core.serializer.support.SerializationDelegate;
 import org.springframework.util.Assert;
 
@@ -45,7 +52,7 @@ import org.springframework.util.Assert;
  * @author Stephane Nicoll
  * @since 3.1
  */
-public class ConcurrentMapCache extends AbstractValueAdaptingCache {
+public class ConcurrentMapCache extends AbstractValueAdaptingCache implements BulkCache, CacheStatisticsProvider {
 
 	private final String name;
 
@@ -53,6 +60,8 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 
 	private final SerializationDelegate serialization;
 
+	private final CacheStatisticsCounter statistics;
+
 
 	/**
 	 * Create a new ConcurrentMapCache with the specified name.
@@ -99,12 +108,32 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 	protected ConcurrentMapCache(String name, ConcurrentMap<Object, Object> store,
 			boolean allowNullValues, SerializationDelegate serialization) {
 
+		this(name, store, allowNullValues, serialization, false);
+	}
+
+	/**
+	 * Create a new ConcurrentMapCache with the specified name and the
+	 * given internal {@link ConcurrentMap} to use, optionally recording
+	 * {@link CacheStatistics} about its usage.
+	 * @param name the name of the cache
+	 * @param store the ConcurrentMap to use as an internal store
+	 * @param allowNullValues whether to allow {@code null} values
+	 * (adapting them to an internal null holder value)
+	 * @param serialization the {@link SerializationDelegate} to use
+	 * to serialize cache entry or {@code null} to store the reference
+	 * @param statisticsEnabled whether to record statistics
+	 * @since 4.3
+	 */
+	protected ConcurrentMapCache(String name, ConcurrentMap<Object, Object> store,
+			boolean allowNullValues, SerializationDelegate serialization, boolean statisticsEnabled) {
+
 		super(allowNullValues);
 		Assert.notNull(name, "Name must not be null");
 		Assert.notNull(store, "Store must not be null");
 		this.name = name;
 		this.store = store;
 		this.serialization = serialization;
+		this.statistics = (statisticsEnabled ? new CacheStatisticsCounter() : null);
 	}
 
 	/**
@@ -126,9 +155,29 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 		return this.store;
 	}
 
+	/**
+	 * Return the statistics of this cache, counting hits and misses, puts,
+	 * explicit evictions and loads, or {@code null} if not enabled.
+	 * @since 4.3
+	 * @see ConcurrentMapCacheManager#setStatisticsEnabled
+	 */
+	@Override
+	public CacheStatistics getCacheStatistics() {
+		return this.statistics;
+	}
+
 	@Override
 	protected Object lookup(Object key) {
-		return this.store.get(key);
+		Object value = this.store.get(key);
+		if (this.statistics != null) {
+			if (value != null) {
+				this.statistics.recordHits(1);
+			}
+			else {
+				this.statistics.recordMisses(1);
+			}
+		}
+		return value;
 	}
 
 	@SuppressWarnings("unchecked")
@@ -143,11 +192,17 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 					return (T) get(key).get();
 				}
 				T value;
-				try {
-					value = valueLoader.call();
+				if (this.statistics != null) {
+					this.statistics.recordMisses(1);
+					value = loadValue(key, valueLoader);
 				}
-				catch (Exception ex) {
-					throw new ValueRetrievalException(key, valueLoader, ex);
+				else {
+					try {
+						value = valueLoader.call();
+					}
+					catch (Exception ex) {
+						throw new ValueRetrievalException(key, valueLoader, ex);
+					}
 				}
 				put(key, value);
 				return value;
@@ -155,20 +210,65 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 		}
 	}
 
+	private <T> T loadValue(Object key, Callable<T> valueLoader) {
+		long start = System.nanoTime();
+		try {
+			T value = valueLoader.call();
+			this.statistics.recordLoadSuccess(System.nanoTime() - start);
+			return value;
+		}
+		catch (Exception ex) {
+			this.statistics.recordLoadFailure(System.nanoTime() - start);
+			throw new ValueRetrievalException(key, valueLoader, ex);
+		}
+	}
+
 	@Override
 	public void put(Object key, Object value) {
 		this.store.put(key, toStoreValue(value));
+		if (this.statistics != null) {
+			this.statistics.recordPuts(1);
+		}
 	}
 
 	@Override
 	public ValueWrapper putIfAbsent(Object key, Object value) {
 		Object existing = this.store.putIfAbsent(key, toStoreValue(value));
+		if (this.statistics != null && existing == null) {
+			this.statistics.recordPuts(1);
+		}
 		return toValueWrapper(existing);
 	}
 
+	@Override
+	public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+		Map<Object, ValueWrapper> result = new LinkedHashMap<Object, ValueWrapper>(keys.size());
+		for (Object key : keys) {
+			ValueWrapper wrapper = toValueWrapper(this.store.get(key));
+			if (wrapper != null) {
+				result.put(key, wrapper);
+			}
+		}
+		if (this.statistics != null) {
+			this.statistics.recordHits(result.size());
+			this.statistics.recordMisses(keys.size() - result.size());
+		}
+		return result;
+	}
+
+	@Override
+	public void putAll(Map<?, ?> entries) {
+		for (Map.Entry<?, ?> entry : entries.entrySet()) {
+			put(entry.getKey(), entry.getValue());
+		}
+	}
+
 	@Override
 	public void evict(Object key) {
-		this.store.remove(key);
+		Object existing = this.store.remove(key);
+		if (this.statistics != null && existing != null) {
+			this.statistics.recordEvictions(1);
+		}
 	}
 
 	@Override
@@ -36,7 +36,8 @@ import org.springframework.core.serializer.support.SerializationDelegate;
  *
  * <p>Note: This is by no means a sophisticated CacheManager; it comes with no
  * cache configuration options. However, it may be useful for testing or simple
- * caching scenarios. For advanced local caching needs, consider
+ * caching scenarios. For memory-bounded caching without further dependencies, consider
+ * {@link BoundedCacheManager}. For advanced local caching needs, consider
  * {@link org.springframework.cache.jcache.JCacheCacheManager},
  * {@link org.springframework.cache.ehcache.EhCacheCacheManager},
  * {@link com.github.benmanes.caffeine.cache.CaffeineCacheManager} or
@@ -56,6 +57,8 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 
 	private boolean storeByValue = false;
 
+	private boolean statisticsEnabled = false;
+
 	private SerializationDelegate serialization;
 
 
@@ -147,6 +150,33 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 		return this.storeByValue;
 	}
 
+	/**
+	 * Specify whether to record {@link org.springframework.cache.CacheStatistics}
+	 * for all caches of this cache manager.
+	 * <p>Default is "false".
+	 * <p>Note: A change of the statistics setting will reset all existing caches,
+	 * if any, to reconfigure them with the new statistics requirement.
+	 * @since 4.3
+	 * @see ConcurrentMapCache#getCacheStatistics()
+	 */
+	public void setStatisticsEnabled(boolean statisticsEnabled) {
+		if (statisticsEnabled != this.statisticsEnabled) {
+			this.statisticsEnabled = statisticsEnabled;
+			// Need to recreate all Cache instances with the new statistics configuration...
+			for (Map.Entry<String, Cache> entry : this.cacheMap.entrySet()) {
+				entry.setValue(createConcurrentMapCache(entry.getKey()));
+			}
+		}
+	}
+
+	/**
+	 * Return whether this cache manager records statistics for all its caches.
+	 * @since 4.3
+	 */
+	public boolean isStatisticsEnabled() {
+		return this.statisticsEnabled;
+	}
+
 	@Override
 	public void setBeanClassLoader(ClassLoader classLoader) {
 		this.serialization = new SerializationDelegate(classLoader);
@@ -181,7 +211,7 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 		SerializationDelegate actualSerialization =
 				this.storeByValue ? this.serialization : null;
 		return new ConcurrentMapCache(name, new ConcurrentHashMap<Object, Object>(256),
-				isAllowNullValues(), actualSerialization);
+				isAllowNullValues(), actualSerialization, isStatisticsEnabled());
 
 	}
 
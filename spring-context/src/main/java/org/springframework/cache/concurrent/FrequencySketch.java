@@ -0,0 +1,142 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+/**
+ * Probabilistic estimate of how often keys have been used recently, based on
+ * a Count-Min sketch with four 4-bit counters per key. All counters are halved
+ * periodically, so that the estimates favor recent history over old one.
+ *
+ * <p>Serves as the admission filter for {@link BoundedCache}: a new entry only
+ * replaces an existing one if it has been used more often.
+ *
+ * <p>Not thread-safe: to be accessed under the cache's eviction lock only.
+ *
+ * <p>The counter layout, hash seeds and aging scheme are derived from the
+ * {@code FrequencySketch} of the <a href="https://github.com/ben-manes/caffeine">
+ * Caffeine</a> caching library, Copyright Ben Manes, which is licensed under
+ * the Apache License, Version 2.0 as well.
+ *
+ * @author Ben Manes
+ * @since 4.3
+ * @see BoundedCache
+ */
+final class FrequencySketch {
+
+	private static final long[] SEEDS = {
+			0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+	private static final long RESET_MASK = 0x7777777777777777L;
+
+	private static final long ONE_MASK = 0x1111111111111111L;
+
+	private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+
+	private long[] table = new long[0];
+
+	private int tableMask;
+
+	private int sampleSize;
+
+	private int additions;
+
+
+	/**
+	 * Size the sketch for the given number of entries, discarding all
+	 * previous frequency information if it needs to grow.
+	 * @param expectedSize the expected number of cache entries
+	 */
+	public void ensureCapacity(long expectedSize) {
+		int maximum = (int) Math.min(Math.max(expectedSize, 16), MAXIMUM_CAPACITY);
+		if (this.table.length >= maximum) {
+			return;
+		}
+		this.table = new long[ceilingPowerOfTwo(maximum)];
+		this.tableMask = this.table.length - 1;
+		this.sampleSize = 10 * maximum;
+		this.additions = 0;
+	}
+
+	/**
+	 * Return the estimated number of recent occurrences of the given key, up to 15.
+	 */
+	public int frequency(Object key) {
+		int hash = spread(key.hashCode());
+		int start = (hash & 3) << 2;
+		int frequency = Integer.MAX_VALUE;
+		for (int i = 0; i < 4; i++) {
+			int index = indexOf(hash, i);
+			int count = (int) ((this.table[index] >>> ((start + i) << 2)) & 0xfL);
+			frequency = Math.min(frequency, count);
+		}
+		return frequency;
+	}
+
+	/**
+	 * Record an occurrence of the given key, aging all counters once
+	 * the sample size has been reached.
+	 */
+	public void increment(Object key) {
+		int hash = spread(key.hashCode());
+		int start = (hash & 3) << 2;
+		boolean added = false;
+		for (int i = 0; i < 4; i++) {
+			added |= incrementAt(indexOf(hash, i), start + i);
+		}
+		if (added && ++this.additions == this.sampleSize) {
+			reset();
+		}
+	}
+
+	private boolean incrementAt(int index, int counter) {
+		int offset = counter << 2;
+		long mask = (0xfL << offset);
+		if ((this.table[index] & mask) != mask) {
+			this.table[index] += (1L << offset);
+			return true;
+		}
+		return false;
+	}
+
+	private void reset() {
+		int odd = 0;
+		for (int i = 0; i < this.table.length; i++) {
+			odd += Long.bitCount(this.table[i] & ONE_MASK);
+			this.table[i] = (this.table[i] >>> 1) & RESET_MASK;
+		}
+		this.additions = (this.additions >>> 1) - (odd >>> 2);
+	}
+
+	private int indexOf(int hash, int i) {
+		long result = (hash + SEEDS[i]) * SEEDS[i];
+		result += (result >>> 32);
+		return ((int) result) & this.tableMask;
+	}
+
+
+	private static int spread(int hash) {
+		int result = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+		result = ((result >>> 16) ^ result) * 0x45d9f3b;
+		return (result >>> 16) ^ result;
+	}
+
+	private static int ceilingPowerOfTwo(int value) {
+		return 1 << (32 - Integer.numberOfLeadingZeros(value - 1));
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2014 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,11 @@
 
 package org.springframework.cache.interceptor;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.cache.BulkCache;
 import org.springframework.cache.Cache;
 import org.springframework.util.Assert;
 
@@ -73,6 +78,36 @@ public abstract class AbstractCacheInvoker {
 		}
 	}
 
+	/**
+	 * Look up the specified keys on the specified {@link Cache}, through a single
+	 * {@link BulkCache#getAll} call if supported or key by key otherwise, and
+	 * invoke the error handler if an exception occurs. Return an empty map if
+	 * the handler does not throw any exception, which simulates a cache miss
+	 * for all keys in case of error.
+	 * @return the entries found in the cache (never {@code null})
+	 * @since 4.3
+	 * @see BulkCache#getAll(Collection)
+	 */
+	protected Map<Object, Cache.ValueWrapper> doGetAll(Cache cache, Collection<?> keys) {
+		if (cache instanceof BulkCache) {
+			try {
+				return ((BulkCache) cache).getAll(keys);
+			}
+			catch (RuntimeException e) {
+				getErrorHandler().handleCacheGetError(e, cache, keys);
+				return new LinkedHashMap<Object, Cache.ValueWrapper>(0);
+			}
+		}
+		Map<Object, Cache.ValueWrapper> result = new LinkedHashMap<Object, Cache.ValueWrapper>(keys.size());
+		for (Object key : keys) {
+			Cache.ValueWrapper wrapper = doGet(cache, key);
+			if (wrapper != null) {
+				result.put(key, wrapper);
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Execute {@link Cache#put(Object, Object)} on the specified {@link Cache}
 	 * and invoke the error handler if an exception occurs.
@@ -86,6 +121,28 @@ public abstract class AbstractCacheInvoker {
 		}
 	}
 
+	/**
+	 * Store the specified entries in the specified {@link Cache}, through a
+	 * single {@link BulkCache#putAll} call if supported or entry by entry
+	 * otherwise, and invoke the error handler if an exception occurs.
+	 * @since 4.3
+	 * @see BulkCache#putAll(Map)
+	 */
+	protected void doPutAll(Cache cache, Map<?, ?> entries) {
+		if (cache instanceof BulkCache) {
+			try {
+				((BulkCache) cache).putAll(entries);
+			}
+			catch (RuntimeException e) {
+				getErrorHandler().handleCachePutError(e, cache, entries.keySet(), entries.values());
+			}
+			return;
+		}
+		for (Map.Entry<?, ?> entry : entries.entrySet()) {
+			doPut(cache, entry.getKey(), entry.getValue());
+		}
+	}
+
 	/**
 	 * Execute {@link Cache#evict(Object)} on the specified {@link Cache} and
 	 * invoke the error handler if an exception occurs.
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+/**
+ * Extension of {@link CacheOperationInvoker} that is able to invoke the
+ * underlying method with different arguments, as needed for
+ * {@link org.springframework.cache.annotation.Cacheable#bulkKeys() bulk keys}:
+ * the method is invoked with the keys missing in the cache only then.
+ *
+ * <p>The arguments of the original invocation remain untouched. Invokers that
+ * do not implement this interface always invoke the method with the original
+ * arguments, i.e. with all bulk keys.
+ *
+ * @since 4.3
+ * @see CacheAspectSupport#execute(CacheOperationInvoker, Object, java.lang.reflect.Method, Object[])
+ */
+public interface BulkCacheOperationInvoker extends CacheOperationInvoker {
+
+	/**
+	 * Invoke the cache operation defined by this instance with the given
+	 * arguments instead of the original ones.
+	 * @param args the arguments to invoke the underlying method with
+	 * @return the result of the operation
+	 * @throws ThrowableWrapper if an error occurred while invoking the operation
+	 */
+	Object invoke(Object[] args) throws ThrowableWrapper;
+
+}
@@ -20,16 +20,26 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.NoUniqueBeanDefinitionException;
@@ -41,14 +51,23 @@ import org.springframework.cache.support.SimpleValueWrapper;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.expression.AnnotatedElementKey;
+import org.springframework.core.CollectionFactory;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.expression.EvaluationContext;
+import org.springframework.lang.UsesJava8;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
+import org.springframework.util.concurrent.CompletableToListenableFutureAdapter;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureCallback;
+import org.springframework.util.concurrent.SettableListenableFuture;
 
 /**
  * Base class for caching aspects, such as the {@link CacheInterceptor}
@@ -68,6 +87,11 @@ import org.springframework.util.StringUtils;
  * <p>A cache aspect is serializable if its {@code CacheResolver} and
  * {@code CacheOperationSource} are serializable.
  *
+ * <p>Methods that only declare {@code @Cacheable} operations and return a
+ * {@link ListenableFuture} or a {@link CompletableFuture} are cached asynchronously:
+ * the completed value gets cached rather than the future, and concurrent misses
+ * for the same key are served by a single invocation, without blocking any thread.
+ *
  * @author Costin Leau
  * @author Juergen Hoeller
  * @author Chris Beams
@@ -79,6 +103,11 @@ import org.springframework.util.StringUtils;
 public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		implements InitializingBean, SmartInitializingSingleton, ApplicationContextAware {
 
+	// Java 8's CompletableFuture type present?
+	private static final boolean completableFuturePresent = ClassUtils.isPresent(
+			"java.util.concurrent.CompletableFuture", CacheAspectSupport.class.getClassLoader());
+
+
 	protected final Log logger = LogFactory.getLog(getClass());
 
 	/**
@@ -89,12 +118,34 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 	private final ExpressionEvaluator evaluator = new ExpressionEvaluator();
 
+	/**
+	 * In-flight asynchronous loads, keyed by the cache and key they populate.
+	 */
+	private final ConcurrentMap<AsyncLoadKey, SettableListenableFuture<Object>> asyncLoads =
+			new ConcurrentHashMap<AsyncLoadKey, SettableListenableFuture<Object>>(64);
+
+	/**
+	 * In-flight refreshes of cached values, keyed by the cache and key they refresh.
+	 */
+	private final ConcurrentMap<AsyncLoadKey, Boolean> refreshes = new ConcurrentHashMap<AsyncLoadKey, Boolean>(64);
+
+	/**
+	 * Write times of values cached by operations with a refresh-ahead threshold,
+	 * keyed by the cache and key they were written to. Kept aside from the cached
+	 * values themselves, released along with evictions through this aspect, and
+	 * softly referenced since the underlying caches may drop entries at any time.
+	 */
+	private final ConcurrentMap<AsyncLoadKey, Long> refreshWriteTimes =
+			new ConcurrentReferenceHashMap<AsyncLoadKey, Long>(64);
+
 	private CacheOperationSource cacheOperationSource;
 
 	private KeyGenerator keyGenerator = new SimpleKeyGenerator();
 
 	private CacheResolver cacheResolver;
 
+	private volatile Executor refreshExecutor;
+
 	private ApplicationContext applicationContext;
 
 	private boolean initialized = false;
@@ -164,6 +215,27 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		return this.cacheResolver;
 	}
 
+	/**
+	 * Set the {@link Executor} to refresh cached values with, for operations
+	 * declaring a refresh-ahead threshold.
+	 * <p>By default, the unique {@link TaskExecutor} bean in the application
+	 * context is used, if any, or a {@link SimpleAsyncTaskExecutor} otherwise.
+	 * @since 4.3
+	 * @see org.springframework.cache.annotation.Cacheable#refreshAfter()
+	 */
+	public void setRefreshExecutor(Executor refreshExecutor) {
+		this.refreshExecutor = refreshExecutor;
+	}
+
+	/**
+	 * Return the {@link Executor} to refresh cached values with, if specified
+	 * or already determined.
+	 * @since 4.3
+	 */
+	public Executor getRefreshExecutor() {
+		return this.refreshExecutor;
+	}
+
 	@Override
 	public void setApplicationContext(ApplicationContext applicationContext) {
 		this.applicationContext = applicationContext;
@@ -265,6 +337,11 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			}
 			metadata = new CacheOperationMetadata(operation, method, targetClass,
 					operationKeyGenerator, operationCacheResolver);
+			if (operation instanceof CacheableOperation &&
+					StringUtils.hasText(((CacheableOperation) operation).getBulkKeys())) {
+				metadata.bulkKeysParameterIndex =
+						resolveBulkKeysParameterIndex((CacheableOperation) operation, metadata.targetMethod);
+			}
 			this.metadataCache.put(cacheKey, metadata);
 		}
 		return metadata;
@@ -285,6 +362,22 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		return BeanFactoryAnnotationUtils.qualifiedBeanOfType(this.applicationContext, expectedType, beanName);
 	}
 
+	/**
+	 * Resolve the index of the {@link Collection} parameter that the bulk keys
+	 * expression of the given operation refers to.
+	 * @throws IllegalStateException if the expression is not a plain reference
+	 * to a {@code Collection} parameter of the given method
+	 */
+	private int resolveBulkKeysParameterIndex(CacheableOperation operation, Method targetMethod) {
+		int index = this.evaluator.getKeyParameterIndex(operation.getBulkKeys(), targetMethod);
+		if (index < 0 || !Collection.class.isAssignableFrom(targetMethod.getParameterTypes()[index])) {
+			throw new IllegalStateException("Bulk keys expression '" + operation.getBulkKeys() +
+					"' of cache operation " + operation + " does not refer to a Collection parameter of method '" +
+					targetMethod + "' (only plain parameter references such as '#ids' or '#p0' are supported)");
+		}
+		return index;
+	}
+
 	/**
 	 * Clear the cached metadata.
 	 */
@@ -330,6 +423,16 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	}
 
 	private Object execute(final CacheOperationInvoker invoker, CacheOperationContexts contexts) {
+		// Special handling of methods returning a future: takes precedence over sync
+		if (contexts.isAsync()) {
+			return executeAsync(invoker, contexts);
+		}
+
+		// Special handling of methods caching the elements of a collection argument
+		if (contexts.isBulk()) {
+			return executeBulk(invoker, contexts);
+		}
+
 		// Special handling of synchronized invocation
 		if (contexts.isSynchronized()) {
 			CacheOperationContext context = contexts.get(CacheableOperation.class).iterator().next();
@@ -392,9 +495,193 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		// Process any late evictions
 		processCacheEvicts(contexts.get(CacheEvictOperation.class), false, result.get());
 
+		// Refresh an outdated cache hit in the background, if necessary
+		if (cacheHit != null && result == cacheHit) {
+			processCacheRefresh(invoker, contexts.get(CacheableOperation.class));
+		}
+
 		return result.get();
 	}
 
+	private Object executeAsync(CacheOperationInvoker invoker, CacheOperationContexts contexts) {
+		Class<?> returnType = contexts.getMethod().getReturnType();
+		Collection<CacheOperationContext> cacheableContexts = contexts.get(CacheableOperation.class);
+
+		Cache.ValueWrapper cacheHit = findCachedItem(cacheableContexts);
+		if (cacheHit != null) {
+			SettableListenableFuture<Object> completed = new SettableListenableFuture<Object>();
+			completed.set(cacheHit.get());
+			return adaptFuture(completed, returnType);
+		}
+
+		final List<CachePutRequest> cachePutRequests = new LinkedList<CachePutRequest>();
+		collectPutRequests(cacheableContexts, ExpressionEvaluator.NO_RESULT, cachePutRequests);
+		if (cachePutRequests.isEmpty()) {
+			// No caching required, only call the underlying method
+			return invokeOperation(invoker);
+		}
+
+		// Coalesce concurrent misses onto the load of the first cache put
+		CachePutRequest firstRequest = cachePutRequests.get(0);
+		final AsyncLoadKey loadKey = new AsyncLoadKey(firstRequest.context.getCaches().iterator().next(), firstRequest.key);
+		final SettableListenableFuture<Object> load = new SettableListenableFuture<Object>();
+		SettableListenableFuture<Object> existingLoad = this.asyncLoads.putIfAbsent(loadKey, load);
+		if (existingLoad != null) {
+			if (logger.isTraceEnabled()) {
+				logger.trace("Joining in-flight load for cache key '" + loadKey.key + "'");
+			}
+			return adaptFuture(existingLoad, returnType);
+		}
+
+		Object result;
+		try {
+			result = invokeOperation(invoker);
+		}
+		catch (RuntimeException ex) {
+			this.asyncLoads.remove(loadKey, load);
+			load.setException(ex instanceof CacheOperationInvoker.ThrowableWrapper ?
+					((CacheOperationInvoker.ThrowableWrapper) ex).getOriginal() : ex);
+			throw ex;
+		}
+		ListenableFuture<Object> future = toListenableFuture(result);
+		if (future == null) {
+			this.asyncLoads.remove(loadKey, load);
+			load.set(null);
+			return null;
+		}
+		future.addCallback(new ListenableFutureCallback<Object>() {
+			@Override
+			public void onSuccess(Object value) {
+				try {
+					for (CachePutRequest cachePutRequest : cachePutRequests) {
+						cachePutRequest.apply(value);
+					}
+				}
+				finally {
+					asyncLoads.remove(loadKey, load);
+					load.set(value);
+				}
+			}
+			@Override
+			public void onFailure(Throwable ex) {
+				asyncLoads.remove(loadKey, load);
+				load.setException(ex);
+			}
+		});
+		return adaptFuture(load, returnType);
+	}
+
+	private Object executeBulk(CacheOperationInvoker invoker, CacheOperationContexts contexts) {
+		CacheOperationContext context = contexts.get(CacheableOperation.class).iterator().next();
+		if (!isConditionPassing(context, ExpressionEvaluator.NO_RESULT)) {
+			// No caching required, only call the underlying method
+			return invokeOperation(invoker);
+		}
+		Object[] args = context.getArgs();
+		int keysIndex = context.metadata.bulkKeysParameterIndex;
+		Object keys = args[keysIndex];
+		if (keys == null) {
+			// No keys to look up, only call the underlying method
+			return invokeOperation(invoker);
+		}
+
+		// Look up all keys, cache by cache
+		Collection<?> allKeys = (Collection<?>) keys;
+		Map<Object, Object> cachedValues = new HashMap<Object, Object>(allKeys.size());
+		Set<Object> missingKeys = new LinkedHashSet<Object>(allKeys);
+		for (Cache cache : context.getCaches()) {
+			if (missingKeys.isEmpty()) {
+				break;
+			}
+			for (Map.Entry<Object, Cache.ValueWrapper> entry : doGetAll(cache, missingKeys).entrySet()) {
+				cachedValues.put(entry.getKey(), entry.getValue().get());
+				missingKeys.remove(entry.getKey());
+			}
+		}
+		if (logger.isTraceEnabled()) {
+			logger.trace("Found " + cachedValues.size() + " of " + allKeys.size() + " bulk cache keys in cache(s) " +
+					context.getCacheNames() + ", missing keys: " + missingKeys);
+		}
+
+		// Invoke the method for the missing keys only, and cache the returned entries
+		Map<?, ?> loadedValues = Collections.emptyMap();
+		if (!missingKeys.isEmpty()) {
+			Collection<Object> missingKeysArg = CollectionFactory.createCollection(
+					context.getMethod().getParameterTypes()[keysIndex], missingKeys.size());
+			missingKeysArg.addAll(missingKeys);
+			Object result;
+			if (invoker instanceof BulkCacheOperationInvoker) {
+				// Leave the original arguments untouched for the caller and any other interceptors
+				Object[] missingKeysArgs = args.clone();
+				missingKeysArgs[keysIndex] = missingKeysArg;
+				result = ((BulkCacheOperationInvoker) invoker).invoke(missingKeysArgs);
+			}
+			else {
+				// Invoked with all keys, caching the entries for keys found in the cache again
+				result = invokeOperation(invoker);
+			}
+			if (result != null) {
+				loadedValues = (Map<?, ?>) result;
+				Map<Object, Object> cacheableValues = new LinkedHashMap<Object, Object>(loadedValues.size());
+				for (Map.Entry<?, ?> entry : loadedValues.entrySet()) {
+					if (context.canPutToCache(entry.getValue())) {
+						cacheableValues.put(entry.getKey(), entry.getValue());
+					}
+				}
+				if (!cacheableValues.isEmpty()) {
+					for (Cache cache : context.getCaches()) {
+						doPutAll(cache, cacheableValues);
+					}
+				}
+			}
+		}
+
+		// Reassemble the result in the order of the original keys
+		Map<Object, Object> result = CollectionFactory.createMap(context.getMethod().getReturnType(), allKeys.size());
+		for (Object key : allKeys) {
+			if (cachedValues.containsKey(key)) {
+				result.put(key, cachedValues.get(key));
+			}
+			else if (loadedValues.containsKey(key)) {
+				result.put(key, loadedValues.get(key));
+			}
+		}
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	private ListenableFuture<Object> toListenableFuture(Object result) {
+		if (result instanceof ListenableFuture) {
+			return (ListenableFuture<Object>) result;
+		}
+		if (completableFuturePresent) {
+			return CompletableFutureDelegate.toListenableFuture(result);
+		}
+		return null;
+	}
+
+	/**
+	 * Expose the outcome of the given future through a new future of the
+	 * given return type, so that callers do not share the same instance.
+	 */
+	private Object adaptFuture(ListenableFuture<Object> source, Class<?> returnType) {
+		if (completableFuturePresent && CompletableFutureDelegate.isCompletableFutureType(returnType)) {
+			return CompletableFutureDelegate.fromListenableFuture(source);
+		}
+		final SettableListenableFuture<Object> target = new SettableListenableFuture<Object>();
+		source.addCallback(new ListenableFutureCallback<Object>() {
+			@Override
+			public void onSuccess(Object value) {
+				target.set(value);
+			}
+			@Override
+			public void onFailure(Throwable ex) {
+				target.setException(ex);
+			}
+		});
+		return target;
+	}
+
 	private boolean hasCachePut(CacheOperationContexts contexts) {
 		// Evaluate the conditions *without* the result object because we don't have it yet.
 		Collection<CacheOperationContext> cachePutContexts = contexts.get(CachePutOperation.class);
@@ -428,6 +715,7 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			if (operation.isCacheWide()) {
 				logInvalidating(context, operation, null);
 				doClear(cache);
+				releaseRefreshWriteTimes(cache);
 			}
 			else {
 				if (key == null) {
@@ -435,6 +723,16 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 				}
 				logInvalidating(context, operation, key);
 				doEvict(cache, key);
+				this.refreshWriteTimes.remove(new AsyncLoadKey(cache, key));
+			}
+		}
+	}
+
+	private void releaseRefreshWriteTimes(Cache cache) {
+		Iterator<AsyncLoadKey> entryKeys = this.refreshWriteTimes.keySet().iterator();
+		while (entryKeys.hasNext()) {
+			if (entryKeys.next().cache == cache) {
+				entryKeys.remove();
 			}
 		}
 	}
@@ -496,12 +794,117 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 				if (logger.isTraceEnabled()) {
 					logger.trace("Cache entry for key '" + key + "' found in cache '" + cache.getName() + "'");
 				}
+				long refreshAfter = context.getRefreshAfter();
+				if (refreshAfter >= 0 && isRefreshDue(cache, key, refreshAfter)) {
+					context.refreshDue = true;
+				}
 				return wrapper;
 			}
 		}
 		return null;
 	}
 
+	/**
+	 * Determine whether the entry for the given key is older than the given
+	 * refresh-ahead threshold. An entry without known write time (written by
+	 * other means than this aspect, or whose write time has been released)
+	 * is considered as written now.
+	 */
+	private boolean isRefreshDue(Cache cache, Object key, long refreshAfter) {
+		long now = System.currentTimeMillis();
+		AsyncLoadKey entryKey = new AsyncLoadKey(cache, key);
+		Long writeTime = this.refreshWriteTimes.get(entryKey);
+		if (writeTime == null) {
+			writeTime = this.refreshWriteTimes.putIfAbsent(entryKey, now);
+			if (writeTime == null) {
+				writeTime = now;
+			}
+		}
+		return (now - writeTime >= refreshAfter);
+	}
+
+	/**
+	 * Trigger a background refresh if the cache hit found by one of the given
+	 * {@link CacheableOperation} contexts is due for it. A single invocation
+	 * of the method updates the caches of all given contexts.
+	 */
+	private void processCacheRefresh(final CacheOperationInvoker invoker, Collection<CacheOperationContext> contexts) {
+		CacheOperationContext refreshContext = null;
+		for (CacheOperationContext context : contexts) {
+			if (context.refreshDue) {
+				refreshContext = context;
+				break;
+			}
+		}
+		if (refreshContext == null) {
+			return;
+		}
+
+		final AsyncLoadKey refreshKey = new AsyncLoadKey(refreshContext.getCaches().iterator().next(),
+				generateKey(refreshContext, ExpressionEvaluator.NO_RESULT));
+		if (this.refreshes.putIfAbsent(refreshKey, Boolean.TRUE) != null) {
+			// Refresh already in progress
+			return;
+		}
+		final List<CachePutRequest> cachePutRequests = new LinkedList<CachePutRequest>();
+		collectPutRequests(contexts, ExpressionEvaluator.NO_RESULT, cachePutRequests);
+		if (logger.isTraceEnabled()) {
+			logger.trace("Refreshing cache entry for key '" + refreshKey.key + "' in cache(s) " +
+					refreshContext.getCacheNames());
+		}
+		try {
+			obtainRefreshExecutor().execute(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						Object result = invokeOperation(invoker);
+						for (CachePutRequest cachePutRequest : cachePutRequests) {
+							cachePutRequest.apply(result);
+						}
+					}
+					catch (Throwable ex) {
+						Throwable cause = (ex instanceof CacheOperationInvoker.ThrowableWrapper ?
+								((CacheOperationInvoker.ThrowableWrapper) ex).getOriginal() : ex);
+						logger.warn("Failed to refresh cache entry for key '" + refreshKey.key + "'", cause);
+					}
+					finally {
+						refreshes.remove(refreshKey);
+					}
+				}
+			});
+		}
+		catch (RuntimeException ex) {
+			this.refreshes.remove(refreshKey);
+			logger.warn("Could not schedule refresh of cache entry for key '" + refreshKey.key + "'", ex);
+		}
+	}
+
+	private Executor obtainRefreshExecutor() {
+		Executor executor = this.refreshExecutor;
+		if (executor == null) {
+			synchronized (this.refreshes) {
+				executor = this.refreshExecutor;
+				if (executor == null) {
+					executor = determineDefaultRefreshExecutor();
+					this.refreshExecutor = executor;
+				}
+			}
+		}
+		return executor;
+	}
+
+	private Executor determineDefaultRefreshExecutor() {
+		if (this.applicationContext != null) {
+			try {
+				return this.applicationContext.getBean(TaskExecutor.class);
+			}
+			catch (NoSuchBeanDefinitionException ex) {
+				// NoUniqueBeanDefinitionException included - fall back to a dedicated executor
+			}
+		}
+		return new SimpleAsyncTaskExecutor("cache-refresh-");
+	}
+
 	private boolean isConditionPassing(CacheOperationContext context, Object result) {
 		boolean passing = context.isConditionPassing(result);
 		if (!passing && logger.isTraceEnabled()) {
@@ -529,6 +932,12 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		private final MultiValueMap<Class<? extends CacheOperation>, CacheOperationContext> contexts =
 				new LinkedMultiValueMap<Class<? extends CacheOperation>, CacheOperationContext>();
 
+		private final Method method;
+
+		private final boolean async;
+
+		private final boolean bulk;
+
 		private final boolean sync;
 
 		public CacheOperationContexts(Collection<? extends CacheOperation> operations, Method method,
@@ -537,6 +946,9 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			for (CacheOperation operation : operations) {
 				this.contexts.add(operation.getClass(), getOperationContext(operation, method, args, target, targetClass));
 			}
+			this.method = method;
+			this.async = determineAsyncFlag(method);
+			this.bulk = determineBulkFlag(method);
 			this.sync = determineSyncFlag(method);
 		}
 
@@ -545,10 +957,67 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			return (result != null ? result : Collections.<CacheOperationContext>emptyList());
 		}
 
+		public Method getMethod() {
+			return this.method;
+		}
+
+		public boolean isAsync() {
+			return this.async;
+		}
+
+		public boolean isBulk() {
+			return this.bulk;
+		}
+
 		public boolean isSynchronized() {
 			return this.sync;
 		}
 
+		private boolean determineAsyncFlag(Method method) {
+			// Only @Cacheable operations, on a method declaring a supported future type
+			if (this.contexts.size() != 1 || !this.contexts.containsKey(CacheableOperation.class)) {
+				return false;
+			}
+			Class<?> returnType = method.getReturnType();
+			boolean async = (ListenableFuture.class == returnType || (completableFuturePresent &&
+					CompletableFutureDelegate.isCompletableFutureType(returnType)));
+			if (async) {
+				for (CacheOperationContext cacheOperationContext : this.contexts.get(CacheableOperation.class)) {
+					if (cacheOperationContext.getRefreshAfter() >= 0) {
+						throw new IllegalStateException("@Cacheable(refreshAfter = ...) is not supported on method returning a future '" + method + "'");
+					}
+				}
+			}
+			return async;
+		}
+
+		private boolean determineBulkFlag(Method method) {
+			List<CacheOperationContext> cacheOperationContexts = this.contexts.get(CacheableOperation.class);
+			if (cacheOperationContexts == null) { // No @Cacheable operation
+				return false;
+			}
+			boolean bulkEnabled = false;
+			for (CacheOperationContext cacheOperationContext : cacheOperationContexts) {
+				if (StringUtils.hasText(((CacheableOperation) cacheOperationContext.getOperation()).getBulkKeys())) {
+					bulkEnabled = true;
+					break;
+				}
+			}
+			if (bulkEnabled) {
+				if (this.contexts.size() > 1 || cacheOperationContexts.size() > 1) {
+					throw new IllegalStateException("@Cacheable(bulkKeys = ...) cannot be combined with other cache operations on '" + method + "'");
+				}
+				if (!Map.class.isAssignableFrom(method.getReturnType())) {
+					throw new IllegalStateException("@Cacheable(bulkKeys = ...) requires a Map return type on '" + method + "'");
+				}
+				if (method.isVarArgs()) {
+					throw new IllegalStateException("@Cacheable(bulkKeys = ...) is not supported on varargs method '" + method + "'");
+				}
+				return true;
+			}
+			return false;
+		}
+
 		private boolean determineSyncFlag(Method method) {
 			List<CacheOperationContext> cacheOperationContexts = this.contexts.get(CacheableOperation.class);
 			if (cacheOperationContexts == null) { // No @Cacheable operation
@@ -599,6 +1068,16 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 		private final CacheResolver cacheResolver;
 
+		private final Method targetMethod;
+
+		private final AnnotatedElementKey methodKey;
+
+		/** Lazily determined parameter index for a plain parameter reference key */
+		private volatile Integer keyParameterIndex;
+
+		/** Index of the bulk keys parameter, if any */
+		private int bulkKeysParameterIndex = -1;
+
 		public CacheOperationMetadata(CacheOperation operation, Method method, Class<?> targetClass,
 				KeyGenerator keyGenerator, CacheResolver cacheResolver) {
 
@@ -607,6 +1086,9 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			this.targetClass = targetClass;
 			this.keyGenerator = keyGenerator;
 			this.cacheResolver = cacheResolver;
+			Method targetMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+			this.targetMethod = (targetMethod != null ? targetMethod : method);
+			this.methodKey = new AnnotatedElementKey(method, targetClass);
 		}
 	}
 
@@ -621,17 +1103,24 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 		private final Collection<? extends Cache> caches;
 
-		private final Collection<String> cacheNames;
+		private Collection<String> cacheNames;
 
-		private final AnnotatedElementKey methodCacheKey;
+		/** Evaluation context without result, shared by all expressions evaluated before the invocation */
+		private EvaluationContext evaluationContext;
+
+		/** Whether the cache hit found for this operation is due for a refresh */
+		private boolean refreshDue;
+
+		/** Key computed before the invocation, if any */
+		private Object key;
+
+		private boolean keyGenerated;
 
 		public CacheOperationContext(CacheOperationMetadata metadata, Object[] args, Object target) {
 			this.metadata = metadata;
 			this.args = extractArgs(metadata.method, args);
 			this.target = target;
 			this.caches = CacheAspectSupport.this.getCaches(this, metadata.cacheResolver);
-			this.cacheNames = createCacheNames(this.caches);
-			this.methodCacheKey = new AnnotatedElementKey(metadata.method, metadata.targetClass);
 		}
 
 		@Override
@@ -669,7 +1158,7 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			if (StringUtils.hasText(this.metadata.operation.getCondition())) {
 				EvaluationContext evaluationContext = createEvaluationContext(result);
 				return evaluator.condition(this.metadata.operation.getCondition(),
-						this.methodCacheKey, evaluationContext);
+						this.metadata.methodKey, evaluationContext);
 			}
 			return true;
 		}
@@ -684,34 +1173,74 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			}
 			if (StringUtils.hasText(unless)) {
 				EvaluationContext evaluationContext = createEvaluationContext(value);
-				return !evaluator.unless(unless, this.methodCacheKey, evaluationContext);
+				return !evaluator.unless(unless, this.metadata.methodKey, evaluationContext);
 			}
 			return true;
 		}
 
 		/**
 		 * Compute the key for the given caching operation.
+		 * <p>A key computed before the invocation is reused for further
+		 * lookups within the same invocation.
 		 * @return the generated key, or {@code null} if none can be generated
 		 */
 		protected Object generateKey(Object result) {
-			if (StringUtils.hasText(this.metadata.operation.getKey())) {
+			if (result != ExpressionEvaluator.NO_RESULT) {
+				return doGenerateKey(result);
+			}
+			if (!this.keyGenerated) {
+				this.key = doGenerateKey(result);
+				this.keyGenerated = true;
+			}
+			return this.key;
+		}
+
+		private Object doGenerateKey(Object result) {
+			String keyExpression = this.metadata.operation.getKey();
+			if (StringUtils.hasText(keyExpression)) {
+				Integer keyParameterIndex = this.metadata.keyParameterIndex;
+				if (keyParameterIndex == null) {
+					keyParameterIndex = evaluator.getKeyParameterIndex(keyExpression, this.metadata.targetMethod);
+					this.metadata.keyParameterIndex = keyParameterIndex;
+				}
+				if (keyParameterIndex >= 0) {
+					// Plain parameter reference: no need for an evaluation context
+					return this.args[keyParameterIndex];
+				}
 				EvaluationContext evaluationContext = createEvaluationContext(result);
-				return evaluator.key(this.metadata.operation.getKey(), this.methodCacheKey, evaluationContext);
+				return evaluator.key(keyExpression, this.metadata.methodKey, evaluationContext);
 			}
 			return this.metadata.keyGenerator.generate(this.target, this.metadata.method, this.args);
 		}
 
 		private EvaluationContext createEvaluationContext(Object result) {
-			return evaluator.createEvaluationContext(
-					this.caches, this.metadata.method, this.args, this.target, this.metadata.targetClass,
-					result, applicationContext);
+			if (result != ExpressionEvaluator.NO_RESULT) {
+				return doCreateEvaluationContext(result);
+			}
+			if (this.evaluationContext == null) {
+				this.evaluationContext = doCreateEvaluationContext(result);
+			}
+			return this.evaluationContext;
+		}
+
+		private EvaluationContext doCreateEvaluationContext(Object result) {
+			return evaluator.createEvaluationContext(this.caches, this.metadata.method, this.metadata.targetMethod,
+					this.args, this.target, this.metadata.targetClass, result, applicationContext);
 		}
 
 		protected Collection<? extends Cache> getCaches() {
 			return this.caches;
 		}
 
+		private long getRefreshAfter() {
+			return (this.metadata.operation instanceof CacheableOperation ?
+					((CacheableOperation) this.metadata.operation).getRefreshAfter() : -1);
+		}
+
 		protected Collection<String> getCacheNames() {
+			if (this.cacheNames == null) {
+				this.cacheNames = createCacheNames(this.caches);
+			}
 			return this.cacheNames;
 		}
 
@@ -738,14 +1267,51 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 		public void apply(Object result) {
 			if (this.context.canPutToCache(result)) {
+				boolean refreshAhead = (this.context.getRefreshAfter() >= 0);
 				for (Cache cache : this.context.getCaches()) {
 					doPut(cache, this.key, result);
+					if (refreshAhead) {
+						refreshWriteTimes.put(new AsyncLoadKey(cache, this.key), System.currentTimeMillis());
+					}
 				}
 			}
 		}
 	}
 
 
+	/**
+	 * Key of an in-flight asynchronous load: the target cache and the cache key.
+	 */
+	private static final class AsyncLoadKey {
+
+		private final Cache cache;
+
+		private final Object key;
+
+		public AsyncLoadKey(Cache cache, Object key) {
+			this.cache = cache;
+			this.key = key;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof AsyncLoadKey)) {
+				return false;
+			}
+			AsyncLoadKey otherKey = (AsyncLoadKey) other;
+			return (this.cache == otherKey.cache && this.key.equals(otherKey.key));
+		}
+
+		@Override
+		public int hashCode() {
+			return (System.identityHashCode(this.cache) * 31 + this.key.hashCode());
+		}
+	}
+
+
 	private static final class CacheOperationCacheKey implements Comparable<CacheOperationCacheKey> {
 
 		private final CacheOperation cacheOperation;
@@ -790,4 +1356,40 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		}
 	}
 
+
+	/**
+	 * Inner class to avoid a hard dependency on Java 8.
+	 */
+	@UsesJava8
+	private static class CompletableFutureDelegate {
+
+		public static boolean isCompletableFutureType(Class<?> returnType) {
+			return (CompletableFuture.class == returnType || CompletionStage.class == returnType);
+		}
+
+		@SuppressWarnings("unchecked")
+		public static ListenableFuture<Object> toListenableFuture(Object result) {
+			if (result instanceof CompletionStage) {
+				return new CompletableToListenableFutureAdapter<Object>(
+						((CompletionStage<Object>) result).toCompletableFuture());
+			}
+			return null;
+		}
+
+		public static CompletableFuture<Object> fromListenableFuture(ListenableFuture<Object> source) {
+			final CompletableFuture<Object> target = new CompletableFuture<Object>();
+			source.addCallback(new ListenableFutureCallback<Object>() {
+				@Override
+				public void onSuccess(Object value) {
+					target.complete(value);
+				}
+				@Override
+				public void onFailure(Throwable ex) {
+					target.completeExceptionally(ex);
+				}
+			});
+			return target;
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2013 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,11 +25,13 @@ import org.springframework.util.Assert;
 /**
  * Class describing the root object used during the expression evaluation.
  *
+ * <p>Public in order to be accessible from compiled expressions.
+ *
  * @author Costin Leau
  * @author Sam Brannen
  * @since 3.1
  */
-class CacheExpressionRootObject {
+public class CacheExpressionRootObject {
 
 	private final Collection<? extends Cache> caches;
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2012 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,8 @@ import java.lang.reflect.Method;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 
+import org.springframework.aop.ProxyMethodInvocation;
+
 /**
  * AOP Alliance MethodInterceptor for declarative cache
  * management using the common Spring caching infrastructure
@@ -45,7 +47,7 @@ public class CacheInterceptor extends CacheAspectSupport implements MethodInterc
 	public Object invoke(final MethodInvocation invocation) throws Throwable {
 		Method method = invocation.getMethod();
 
-		CacheOperationInvoker aopAllianceInvoker = new CacheOperationInvoker() {
+		CacheOperationInvoker aopAllianceInvoker = new BulkCacheOperationInvoker() {
 			@Override
 			public Object invoke() {
 				try {
@@ -55,6 +57,19 @@ public class CacheInterceptor extends CacheAspectSupport implements MethodInterc
 					throw new ThrowableWrapper(ex);
 				}
 			}
+			@Override
+			public Object invoke(Object[] args) {
+				if (!(invocation instanceof ProxyMethodInvocation)) {
+					// Cannot pass different arguments: proceed with the original ones
+					return invoke();
+				}
+				try {
+					return ((ProxyMethodInvocation) invocation).invocableClone(args).proceed();
+				}
+				catch (Throwable ex) {
+					throw new ThrowableWrapper(ex);
+				}
+			}
 		};
 
 		try {
@@ -30,11 +30,17 @@ public class CacheableOperation extends CacheOperation {
 
 	private boolean sync;
 
+	private final String bulkKeys;
+
+	private final long refreshAfter;
+
 
 	public CacheableOperation(CacheableOperation.Builder b) {
 		super(b);
 		this.unless = b.unless;
 		this.sync = b.sync;
+		this.bulkKeys = b.bulkKeys;
+		this.refreshAfter = b.refreshAfter;
 	}
 
 	public String getUnless() {
@@ -45,6 +51,24 @@ public class CacheableOperation extends CacheOperation {
 		return this.sync;
 	}
 
+	/**
+	 * Return the expression pointing to the collection argument whose elements
+	 * are cached individually, if any.
+	 * @since 4.3
+	 */
+	public String getBulkKeys() {
+		return this.bulkKeys;
+	}
+
+	/**
+	 * Return the age (in milliseconds) after which a cached value gets
+	 * refreshed asynchronously on access, or -1 if not applicable.
+	 * @since 4.3
+	 */
+	public long getRefreshAfter() {
+		return this.refreshAfter;
+	}
+
 
 	public static class Builder extends CacheOperation.Builder {
 
@@ -52,6 +76,10 @@ public class CacheableOperation extends CacheOperation {
 
 		private boolean sync;
 
+		private String bulkKeys;
+
+		private long refreshAfter = -1;
+
 		public void setUnless(String unless) {
 			this.unless = unless;
 		}
@@ -60,6 +88,14 @@ public class CacheableOperation extends CacheOperation {
 			this.sync = sync;
 		}
 
+		public void setBulkKeys(String bulkKeys) {
+			this.bulkKeys = bulkKeys;
+		}
+
+		public void setRefreshAfter(long refreshAfter) {
+			this.refreshAfter = refreshAfter;
+		}
+
 		@Override
 		protected StringBuilder getOperationDescription() {
 			StringBuilder sb = super.getOperationDescription();
@@ -69,6 +105,12 @@ public class CacheableOperation extends CacheOperation {
 			sb.append(" | sync='");
 			sb.append(this.sync);
 			sb.append("'");
+			sb.append(" | bulkKeys='");
+			sb.append(this.bulkKeys);
+			sb.append("'");
+			sb.append(" | refreshAfter='");
+			sb.append(this.refreshAfter);
+			sb.append("'");
 			return sb;
 		}
 
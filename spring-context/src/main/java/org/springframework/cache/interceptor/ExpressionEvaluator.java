@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,8 @@ import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.BeanFactory;
@@ -37,7 +39,9 @@ import org.springframework.expression.Expression;
  * Meant to be used as a reusable, thread-safe component.
  *
  * <p>Performs internal caching for performance reasons
- * using {@link AnnotatedElementKey}.
+ * using {@link AnnotatedElementKey}. Expressions are compiled once they
+ * have been evaluated a number of times, unless configured otherwise
+ * through the "spring.expression.compiler.mode" property.
  *
  * @author Costin Leau
  * @author Phillip Webb
@@ -62,6 +66,13 @@ class ExpressionEvaluator extends CachedExpressionEvaluator {
 	 */
 	public static final String RESULT_VARIABLE = "result";
 
+	/**
+	 * Pattern for expressions that refer to a single method parameter, by
+	 * index ({@code #p0}, {@code #a0}, {@code #root.args[0]}) or by name.
+	 */
+	private static final Pattern PARAMETER_REFERENCE_PATTERN =
+			Pattern.compile("\\s*#(?:[ap](\\d+)|root\\.args\\[(\\d+)\\]|([a-zA-Z_$][\\w$]*))\\s*");
+
 	// shared param discoverer since it caches data internally
 	private final ParameterNameDiscoverer paramNameDiscoverer = new DefaultParameterNameDiscoverer();
 
@@ -75,6 +86,11 @@ class ExpressionEvaluator extends CachedExpressionEvaluator {
 			new ConcurrentHashMap<AnnotatedElementKey, Method>(64);
 
 
+	public ExpressionEvaluator() {
+		super(createCompilingParser());
+	}
+
+
 	/**
 	 * Create an {@link EvaluationContext} without a return value.
 	 * @see #createEvaluationContext(Collection, Method, Object[], Object, Class, Object, BeanFactory)
@@ -100,9 +116,21 @@ class ExpressionEvaluator extends CachedExpressionEvaluator {
 			Method method, Object[] args, Object target, Class<?> targetClass, Object result,
 			BeanFactory beanFactory) {
 
+		return createEvaluationContext(caches, method, getTargetMethod(targetClass, method),
+				args, target, targetClass, result, beanFactory);
+	}
+
+	/**
+	 * Create an {@link EvaluationContext} for an already determined target method.
+	 * @since 4.3
+	 * @see #createEvaluationContext(Collection, Method, Object[], Object, Class, Object, BeanFactory)
+	 */
+	EvaluationContext createEvaluationContext(Collection<? extends Cache> caches,
+			Method method, Method targetMethod, Object[] args, Object target, Class<?> targetClass,
+			Object result, BeanFactory beanFactory) {
+
 		CacheExpressionRootObject rootObject = new CacheExpressionRootObject(caches,
 				method, args, target, targetClass);
-		Method targetMethod = getTargetMethod(targetClass, method);
 		CacheEvaluationContext evaluationContext = new CacheEvaluationContext(rootObject,
 				targetMethod, args, this.paramNameDiscoverer);
 		if (result == RESULT_UNAVAILABLE) {
@@ -129,6 +157,45 @@ class ExpressionEvaluator extends CachedExpressionEvaluator {
 		return getExpression(this.unlessCache, methodKey, unlessExpression).getValue(evalContext, boolean.class);
 	}
 
+	/**
+	 * Determine whether the given key expression refers to a single parameter
+	 * of the given method and nothing else, in which case the key is the
+	 * argument itself and can be obtained without evaluating the expression.
+	 * @param keyExpression the key expression
+	 * @param targetMethod the target method, used for parameter name discovery
+	 * @return the index of the referenced parameter, or -1 if the expression
+	 * needs to be evaluated
+	 * @since 4.3
+	 */
+	int getKeyParameterIndex(String keyExpression, Method targetMethod) {
+		if (targetMethod.isVarArgs()) {
+			return -1;
+		}
+		Matcher matcher = PARAMETER_REFERENCE_PATTERN.matcher(keyExpression);
+		if (!matcher.matches()) {
+			return -1;
+		}
+		int parameterCount = targetMethod.getParameterTypes().length;
+		String index = (matcher.group(1) != null ? matcher.group(1) : matcher.group(2));
+		if (index != null) {
+			int parameterIndex = Integer.parseInt(index);
+			return (parameterIndex < parameterCount ? parameterIndex : -1);
+		}
+		String parameterName = matcher.group(3);
+		if ("root".equals(parameterName) || "this".equals(parameterName) || RESULT_VARIABLE.equals(parameterName)) {
+			return -1;
+		}
+		String[] parameterNames = this.paramNameDiscoverer.getParameterNames(targetMethod);
+		if (parameterNames != null) {
+			for (int i = 0; i < parameterNames.length; i++) {
+				if (parameterName.equals(parameterNames[i])) {
+					return i;
+				}
+			}
+		}
+		return -1;
+	}
+
 	/**
 	 * Clear all caches.
 	 */
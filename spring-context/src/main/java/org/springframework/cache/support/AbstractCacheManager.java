@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,8 +24,10 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cache.BulkCache;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.CacheStatisticsProvider;
 
 /**
  * Abstract base class implementing the common {@link CacheManager} methods.
@@ -42,6 +44,30 @@ public abstract class AbstractCacheManager implements CacheManager, Initializing
 
 	private volatile Set<String> cacheNames = Collections.emptySet();
 
+	private boolean statisticsEnabled = false;
+
+
+	/**
+	 * Set whether to record {@link org.springframework.cache.CacheStatistics}
+	 * for all caches of this cache manager.
+	 * <p>Default is "false". If enabled, caches that do not expose statistics on
+	 * their own are decorated with a {@link StatisticsCacheDecorator}. Needs to be
+	 * set before the caches get {@link #initializeCaches() initialized}.
+	 * @since 4.3
+	 * @see #decorateCache
+	 */
+	public void setStatisticsEnabled(boolean statisticsEnabled) {
+		this.statisticsEnabled = statisticsEnabled;
+	}
+
+	/**
+	 * Return whether to record statistics for all caches of this cache manager.
+	 * @since 4.3
+	 */
+	public boolean isStatisticsEnabled() {
+		return this.statisticsEnabled;
+	}
+
 
 	// Early cache initialization on startup
 
@@ -163,10 +189,19 @@ public abstract class AbstractCacheManager implements CacheManager, Initializing
 	/**
 	 * Decorate the given Cache object if necessary.
 	 * @param cache the Cache object to be added to this CacheManager
+	 * <p>The default implementation decorates caches without statistics of their
+	 * own with a {@link StatisticsCacheDecorator} if {@link #setStatisticsEnabled
+	 * statistics are enabled}, using a {@link BulkStatisticsCacheDecorator} for a
+	 * {@link BulkCache} in order to keep its bulk operations available.
 	 * @return the decorated Cache object to be used instead,
 	 * or simply the passed-in Cache object by default
 	 */
 	protected Cache decorateCache(Cache cache) {
+		if (isStatisticsEnabled() && !(cache instanceof CacheStatisticsProvider &&
+				((CacheStatisticsProvider) cache).getCacheStatistics() != null)) {
+			return (cache instanceof BulkCache ? new BulkStatisticsCacheDecorator((BulkCache) cache) :
+					new StatisticsCacheDecorator(cache));
+		}
 		return cache;
 	}
 
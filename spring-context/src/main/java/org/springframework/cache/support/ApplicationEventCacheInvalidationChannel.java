@@ -0,0 +1,73 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.ApplicationListener;
+import org.springframework.util.Assert;
+
+/**
+ * {@link CacheInvalidationChannel} implementation that publishes invalidations
+ * as application events, delivering any {@link CacheInvalidationEvent} received
+ * by the application context to its subscribers.
+ *
+ * <p>To be defined as a bean in the application context. Invalidations can be
+ * transferred to and from other nodes by any mechanism that bridges application
+ * events between processes.
+ *
+ * @since 4.3
+ * @see ApplicationEventPublisher#publishEvent
+ */
+public class ApplicationEventCacheInvalidationChannel
+		implements CacheInvalidationChannel, ApplicationEventPublisherAware, ApplicationListener<CacheInvalidationEvent> {
+
+	private final List<ApplicationListener<CacheInvalidationEvent>> listeners =
+			new CopyOnWriteArrayList<ApplicationListener<CacheInvalidationEvent>>();
+
+	private ApplicationEventPublisher applicationEventPublisher;
+
+
+	@Override
+	public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+		this.applicationEventPublisher = applicationEventPublisher;
+	}
+
+
+	@Override
+	public void publish(CacheInvalidationEvent event) {
+		Assert.state(this.applicationEventPublisher != null, "No ApplicationEventPublisher set");
+		this.applicationEventPublisher.publishEvent(event);
+	}
+
+	@Override
+	public void subscribe(ApplicationListener<CacheInvalidationEvent> listener) {
+		Assert.notNull(listener, "ApplicationListener must not be null");
+		this.listeners.add(listener);
+	}
+
+	@Override
+	public void onApplicationEvent(CacheInvalidationEvent event) {
+		for (ApplicationListener<CacheInvalidationEvent> listener : this.listeners) {
+			listener.onApplicationEvent(event);
+		}
+	}
+
+}
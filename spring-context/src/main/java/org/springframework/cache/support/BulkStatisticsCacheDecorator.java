@@ -0,0 +1,60 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.springframework.cache.BulkCache;
+
+/**
+ * {@link StatisticsCacheDecorator} variant for a target {@link BulkCache},
+ * forwarding bulk operations to it instead of hiding them.
+ *
+ * <p>A {@link #getAll} call counts a hit for each key found in the target
+ * cache and a miss for each other key; a {@link #putAll} call counts a put
+ * for each entry.
+ *
+ * @since 4.3
+ * @see AbstractCacheManager#setStatisticsEnabled
+ */
+public class BulkStatisticsCacheDecorator extends StatisticsCacheDecorator implements BulkCache {
+
+	/**
+	 * Create a new BulkStatisticsCacheDecorator for the given target BulkCache.
+	 * @param targetCache the target BulkCache to decorate
+	 */
+	public BulkStatisticsCacheDecorator(BulkCache targetCache) {
+		super(targetCache);
+	}
+
+
+	@Override
+	public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+		Map<Object, ValueWrapper> result = ((BulkCache) getTargetCache()).getAll(keys);
+		getStatisticsCounter().recordHits(result.size());
+		getStatisticsCounter().recordMisses(Math.max(keys.size() - result.size(), 0));
+		return result;
+	}
+
+	@Override
+	public void putAll(Map<?, ?> entries) {
+		((BulkCache) getTargetCache()).putAll(entries);
+		getStatisticsCounter().recordPuts(entries.size());
+	}
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import org.springframework.context.ApplicationListener;
+
+/**
+ * Strategy for broadcasting {@link CacheInvalidationEvent CacheInvalidationEvents}
+ * between the nodes sharing a cache, for example in order to keep the local
+ * caches of a {@link NearCacheManager} in sync with each other.
+ *
+ * <p>Implementations may deliver events within the current process only, as
+ * {@link LoopbackCacheInvalidationChannel} does, through the application context
+ * as {@link ApplicationEventCacheInvalidationChannel} does, or bridge to any kind
+ * of messaging infrastructure.
+ *
+ * @since 4.3
+ * @see NearCacheManager#setInvalidationChannel
+ */
+public interface CacheInvalidationChannel {
+
+	/**
+	 * Broadcast the given invalidation to all subscribers, potentially
+	 * including the publisher itself.
+	 * @param event the invalidation to broadcast
+	 */
+	void publish(CacheInvalidationEvent event);
+
+	/**
+	 * Register a listener for invalidations published through this channel.
+	 * @param listener the listener to notify for every received invalidation
+	 */
+	void subscribe(ApplicationListener<CacheInvalidationEvent> listener);
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event signalling that a cache entry, or a cache as a whole, has been
+ * modified and that local copies of it are to be discarded.
+ *
+ * <p>The event source is the identifier of the originating node, allowing
+ * recipients to ignore their own invalidations. The key needs to be
+ * serializable if the event is to be transferred to other processes.
+ *
+ * @since 4.3
+ * @see CacheInvalidationChannel
+ * @see NearCacheManager
+ */
+@SuppressWarnings("serial")
+public class CacheInvalidationEvent extends ApplicationEvent {
+
+	private final String cacheName;
+
+	private final Object key;
+
+
+	/**
+	 * Create a new CacheInvalidationEvent for a single cache entry.
+	 * @param origin the identifier of the node that modified the cache
+	 * @param cacheName the name of the affected cache
+	 * @param key the key of the affected entry, or {@code null} if the
+	 * cache has been cleared as a whole
+	 */
+	public CacheInvalidationEvent(String origin, String cacheName, Object key) {
+		super(origin);
+		this.cacheName = cacheName;
+		this.key = key;
+	}
+
+
+	/**
+	 * Return the identifier of the node that modified the cache.
+	 */
+	public String getOrigin() {
+		return (String) getSource();
+	}
+
+	/**
+	 * Return the name of the affected cache.
+	 */
+	public String getCacheName() {
+		return this.cacheName;
+	}
+
+	/**
+	 * Return the key of the affected entry, or {@code null} if the cache
+	 * has been cleared as a whole.
+	 */
+	public Object getKey() {
+		return this.key;
+	}
+
+	/**
+	 * Return whether the cache has been cleared as a whole.
+	 */
+	public boolean isClear() {
+		return (this.key == null);
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + ": origin=" + getOrigin() + ", cacheName=" + this.cacheName +
+				", key=" + this.key;
+	}
+
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.cache.CacheStatistics;
+
+/**
+ * Thread-safe {@link CacheStatistics} implementation that counts cache
+ * operations as they are reported by the cache, serving as a live view
+ * of the counted values.
+ *
+ * <p>Counters are striped across threads, with every thread updating the
+ * counters of its own stripe and each stripe occupying a cache line of its
+ * own. Recording a cache operation therefore rarely contends with other
+ * threads, which keeps the overhead low enough for production use; reading
+ * the statistics sums up all stripes in turn.
+ *
+ * @since 4.3
+ * @see StatisticsCacheDecorator
+ */
+public class CacheStatisticsCounter implements CacheStatistics {
+
+	private static final int HITS = 0;
+
+	private static final int MISSES = 1;
+
+	private static final int PUTS = 2;
+
+	private static final int EVICTIONS = 3;
+
+	private static final int LOAD_SUCCESSES = 4;
+
+	private static final int LOAD_FAILURES = 5;
+
+	private static final int LOAD_TIME = 6;
+
+	/** Number of longs per stripe: the counters above, padded to 64 bytes */
+	private static final int STRIDE = 8;
+
+	private static final int MAXIMUM_STRIPES = 64;
+
+
+	private final AtomicLongArray cells;
+
+	private final int stripeMask;
+
+
+	/**
+	 * Create a new CacheStatisticsCounter with one stripe per available processor.
+	 */
+	public CacheStatisticsCounter() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Create a new CacheStatisticsCounter for the given number of concurrently
+	 * updating threads.
+	 * @param concurrencyLevel the expected number of threads updating the
+	 * statistics concurrently (rounded up to a power of two, up to 64)
+	 */
+	public CacheStatisticsCounter(int concurrencyLevel) {
+		int stripes = 1;
+		while (stripes < concurrencyLevel && stripes < MAXIMUM_STRIPES) {
+			stripes <<= 1;
+		}
+		// An additional leading stripe keeps the first one clear of the array header
+		this.cells = new AtomicLongArray((stripes + 1) * STRIDE);
+		this.stripeMask = stripes - 1;
+	}
+
+
+	/**
+	 * Record the given number of cache hits.
+	 */
+	public void recordHits(int count) {
+		add(HITS, count);
+	}
+
+	/**
+	 * Record the given number of cache misses.
+	 */
+	public void recordMisses(int count) {
+		add(MISSES, count);
+	}
+
+	/**
+	 * Record the given number of values stored in the cache.
+	 */
+	public void recordPuts(int count) {
+		add(PUTS, count);
+	}
+
+	/**
+	 * Record the given number of entries removed from the cache.
+	 */
+	public void recordEvictions(int count) {
+		add(EVICTIONS, count);
+	}
+
+	/**
+	 * Record a successful load of a value into the cache.
+	 * @param loadTime the time spent loading the value, in nanoseconds
+	 */
+	public void recordLoadSuccess(long loadTime) {
+		int offset = stripeOffset();
+		this.cells.getAndIncrement(offset + LOAD_SUCCESSES);
+		this.cells.getAndAdd(offset + LOAD_TIME, loadTime);
+	}
+
+	/**
+	 * Record a failed attempt to load a value into the cache.
+	 * @param loadTime the time spent until the load failed, in nanoseconds
+	 */
+	public void recordLoadFailure(long loadTime) {
+		int offset = stripeOffset();
+		this.cells.getAndIncrement(offset + LOAD_FAILURES);
+		this.cells.getAndAdd(offset + LOAD_TIME, loadTime);
+	}
+
+
+	@Override
+	public long getHitCount() {
+		return sum(HITS);
+	}
+
+	@Override
+	public long getMissCount() {
+		return sum(MISSES);
+	}
+
+	@Override
+	public long getPutCount() {
+		return sum(PUTS);
+	}
+
+	@Override
+	public long getEvictionCount() {
+		return sum(EVICTIONS);
+	}
+
+	@Override
+	public long getLoadSuccessCount() {
+		return sum(LOAD_SUCCESSES);
+	}
+
+	@Override
+	public long getLoadFailureCount() {
+		return sum(LOAD_FAILURES);
+	}
+
+	@Override
+	public long getTotalLoadTime() {
+		return sum(LOAD_TIME);
+	}
+
+
+	private void add(int counter, int count) {
+		this.cells.getAndAdd(stripeOffset() + counter, count);
+	}
+
+	private long sum(int counter) {
+		long sum = 0;
+		for (int offset = STRIDE; offset < this.cells.length(); offset += STRIDE) {
+			sum += this.cells.get(offset + counter);
+		}
+		return sum;
+	}
+
+	private int stripeOffset() {
+		// Thread ids are assigned sequentially, spreading threads evenly across stripes
+		int id = (int) Thread.currentThread().getId();
+		return ((id & this.stripeMask) + 1) * STRIDE;
+	}
+
+
+	@Override
+	public String toString() {
+		return "CacheStatisticsCounter [hits=" + getHitCount() + ", misses=" + getMissCount() +
+				", puts=" + getPutCount() + ", evictions=" + getEvictionCount() +
+				", loadSuccesses=" + getLoadSuccessCount() + ", loadFailures=" + getLoadFailureCount() +
+				", totalLoadTime=" + getTotalLoadTime() + "ns]";
+	}
+
+}
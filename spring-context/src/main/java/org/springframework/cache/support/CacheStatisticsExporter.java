@@ -0,0 +1,188 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.util.Collections;
+import java.util.Hashtable;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.CacheStatisticsProvider;
+import org.springframework.jmx.export.MBeanExportException;
+import org.springframework.jmx.export.MBeanExportOperations;
+import org.springframework.jmx.support.ObjectNameManager;
+
+/**
+ * Exports the {@link org.springframework.cache.CacheStatistics} of all caches of a
+ * {@link CacheManager} through an existing {@link MBeanExportOperations} instance,
+ * typically an {@link org.springframework.jmx.export.MBeanExporter}, registering a
+ * {@link ManagedCacheStatistics} MBean per cache. Unregistration is left to the
+ * exporter, which takes care of it on shutdown.
+ *
+ * <p>Caches are exported once all singletons have been instantiated, with object
+ * names of the form {@code org.springframework.cache:type=CacheStatistics,name=books},
+ * optionally qualified with a {@link #setCacheManagerName cacheManager} key. Caches
+ * that do not record statistics are skipped. Caches created at runtime can be
+ * exported through a further call to {@link #registerCaches()}.
+ *
+ * @since 4.3
+ * @see org.springframework.cache.CacheStatisticsProvider
+ * @see AbstractCacheManager#setStatisticsEnabled
+ */
+public class CacheStatisticsExporter implements InitializingBean, SmartInitializingSingleton {
+
+	/**
+	 * The default JMX domain for cache statistics MBeans.
+	 */
+	public static final String DEFAULT_DOMAIN = "org.springframework.cache";
+
+	private static final Log logger = LogFactory.getLog(CacheStatisticsExporter.class);
+
+
+	private MBeanExportOperations mbeanExporter;
+
+	private CacheManager cacheManager;
+
+	private String cacheManagerName;
+
+	private String domain = DEFAULT_DOMAIN;
+
+	private final Set<String> registeredCacheNames =
+			Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>(16));
+
+
+	/**
+	 * Set the {@link MBeanExportOperations} to register the MBeans with,
+	 * typically an {@link org.springframework.jmx.export.MBeanExporter}.
+	 */
+	public void setMbeanExporter(MBeanExportOperations mbeanExporter) {
+		this.mbeanExporter = mbeanExporter;
+	}
+
+	/**
+	 * Set the {@link CacheManager} whose caches are to be exported.
+	 */
+	public void setCacheManager(CacheManager cacheManager) {
+		this.cacheManager = cacheManager;
+	}
+
+	/**
+	 * Set a name for the cache manager, to be exposed as {@code cacheManager} key
+	 * of the object names. Needs to be specified in order to export the caches of
+	 * several cache managers.
+	 * <p>Default is none.
+	 */
+	public void setCacheManagerName(String cacheManagerName) {
+		this.cacheManagerName = cacheManagerName;
+	}
+
+	/**
+	 * Set the JMX domain of the object names.
+	 * <p>Default is "org.springframework.cache".
+	 */
+	public void setDomain(String domain) {
+		this.domain = domain;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		if (this.mbeanExporter == null) {
+			throw new IllegalArgumentException("Property 'mbeanExporter' is required");
+		}
+		if (this.cacheManager == null) {
+			throw new IllegalArgumentException("Property 'cacheManager' is required");
+		}
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		registerCaches();
+	}
+
+
+	/**
+	 * Register the statistics of all caches of the cache manager that
+	 * record statistics and have not been registered before.
+	 * @throws MBeanExportException if an MBean could not be registered
+	 */
+	public void registerCaches() throws MBeanExportException {
+		for (String cacheName : this.cacheManager.getCacheNames()) {
+			if (this.registeredCacheNames.contains(cacheName)) {
+				continue;
+			}
+			Cache cache = this.cacheManager.getCache(cacheName);
+			if (!(cache instanceof CacheStatisticsProvider) ||
+					((CacheStatisticsProvider) cache).getCacheStatistics() == null) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Not exporting statistics of cache '" + cacheName +
+							"': cache does not record statistics");
+				}
+				continue;
+			}
+			if (this.registeredCacheNames.add(cacheName)) {
+				ManagedCacheStatistics mbean = new ManagedCacheStatistics(cacheName, (CacheStatisticsProvider) cache);
+				try {
+					this.mbeanExporter.registerManagedResource(mbean, getObjectName(cacheName));
+				}
+				catch (MBeanExportException ex) {
+					this.registeredCacheNames.remove(cacheName);
+					throw ex;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Build the {@link ObjectName} for the statistics of the specified cache.
+	 * @param cacheName the name of the cache
+	 * @return the object name to register the statistics under
+	 * @throws MBeanExportException if the object name is invalid
+	 */
+	protected ObjectName getObjectName(String cacheName) throws MBeanExportException {
+		Hashtable<String, String> properties = new Hashtable<String, String>();
+		properties.put("type", "CacheStatistics");
+		if (this.cacheManagerName != null) {
+			properties.put("cacheManager", quoteIfNecessary(this.cacheManagerName));
+		}
+		properties.put("name", quoteIfNecessary(cacheName));
+		try {
+			return ObjectNameManager.getInstance(this.domain, properties);
+		}
+		catch (MalformedObjectNameException ex) {
+			throw new MBeanExportException("Invalid object name for statistics of cache '" + cacheName + "'", ex);
+		}
+	}
+
+	private static String quoteIfNecessary(String value) {
+		for (int i = 0; i < value.length(); i++) {
+			if (",=:\"*?\n".indexOf(value.charAt(i)) != -1) {
+				return ObjectName.quote(value);
+			}
+		}
+		return value;
+	}
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.util.Assert;
+
+/**
+ * {@link CacheInvalidationChannel} implementation that synchronously delivers
+ * all invalidations to the listeners subscribed to the same channel instance.
+ *
+ * <p>Useful for several cache managers within the same process as well as
+ * for testing purposes.
+ *
+ * @since 4.3
+ */
+public class LoopbackCacheInvalidationChannel implements CacheInvalidationChannel {
+
+	private final List<ApplicationListener<CacheInvalidationEvent>> listeners =
+			new CopyOnWriteArrayList<ApplicationListener<CacheInvalidationEvent>>();
+
+
+	@Override
+	public void publish(CacheInvalidationEvent event) {
+		for (ApplicationListener<CacheInvalidationEvent> listener : this.listeners) {
+			listener.onApplicationEvent(event);
+		}
+	}
+
+	@Override
+	public void subscribe(ApplicationListener<CacheInvalidationEvent> listener) {
+		Assert.notNull(listener, "ApplicationListener must not be null");
+		this.listeners.add(listener);
+	}
+
+}
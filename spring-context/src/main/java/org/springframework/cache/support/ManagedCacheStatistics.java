@@ -0,0 +1,121 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import org.springframework.cache.CacheStatistics;
+import org.springframework.cache.CacheStatisticsProvider;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedMetric;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.jmx.support.MetricType;
+import org.springframework.util.Assert;
+
+/**
+ * Management view on the {@link CacheStatistics} of a single cache, as
+ * registered with an {@link org.springframework.jmx.export.MBeanExporter}
+ * by the {@link CacheStatisticsExporter}.
+ *
+ * <p>Fresh statistics are obtained from the {@link CacheStatisticsProvider}
+ * on every attribute access. All counters are reported as -1 if the cache
+ * does not currently record statistics.
+ *
+ * @since 4.3
+ * @see CacheStatisticsExporter
+ */
+@ManagedResource(description = "Cache statistics")
+public class ManagedCacheStatistics {
+
+	private final String cacheName;
+
+	private final CacheStatisticsProvider statisticsProvider;
+
+
+	/**
+	 * Create a new ManagedCacheStatistics instance for the given cache.
+	 * @param cacheName the name of the cache
+	 * @param statisticsProvider the cache (or cache decorator) exposing
+	 * the statistics
+	 */
+	public ManagedCacheStatistics(String cacheName, CacheStatisticsProvider statisticsProvider) {
+		Assert.notNull(cacheName, "Cache name must not be null");
+		Assert.notNull(statisticsProvider, "CacheStatisticsProvider must not be null");
+		this.cacheName = cacheName;
+		this.statisticsProvider = statisticsProvider;
+	}
+
+
+	@ManagedAttribute(description = "The name of the cache")
+	public String getCacheName() {
+		return this.cacheName;
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER, description = "The number of cache hits")
+	public long getHitCount() {
+		CacheStatistics statistics = this.statisticsProvider.getCacheStatistics();
+		return (statistics != null ? statistics.getHitCount() : -1);
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER, description = "The number of cache misses")
+	public long getMissCount() {
+		CacheStatistics statistics = this.statisticsProvider.getCacheStatistics();
+		return (statistics != null ? statistics.getMissCount() : -1);
+	}
+
+	@ManagedMetric(metricType = MetricType.GAUGE,
+			description = "The ratio of cache hits to lookups, or -1 if there were no lookups")
+	public double getHitRatio() {
+		CacheStatistics statistics = this.statisticsProvider.getCacheStatistics();
+		if (statistics == null) {
+			return -1;
+		}
+		long hits = statistics.getHitCount();
+		long lookups = hits + statistics.getMissCount();
+		return (lookups > 0 ? (double) hits / lookups : -1);
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER, description = "The number of values stored in the cache")
+	public long getPutCount() {
+		CacheStatistics statistics = this.statisticsProvider.getCacheStatistics();
+		return (statistics != null ? statistics.getPutCount() : -1);
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER, description = "The number of entries removed from the cache")
+	public long getEvictionCount() {
+		CacheStatistics statistics = this.statisticsProvider.getCacheStatistics();
+		return (statistics != null ? statistics.getEvictionCount() : -1);
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER, description = "The number of values loaded successfully")
+	public long getLoadSuccessCount() {
+		CacheStatistics statistics = this.statisticsProvider.getCacheStatistics();
+		return (statistics != null ? statistics.getLoadSuccessCount() : -1);
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER, description = "The number of failed attempts to load a value")
+	public long getLoadFailureCount() {
+		CacheStatistics statistics = this.statisticsProvider.getCacheStatistics();
+		return (statistics != null ? statistics.getLoadFailureCount() : -1);
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER, unit = "ns",
+			description = "The total time spent loading values, in nanoseconds")
+	public long getTotalLoadTime() {
+		CacheStatistics statistics = this.statisticsProvider.getCacheStatistics();
+		return (statistics != null ? statistics.getTotalLoadTime() : -1);
+	}
+
+}
@@ -0,0 +1,306 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationListener;
+import org.springframework.util.Assert;
+
+/**
+ * {@link CacheManager} implementation that puts a local cache in front of the
+ * caches of a target {@link CacheManager}, typically a remote store shared
+ * between several nodes.
+ *
+ * <p>Reads are served from the local cache when possible, falling back to the
+ * target cache and keeping a local copy of the value found there. Writes go to
+ * the target cache first, then discard the local copy. If an
+ * {@link #setInvalidationChannel invalidation channel} is specified, every write
+ * is also broadcast as a {@link CacheInvalidationEvent}, so that the other nodes
+ * discard their local copies as well; without it, changes made by other nodes
+ * only become visible once the local entry has been evicted.
+ *
+ * <p>The local caches are obtained from a separate {@link #setLocalCacheManager
+ * local CacheManager}, which should be bounded in size and ideally expire its
+ * entries as a safety net for lost invalidations, e.g. a
+ * {@link org.springframework.cache.concurrent.BoundedCacheManager}. Caches that
+ * the local CacheManager does not provide are exposed without local caching.
+ * {@code null} values are not kept locally.
+ *
+ * @since 4.3
+ * @see CacheInvalidationChannel
+ */
+public class NearCacheManager implements CacheManager, InitializingBean {
+
+	private final String origin = UUID.randomUUID().toString();
+
+	private final ConcurrentMap<String, NearCache> nearCaches = new ConcurrentHashMap<String, NearCache>(16);
+
+	private CacheManager targetCacheManager;
+
+	private CacheManager localCacheManager;
+
+	private CacheInvalidationChannel invalidationChannel;
+
+
+	/**
+	 * Create a new NearCacheManager, with the target and local CacheManagers
+	 * to be set via the corresponding bean properties.
+	 */
+	public NearCacheManager() {
+	}
+
+	/**
+	 * Create a new NearCacheManager for the given CacheManagers.
+	 * @param targetCacheManager the CacheManager holding the authoritative caches
+	 * @param localCacheManager the CacheManager providing the local caches
+	 */
+	public NearCacheManager(CacheManager targetCacheManager, CacheManager localCacheManager) {
+		this.targetCacheManager = targetCacheManager;
+		this.localCacheManager = localCacheManager;
+	}
+
+
+	/**
+	 * Set the target CacheManager holding the authoritative caches.
+	 */
+	public void setTargetCacheManager(CacheManager targetCacheManager) {
+		this.targetCacheManager = targetCacheManager;
+	}
+
+	/**
+	 * Set the CacheManager to obtain the local caches from, by the
+	 * same names as the target caches.
+	 */
+	public void setLocalCacheManager(CacheManager localCacheManager) {
+		this.localCacheManager = localCacheManager;
+	}
+
+	/**
+	 * Set the channel to broadcast and receive invalidations through,
+	 * subscribing this CacheManager to it.
+	 * <p>Default is none, i.e. invalidating local caches of this node only.
+	 */
+	public void setInvalidationChannel(CacheInvalidationChannel invalidationChannel) {
+		this.invalidationChannel = invalidationChannel;
+		if (invalidationChannel != null) {
+			invalidationChannel.subscribe(new ApplicationListener<CacheInvalidationEvent>() {
+				@Override
+				public void onApplicationEvent(CacheInvalidationEvent event) {
+					onInvalidation(event);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Return the identifier of this node, as exposed by the
+	 * {@link CacheInvalidationEvent#getOrigin() origin} of its invalidations.
+	 */
+	public String getOrigin() {
+		return this.origin;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		Assert.notNull(this.targetCacheManager, "Property 'targetCacheManager' is required");
+		Assert.notNull(this.localCacheManager, "Property 'localCacheManager' is required");
+	}
+
+
+	@Override
+	public Cache getCache(String name) {
+		NearCache nearCache = this.nearCaches.get(name);
+		if (nearCache != null) {
+			return nearCache;
+		}
+		Cache targetCache = this.targetCacheManager.getCache(name);
+		if (targetCache == null) {
+			return null;
+		}
+		Cache localCache = this.localCacheManager.getCache(name);
+		if (localCache == null) {
+			return targetCache;
+		}
+		nearCache = new NearCache(localCache, targetCache);
+		NearCache existing = this.nearCaches.putIfAbsent(name, nearCache);
+		return (existing != null ? existing : nearCache);
+	}
+
+	@Override
+	public Collection<String> getCacheNames() {
+		return this.targetCacheManager.getCacheNames();
+	}
+
+	/**
+	 * Discard the local copies affected by an invalidation from another node.
+	 * @param event the received invalidation
+	 */
+	protected void onInvalidation(CacheInvalidationEvent event) {
+		if (this.origin.equals(event.getOrigin())) {
+			return;
+		}
+		NearCache nearCache = this.nearCaches.get(event.getCacheName());
+		if (nearCache != null) {
+			if (event.isClear()) {
+				nearCache.clearLocal();
+			}
+			else {
+				nearCache.evictLocal(event.getKey());
+			}
+		}
+	}
+
+	private void publishInvalidation(String cacheName, Object key) {
+		if (this.invalidationChannel != null) {
+			this.invalidationChannel.publish(new CacheInvalidationEvent(this.origin, cacheName, key));
+		}
+	}
+
+
+	/**
+	 * Cache decorator combining a local cache with a target cache.
+	 */
+	private class NearCache implements Cache {
+
+		private final Cache localCache;
+
+		private final Cache targetCache;
+
+		/**
+		 * Incremented for every invalidation, allowing a load from the target cache
+		 * to detect that it raced with a concurrent invalidation of the same entry.
+		 */
+		private final AtomicLong invalidations = new AtomicLong();
+
+		public NearCache(Cache localCache, Cache targetCache) {
+			this.localCache = localCache;
+			this.targetCache = targetCache;
+		}
+
+		@Override
+		public String getName() {
+			return this.targetCache.getName();
+		}
+
+		@Override
+		public Object getNativeCache() {
+			return this.targetCache.getNativeCache();
+		}
+
+		@Override
+		public ValueWrapper get(Object key) {
+			ValueWrapper localValue = this.localCache.get(key);
+			if (localValue != null) {
+				return localValue;
+			}
+			long generation = this.invalidations.get();
+			ValueWrapper targetValue = this.targetCache.get(key);
+			if (targetValue != null) {
+				keepLocally(key, targetValue.get(), generation);
+			}
+			return targetValue;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <T> T get(Object key, Class<T> type) {
+			ValueWrapper wrapper = get(key);
+			Object value = (wrapper != null ? wrapper.get() : null);
+			if (value != null && type != null && !type.isInstance(value)) {
+				throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+			}
+			return (T) value;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <T> T get(Object key, Callable<T> valueLoader) {
+			ValueWrapper localValue = this.localCache.get(key);
+			if (localValue != null) {
+				return (T) localValue.get();
+			}
+			long generation = this.invalidations.get();
+			T value = this.targetCache.get(key, valueLoader);
+			keepLocally(key, value, generation);
+			return value;
+		}
+
+		@Override
+		public void put(Object key, Object value) {
+			this.targetCache.put(key, value);
+			invalidate(key);
+		}
+
+		@Override
+		public ValueWrapper putIfAbsent(Object key, Object value) {
+			ValueWrapper existingValue = this.targetCache.putIfAbsent(key, value);
+			if (existingValue == null) {
+				invalidate(key);
+			}
+			return existingValue;
+		}
+
+		@Override
+		public void evict(Object key) {
+			this.targetCache.evict(key);
+			invalidate(key);
+		}
+
+		@Override
+		public void clear() {
+			this.targetCache.clear();
+			clearLocal();
+			publishInvalidation(getName(), null);
+		}
+
+		public void evictLocal(Object key) {
+			this.invalidations.incrementAndGet();
+			this.localCache.evict(key);
+		}
+
+		public void clearLocal() {
+			this.invalidations.incrementAndGet();
+			this.localCache.clear();
+		}
+
+		private void invalidate(Object key) {
+			evictLocal(key);
+			publishInvalidation(getName(), key);
+		}
+
+		private void keepLocally(Object key, Object value, long generation) {
+			if (value == null) {
+				return;
+			}
+			this.localCache.put(key, value);
+			if (this.invalidations.get() != generation) {
+				// Possibly outdated already: rather discard it than risk keeping it
+				this.localCache.evict(key);
+			}
+		}
+	}
+
+}
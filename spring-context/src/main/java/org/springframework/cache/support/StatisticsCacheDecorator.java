@@ -0,0 +1,184 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.util.concurrent.Callable;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheStatistics;
+import org.springframework.cache.CacheStatisticsProvider;
+import org.springframework.util.Assert;
+
+/**
+ * Cache decorator which counts the operations performed on the target
+ * {@link Cache}, exposing them as {@link CacheStatistics}. Meant for cache
+ * providers that do not keep track of statistics themselves.
+ *
+ * <p>Counting is based on the values returned by the target cache: a
+ * {@link #get(Object)} returning a {@link ValueWrapper} counts as a hit,
+ * {@link #putIfAbsent} only counts as a put if no value was present, and a
+ * {@link #get(Object, Callable)} counts as a miss if the target cache
+ * invoked the value loader. Every {@link #evict} counts as an eviction,
+ * whether or not the key was actually present.
+ *
+ * <p>Note that this decorator does not expose the {@link org.springframework.cache.BulkCache}
+ * operations of its target; use {@link BulkStatisticsCacheDecorator} for such a cache.
+ *
+ * @since 4.3
+ * @see CacheStatisticsCounter
+ * @see AbstractCacheManager#setStatisticsEnabled
+ */
+public class StatisticsCacheDecorator implements Cache, CacheStatisticsProvider {
+
+	private final Cache targetCache;
+
+	private final CacheStatisticsCounter statistics = new CacheStatisticsCounter();
+
+
+	/**
+	 * Create a new StatisticsCacheDecorator for the given target Cache.
+	 * @param targetCache the target Cache to decorate
+	 */
+	public StatisticsCacheDecorator(Cache targetCache) {
+		Assert.notNull(targetCache, "Target Cache must not be null");
+		this.targetCache = targetCache;
+	}
+
+
+	/**
+	 * Return the target Cache that this decorator delegates to.
+	 */
+	public Cache getTargetCache() {
+		return this.targetCache;
+	}
+
+	@Override
+	public CacheStatistics getCacheStatistics() {
+		return this.statistics;
+	}
+
+	/**
+	 * Return the counter that this decorator records operations with.
+	 */
+	CacheStatisticsCounter getStatisticsCounter() {
+		return this.statistics;
+	}
+
+	@Override
+	public String getName() {
+		return this.targetCache.getName();
+	}
+
+	@Override
+	public Object getNativeCache() {
+		return this.targetCache.getNativeCache();
+	}
+
+	@Override
+	public ValueWrapper get(Object key) {
+		ValueWrapper wrapper = this.targetCache.get(key);
+		if (wrapper != null) {
+			this.statistics.recordHits(1);
+		}
+		else {
+			this.statistics.recordMisses(1);
+		}
+		return wrapper;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, Class<T> type) {
+		// Going through get(Object) in order to tell a cached null value from a miss
+		ValueWrapper wrapper = get(key);
+		Object value = (wrapper != null ? wrapper.get() : null);
+		if (value != null && type != null && !type.isInstance(value)) {
+			throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+		}
+		return (T) value;
+	}
+
+	@Override
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		CountingValueLoader<T> countingLoader = new CountingValueLoader<T>(valueLoader);
+		T value = this.targetCache.get(key, countingLoader);
+		if (!countingLoader.invoked) {
+			this.statistics.recordHits(1);
+		}
+		return value;
+	}
+
+	@Override
+	public void put(Object key, Object value) {
+		this.targetCache.put(key, value);
+		this.statistics.recordPuts(1);
+	}
+
+	@Override
+	public ValueWrapper putIfAbsent(Object key, Object value) {
+		ValueWrapper existing = this.targetCache.putIfAbsent(key, value);
+		if (existing == null) {
+			this.statistics.recordPuts(1);
+		}
+		return existing;
+	}
+
+	@Override
+	public void evict(Object key) {
+		this.targetCache.evict(key);
+		this.statistics.recordEvictions(1);
+	}
+
+	@Override
+	public void clear() {
+		this.targetCache.clear();
+	}
+
+
+	/**
+	 * Value loader which records the outcome of the target loader's invocation.
+	 */
+	private class CountingValueLoader<T> implements Callable<T> {
+
+		private final Callable<T> valueLoader;
+
+		private boolean invoked;
+
+		public CountingValueLoader(Callable<T> valueLoader) {
+			this.valueLoader = valueLoader;
+		}
+
+		@Override
+		public T call() throws Exception {
+			this.invoked = true;
+			statistics.recordMisses(1);
+			long start = System.nanoTime();
+			T value;
+			try {
+				value = this.valueLoader.call();
+			}
+			catch (Exception ex) {
+				statistics.recordLoadFailure(System.nanoTime() - start);
+				throw ex;
+			}
+			statistics.recordLoadSuccess(System.nanoTime() - start);
+			statistics.recordPuts(1);
+			return value;
+		}
+	}
+
+}
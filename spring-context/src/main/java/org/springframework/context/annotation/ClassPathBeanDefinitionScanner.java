@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2014 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,8 +16,12 @@
 
 package org.springframework.context.annotation;
 
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 
 import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinition;
@@ -73,6 +77,8 @@ public class ClassPathBeanDefinitionScanner extends ClassPathScanningCandidateCo
 
 	private boolean includeAnnotationConfig = true;
 
+	private Executor scanExecutor;
+
 
 	/**
 	 * Create a new {@code ClassPathBeanDefinitionScanner} for the given bean factory.
@@ -214,6 +220,20 @@ public class ClassPathBeanDefinitionScanner extends ClassPathScanningCandidateCo
 		this.includeAnnotationConfig = includeAnnotationConfig;
 	}
 
+	/**
+	 * Specify an {@link Executor} for scanning multiple base packages concurrently.
+	 * <p>The candidate components of all base packages get registered in the
+	 * calling thread once scanning has finished, in the order of the base packages,
+	 * so the resulting bean definitions are the same as for a sequential scan.
+	 * Note that the configured type filters and {@link Conditional @Conditional}
+	 * conditions need to be thread-safe in that case.
+	 * <p>Default is none, scanning all base packages in the calling thread.
+	 * @since 4.3
+	 */
+	public void setScanExecutor(Executor scanExecutor) {
+		this.scanExecutor = scanExecutor;
+	}
+
 
 	/**
 	 * Perform a scan within the specified base packages.
@@ -244,8 +264,7 @@ public class ClassPathBeanDefinitionScanner extends ClassPathScanningCandidateCo
 	protected Set<BeanDefinitionHolder> doScan(String... basePackages) {
 		Assert.notEmpty(basePackages, "At least one base package must be specified");
 		Set<BeanDefinitionHolder> beanDefinitions = new LinkedHashSet<BeanDefinitionHolder>();
-		for (String basePackage : basePackages) {
-			Set<BeanDefinition> candidates = findCandidateComponents(basePackage);
+		for (Set<BeanDefinition> candidates : findCandidateComponents(basePackages)) {
 			for (BeanDefinition candidate : candidates) {
 				ScopeMetadata scopeMetadata = this.scopeMetadataResolver.resolveScopeMetadata(candidate);
 				candidate.setScope(scopeMetadata.getScopeName());
@@ -267,6 +286,23 @@ public class ClassPathBeanDefinitionScanner extends ClassPathScanningCandidateCo
 		return beanDefinitions;
 	}
 
+	/**
+	 * Find the candidate components for each of the given base packages,
+	 * using the {@link #setScanExecutor scan Executor}, if any.
+	 */
+	private List<Set<BeanDefinition>> findCandidateComponents(String[] basePackages) {
+		List<Callable<Set<BeanDefinition>>> tasks = new ArrayList<Callable<Set<BeanDefinition>>>(basePackages.length);
+		for (final String basePackage : basePackages) {
+			tasks.add(new Callable<Set<BeanDefinition>>() {
+				@Override
+				public Set<BeanDefinition> call() {
+					return findCandidateComponents(basePackage);
+				}
+			});
+		}
+		return ConcurrentProcessingUtils.invokeAll(tasks, this.scanExecutor);
+	}
+
 	/**
 	 * Apply further settings to the given bean definition,
 	 * beyond the contents retrieved from scanning the component class.
@@ -56,6 +56,7 @@ import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.annotation.InitDestroyAnnotationBeanPostProcessor;
 import org.springframework.beans.factory.annotation.InjectionMetadata;
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.beans.factory.config.CompactionAwareBeanPostProcessor;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.DependencyDescriptor;
 import org.springframework.beans.factory.config.EmbeddedValueResolver;
@@ -140,7 +141,7 @@ import org.springframework.util.StringValueResolver;
  */
 @SuppressWarnings("serial")
 public class CommonAnnotationBeanPostProcessor extends InitDestroyAnnotationBeanPostProcessor
-		implements InstantiationAwareBeanPostProcessor, BeanFactoryAware, Serializable {
+		implements InstantiationAwareBeanPostProcessor, CompactionAwareBeanPostProcessor, BeanFactoryAware, Serializable {
 
 	// Common Annotations 1.1 Resource.lookup() available? Not present on JDK 6...
 	private static final Method lookupAttribute = ClassUtils.getMethodIfAvailable(Resource.class, "lookup");
@@ -299,6 +300,11 @@ public class CommonAnnotationBeanPostProcessor extends InitDestroyAnnotationBean
 		}
 	}
 
+	@Override
+	public int releaseMetadata(String beanName, Class<?> beanType) {
+		return (this.injectionMetadataCache.remove(beanName) != null ? 1 : 0);
+	}
+
 	@Override
 	public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) throws BeansException {
 		return null;
@@ -22,6 +22,7 @@ import java.util.Arrays;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.regex.Pattern;
 
 import org.springframework.beans.BeanUtils;
@@ -69,6 +70,8 @@ class ComponentScanAnnotationParser {
 
 	private final BeanNameGenerator beanNameGenerator;
 
+	private Executor scanExecutor;
+
 
 	public ComponentScanAnnotationParser(ResourceLoader resourceLoader, Environment environment,
 			BeanNameGenerator beanNameGenerator, BeanDefinitionRegistry registry) {
@@ -80,6 +83,15 @@ class ComponentScanAnnotationParser {
 	}
 
 
+	/**
+	 * Specify an {@link Executor} for scanning the base packages concurrently.
+	 * @see ClassPathBeanDefinitionScanner#setScanExecutor
+	 */
+	public void setScanExecutor(Executor scanExecutor) {
+		this.scanExecutor = scanExecutor;
+	}
+
+
 	public Set<BeanDefinitionHolder> parse(AnnotationAttributes componentScan, final String declaringClass) {
 		Assert.state(this.environment != null, "Environment must not be null");
 		Assert.state(this.resourceLoader != null, "ResourceLoader must not be null");
@@ -88,6 +100,7 @@ class ComponentScanAnnotationParser {
 				new ClassPathBeanDefinitionScanner(this.registry, componentScan.getBoolean("useDefaultFilters"));
 		scanner.setEnvironment(this.environment);
 		scanner.setResourceLoader(this.resourceLoader);
+		scanner.setScanExecutor(this.scanExecutor);
 
 		Class<? extends BeanNameGenerator> generatorClass = componentScan.getClass("nameGenerator");
 		boolean useInheritedGenerator = BeanNameGenerator.class == generatorClass;
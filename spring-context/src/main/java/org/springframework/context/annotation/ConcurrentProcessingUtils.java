@@ -0,0 +1,98 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+import org.springframework.beans.factory.BeanDefinitionStoreException;
+
+/**
+ * Utility for running independent annotation processing tasks concurrently,
+ * with their results being returned in the order of the given tasks.
+ *
+ * @since 4.3
+ * @see ConfigurationClassPostProcessor#setParallelism
+ */
+abstract class ConcurrentProcessingUtils {
+
+	/**
+	 * Execute the given tasks, concurrently if an {@link Executor} is specified,
+	 * returning their results in the order of the tasks.
+	 * @param tasks the tasks to execute
+	 * @param executor the Executor to use, or {@code null} for executing
+	 * the tasks in the calling thread
+	 * @return the results of the tasks
+	 * @throws BeanDefinitionStoreException if a task threw a checked exception
+	 * (unchecked exceptions are rethrown as-is)
+	 */
+	public static <T> List<T> invokeAll(List<Callable<T>> tasks, Executor executor) {
+		List<T> results = new ArrayList<T>(tasks.size());
+		if (executor == null || tasks.size() < 2) {
+			for (Callable<T> task : tasks) {
+				results.add(call(task));
+			}
+			return results;
+		}
+		List<FutureTask<T>> futures = new ArrayList<FutureTask<T>>(tasks.size());
+		for (Callable<T> task : tasks) {
+			FutureTask<T> future = new FutureTask<T>(task);
+			futures.add(future);
+			executor.execute(future);
+		}
+		for (FutureTask<T> future : futures) {
+			try {
+				results.add(future.get());
+			}
+			catch (ExecutionException ex) {
+				throw rethrow(ex.getCause());
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				for (FutureTask<T> other : futures) {
+					other.cancel(true);
+				}
+				throw new BeanDefinitionStoreException("Interrupted during concurrent annotation processing", ex);
+			}
+		}
+		return results;
+	}
+
+	private static <T> T call(Callable<T> task) {
+		try {
+			return task.call();
+		}
+		catch (Exception ex) {
+			throw rethrow(ex);
+		}
+	}
+
+	private static RuntimeException rethrow(Throwable ex) {
+		if (ex instanceof RuntimeException) {
+			throw (RuntimeException) ex;
+		}
+		if (ex instanceof Error) {
+			throw (Error) ex;
+		}
+		throw new BeanDefinitionStoreException("Concurrent annotation processing failed", ex);
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2014 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -305,7 +305,8 @@ import org.springframework.stereotype.Component;
  *
  * <h2>Constraints when authoring {@code @Configuration} classes</h2>
  * <ul>
- * <li>&#064;Configuration classes must be non-final
+ * <li>&#064;Configuration classes must be non-final (unless {@link #proxyBeanMethods}
+ * is set to {@code false})
  * <li>&#064;Configuration classes must be non-local (may not be declared within a method)
  * <li>&#064;Configuration classes must have a default/no-arg constructor and may not use
  * {@link Autowired @Autowired} constructor parameters. Any nested configuration classes
@@ -346,4 +347,23 @@ public @interface Configuration {
 	 */
 	String value() default "";
 
+	/**
+	 * Specify whether {@code @Bean} methods should get proxied in order to enforce
+	 * bean lifecycle behavior, e.g. to return shared singleton bean instances even
+	 * in case of direct {@code @Bean} method calls in user code.
+	 * <p>The default is {@code true}, generating a CGLIB subclass of the configuration
+	 * class at runtime. Switch this to {@code false} in order to process the class
+	 * in 'lite' mode instead, the same way as {@code @Bean} methods declared on a
+	 * plain {@link Component @Component} class: no subclass gets generated, which
+	 * saves startup time and class metadata, and the configuration class may be
+	 * declared {@code final}. The catch is that direct calls from one {@code @Bean}
+	 * method to another are plain Java method calls, creating a new instance each
+	 * time; such calls are reported as warnings by {@link ConfigurationClassPostProcessor}.
+	 * Dependencies between beans should rather be expressed through {@code @Bean}
+	 * method parameters then.
+	 * @since 4.3
+	 * @see ConfigurationClassPostProcessor#setProxyBeanMethods
+	 */
+	boolean proxyBeanMethods() default true;
+
 }
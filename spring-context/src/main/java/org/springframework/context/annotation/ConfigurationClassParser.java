@@ -32,6 +32,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -163,6 +164,17 @@ class ConfigurationClassParser {
 	}
 
 
+	/**
+	 * Specify an {@link Executor} for scanning the base packages of each
+	 * component scan concurrently.
+	 * @since 4.3
+	 * @see ClassPathBeanDefinitionScanner#setScanExecutor
+	 */
+	public void setScanExecutor(Executor scanExecutor) {
+		this.componentScanParser.setScanExecutor(scanExecutor);
+	}
+
+
 	public void parse(Set<BeanDefinitionHolder> configCandidates) {
 		this.deferredImportSelectors = new LinkedList<DeferredImportSelectorHolder>();
 
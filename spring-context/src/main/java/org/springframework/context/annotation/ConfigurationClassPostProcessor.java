@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,6 +27,10 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -57,14 +61,18 @@ import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.context.EnvironmentAware;
 import org.springframework.context.ResourceLoaderAware;
 import org.springframework.context.annotation.ConfigurationClassEnhancer.EnhancedConfiguration;
+import org.springframework.core.Conventions;
 import org.springframework.core.Ordered;
 import org.springframework.core.PriorityOrdered;
+import org.springframework.core.SpringProperties;
 import org.springframework.core.env.Environment;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.StandardAnnotationMetadata;
 import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
 import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 
@@ -91,6 +99,18 @@ import static org.springframework.context.annotation.AnnotationConfigUtils.*;
 public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPostProcessor,
 		PriorityOrdered, ResourceLoaderAware, BeanClassLoaderAware, EnvironmentAware {
 
+	/**
+	 * System property that instructs Spring to process all {@link Configuration @Configuration}
+	 * classes in 'lite' mode, i.e. to never generate CGLIB subclasses for them:
+	 * "spring.configuration.lite".
+	 * <p>The default is "false", proxying {@code @Bean} methods unless switched off
+	 * through {@link Configuration#proxyBeanMethods()} for a specific class.
+	 * Switching this flag to "true" corresponds to calling
+	 * {@link #setProxyBeanMethods setProxyBeanMethods(false)}.
+	 * @since 4.3
+	 */
+	public static final String LITE_MODE_PROPERTY_NAME = "spring.configuration.lite";
+
 	private static final String IMPORT_AWARE_PROCESSOR_BEAN_NAME =
 			ConfigurationClassPostProcessor.class.getName() + ".importAwareProcessor";
 
@@ -100,6 +120,14 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 	private static final String ENHANCED_CONFIGURATION_PROCESSOR_BEAN_NAME =
 			ConfigurationClassPostProcessor.class.getName() + ".enhancedConfigurationProcessor";
 
+	/**
+	 * Bean definition attribute holding the name of the class that imported
+	 * the configuration class, for bean definitions that have been precomputed
+	 * through a {@link ConfigurationClassSourceGenerator}.
+	 */
+	static final String IMPORTING_CLASS_ATTRIBUTE =
+			Conventions.getQualifiedAttributeName(ConfigurationClassPostProcessor.class, "importingClass");
+
 
 	private final Log logger = LogFactory.getLog(getClass());
 
@@ -125,6 +153,10 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 
 	private boolean localBeanNameGeneratorSet = false;
 
+	private int parallelism = 1;
+
+	private boolean proxyBeanMethods = !SpringProperties.getFlag(LITE_MODE_PROPERTY_NAME);
+
 	/* using short class names as default bean names */
 	private BeanNameGenerator componentScanBeanNameGenerator = new AnnotationBeanNameGenerator();
 
@@ -195,6 +227,46 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 		this.importBeanNameGenerator = beanNameGenerator;
 	}
 
+	/**
+	 * Set the number of threads to use for independent parts of configuration
+	 * class processing: checking bean definitions for configuration class candidates,
+	 * which may involve reading their class files, and scanning the base packages of
+	 * each {@link ComponentScan @ComponentScan}.
+	 * <p>Default is 1, processing everything in the calling thread. With a higher
+	 * value, results are still merged and registered in the original order, leading
+	 * to the same bean definitions as for sequential processing; configuration
+	 * classes themselves are parsed one after another since their imports and
+	 * registrations depend on each other. Note that custom type filters and
+	 * {@link Conditional @Conditional} conditions on scanned components need to
+	 * be thread-safe when processing in parallel.
+	 * @since 4.3
+	 * @see ClassPathBeanDefinitionScanner#setScanExecutor
+	 */
+	public void setParallelism(int parallelism) {
+		Assert.isTrue(parallelism > 0, "Parallelism must be greater than 0");
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Specify whether to proxy the {@code @Bean} methods of {@link Configuration @Configuration}
+	 * classes through generated CGLIB subclasses, enforcing shared bean instances
+	 * for direct {@code @Bean} method calls.
+	 * <p>Default is {@code true}, unless the {@link #LITE_MODE_PROPERTY_NAME} flag
+	 * is set, with individual classes opting out through
+	 * {@link Configuration#proxyBeanMethods()}. Switch this to {@code false} in order
+	 * to process all configuration classes in 'lite' mode, avoiding the generation
+	 * of a subclass for each of them. The constraints for {@code @Configuration}
+	 * classes still get validated, allowing for proxying to be switched back on.
+	 * <p>Direct calls between {@code @Bean} methods of configuration classes that
+	 * do not get proxied are reported as {@link ProblemReporter#warning warnings}
+	 * since they create a new instance for each call then.
+	 * @since 4.3
+	 * @see Configuration#proxyBeanMethods()
+	 */
+	public void setProxyBeanMethods(boolean proxyBeanMethods) {
+		this.proxyBeanMethods = proxyBeanMethods;
+	}
+
 	@Override
 	public void setEnvironment(Environment environment) {
 		Assert.notNull(environment, "Environment must not be null");
@@ -268,9 +340,21 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 	 * {@link Configuration} classes.
 	 */
 	public void processConfigBeanDefinitions(BeanDefinitionRegistry registry) {
-		List<BeanDefinitionHolder> configCandidates = new ArrayList<BeanDefinitionHolder>();
+		ExecutorService executor = (this.parallelism > 1 ? createProcessingExecutor() : null);
+		try {
+			processConfigBeanDefinitions(registry, executor);
+		}
+		finally {
+			if (executor != null) {
+				executor.shutdownNow();
+			}
+		}
+	}
+
+	private void processConfigBeanDefinitions(BeanDefinitionRegistry registry, Executor executor) {
 		String[] candidateNames = registry.getBeanDefinitionNames();
 
+		List<BeanDefinitionHolder> unprocessed = new ArrayList<BeanDefinitionHolder>(candidateNames.length);
 		for (String beanName : candidateNames) {
 			BeanDefinition beanDef = registry.getBeanDefinition(beanName);
 			if (ConfigurationClassUtils.isFullConfigurationClass(beanDef) ||
@@ -279,10 +363,11 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 					logger.debug("Bean definition has already been processed as a configuration class: " + beanDef);
 				}
 			}
-			else if (ConfigurationClassUtils.checkConfigurationClassCandidate(beanDef, this.metadataReaderFactory)) {
-				configCandidates.add(new BeanDefinitionHolder(beanDef, beanName));
+			else {
+				unprocessed.add(new BeanDefinitionHolder(beanDef, beanName));
 			}
 		}
+		List<BeanDefinitionHolder> configCandidates = checkConfigurationClassCandidates(unprocessed, executor);
 
 		// Return immediately if no @Configuration classes were found
 		if (configCandidates.isEmpty()) {
@@ -314,6 +399,7 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 		ConfigurationClassParser parser = new ConfigurationClassParser(
 				this.metadataReaderFactory, this.problemReporter, this.environment,
 				this.resourceLoader, this.componentScanBeanNameGenerator, registry);
+		parser.setScanExecutor(executor);
 
 		Set<BeanDefinitionHolder> candidates = new LinkedHashSet<BeanDefinitionHolder>(configCandidates);
 		Set<ConfigurationClass> alreadyParsed = new HashSet<ConfigurationClass>(configCandidates.size());
@@ -323,6 +409,7 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 
 			Set<ConfigurationClass> configClasses = new LinkedHashSet<ConfigurationClass>(parser.getConfigurationClasses());
 			configClasses.removeAll(alreadyParsed);
+			detectInterBeanMethodCalls(configClasses);
 
 			// Read the model and create bean definitions based on its content
 			if (this.reader == null) {
@@ -341,13 +428,15 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 				for (ConfigurationClass configurationClass : alreadyParsed) {
 					alreadyParsedClasses.add(configurationClass.getMetadata().getClassName());
 				}
+				List<BeanDefinitionHolder> newDefinitions = new ArrayList<BeanDefinitionHolder>();
 				for (String candidateName : newCandidateNames) {
 					if (!oldCandidateNames.contains(candidateName)) {
-						BeanDefinition beanDef = registry.getBeanDefinition(candidateName);
-						if (ConfigurationClassUtils.checkConfigurationClassCandidate(beanDef, this.metadataReaderFactory) &&
-								!alreadyParsedClasses.contains(beanDef.getBeanClassName())) {
-							candidates.add(new BeanDefinitionHolder(beanDef, candidateName));
-						}
+						newDefinitions.add(new BeanDefinitionHolder(registry.getBeanDefinition(candidateName), candidateName));
+					}
+				}
+				for (BeanDefinitionHolder holder : checkConfigurationClassCandidates(newDefinitions, executor)) {
+					if (!alreadyParsedClasses.contains(holder.getBeanDefinition().getBeanClassName())) {
+						candidates.add(holder);
 					}
 				}
 				candidateNames = newCandidateNames;
@@ -367,13 +456,83 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 		}
 	}
 
+	/**
+	 * Check the given bean definitions for configuration class candidates,
+	 * using the given Executor (if any) for concurrent checks.
+	 * @return the candidates, in the order of the given bean definitions
+	 */
+	private List<BeanDefinitionHolder> checkConfigurationClassCandidates(
+			List<BeanDefinitionHolder> beanDefinitions, Executor executor) {
+
+		List<Callable<Boolean>> tasks = new ArrayList<Callable<Boolean>>(beanDefinitions.size());
+		for (final BeanDefinitionHolder holder : beanDefinitions) {
+			tasks.add(new Callable<Boolean>() {
+				@Override
+				public Boolean call() {
+					return ConfigurationClassUtils.checkConfigurationClassCandidate(
+							holder.getBeanDefinition(), metadataReaderFactory);
+				}
+			});
+		}
+		List<Boolean> results = ConcurrentProcessingUtils.invokeAll(tasks, executor);
+		List<BeanDefinitionHolder> candidates = new ArrayList<BeanDefinitionHolder>();
+		for (int i = 0; i < results.size(); i++) {
+			if (results.get(i)) {
+				candidates.add(beanDefinitions.get(i));
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * Report direct {@code @Bean} method calls within {@code @Configuration}
+	 * classes which are not going to be proxied.
+	 * @see InterBeanMethodCallDetector
+	 */
+	private void detectInterBeanMethodCalls(Set<ConfigurationClass> configClasses) {
+		InterBeanMethodCallDetector detector = null;
+		for (ConfigurationClass configClass : configClasses) {
+			AnnotationMetadata metadata = configClass.getMetadata();
+			if (metadata.isAnnotated(Configuration.class.getName()) &&
+					(!this.proxyBeanMethods || !ConfigurationClassUtils.isFullConfigurationCandidate(metadata))) {
+				if (detector == null) {
+					detector = new InterBeanMethodCallDetector(this.resourceLoader);
+				}
+				detector.detectInterBeanMethodCalls(configClass, this.problemReporter);
+			}
+		}
+	}
+
+	/**
+	 * Create the executor for parallel processing, with daemon threads
+	 * that use the bean class loader as context class loader.
+	 */
+	private ExecutorService createProcessingExecutor() {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+				ClassUtils.getShortName(getClass()) + "-") {
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = super.newThread(runnable);
+				thread.setContextClassLoader(beanClassLoader);
+				return thread;
+			}
+		};
+		threadFactory.setDaemon(true);
+		return Executors.newFixedThreadPool(this.parallelism, threadFactory);
+	}
+
 	/**
 	 * Post-processes a BeanFactory in search of Configuration class BeanDefinitions;
 	 * any candidates are then enhanced by a {@link ConfigurationClassEnhancer}.
 	 * Candidate status is determined by BeanDefinition attribute metadata.
+	 * Skipped completely if {@link #setProxyBeanMethods "proxyBeanMethods"} is off.
 	 * @see ConfigurationClassEnhancer
 	 */
 	public void enhanceConfigurationClasses(ConfigurableListableBeanFactory beanFactory) {
+		if (!this.proxyBeanMethods) {
+			// all configuration classes to be processed in 'lite' mode -> nothing to enhance
+			return;
+		}
 		Map<String, AbstractBeanDefinition> configBeanDefs = new LinkedHashMap<String, AbstractBeanDefinition>();
 		for (String beanName : beanFactory.getBeanDefinitionNames()) {
 			BeanDefinition beanDef = beanFactory.getBeanDefinition(beanName);
@@ -430,8 +589,15 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 		@Override
 		public Object postProcessBeforeInitialization(Object bean, String beanName)  {
 			if (bean instanceof ImportAware) {
-				ImportRegistry importRegistry = this.beanFactory.getBean(IMPORT_REGISTRY_BEAN_NAME, ImportRegistry.class);
-				AnnotationMetadata importingClass = importRegistry.getImportingClassFor(bean.getClass().getSuperclass().getName());
+				AnnotationMetadata importingClass = null;
+				if (this.beanFactory.containsBean(IMPORT_REGISTRY_BEAN_NAME)) {
+					ImportRegistry importRegistry = this.beanFactory.getBean(IMPORT_REGISTRY_BEAN_NAME, ImportRegistry.class);
+					importingClass = importRegistry.getImportingClassFor(ClassUtils.getUserClass(bean).getName());
+				}
+				if (importingClass == null && this.beanFactory instanceof ConfigurableListableBeanFactory) {
+					// Precomputed bean definition without an import registry: check for import marker.
+					importingClass = getPrecomputedImportingClass((ConfigurableListableBeanFactory) this.beanFactory, beanName);
+				}
 				if (importingClass != null) {
 					((ImportAware) bean).setImportMetadata(importingClass);
 				}
@@ -443,6 +609,18 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 		public Object postProcessAfterInitialization(Object bean, String beanName) {
 			return bean;
 		}
+
+		private AnnotationMetadata getPrecomputedImportingClass(ConfigurableListableBeanFactory beanFactory, String beanName) {
+			if (!beanFactory.containsBeanDefinition(beanName)) {
+				return null;
+			}
+			String importingClassName = (String) beanFactory.getBeanDefinition(beanName).getAttribute(IMPORTING_CLASS_ATTRIBUTE);
+			if (importingClassName == null) {
+				return null;
+			}
+			Class<?> importingClass = ClassUtils.resolveClassName(importingClassName, beanFactory.getBeanClassLoader());
+			return new StandardAnnotationMetadata(importingClass, true);
+		}
 	}
 
 
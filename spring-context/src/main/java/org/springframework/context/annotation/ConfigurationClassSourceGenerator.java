@@ -0,0 +1,580 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.BeanMetadataAttribute;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.config.TypedStringValue;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Build-time generator for the bean definitions derived from a set of
+ * {@link Configuration @Configuration} classes.
+ *
+ * <p>Runs the regular {@link ConfigurationClassPostProcessor} analysis, including
+ * {@link ComponentScan @ComponentScan}, {@link Import @Import} and {@link Conditional
+ * @Conditional} evaluation against the given {@link #setEnvironment Environment},
+ * and emits the Java source of an {@link org.springframework.context.ApplicationContextInitializer}
+ * which registers the resulting bean definitions directly, with factory methods resolved
+ * in advance. The generated class may be applied to a
+ * {@link org.springframework.context.support.GenericApplicationContext} before refresh
+ * (or through its static {@code registerBeanDefinitions} method against any registry),
+ * in which case the configuration classes will not be parsed again at runtime:
+ * they are marked as processed and only get enhanced for {@code @Bean} method interception.
+ *
+ * <p>Intended for fixed deployments where the outcome of the configuration class
+ * analysis is known at build time. Note that {@link PropertySource @PropertySource}
+ * declarations are not replayed at runtime; such property sources need to be added
+ * to the runtime {@code Environment} programmatically. Bean definitions that carry
+ * state which cannot be expressed in source form (e.g. inner bean definitions,
+ * qualifiers or method overrides) are rejected with an {@link IllegalStateException}.
+ *
+ * @since 4.3
+ * @see ConfigurationClassPostProcessor
+ * @see RootBeanDefinition#setResolvedFactoryMethod
+ */
+public class ConfigurationClassSourceGenerator {
+
+	private static final String PROCESSOR_BEAN_NAME_PREFIX = ConfigurationClassPostProcessor.class.getName() + ".";
+
+	private static final Log logger = LogFactory.getLog(ConfigurationClassSourceGenerator.class);
+
+	private final Class<?>[] annotatedClasses;
+
+	private ConfigurableEnvironment environment = new StandardEnvironment();
+
+	private ResourceLoader resourceLoader = new DefaultResourceLoader();
+
+	private ClassLoader beanClassLoader = ClassUtils.getDefaultClassLoader();
+
+
+	/**
+	 * Create a new generator for the given annotated classes.
+	 * @param annotatedClasses one or more annotated classes,
+	 * e.g. {@link Configuration @Configuration} classes
+	 */
+	public ConfigurationClassSourceGenerator(Class<?>... annotatedClasses) {
+		Assert.notEmpty(annotatedClasses, "At least one annotated class must be specified");
+		this.annotatedClasses = annotatedClasses;
+	}
+
+
+	/**
+	 * Set the {@code Environment} to evaluate profiles and conditions against.
+	 * <p>Needs to match the {@code Environment} of the target deployment.
+	 * Default is a {@link StandardEnvironment}.
+	 */
+	public void setEnvironment(ConfigurableEnvironment environment) {
+		Assert.notNull(environment, "Environment must not be null");
+		this.environment = environment;
+	}
+
+	/**
+	 * Set the {@code ResourceLoader} to use for component scanning and imported resources.
+	 * <p>Default is a {@link DefaultResourceLoader}.
+	 */
+	public void setResourceLoader(ResourceLoader resourceLoader) {
+		Assert.notNull(resourceLoader, "ResourceLoader must not be null");
+		this.resourceLoader = resourceLoader;
+	}
+
+	/**
+	 * Set the {@code ClassLoader} to load bean classes with.
+	 * <p>Default is the thread context ClassLoader.
+	 */
+	public void setBeanClassLoader(ClassLoader beanClassLoader) {
+		this.beanClassLoader = beanClassLoader;
+	}
+
+
+	/**
+	 * Run the configuration class analysis and generate the source of a class
+	 * which registers the resulting bean definitions.
+	 * @param className the fully-qualified name of the class to generate
+	 * @return the Java source code for the given class
+	 * @throws IllegalStateException if a bean definition cannot be expressed in source form
+	 */
+	String generate(String className) {
+		Assert.hasText(className, "Class name must not be empty");
+		DefaultListableBeanFactory beanFactory = analyze();
+		return new SourceWriter(beanFactory, className).write();
+	}
+
+	/**
+	 * Run the configuration class analysis and write the source of a class
+	 * which registers the resulting bean definitions into the given directory.
+	 * @param outputDirectory the root directory for generated sources
+	 * @param className the fully-qualified name of the class to generate
+	 * @return the generated source file
+	 * @throws IOException in case of I/O errors
+	 * @throws IllegalStateException if a bean definition cannot be expressed in source form
+	 */
+	public File generate(File outputDirectory, String className) throws IOException {
+		String source = generate(className);
+		File file = new File(outputDirectory, className.replace('.', File.separatorChar) + ".java");
+		File parent = file.getParentFile();
+		if (!parent.isDirectory() && !parent.mkdirs()) {
+			throw new IOException("Could not create directory " + parent);
+		}
+		FileCopyUtils.copy(source.getBytes("UTF-8"), file);
+		return file;
+	}
+
+	/**
+	 * Register the annotated classes in a fresh bean factory and apply
+	 * {@link ConfigurationClassPostProcessor} to it, without refreshing it.
+	 */
+	protected DefaultListableBeanFactory analyze() {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.setBeanClassLoader(this.beanClassLoader);
+		AnnotatedBeanDefinitionReader reader = new AnnotatedBeanDefinitionReader(beanFactory, this.environment);
+		reader.register(this.annotatedClasses);
+
+		int propertySourceCount = this.environment.getPropertySources().size();
+		ConfigurationClassPostProcessor postProcessor = new ConfigurationClassPostProcessor();
+		postProcessor.setEnvironment(this.environment);
+		postProcessor.setResourceLoader(this.resourceLoader);
+		postProcessor.setBeanClassLoader(this.beanClassLoader);
+		postProcessor.postProcessBeanDefinitionRegistry(beanFactory);
+		if (this.environment.getPropertySources().size() != propertySourceCount && logger.isWarnEnabled()) {
+			logger.warn("@PropertySource declarations are not replayed by generated bean definitions: " +
+					"add corresponding property sources to the runtime Environment programmatically");
+		}
+
+		ImportRegistry importRegistry = (beanFactory.containsSingleton(PROCESSOR_BEAN_NAME_PREFIX + "importRegistry") ?
+				(ImportRegistry) beanFactory.getSingleton(PROCESSOR_BEAN_NAME_PREFIX + "importRegistry") : null);
+		if (importRegistry != null) {
+			for (String beanName : beanFactory.getBeanDefinitionNames()) {
+				BeanDefinition bd = beanFactory.getBeanDefinition(beanName);
+				if (bd.getBeanClassName() != null && (ConfigurationClassUtils.isFullConfigurationClass(bd) ||
+						ConfigurationClassUtils.isLiteConfigurationClass(bd))) {
+					AnnotationMetadata importingClass = importRegistry.getImportingClassFor(bd.getBeanClassName());
+					if (importingClass != null) {
+						bd.setAttribute(ConfigurationClassPostProcessor.IMPORTING_CLASS_ATTRIBUTE,
+								importingClass.getClassName());
+					}
+				}
+			}
+		}
+		return beanFactory;
+	}
+
+
+	/**
+	 * Writes the source for the bean definitions in a given bean factory.
+	 */
+	private class SourceWriter {
+
+		private final DefaultListableBeanFactory beanFactory;
+
+		private final String packageName;
+
+		private final String simpleName;
+
+		private final StringBuilder methods = new StringBuilder();
+
+		private int methodCount = 0;
+
+		public SourceWriter(DefaultListableBeanFactory beanFactory, String className) {
+			this.beanFactory = beanFactory;
+			this.packageName = StringUtils.hasLength(ClassUtils.getPackageName(className)) ?
+					ClassUtils.getPackageName(className) : null;
+			this.simpleName = StringUtils.unqualify(className);
+		}
+
+		public String write() {
+			StringBuilder registrations = new StringBuilder();
+			for (String beanName : this.beanFactory.getBeanDefinitionNames()) {
+				if (beanName.startsWith(PROCESSOR_BEAN_NAME_PREFIX)) {
+					// Re-registered by ConfigurationClassPostProcessor at runtime anyway.
+					continue;
+				}
+				RootBeanDefinition bd = (RootBeanDefinition) this.beanFactory.getMergedBeanDefinition(beanName);
+				String method = writeBeanDefinitionMethod(beanName, bd);
+				registrations.append("\t\t\tregistry.registerBeanDefinition(").append(literal(beanName)).append(", ")
+						.append(method).append("(classLoader));\n");
+				for (String alias : this.beanFactory.getAliases(beanName)) {
+					registrations.append("\t\t\tregistry.registerAlias(").append(literal(beanName)).append(", ")
+							.append(literal(alias)).append(");\n");
+				}
+			}
+
+			StringBuilder source = new StringBuilder();
+			if (this.packageName != null) {
+				source.append("package ").append(this.packageName).append(";\n\n");
+			}
+			source.append("import org.springframework.beans.factory.BeanDefinitionStoreException;\n");
+			source.append("import org.springframework.beans.factory.config.BeanDefinitionHolder;\n");
+			source.append("import org.springframework.beans.factory.config.RuntimeBeanReference;\n");
+			source.append("import org.springframework.beans.factory.config.TypedStringValue;\n");
+			source.append("import org.springframework.beans.factory.support.BeanDefinitionRegistry;\n");
+			source.append("import org.springframework.beans.factory.support.RootBeanDefinition;\n");
+			source.append("import org.springframework.context.ApplicationContextInitializer;\n");
+			source.append("import org.springframework.context.support.GenericApplicationContext;\n");
+			source.append("import org.springframework.util.ClassUtils;\n\n");
+			source.append("/**\n * Bean definitions for ");
+			for (int i = 0; i < annotatedClasses.length; i++) {
+				source.append(i > 0 ? ", " : "").append("{@code ").append(annotatedClasses[i].getName()).append("}");
+			}
+			source.append(",\n * generated by {@code ").append(ConfigurationClassSourceGenerator.class.getName())
+					.append("}.\n * Do not edit: regenerate when the configuration changes.\n */\n");
+			source.append("public class ").append(this.simpleName)
+					.append(" implements ApplicationContextInitializer<GenericApplicationContext> {\n\n");
+			source.append("\t@Override\n");
+			source.append("\tpublic void initialize(GenericApplicationContext applicationContext) {\n");
+			source.append("\t\tregisterBeanDefinitions(applicationContext);\n");
+			source.append("\t}\n\n");
+			source.append("\tpublic static void registerBeanDefinitions(BeanDefinitionRegistry registry) {\n");
+			source.append("\t\tClassLoader classLoader = ").append(this.simpleName).append(".class.getClassLoader();\n");
+			source.append("\t\ttry {\n");
+			source.append(registrations);
+			source.append("\t\t}\n");
+			source.append("\t\tcatch (Exception ex) {\n");
+			source.append("\t\t\tthrow new BeanDefinitionStoreException(\"Failed to register precomputed bean definitions\", ex);\n");
+			source.append("\t\t}\n");
+			source.append("\t}\n");
+			source.append(this.methods);
+			source.append("\n}\n");
+			return source.toString();
+		}
+
+		private String writeBeanDefinitionMethod(String beanName, RootBeanDefinition bd) {
+			if (!bd.getQualifiers().isEmpty()) {
+				throw unsupported(beanName, "qualifiers");
+			}
+			if (!bd.getMethodOverrides().isEmpty()) {
+				throw unsupported(beanName, "method overrides");
+			}
+
+			StringBuilder body = new StringBuilder();
+			String method = "beanDefinition" + this.methodCount++;
+			Class<?> beanClass = resolveBeanClass(beanName, bd);
+			if (beanClass != null) {
+				body.append("\t\tRootBeanDefinition bd = new RootBeanDefinition(")
+						.append(classReference(beanClass)).append(");\n");
+			}
+			else {
+				body.append("\t\tRootBeanDefinition bd = new RootBeanDefinition();\n");
+			}
+			if (bd.getFactoryMethodName() != null) {
+				writeFactoryMethod(beanName, bd, beanClass, body);
+			}
+			if (!BeanDefinition.SCOPE_SINGLETON.equals(bd.getScope()) && StringUtils.hasLength(bd.getScope())) {
+				body.append("\t\tbd.setScope(").append(literal(bd.getScope())).append(");\n");
+			}
+			if (bd.isAbstract()) {
+				body.append("\t\tbd.setAbstract(true);\n");
+			}
+			if (bd.isLazyInit()) {
+				body.append("\t\tbd.setLazyInit(true);\n");
+			}
+			if (bd.getAutowireMode() != AbstractBeanDefinition.AUTOWIRE_NO) {
+				body.append("\t\tbd.setAutowireMode(").append(bd.getAutowireMode()).append(");\n");
+			}
+			if (bd.getDependencyCheck() != AbstractBeanDefinition.DEPENDENCY_CHECK_NONE) {
+				body.append("\t\tbd.setDependencyCheck(").append(bd.getDependencyCheck()).append(");\n");
+			}
+			if (!ObjectUtils.isEmpty(bd.getDependsOn())) {
+				body.append("\t\tbd.setDependsOn(");
+				String[] dependsOn = bd.getDependsOn();
+				for (int i = 0; i < dependsOn.length; i++) {
+					body.append(i > 0 ? ", " : "").append(literal(dependsOn[i]));
+				}
+				body.append(");\n");
+			}
+			if (!bd.isAutowireCandidate()) {
+				body.append("\t\tbd.setAutowireCandidate(false);\n");
+			}
+			if (bd.isPrimary()) {
+				body.append("\t\tbd.setPrimary(true);\n");
+			}
+			if (!bd.isNonPublicAccessAllowed()) {
+				body.append("\t\tbd.setNonPublicAccessAllowed(false);\n");
+			}
+			if (!bd.isLenientConstructorResolution()) {
+				body.append("\t\tbd.setLenientConstructorResolution(false);\n");
+			}
+			if (bd.getInitMethodName() != null) {
+				body.append("\t\tbd.setInitMethodName(").append(literal(bd.getInitMethodName())).append(");\n");
+				if (!bd.isEnforceInitMethod()) {
+					body.append("\t\tbd.setEnforceInitMethod(false);\n");
+				}
+			}
+			if (bd.getDestroyMethodName() != null) {
+				body.append("\t\tbd.setDestroyMethodName(").append(literal(bd.getDestroyMethodName())).append(");\n");
+				if (!bd.isEnforceDestroyMethod()) {
+					body.append("\t\tbd.setEnforceDestroyMethod(false);\n");
+				}
+			}
+			if (bd.isSynthetic()) {
+				body.append("\t\tbd.setSynthetic(true);\n");
+			}
+			if (bd.getRole() != BeanDefinition.ROLE_APPLICATION) {
+				body.append("\t\tbd.setRole(").append(bd.getRole()).append(");\n");
+			}
+			if (bd.getDescription() != null) {
+				body.append("\t\tbd.setDescription(").append(literal(bd.getDescription())).append(");\n");
+			}
+			writeConstructorArguments(beanName, bd.getConstructorArgumentValues(), body);
+			for (PropertyValue pv : bd.getPropertyValues().getPropertyValueList()) {
+				body.append("\t\tbd.getPropertyValues().add(").append(literal(pv.getName())).append(", ")
+						.append(valueExpression(beanName, pv.getValue())).append(");\n");
+			}
+			writeAttributes(beanName, bd, body);
+			BeanDefinitionHolder decorated = bd.getDecoratedDefinition();
+			if (decorated != null) {
+				if (!this.beanFactory.containsBeanDefinition(decorated.getBeanName())) {
+					throw unsupported(beanName, "unregistered decorated bean definition");
+				}
+				RootBeanDefinition decoratedDefinition =
+						(RootBeanDefinition) this.beanFactory.getMergedBeanDefinition(decorated.getBeanName());
+				String decoratedMethod = writeBeanDefinitionMethod(decorated.getBeanName(), decoratedDefinition);
+				body.append("\t\tbd.setDecoratedDefinition(new BeanDefinitionHolder(").append(decoratedMethod)
+						.append("(classLoader), ").append(literal(decorated.getBeanName())).append("));\n");
+			}
+			body.append("\t\treturn bd;\n");
+
+			this.methods.append("\n\t// ").append(beanName.replace('\n', ' ')).append("\n");
+			this.methods.append("\tprivate static RootBeanDefinition ").append(method)
+					.append("(ClassLoader classLoader) throws Exception {\n");
+			this.methods.append(body);
+			this.methods.append("\t}\n");
+			return method;
+		}
+
+		private void writeFactoryMethod(String beanName, RootBeanDefinition bd, Class<?> beanClass, StringBuilder body) {
+			Class<?> factoryClass;
+			boolean isStatic;
+			if (bd.getFactoryBeanName() != null) {
+				body.append("\t\tbd.setFactoryBeanName(").append(literal(bd.getFactoryBeanName())).append(");\n");
+				BeanDefinition factoryDefinition = this.beanFactory.getMergedBeanDefinition(bd.getFactoryBeanName());
+				factoryClass = resolveBeanClass(bd.getFactoryBeanName(), factoryDefinition);
+				isStatic = false;
+			}
+			else {
+				factoryClass = beanClass;
+				isStatic = true;
+			}
+
+			Method factoryMethod = (factoryClass != null ? resolveFactoryMethod(bd, factoryClass, isStatic) : null);
+			if (factoryMethod != null) {
+				body.append("\t\tbd.setUniqueFactoryMethodName(").append(literal(bd.getFactoryMethodName())).append(");\n");
+				body.append("\t\tbd.setResolvedFactoryMethod(").append(classReference(factoryMethod.getDeclaringClass()))
+						.append(".getDeclaredMethod(").append(literal(factoryMethod.getName()));
+				for (Class<?> paramType : factoryMethod.getParameterTypes()) {
+					body.append(", ").append(classReference(paramType));
+				}
+				body.append("));\n");
+			}
+			else if (bd instanceof AnnotatedBeanDefinition) {
+				// Overloaded @Bean methods: resolution would differ from @Bean-specific matching
+				throw unsupported(beanName, "overloaded @Bean factory method '" + bd.getFactoryMethodName() + "'");
+			}
+			else {
+				body.append("\t\tbd.setFactoryMethodName(").append(literal(bd.getFactoryMethodName())).append(");\n");
+			}
+		}
+
+		private Method resolveFactoryMethod(RootBeanDefinition bd, Class<?> factoryClass, boolean isStatic) {
+			Method uniqueCandidate = null;
+			Class<?> clazz = factoryClass;
+			while (clazz != null && clazz != Object.class) {
+				for (Method candidate : clazz.getDeclaredMethods()) {
+					if (Modifier.isStatic(candidate.getModifiers()) == isStatic && bd.isFactoryMethod(candidate) &&
+							!candidate.isBridge()) {
+						if (uniqueCandidate == null) {
+							uniqueCandidate = candidate;
+						}
+						else if (!Arrays.equals(uniqueCandidate.getParameterTypes(), candidate.getParameterTypes())) {
+							return null;
+						}
+					}
+				}
+				clazz = clazz.getSuperclass();
+			}
+			return uniqueCandidate;
+		}
+
+		private void writeConstructorArguments(String beanName, ConstructorArgumentValues cav, StringBuilder body) {
+			for (Map.Entry<Integer, ConstructorArgumentValues.ValueHolder> entry : cav.getIndexedArgumentValues().entrySet()) {
+				ConstructorArgumentValues.ValueHolder holder = entry.getValue();
+				body.append("\t\tbd.getConstructorArgumentValues().addIndexedArgumentValue(").append(entry.getKey())
+						.append(", ").append(valueHolderArguments(beanName, holder)).append(");\n");
+			}
+			for (ConstructorArgumentValues.ValueHolder holder : cav.getGenericArgumentValues()) {
+				body.append("\t\tbd.getConstructorArgumentValues().addGenericArgumentValue(")
+						.append(valueHolderArguments(beanName, holder)).append(");\n");
+			}
+		}
+
+		private String valueHolderArguments(String beanName, ConstructorArgumentValues.ValueHolder holder) {
+			if (holder.getName() != null) {
+				throw unsupported(beanName, "named constructor arguments");
+			}
+			String value = valueExpression(beanName, holder.getValue());
+			return (holder.getType() != null ? value + ", " + literal(holder.getType()) : value);
+		}
+
+		private void writeAttributes(String beanName, RootBeanDefinition bd, StringBuilder body) {
+			for (String name : bd.attributeNames()) {
+				Object value = bd.getAttribute(name);
+				if (value instanceof String || value instanceof Boolean || value instanceof Integer) {
+					body.append("\t\tbd.setAttribute(").append(literal(name)).append(", ")
+							.append(valueExpression(beanName, value)).append(");\n");
+				}
+				else if (logger.isDebugEnabled()) {
+					logger.debug("Skipping attribute '" + name + "' on bean definition '" + beanName +
+							"': value of type [" + ObjectUtils.nullSafeClassName(value) + "] cannot be generated");
+				}
+			}
+		}
+
+		private String valueExpression(String beanName, Object value) {
+			if (value instanceof BeanMetadataAttribute) {
+				value = ((BeanMetadataAttribute) value).getValue();
+			}
+			if (value == null) {
+				return "null";
+			}
+			if (value instanceof String) {
+				return literal((String) value);
+			}
+			if (value instanceof Boolean) {
+				return value.toString();
+			}
+			if (value instanceof Integer) {
+				return "Integer.valueOf(" + value + ")";
+			}
+			if (value instanceof Long) {
+				return "Long.valueOf(" + value + "L)";
+			}
+			if (value instanceof Class) {
+				return classReference((Class<?>) value);
+			}
+			if (value instanceof RuntimeBeanReference) {
+				RuntimeBeanReference ref = (RuntimeBeanReference) value;
+				return "new RuntimeBeanReference(" + literal(ref.getBeanName()) + ", " + ref.isToParent() + ")";
+			}
+			if (value instanceof TypedStringValue) {
+				TypedStringValue typedValue = (TypedStringValue) value;
+				if (typedValue.getTargetTypeName() != null) {
+					return "new TypedStringValue(" + literal(typedValue.getValue()) + ", " +
+							literal(typedValue.getTargetTypeName()) + ")";
+				}
+				return "new TypedStringValue(" + literal(typedValue.getValue()) + ")";
+			}
+			throw unsupported(beanName, "value of type [" + value.getClass().getName() + "]");
+		}
+
+		private Class<?> resolveBeanClass(String beanName, BeanDefinition bd) {
+			if (bd instanceof AbstractBeanDefinition && ((AbstractBeanDefinition) bd).hasBeanClass()) {
+				return ((AbstractBeanDefinition) bd).getBeanClass();
+			}
+			if (bd.getBeanClassName() == null) {
+				return null;
+			}
+			try {
+				return ClassUtils.forName(bd.getBeanClassName(), beanClassLoader);
+			}
+			catch (Throwable ex) {
+				throw new IllegalStateException("Cannot load class [" + bd.getBeanClassName() +
+						"] for bean definition '" + beanName + "'", ex);
+			}
+		}
+
+		/**
+		 * Return a class literal for accessible classes, or a lookup by name otherwise.
+		 */
+		private String classReference(Class<?> clazz) {
+			if (clazz.isPrimitive()) {
+				return clazz.getName() + ".class";
+			}
+			if (isAccessible(clazz)) {
+				return clazz.getCanonicalName() + ".class";
+			}
+			return "ClassUtils.forName(" + literal(clazz.getName()) + ", classLoader)";
+		}
+
+		private boolean isAccessible(Class<?> clazz) {
+			if (clazz.isArray()) {
+				return isAccessible(clazz.getComponentType());
+			}
+			Class<?> current = clazz;
+			while (current != null) {
+				if (current.isAnonymousClass() || current.isLocalClass() || !Modifier.isPublic(current.getModifiers())) {
+					return false;
+				}
+				current = current.getEnclosingClass();
+			}
+			return clazz.getCanonicalName() != null;
+		}
+
+		private String literal(String value) {
+			StringBuilder sb = new StringBuilder("\"");
+			for (char c : value.toCharArray()) {
+				switch (c) {
+					case '"': sb.append("\\\""); break;
+					case '\\': sb.append("\\\\"); break;
+					case '\n': sb.append("\\n"); break;
+					case '\r': sb.append("\\r"); break;
+					case '\t': sb.append("\\t"); break;
+					default:
+						if (c < 0x20 || c > 0x7e) {
+							sb.append(String.format("\\u%04x", (int) c));
+						}
+						else {
+							sb.append(c);
+						}
+				}
+			}
+			return sb.append('"').toString();
+		}
+
+		private IllegalStateException unsupported(String beanName, String feature) {
+			return new IllegalStateException("Cannot generate source for bean definition '" + beanName +
+					"': " + feature + " not supported");
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -50,6 +50,8 @@ abstract class ConfigurationClassUtils {
 
 	private static final String CONFIGURATION_CLASS_LITE = "lite";
 
+	private static final String PROXY_BEAN_METHODS = "proxyBeanMethods";
+
 	private static final String CONFIGURATION_CLASS_ATTRIBUTE =
 			Conventions.getQualifiedAttributeName(ConfigurationClassPostProcessor.class, "configurationClass");
 
@@ -140,13 +142,18 @@ abstract class ConfigurationClassUtils {
 
 	/**
 	 * Check the given metadata for a full configuration class candidate
-	 * (i.e. a class annotated with {@code @Configuration}).
+	 * (i.e. a class annotated with {@code @Configuration}, not having
+	 * {@link Configuration#proxyBeanMethods() proxyBeanMethods} switched off).
 	 * @param metadata the metadata of the annotated class
 	 * @return {@code true} if the given class is to be processed as a full
 	 * configuration class, including cross-method call interception
 	 */
 	public static boolean isFullConfigurationCandidate(AnnotationMetadata metadata) {
-		return metadata.isAnnotated(Configuration.class.getName());
+		if (!metadata.isAnnotated(Configuration.class.getName())) {
+			return false;
+		}
+		Map<String, Object> attributes = metadata.getAnnotationAttributes(Configuration.class.getName());
+		return (attributes == null || !Boolean.FALSE.equals(attributes.get(PROXY_BEAN_METHODS)));
 	}
 
 	/**
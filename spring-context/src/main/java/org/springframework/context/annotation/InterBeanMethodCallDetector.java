@@ -0,0 +1,233 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.SpringAsmInfo;
+import org.springframework.beans.factory.parsing.Problem;
+import org.springframework.beans.factory.parsing.ProblemReporter;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Detects direct calls between {@code @Bean} methods of a configuration class
+ * which does not get enhanced through CGLIB, i.e. a {@link Configuration} class
+ * processed in 'lite' mode. Such calls are plain Java method calls, creating a
+ * new object each time instead of returning the bean instance managed by the
+ * container, and are therefore reported as {@link ProblemReporter#warning warnings}.
+ *
+ * <p>Reads the class files of the configuration class and its superclasses
+ * through ASM, looking for virtual invocations of instance {@code @Bean}
+ * methods within the same class hierarchy.
+ *
+ * @since 4.3
+ * @see Configuration#proxyBeanMethods()
+ * @see ConfigurationClassPostProcessor#setProxyBeanMethods
+ */
+class InterBeanMethodCallDetector {
+
+	private static final Log logger = LogFactory.getLog(InterBeanMethodCallDetector.class);
+
+	private final ResourceLoader resourceLoader;
+
+
+	public InterBeanMethodCallDetector(ResourceLoader resourceLoader) {
+		Assert.notNull(resourceLoader, "ResourceLoader must not be null");
+		this.resourceLoader = resourceLoader;
+	}
+
+
+	/**
+	 * Report any direct calls to instance {@code @Bean} methods of the given
+	 * configuration class, one warning per {@code @Bean} method being called.
+	 * @param configClass the configuration class to introspect
+	 * @param problemReporter the reporter to register the warnings with
+	 */
+	public void detectInterBeanMethodCalls(ConfigurationClass configClass, ProblemReporter problemReporter) {
+		Map<String, BeanMethod> beanMethods = new HashMap<String, BeanMethod>();
+		for (BeanMethod beanMethod : configClass.getBeanMethods()) {
+			if (!beanMethod.getMetadata().isStatic()) {
+				beanMethods.put(beanMethod.getMetadata().getMethodName(), beanMethod);
+			}
+		}
+		if (beanMethods.isEmpty()) {
+			// static @Bean methods are never intercepted -> nothing to report
+			return;
+		}
+
+		List<ClassReader> classReaders = new ArrayList<ClassReader>();
+		Set<String> hierarchy = new HashSet<String>();
+		String className = configClass.getMetadata().getClassName();
+		while (className != null && !Object.class.getName().equals(className)) {
+			ClassReader classReader = readClass(className);
+			if (classReader == null) {
+				break;
+			}
+			classReaders.add(classReader);
+			hierarchy.add(classReader.getClassName());
+			String superName = classReader.getSuperName();
+			className = (superName != null ? ClassUtils.convertResourcePathToClassName(superName) : null);
+		}
+
+		Map<String, Set<String>> callers = new LinkedHashMap<String, Set<String>>();
+		for (ClassReader classReader : classReaders) {
+			classReader.accept(new InterBeanMethodCallClassVisitor(hierarchy, beanMethods.keySet(), callers),
+					ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+		}
+		for (Map.Entry<String, Set<String>> entry : callers.entrySet()) {
+			problemReporter.warning(new InterBeanMethodCallProblem(beanMethods.get(entry.getKey()), entry.getValue()));
+		}
+	}
+
+	private ClassReader readClass(String className) {
+		String resourcePath = ResourceLoader.CLASSPATH_URL_PREFIX +
+				ClassUtils.convertClassNameToResourcePath(className) + ClassUtils.CLASS_FILE_SUFFIX;
+		Resource resource = this.resourceLoader.getResource(resourcePath);
+		InputStream is = null;
+		try {
+			is = new BufferedInputStream(resource.getInputStream());
+			return new ClassReader(is);
+		}
+		catch (IOException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Could not read class file for introspecting inter-bean method calls: " + className, ex);
+			}
+		}
+		catch (IllegalArgumentException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("ASM ClassReader failed to parse class file [" + className +
+						"], probably due to a new Java class file version that isn't supported yet " +
+						"- unable to introspect inter-bean method calls", ex);
+			}
+		}
+		finally {
+			if (is != null) {
+				try {
+					is.close();
+				}
+				catch (IOException ex) {
+					// ignore
+				}
+			}
+		}
+		return null;
+	}
+
+
+	/**
+	 * ASM class visitor collecting the callers of each {@code @Bean} method.
+	 */
+	private static class InterBeanMethodCallClassVisitor extends ClassVisitor {
+
+		private final Set<String> hierarchy;
+
+		private final Set<String> beanMethodNames;
+
+		private final Map<String, Set<String>> callers;
+
+		private String shortClassName;
+
+		public InterBeanMethodCallClassVisitor(
+				Set<String> hierarchy, Set<String> beanMethodNames, Map<String, Set<String>> callers) {
+
+			super(SpringAsmInfo.ASM_VERSION);
+			this.hierarchy = hierarchy;
+			this.beanMethodNames = beanMethodNames;
+			this.callers = callers;
+		}
+
+		@Override
+		public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+			this.shortClassName = ClassUtils.getShortName(ClassUtils.convertResourcePathToClassName(name));
+		}
+
+		@Override
+		public MethodVisitor visitMethod(int access, String name, String desc, String signature, String[] exceptions) {
+			if ((access & Opcodes.ACC_BRIDGE) != 0) {
+				// compiler-generated delegation to a covariant @Bean method
+				return null;
+			}
+			return new InterBeanMethodCallMethodVisitor(this, this.shortClassName + "." + name + "()");
+		}
+	}
+
+
+	/**
+	 * ASM method visitor registering the given caller for each virtual invocation
+	 * of a {@code @Bean} method within the configuration class hierarchy.
+	 */
+	private static class InterBeanMethodCallMethodVisitor extends MethodVisitor {
+
+		private final InterBeanMethodCallClassVisitor classVisitor;
+
+		private final String caller;
+
+		public InterBeanMethodCallMethodVisitor(InterBeanMethodCallClassVisitor classVisitor, String caller) {
+			super(SpringAsmInfo.ASM_VERSION);
+			this.classVisitor = classVisitor;
+			this.caller = caller;
+		}
+
+		@Override
+		public void visitMethodInsn(int opcode, String owner, String name, String desc, boolean itf) {
+			if (opcode == Opcodes.INVOKEVIRTUAL && this.classVisitor.hierarchy.contains(owner) &&
+					this.classVisitor.beanMethodNames.contains(name)) {
+				Set<String> methodCallers = this.classVisitor.callers.get(name);
+				if (methodCallers == null) {
+					methodCallers = new LinkedHashSet<String>();
+					this.classVisitor.callers.put(name, methodCallers);
+				}
+				methodCallers.add(this.caller);
+			}
+		}
+	}
+
+
+	private static class InterBeanMethodCallProblem extends Problem {
+
+		public InterBeanMethodCallProblem(BeanMethod beanMethod, Set<String> callers) {
+			super(String.format("@Bean method '%s' is called directly from %s in configuration class '%s' " +
+					"whose @Bean methods are not proxied: each call creates a new instance instead of referring " +
+					"to the bean managed by the container. Declare the dependency as a @Bean method parameter " +
+					"instead, or enable proxying of @Bean methods for this class.",
+					beanMethod.getMetadata().getMethodName(), StringUtils.collectionToCommaDelimitedString(callers),
+					beanMethod.getConfigurationClass().getSimpleName()), beanMethod.getResourceLocation());
+		}
+	}
+
+}
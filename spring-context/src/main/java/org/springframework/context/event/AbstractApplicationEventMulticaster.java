@@ -16,9 +16,12 @@
 
 package org.springframework.context.event;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -69,6 +72,8 @@ public abstract class AbstractApplicationEventMulticaster
 
 	private Object retrievalMutex = this.defaultRetriever;
 
+	private volatile int registrationGeneration;
+
 
 	@Override
 	public void setBeanClassLoader(ClassLoader classLoader) {
@@ -100,7 +105,7 @@ public abstract class AbstractApplicationEventMulticaster
 	public void addApplicationListener(ApplicationListener<?> listener) {
 		synchronized (this.retrievalMutex) {
 			this.defaultRetriever.applicationListeners.add(listener);
-			this.retrieverCache.clear();
+			listenersChanged();
 		}
 	}
 
@@ -108,7 +113,7 @@ public abstract class AbstractApplicationEventMulticaster
 	public void addApplicationListenerBean(String listenerBeanName) {
 		synchronized (this.retrievalMutex) {
 			this.defaultRetriever.applicationListenerBeans.add(listenerBeanName);
-			this.retrieverCache.clear();
+			listenersChanged();
 		}
 	}
 
@@ -116,7 +121,7 @@ public abstract class AbstractApplicationEventMulticaster
 	public void removeApplicationListener(ApplicationListener<?> listener) {
 		synchronized (this.retrievalMutex) {
 			this.defaultRetriever.applicationListeners.remove(listener);
-			this.retrieverCache.clear();
+			listenersChanged();
 		}
 	}
 
@@ -124,7 +129,7 @@ public abstract class AbstractApplicationEventMulticaster
 	public void removeApplicationListenerBean(String listenerBeanName) {
 		synchronized (this.retrievalMutex) {
 			this.defaultRetriever.applicationListenerBeans.remove(listenerBeanName);
-			this.retrieverCache.clear();
+			listenersChanged();
 		}
 	}
 
@@ -133,10 +138,20 @@ public abstract class AbstractApplicationEventMulticaster
 		synchronized (this.retrievalMutex) {
 			this.defaultRetriever.applicationListeners.clear();
 			this.defaultRetriever.applicationListenerBeans.clear();
-			this.retrieverCache.clear();
+			listenersChanged();
 		}
 	}
 
+	/**
+	 * Invalidate all cached ListenerRetrievers, also preventing any retriever
+	 * that is currently being built from getting cached afterwards.
+	 * <p>To be called with the retrieval mutex held.
+	 */
+	private void listenersChanged() {
+		this.registrationGeneration++;
+		this.retrieverCache.clear();
+	}
+
 
 	/**
 	 * Return a Collection containing all ApplicationListeners.
@@ -174,18 +189,18 @@ public abstract class AbstractApplicationEventMulticaster
 		if (this.beanClassLoader == null ||
 				(ClassUtils.isCacheSafe(event.getClass(), this.beanClassLoader) &&
 						(sourceType == null || ClassUtils.isCacheSafe(sourceType, this.beanClassLoader)))) {
-			// Fully synchronized building and caching of a ListenerRetriever
+			// Build the ListenerRetriever without holding the retrieval mutex, only caching
+			// it if no listener has been registered or removed in the meantime
+			int generation = this.registrationGeneration;
+			retriever = new ListenerRetriever(true);
+			Collection<ApplicationListener<?>> listeners =
+					retrieveApplicationListeners(eventType, sourceType, retriever);
 			synchronized (this.retrievalMutex) {
-				retriever = this.retrieverCache.get(cacheKey);
-				if (retriever != null) {
-					return retriever.getApplicationListeners();
+				if (generation == this.registrationGeneration) {
+					this.retrieverCache.put(cacheKey, retriever);
 				}
-				retriever = new ListenerRetriever(true);
-				Collection<ApplicationListener<?>> listeners =
-						retrieveApplicationListeners(eventType, sourceType, retriever);
-				this.retrieverCache.put(cacheKey, retriever);
-				return listeners;
 			}
+			return listeners;
 		}
 		else {
 			// No ListenerRetriever caching -> no synchronization necessary
@@ -203,7 +218,7 @@ public abstract class AbstractApplicationEventMulticaster
 	private Collection<ApplicationListener<?>> retrieveApplicationListeners(
 			ResolvableType eventType, Class<?> sourceType, ListenerRetriever retriever) {
 
-		LinkedList<ApplicationListener<?>> allListeners = new LinkedList<ApplicationListener<?>>();
+		List<ApplicationListener<?>> allListeners = new ArrayList<ApplicationListener<?>>();
 		Set<ApplicationListener<?>> listeners;
 		Set<String> listenerBeans;
 		synchronized (this.retrievalMutex) {
@@ -218,6 +233,7 @@ public abstract class AbstractApplicationEventMulticaster
 				allListeners.add(listener);
 			}
 		}
+		boolean allSingletons = true;
 		if (!listenerBeans.isEmpty()) {
 			BeanFactory beanFactory = getBeanFactory();
 			for (String listenerBeanName : listenerBeans) {
@@ -229,6 +245,7 @@ public abstract class AbstractApplicationEventMulticaster
 						if (!allListeners.contains(listener) && supportsEvent(listener, eventType, sourceType)) {
 							if (retriever != null) {
 								retriever.applicationListenerBeans.add(listenerBeanName);
+								allSingletons = (allSingletons && beanFactory.isSingleton(listenerBeanName));
 							}
 							allListeners.add(listener);
 						}
@@ -241,6 +258,10 @@ public abstract class AbstractApplicationEventMulticaster
 			}
 		}
 		AnnotationAwareOrderComparator.sort(allListeners);
+		if (retriever != null && allSingletons) {
+			// Singleton listeners only -> the sorted result can be reused as-is
+			retriever.resolvedListeners = Collections.unmodifiableList(allListeners);
+		}
 		return allListeners;
 	}
 
@@ -335,6 +356,8 @@ public abstract class AbstractApplicationEventMulticaster
 	 * Helper class that encapsulates a specific set of target listeners,
 	 * allowing for efficient retrieval of pre-filtered listeners.
 	 * <p>An instance of this helper gets cached per event type and source type.
+	 * If all of its listeners are singletons, the sorted listener list is kept
+	 * as well, so that retrieval from the cache does not need any further lookups.
 	 */
 	private class ListenerRetriever {
 
@@ -344,6 +367,8 @@ public abstract class AbstractApplicationEventMulticaster
 
 		private final boolean preFiltered;
 
+		private volatile List<ApplicationListener<?>> resolvedListeners;
+
 		public ListenerRetriever(boolean preFiltered) {
 			this.applicationListeners = new LinkedHashSet<ApplicationListener<?>>();
 			this.applicationListenerBeans = new LinkedHashSet<String>();
@@ -351,6 +376,10 @@ public abstract class AbstractApplicationEventMulticaster
 		}
 
 		public Collection<ApplicationListener<?>> getApplicationListeners() {
+			List<ApplicationListener<?>> resolvedListeners = this.resolvedListeners;
+			if (resolvedListeners != null) {
+				return resolvedListeners;
+			}
 			LinkedList<ApplicationListener<?>> allListeners = new LinkedList<ApplicationListener<?>>();
 			for (ApplicationListener<?> listener : this.applicationListeners) {
 				allListeners.add(listener);
@@ -24,6 +24,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -38,6 +39,7 @@ import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.core.annotation.Order;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
@@ -52,6 +54,9 @@ import org.springframework.util.StringUtils;
  * to define any arbitrary event type. If a condition is defined, it is
  * evaluated prior to invoking the underlying method.
  *
+ * <p>The declared event type matching a given (non-payload) event class is
+ * determined once and cached, as is the {@link Order @Order} value.
+ *
  * @author Stephane Nicoll
  * @author Sam Brannen
  * @since 4.2
@@ -72,6 +77,13 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 
 	private final AnnotatedElementKey methodKey;
 
+	private final int parameterCount;
+
+	private final Map<Class<?>, ResolvableType> declaredEventTypeCache =
+			new ConcurrentReferenceHashMap<Class<?>, ResolvableType>(8);
+
+	private volatile Integer order;
+
 	private ApplicationContext applicationContext;
 
 	private EventExpressionEvaluator evaluator;
@@ -86,8 +98,10 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 		this.method = method;
 		this.targetClass = targetClass;
 		this.bridgedMethod = BridgeMethodResolver.findBridgedMethod(method);
+		this.parameterCount = method.getParameterTypes().length;
 		this.declaredEventTypes = resolveDeclaredEventTypes();
 		this.methodKey = new AnnotatedElementKey(this.method, this.targetClass);
+		ReflectionUtils.makeAccessible(this.bridgedMethod);
 	}
 
 
@@ -128,8 +142,13 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 
 	@Override
 	public int getOrder() {
-		Order order = getMethodAnnotation(Order.class);
-		return (order != null ? order.value() : 0);
+		Integer order = this.order;
+		if (order == null) {
+			Order ann = getMethodAnnotation(Order.class);
+			order = (ann != null ? ann.value() : 0);
+			this.order = order;
+		}
+		return order;
 	}
 
 
@@ -161,7 +180,7 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 		if (declaredEventType == null) {
 			return null;
 		}
-		if (this.method.getParameterTypes().length == 0) {
+		if (this.parameterCount == 0) {
 			return new Object[0];
 		}
 		if (!ApplicationEvent.class.isAssignableFrom(declaredEventType.getRawClass())
@@ -221,7 +240,6 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 	 */
 	protected Object doInvoke(Object... args) {
 		Object bean = getTargetBean();
-		ReflectionUtils.makeAccessible(this.bridgedMethod);
 		try {
 			return this.bridgedMethod.invoke(bean, args);
 		}
@@ -326,12 +344,23 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 
 
 	private ResolvableType getResolvableType(ApplicationEvent event) {
-		ResolvableType payloadType = null;
 		if (event instanceof PayloadApplicationEvent) {
 			PayloadApplicationEvent<?> payloadEvent = (PayloadApplicationEvent<?>) event;
-			payloadType = payloadEvent.getResolvableType().as(
+			ResolvableType payloadType = payloadEvent.getResolvableType().as(
 					PayloadApplicationEvent.class).getGeneric(0);
+			return findDeclaredEventType(event, payloadType);
+		}
+		// Only depends on the event class -> quick check for existing entry...
+		ResolvableType declaredEventType = this.declaredEventTypeCache.get(event.getClass());
+		if (declaredEventType == null) {
+			declaredEventType = findDeclaredEventType(event, null);
+			this.declaredEventTypeCache.put(event.getClass(),
+					(declaredEventType != null ? declaredEventType : ResolvableType.NONE));
 		}
+		return (declaredEventType != ResolvableType.NONE ? declaredEventType : null);
+	}
+
+	private ResolvableType findDeclaredEventType(ApplicationEvent event, ResolvableType payloadType) {
 		for (ResolvableType declaredEventType : this.declaredEventTypes) {
 			if (!ApplicationEvent.class.isAssignableFrom(declaredEventType.getRawClass())
 					&& payloadType != null) {
@@ -347,7 +376,7 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 	}
 
 	private List<ResolvableType> resolveDeclaredEventTypes() {
-		int count = this.method.getParameterTypes().length;
+		int count = this.parameterCount;
 		if (count > 1) {
 			throw new IllegalStateException(
 					"Maximum one parameter is allowed for event listener method: " + this.method);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -31,11 +31,17 @@ import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
 
 /**
  * Utility class handling the SpEL expression parsing. Meant to be used
  * as a reusable, thread-safe component.
  *
+ * <p>Condition expressions are compiled once they have been evaluated a number of
+ * times ({@link SpelCompilerMode#MIXED}), falling back to interpretation whenever
+ * a compiled expression does not fit a specific event. An explicitly configured
+ * "spring.expression.compiler.mode" takes precedence.
+ *
  * @author Stephane Nicoll
  * @since 4.2
  * @see CachedExpressionEvaluator
@@ -49,6 +55,11 @@ class EventExpressionEvaluator extends CachedExpressionEvaluator {
 
 	private final Map<AnnotatedElementKey, Method> targetMethodCache = new ConcurrentHashMap<AnnotatedElementKey, Method>(64);
 
+
+	public EventExpressionEvaluator() {
+		super(createCompilingParser());
+	}
+
 	/**
 	 * Create the suitable {@link EvaluationContext} for the specified event handling
 	 * on the specified method.
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,10 +21,12 @@ import org.springframework.context.ApplicationEvent;
 /**
  * Root object used during event listener expression evaluation.
  *
+ * <p>Public in order to be accessible from compiled condition expressions.
+ *
  * @author Stephane Nicoll
  * @since 4.2
  */
-class EventExpressionRootObject {
+public class EventExpressionRootObject {
 
 	private final ApplicationEvent event;
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,12 +16,17 @@
 
 package org.springframework.context.event;
 
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
 
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
 import org.springframework.core.ResolvableType;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.util.ErrorHandler;
 
 /**
@@ -36,6 +41,9 @@ import org.springframework.util.ErrorHandler;
  * This allows the danger of a rogue listener blocking the entire application,
  * but adds minimal overhead. Specify an alternative task executor to have
  * listeners executed in different threads, for example from a thread pool.
+ * With {@link #setPerListenerOrdering "perListenerOrdering"} enabled on top,
+ * different listeners are invoked in parallel while every single listener
+ * still receives its events one at a time and in publication order.
  *
  * @author Rod Johnson
  * @author Juergen Hoeller
@@ -48,6 +56,13 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 
 	private ErrorHandler errorHandler;
 
+	private boolean perListenerOrdering = false;
+
+	private int listenerQueueCapacity = -1;
+
+	private final ConcurrentMap<ApplicationListener<?>, ListenerQueue> listenerQueues =
+			new ConcurrentHashMap<ApplicationListener<?>, ListenerQueue>(16);
+
 
 	/**
 	 * Create a new SimpleApplicationEventMulticaster.
@@ -113,6 +128,63 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 		return this.errorHandler;
 	}
 
+	/**
+	 * Set whether each listener should receive its events sequentially and in
+	 * publication order when a {@linkplain #setTaskExecutor task executor} is used.
+	 * <p>Default is "false", handing every listener invocation to the task executor
+	 * independently. Switch this flag to "true" in order to keep a queue of pending
+	 * events per listener instead: Distinct listeners will still be invoked in
+	 * parallel, but at most one invocation per listener will be active at any time.
+	 * <p>This setting has no effect without a task executor.
+	 * @since 4.3
+	 * @see #setListenerQueueCapacity
+	 */
+	public void setPerListenerOrdering(boolean perListenerOrdering) {
+		this.perListenerOrdering = perListenerOrdering;
+	}
+
+	/**
+	 * Return whether each listener receives its events in publication order.
+	 * @since 4.3
+	 */
+	public boolean isPerListenerOrdering() {
+		return this.perListenerOrdering;
+	}
+
+	/**
+	 * Set the maximum number of pending events per listener in
+	 * {@link #setPerListenerOrdering "perListenerOrdering"} mode.
+	 * <p>Default is -1, indicating an unbounded queue. With a positive capacity,
+	 * an event that does not fit into a slow listener's queue is not going to be
+	 * delivered to that listener; a {@link TaskRejectedException} gets passed to
+	 * the {@linkplain #setErrorHandler error handler} instead, or thrown to the
+	 * publisher if no error handler has been specified.
+	 * @since 4.3
+	 */
+	public void setListenerQueueCapacity(int listenerQueueCapacity) {
+		this.listenerQueueCapacity = listenerQueueCapacity;
+	}
+
+	/**
+	 * Return the maximum number of pending events per listener.
+	 * @since 4.3
+	 */
+	public int getListenerQueueCapacity() {
+		return this.listenerQueueCapacity;
+	}
+
+
+	@Override
+	public void removeApplicationListener(ApplicationListener<?> listener) {
+		super.removeApplicationListener(listener);
+		this.listenerQueues.remove(listener);
+	}
+
+	@Override
+	public void removeAllListeners() {
+		super.removeAllListeners();
+		this.listenerQueues.clear();
+	}
 
 	@Override
 	public void multicastEvent(ApplicationEvent event) {
@@ -122,15 +194,21 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 	@Override
 	public void multicastEvent(final ApplicationEvent event, ResolvableType eventType) {
 		ResolvableType type = (eventType != null ? eventType : resolveDefaultEventType(event));
+		Executor executor = getTaskExecutor();
 		for (final ApplicationListener<?> listener : getApplicationListeners(event, type)) {
-			Executor executor = getTaskExecutor();
 			if (executor != null) {
-				executor.execute(new Runnable() {
+				Runnable task = new Runnable() {
 					@Override
 					public void run() {
 						invokeListener(listener, event);
 					}
-				});
+				};
+				if (this.perListenerOrdering) {
+					enqueueListenerTask(listener, event, task);
+				}
+				else {
+					executor.execute(task);
+				}
 			}
 			else {
 				invokeListener(listener, event);
@@ -138,6 +216,47 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 		}
 	}
 
+	private void enqueueListenerTask(ApplicationListener<?> listener, ApplicationEvent event, Runnable task) {
+		boolean added;
+		while (true) {
+			ListenerQueue queue = this.listenerQueues.get(listener);
+			if (queue == null) {
+				queue = new ListenerQueue(listener, this.listenerQueueCapacity);
+				ListenerQueue existing = this.listenerQueues.putIfAbsent(listener, queue);
+				if (existing != null) {
+					queue = existing;
+				}
+			}
+			boolean schedule;
+			synchronized (queue) {
+				if (queue.retired) {
+					// Drained in the meantime: retry with a new queue
+					continue;
+				}
+				added = queue.add(task);
+				schedule = (added && !queue.running);
+				if (schedule) {
+					queue.running = true;
+				}
+			}
+			if (schedule) {
+				queue.schedule();
+			}
+			break;
+		}
+		if (!added) {
+			TaskRejectedException ex = new TaskRejectedException("Maximum number of " + this.listenerQueueCapacity +
+					" pending events reached for listener [" + listener + "] - not delivering event: " + event);
+			ErrorHandler errorHandler = getErrorHandler();
+			if (errorHandler != null) {
+				errorHandler.handleError(ex);
+			}
+			else {
+				throw ex;
+			}
+		}
+	}
+
 	private ResolvableType resolveDefaultEventType(ApplicationEvent event) {
 		return ResolvableType.forInstance(event);
 	}
@@ -164,4 +283,82 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 		}
 	}
 
+
+	/**
+	 * Queue of pending invocations for a specific listener, handing one
+	 * invocation at a time to the task executor.
+	 * <p>A queue retires from the registry once it has been drained, so that
+	 * the registry only refers to listeners with pending invocations (e.g. not
+	 * to every instance of a prototype listener bean ever invoked). All state
+	 * is guarded by the queue's monitor.
+	 */
+	private class ListenerQueue implements Runnable {
+
+		private final ApplicationListener<?> listener;
+
+		private final int capacity;
+
+		private final Queue<Runnable> tasks = new LinkedList<Runnable>();
+
+		private boolean running;
+
+		private boolean retired;
+
+		public ListenerQueue(ApplicationListener<?> listener, int capacity) {
+			this.listener = listener;
+			this.capacity = capacity;
+		}
+
+		public boolean add(Runnable task) {
+			if (this.capacity > 0 && this.tasks.size() >= this.capacity) {
+				return false;
+			}
+			this.tasks.add(task);
+			return true;
+		}
+
+		@Override
+		public void run() {
+			Runnable task;
+			synchronized (this) {
+				task = this.tasks.poll();
+			}
+			try {
+				task.run();
+			}
+			finally {
+				boolean more;
+				synchronized (this) {
+					more = !this.tasks.isEmpty();
+					if (!more) {
+						retire();
+					}
+				}
+				if (more) {
+					schedule();
+				}
+			}
+		}
+
+		public void schedule() {
+			try {
+				getTaskExecutor().execute(this);
+			}
+			catch (RuntimeException ex) {
+				// Executor rejected us -> drop pending events, accepting new ones again
+				synchronized (this) {
+					this.tasks.clear();
+					retire();
+				}
+				throw ex;
+			}
+		}
+
+		private void retire() {
+			this.running = false;
+			this.retired = true;
+			listenerQueues.remove(this.listener, this);
+		}
+	}
+
 }
@@ -18,7 +18,10 @@ package org.springframework.context.expression;
 
 import java.util.Map;
 
+import org.springframework.core.SpringProperties;
 import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
@@ -33,6 +36,8 @@ import org.springframework.util.ObjectUtils;
  */
 public abstract class CachedExpressionEvaluator {
 
+	private static final String COMPILER_MODE_PROPERTY_NAME = "spring.expression.compiler.mode";
+
 	private final SpelExpressionParser parser;
 
 
@@ -52,6 +57,22 @@ public abstract class CachedExpressionEvaluator {
 	}
 
 
+	/**
+	 * Create a {@link SpelExpressionParser} that compiles expressions once they have
+	 * been evaluated a number of times ({@link SpelCompilerMode#MIXED}), falling back
+	 * to interpretation whenever a compiled expression does not fit a specific
+	 * evaluation. An explicitly configured "spring.expression.compiler.mode"
+	 * takes precedence.
+	 * @since 4.3
+	 */
+	protected static SpelExpressionParser createCompilingParser() {
+		// null indicates the globally configured default
+		SpelCompilerMode compilerMode =
+				(SpringProperties.getProperty(COMPILER_MODE_PROPERTY_NAME) == null ? SpelCompilerMode.MIXED : null);
+		return new SpelExpressionParser(new SpelParserConfiguration(compilerMode, null));
+	}
+
+
 	/**
 	 * Return the {@link SpelExpressionParser} to use.
 	 */
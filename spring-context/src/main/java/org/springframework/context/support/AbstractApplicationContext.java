@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.logging.Log;
@@ -39,6 +40,8 @@ import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.AbstractBeanFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.beans.support.ResourceEditorRegistrar;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
@@ -75,6 +78,7 @@ import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.ReflectionUtils;
@@ -207,6 +211,15 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 	/** ApplicationEvents published early */
 	private Set<ApplicationEvent> earlyApplicationEvents;
 
+	/** Whether to defer the initialization of application singletons until after refresh */
+	private Boolean deferredSingletonInitialization;
+
+	/** Executor for warming up deferred singletons, if any */
+	private Executor deferredSingletonExecutor;
+
+	/** Whether to release singleton creation metadata after refresh */
+	private boolean metadataCompaction = false;
+
 
 	/**
 	 * Create a new AbstractApplicationContext with no parent.
@@ -493,6 +506,72 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		return this.applicationListeners;
 	}
 
+	/**
+	 * Set whether to defer the initialization of all non-lazy application
+	 * singletons until after this context has been refreshed.
+	 * <p>Default is "false". If switched to "true", only infrastructure beans
+	 * will be created during {@link #refresh()}; the {@link ContextRefreshedEvent}
+	 * is published right away, and the remaining singletons are then warmed up
+	 * in the background, with their dependencies initialized first. Any bean
+	 * that has not been warmed up yet will simply be created on first access.
+	 * <p>Only applies to an internal bean factory of type
+	 * {@link DefaultListableBeanFactory}. If not specified, the bean factory's
+	 * own {@link DefaultListableBeanFactory#setDeferredSingletonInitialization}
+	 * setting applies. Note that initialization errors for application singletons
+	 * will only be logged rather than failing the refresh attempt in this mode.
+	 * @since 4.3
+	 * @see #setDeferredSingletonExecutor
+	 * @see DefaultListableBeanFactory#setDeferredSingletonInitialization
+	 */
+	public void setDeferredSingletonInitialization(boolean deferredSingletonInitialization) {
+		this.deferredSingletonInitialization = deferredSingletonInitialization;
+	}
+
+	/**
+	 * Return whether this context defers the initialization of non-lazy
+	 * application singletons until after refresh.
+	 * @since 4.3
+	 */
+	public boolean isDeferredSingletonInitialization() {
+		return (this.deferredSingletonInitialization != null && this.deferredSingletonInitialization);
+	}
+
+	/**
+	 * Specify the executor to warm up deferred singletons with, in case of
+	 * {@link #setDeferredSingletonInitialization deferred initialization}.
+	 * <p>Default is a new low-priority daemon thread per refresh.
+	 * @since 4.3
+	 * @see #setDeferredSingletonInitialization
+	 */
+	public void setDeferredSingletonExecutor(Executor deferredSingletonExecutor) {
+		this.deferredSingletonExecutor = deferredSingletonExecutor;
+	}
+
+	/**
+	 * Set whether to release metadata that is only needed for creating
+	 * singleton beans at the end of {@link #refresh()}, reducing the memory
+	 * footprint of long-running contexts with many singletons.
+	 * <p>Default is "false". Metadata for prototypes and scoped beans, as well
+	 * as for lazy singletons which have not been created yet, will be retained;
+	 * any released metadata will be rebuilt on demand if requested again.
+	 * <p>Only applies to an internal bean factory of type
+	 * {@link AbstractBeanFactory}.
+	 * @since 4.3
+	 * @see AbstractBeanFactory#compactMetadata()
+	 */
+	public void setMetadataCompaction(boolean metadataCompaction) {
+		this.metadataCompaction = metadataCompaction;
+	}
+
+	/**
+	 * Return whether this context releases singleton creation metadata
+	 * at the end of {@link #refresh()}.
+	 * @since 4.3
+	 */
+	public boolean isMetadataCompaction() {
+		return this.metadataCompaction;
+	}
+
 	/**
 	 * Create and return a new {@link StandardEnvironment}.
 	 * <p>Subclasses may override this method in order to supply
@@ -541,6 +620,12 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 
 				// Last step: publish corresponding event.
 				finishRefresh();
+
+				// Warm up deferred singletons in the background, if any.
+				initializeDeferredSingletons(beanFactory);
+
+				// Release metadata not needed anymore, if requested.
+				compactMetadata(beanFactory);
 			}
 
 			catch (BeansException ex) {
@@ -837,6 +922,12 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		// Allow for caching all bean definition metadata, not expecting further changes.
 		beanFactory.freezeConfiguration();
 
+		// Defer application singletons until after refresh, if requested.
+		if (this.deferredSingletonInitialization != null && beanFactory instanceof DefaultListableBeanFactory) {
+			((DefaultListableBeanFactory) beanFactory).setDeferredSingletonInitialization(
+					this.deferredSingletonInitialization);
+		}
+
 		// Instantiate all remaining (non-lazy-init) singletons.
 		beanFactory.preInstantiateSingletons();
 	}
@@ -860,6 +951,60 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		LiveBeansView.registerApplicationContext(this);
 	}
 
+	/**
+	 * Initialize the singletons that have been deferred during refresh,
+	 * using the specified {@link #setDeferredSingletonExecutor executor}
+	 * or a new low-priority daemon thread otherwise.
+	 * <p>Initialization failures will be logged and otherwise ignored,
+	 * leaving the affected beans to be created on first access.
+	 * @param beanFactory the bean factory used by the application context
+	 * @since 4.3
+	 * @see DefaultListableBeanFactory#initializeDeferredSingletons()
+	 */
+	protected void initializeDeferredSingletons(ConfigurableListableBeanFactory beanFactory) {
+		if (!(beanFactory instanceof DefaultListableBeanFactory) ||
+				!((DefaultListableBeanFactory) beanFactory).isDeferredSingletonInitialization()) {
+			return;
+		}
+		final DefaultListableBeanFactory dlbf = (DefaultListableBeanFactory) beanFactory;
+		Executor executor = this.deferredSingletonExecutor;
+		if (executor == null) {
+			SimpleAsyncTaskExecutor defaultExecutor = new SimpleAsyncTaskExecutor("deferred-singleton-warmup-");
+			defaultExecutor.setThreadPriority(Thread.MIN_PRIORITY);
+			defaultExecutor.setDaemon(true);
+			executor = defaultExecutor;
+		}
+		executor.execute(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					dlbf.initializeDeferredSingletons();
+				}
+				catch (Throwable ex) {
+					if (logger.isWarnEnabled()) {
+						logger.warn("Failed to initialize deferred singletons in " + getDisplayName(), ex);
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Release the bean factory's singleton creation metadata, if
+	 * {@link #setMetadataCompaction metadata compaction} is active.
+	 * @param beanFactory the bean factory used by the application context
+	 * @since 4.3
+	 * @see AbstractBeanFactory#compactMetadata()
+	 */
+	protected void compactMetadata(ConfigurableListableBeanFactory beanFactory) {
+		if (this.metadataCompaction && beanFactory instanceof AbstractBeanFactory) {
+			int released = ((AbstractBeanFactory) beanFactory).compactMetadata();
+			if (logger.isInfoEnabled()) {
+				logger.info("Released " + released + " singleton metadata entries in " + getDisplayName());
+			}
+		}
+	}
+
 	/**
 	 * Cancel this context's refresh attempt, resetting the {@code active} flag
 	 * after an exception got thrown.
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2013 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -227,11 +227,9 @@ public abstract class AbstractMessageSource extends MessageSourceSupport impleme
 			// are defined in the child MessageSource.
 			argsToUse = resolveArguments(args, locale);
 
-			MessageFormat messageFormat = resolveCode(code, locale);
-			if (messageFormat != null) {
-				synchronized (messageFormat) {
-					return messageFormat.format(argsToUse);
-				}
+			String message = resolveCodeWithArguments(code, argsToUse, locale);
+			if (message != null) {
+				return message;
 			}
 		}
 
@@ -344,6 +342,31 @@ public abstract class AbstractMessageSource extends MessageSourceSupport impleme
 		return null;
 	}
 
+	/**
+	 * Resolve the given code and arguments as formatted message in the given Locale,
+	 * returning {@code null} if not found.
+	 * <p>The default implementation formats the {@link MessageFormat} returned by
+	 * {@link #resolveCode}, synchronizing on it since a MessageFormat is not
+	 * thread-safe. Subclasses may override this in order to resolve and format
+	 * a message in a different, e.g. non-blocking, fashion.
+	 * @param code the code of the message to resolve
+	 * @param args the (already resolved) arguments for the message
+	 * @param locale the Locale to resolve the code for
+	 * (subclasses are encouraged to support internationalization)
+	 * @return the formatted message, or {@code null} if not found
+	 * @since 4.3
+	 * @see #resolveCode
+	 */
+	protected String resolveCodeWithArguments(String code, Object[] args, Locale locale) {
+		MessageFormat messageFormat = resolveCode(code, locale);
+		if (messageFormat != null) {
+			synchronized (messageFormat) {
+				return messageFormat.format(args);
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * Subclasses must implement this method to resolve a message.
 	 * <p>Returns a MessageFormat instance rather than a message String,
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2012 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,6 +24,7 @@ import org.springframework.beans.factory.xml.ResourceEntityResolver;
 import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.io.Resource;
+import org.springframework.core.task.AsyncTaskExecutor;
 
 /**
  * Convenient base class for {@link org.springframework.context.ApplicationContext}
@@ -46,6 +47,8 @@ public abstract class AbstractXmlApplicationContext extends AbstractRefreshableC
 
 	private boolean validating = true;
 
+	private AsyncTaskExecutor documentLoadingExecutor;
+
 
 	/**
 	 * Create a new AbstractXmlApplicationContext with no parent.
@@ -69,6 +72,17 @@ public abstract class AbstractXmlApplicationContext extends AbstractRefreshableC
 		this.validating = validating;
 	}
 
+	/**
+	 * Specify an executor for parsing multiple XML config files concurrently.
+	 * Bean definitions still get registered in the order of the config locations.
+	 * <p>Default is none, parsing one file after the other.
+	 * @since 4.3
+	 * @see XmlBeanDefinitionReader#setDocumentLoadingExecutor
+	 */
+	public void setDocumentLoadingExecutor(AsyncTaskExecutor documentLoadingExecutor) {
+		this.documentLoadingExecutor = documentLoadingExecutor;
+	}
+
 
 	/**
 	 * Loads the bean definitions via an XmlBeanDefinitionReader.
@@ -103,6 +117,7 @@ public abstract class AbstractXmlApplicationContext extends AbstractRefreshableC
 	 */
 	protected void initBeanDefinitionReader(XmlBeanDefinitionReader reader) {
 		reader.setValidating(this.validating);
+		reader.setDocumentLoadingExecutor(this.documentLoadingExecutor);
 	}
 
 	/**
@@ -0,0 +1,539 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.support;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.text.DateFormat;
+import java.text.MessageFormat;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.lang.UsesJava7;
+import org.springframework.util.StringUtils;
+
+/**
+ * Variant of {@link ReloadableResourceBundleMessageSource} that is optimized for
+ * a large number of message lookups, keeping an immutable snapshot of all merged
+ * messages per Locale and resolving codes without any locking or timestamp checks.
+ *
+ * <p>Instead of checking the underlying files on lookup according to a
+ * {@link #setCacheSeconds "cacheSeconds"} setting (which is not used by this
+ * variant), changes to message files in the file system are detected through a
+ * {@link WatchService}: the snapshots for all Locales that have been requested
+ * so far get rebuilt by a background thread and swapped atomically, so that
+ * lookups never observe a partially reloaded state. A reload happens once no
+ * further changes have been detected for a short period of time. Files that are not available
+ * in the file system, e.g. within a jar file, are loaded once and not watched.
+ * Reloading can also be triggered programmatically through {@link #reload()}.
+ *
+ * <p>Messages with arguments are formatted through compiled message templates
+ * which can be used concurrently, rather than through a shared
+ * {@link MessageFormat} that needs to be synchronized for every use. Messages
+ * with plain {@code {0}} style placeholders get formatted directly, following
+ * the {@link MessageFormat} rules for quoting and argument rendering; any other
+ * message falls back to a copy of a {@link #createMessageFormat pre-parsed
+ * MessageFormat} per use.
+ *
+ * <p>The watch thread is stopped on {@link #destroy()}, which happens automatically
+ * when this message source is defined as a bean in an application context.
+ *
+ * @since 4.3
+ * @see #setWatchForChanges
+ * @see #reload()
+ */
+@UsesJava7
+public class SnapshotResourceBundleMessageSource extends ReloadableResourceBundleMessageSource
+		implements DisposableBean {
+
+	private static final String PROPERTIES_SUFFIX = ".properties";
+
+	private static final String XML_SUFFIX = ".xml";
+
+	/** Time to wait for further changes before reloading, e.g. while a file is being rewritten */
+	private static final long RELOAD_DELAY_MILLIS = 100;
+
+
+	private ResourceLoader resourceLoader = new DefaultResourceLoader();
+
+	private boolean watchForChanges = true;
+
+	private volatile ConcurrentMap<Locale, MessageSnapshot> snapshots =
+			new ConcurrentHashMap<Locale, MessageSnapshot>();
+
+	private final Object reloadMonitor = new Object();
+
+	private final Set<Path> watchedFiles = Collections.newSetFromMap(new ConcurrentHashMap<Path, Boolean>());
+
+	private final Set<Path> watchedDirectories = new HashSet<Path>();
+
+	private final Object watchMonitor = new Object();
+
+	private WatchService watchService;
+
+	private Thread watchThread;
+
+
+	/**
+	 * Set whether to watch the message files in the file system for changes,
+	 * reloading all messages whenever a file has been created, modified or deleted.
+	 * <p>Default is "true". Switch this to "false" to keep the initially loaded
+	 * messages until {@link #reload()} or {@link #clearCache()} gets called.
+	 */
+	public void setWatchForChanges(boolean watchForChanges) {
+		this.watchForChanges = watchForChanges;
+	}
+
+	/**
+	 * Return whether to watch the message files in the file system for changes.
+	 */
+	public boolean isWatchForChanges() {
+		return this.watchForChanges;
+	}
+
+	@Override
+	public void setResourceLoader(ResourceLoader resourceLoader) {
+		super.setResourceLoader(resourceLoader);
+		this.resourceLoader = (resourceLoader != null ? resourceLoader : new DefaultResourceLoader());
+	}
+
+
+	/**
+	 * Resolves the given message code as key in the snapshot of merged
+	 * messages for the given Locale.
+	 */
+	@Override
+	protected String resolveCodeWithoutArguments(String code, Locale locale) {
+		return getSnapshot(locale).getMessage(code);
+	}
+
+	/**
+	 * Resolves the given message code as key in the snapshot of merged
+	 * messages for the given Locale, formatting the message through its
+	 * compiled message template.
+	 */
+	@Override
+	protected String resolveCodeWithArguments(String code, Object[] args, Locale locale) {
+		MessageTemplate template = getSnapshot(locale).getTemplate(code);
+		return (template != null ? template.format(args) : null);
+	}
+
+	/**
+	 * Returns a new {@link MessageFormat} for the message in the snapshot
+	 * of merged messages for the given Locale, if any.
+	 */
+	@Override
+	protected MessageFormat resolveCode(String code, Locale locale) {
+		String msg = getSnapshot(locale).getMessage(code);
+		return (msg != null ? createMessageFormat(msg, locale) : null);
+	}
+
+
+	/**
+	 * Reload the messages for all Locales that have been requested so far,
+	 * replacing the current snapshots once all of them have been rebuilt.
+	 */
+	public void reload() {
+		synchronized (this.reloadMonitor) {
+			ConcurrentMap<Locale, MessageSnapshot> reloaded = new ConcurrentHashMap<Locale, MessageSnapshot>();
+			for (Locale locale : this.snapshots.keySet()) {
+				reloaded.put(locale, createSnapshot(locale));
+			}
+			this.snapshots = reloaded;
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Reloaded messages for basenames " + getBasenameSet());
+		}
+	}
+
+	/**
+	 * Discard all snapshots, loading the messages again on demand.
+	 */
+	@Override
+	public void clearCache() {
+		super.clearCache();
+		synchronized (this.reloadMonitor) {
+			this.snapshots = new ConcurrentHashMap<Locale, MessageSnapshot>();
+		}
+	}
+
+	/**
+	 * Stop watching the message files for changes.
+	 */
+	@Override
+	public void destroy() {
+		synchronized (this.watchMonitor) {
+			if (this.watchService != null) {
+				try {
+					this.watchService.close();
+				}
+				catch (IOException ex) {
+					logger.debug("Could not close WatchService", ex);
+				}
+				this.watchService = null;
+				this.watchThread = null;
+				this.watchedDirectories.clear();
+			}
+		}
+		this.watchedFiles.clear();
+	}
+
+
+	private MessageSnapshot getSnapshot(Locale locale) {
+		ConcurrentMap<Locale, MessageSnapshot> snapshots = this.snapshots;
+		MessageSnapshot snapshot = snapshots.get(locale);
+		if (snapshot == null) {
+			snapshot = createSnapshot(locale);
+			MessageSnapshot existing = snapshots.putIfAbsent(locale, snapshot);
+			if (existing != null) {
+				snapshot = existing;
+			}
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Load and merge the messages for the given Locale, with the same precedence
+	 * as {@link ReloadableResourceBundleMessageSource#getMergedProperties}.
+	 */
+	private MessageSnapshot createSnapshot(Locale locale) {
+		Map<String, String> messages = new HashMap<String, String>();
+		String[] basenames = StringUtils.toStringArray(getBasenameSet());
+		for (int i = basenames.length - 1; i >= 0; i--) {
+			List<String> filenames = calculateAllFilenames(basenames[i], locale);
+			for (int j = filenames.size() - 1; j >= 0; j--) {
+				Properties props = loadSnapshotProperties(filenames.get(j));
+				if (props != null) {
+					for (String key : props.stringPropertyNames()) {
+						messages.put(key, props.getProperty(key));
+					}
+				}
+			}
+		}
+		return new MessageSnapshot(messages, locale);
+	}
+
+	private Properties loadSnapshotProperties(String filename) {
+		Resource resource = this.resourceLoader.getResource(filename + PROPERTIES_SUFFIX);
+		if (this.watchForChanges) {
+			watch(resource);
+		}
+		if (!resource.exists()) {
+			resource = this.resourceLoader.getResource(filename + XML_SUFFIX);
+			if (this.watchForChanges) {
+				watch(resource);
+			}
+		}
+		if (!resource.exists()) {
+			return null;
+		}
+		try {
+			return loadProperties(resource, filename);
+		}
+		catch (IOException ex) {
+			if (logger.isWarnEnabled()) {
+				logger.warn("Could not parse properties file [" + resource.getFilename() + "]", ex);
+			}
+			return null;
+		}
+	}
+
+	private void watch(Resource resource) {
+		Path file;
+		try {
+			File resourceFile = resource.getFile();
+			file = resourceFile.toPath().toAbsolutePath();
+		}
+		catch (IOException ex) {
+			// Not resolvable in the file system, e.g. within a jar file
+			return;
+		}
+		Path directory = file.getParent();
+		if (directory == null || !Files.isDirectory(directory) || !this.watchedFiles.add(file)) {
+			return;
+		}
+		synchronized (this.watchMonitor) {
+			if (this.watchedDirectories.contains(directory)) {
+				return;
+			}
+			try {
+				if (this.watchService == null) {
+					this.watchService = directory.getFileSystem().newWatchService();
+					this.watchThread = new Thread(new WatchTask(this.watchService), getClass().getSimpleName());
+					this.watchThread.setDaemon(true);
+					this.watchThread.start();
+				}
+				directory.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE,
+						StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+				this.watchedDirectories.add(directory);
+			}
+			catch (IOException ex) {
+				if (logger.isWarnEnabled()) {
+					logger.warn("Could not watch directory [" + directory + "] for message file changes", ex);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Background task reloading the messages on changes to any watched file.
+	 */
+	private class WatchTask implements Runnable {
+
+		private final WatchService watchService;
+
+		public WatchTask(WatchService watchService) {
+			this.watchService = watchService;
+		}
+
+		@Override
+		public void run() {
+			try {
+				while (true) {
+					if (processEvents(this.watchService.take())) {
+						// Wait until changes have settled down
+						WatchKey key = this.watchService.poll(RELOAD_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+						while (key != null) {
+							processEvents(key);
+							key = this.watchService.poll(RELOAD_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+						}
+						try {
+							reload();
+						}
+						catch (RuntimeException ex) {
+							logger.warn("Failed to reload messages for basenames " + getBasenameSet(), ex);
+						}
+					}
+				}
+			}
+			catch (InterruptedException ex) {
+				// Stopped
+			}
+			catch (ClosedWatchServiceException ex) {
+				// Stopped through destroy()
+			}
+		}
+
+		private boolean processEvents(WatchKey key) {
+			boolean changed = false;
+			Path directory = (Path) key.watchable();
+			for (WatchEvent<?> event : key.pollEvents()) {
+				if (event.kind() == StandardWatchEventKinds.OVERFLOW ||
+						watchedFiles.contains(directory.resolve((Path) event.context()))) {
+					changed = true;
+				}
+			}
+			key.reset();
+			return changed;
+		}
+	}
+
+
+	/**
+	 * Immutable set of merged messages for a specific Locale,
+	 * along with lazily compiled message templates.
+	 */
+	private class MessageSnapshot {
+
+		private final Map<String, String> messages;
+
+		private final Locale locale;
+
+		private final ConcurrentMap<String, MessageTemplate> templates =
+				new ConcurrentHashMap<String, MessageTemplate>();
+
+		public MessageSnapshot(Map<String, String> messages, Locale locale) {
+			this.messages = messages;
+			this.locale = locale;
+		}
+
+		public String getMessage(String code) {
+			return this.messages.get(code);
+		}
+
+		public MessageTemplate getTemplate(String code) {
+			MessageTemplate template = this.templates.get(code);
+			if (template == null) {
+				String msg = this.messages.get(code);
+				if (msg == null) {
+					return null;
+				}
+				template = MessageTemplate.compile(msg, this.locale);
+				if (template == null) {
+					template = new MessageTemplate(createMessageFormat(msg, this.locale));
+				}
+				MessageTemplate existing = this.templates.putIfAbsent(code, template);
+				if (existing != null) {
+					template = existing;
+				}
+			}
+			return template;
+		}
+	}
+
+
+	/**
+	 * Thread-safe representation of a message pattern: either a sequence of
+	 * literal text and plain argument placeholders, or a pre-parsed
+	 * {@link MessageFormat} to be copied for every use.
+	 */
+	private static class MessageTemplate {
+
+		private static final int MAX_ARGUMENT_INDEX_DIGITS = 9;
+
+		private final String[] literals;
+
+		private final int[] argumentIndexes;
+
+		private final Locale locale;
+
+		private final MessageFormat messageFormat;
+
+		private MessageTemplate(String[] literals, int[] argumentIndexes, Locale locale) {
+			this.literals = literals;
+			this.argumentIndexes = argumentIndexes;
+			this.locale = locale;
+			this.messageFormat = null;
+		}
+
+		public MessageTemplate(MessageFormat messageFormat) {
+			this.literals = null;
+			this.argumentIndexes = null;
+			this.locale = null;
+			this.messageFormat = messageFormat;
+		}
+
+		/**
+		 * Compile the given message pattern, as long as it only contains plain
+		 * argument placeholders such as {@code {0}}.
+		 * @return the compiled template, or {@code null} if the pattern
+		 * requires a full {@link MessageFormat}
+		 */
+		public static MessageTemplate compile(String msg, Locale locale) {
+			List<String> literals = new ArrayList<String>();
+			List<Integer> argumentIndexes = new ArrayList<Integer>();
+			StringBuilder literal = new StringBuilder(msg.length());
+			boolean quoted = false;
+			int i = 0;
+			while (i < msg.length()) {
+				char ch = msg.charAt(i);
+				if (ch == '\'') {
+					if (i + 1 < msg.length() && msg.charAt(i + 1) == '\'') {
+						literal.append(ch);
+						i += 2;
+					}
+					else {
+						quoted = !quoted;
+						i++;
+					}
+				}
+				else if (ch == '{' && !quoted) {
+					int end = msg.indexOf('}', i + 1);
+					if (end == -1 || end == i + 1 || end - i - 1 > MAX_ARGUMENT_INDEX_DIGITS) {
+						return null;
+					}
+					for (int j = i + 1; j < end; j++) {
+						char digit = msg.charAt(j);
+						if (digit < '0' || digit > '9') {
+							return null;
+						}
+					}
+					literals.add(literal.toString());
+					literal.setLength(0);
+					argumentIndexes.add(Integer.parseInt(msg.substring(i + 1, end)));
+					i = end + 1;
+				}
+				else {
+					literal.append(ch);
+					i++;
+				}
+			}
+			literals.add(literal.toString());
+			int[] indexes = new int[argumentIndexes.size()];
+			for (int j = 0; j < indexes.length; j++) {
+				indexes[j] = argumentIndexes.get(j);
+			}
+			return new MessageTemplate(StringUtils.toStringArray(literals), indexes, locale);
+		}
+
+		public String format(Object[] args) {
+			if (this.messageFormat != null) {
+				return ((MessageFormat) this.messageFormat.clone()).format(args);
+			}
+			StringBuilder result = new StringBuilder();
+			for (int i = 0; i < this.argumentIndexes.length; i++) {
+				result.append(this.literals[i]);
+				int index = this.argumentIndexes[i];
+				if (args == null || index >= args.length) {
+					result.append('{').append(index).append('}');
+				}
+				else {
+					result.append(formatArgument(args[index]));
+				}
+			}
+			result.append(this.literals[this.literals.length - 1]);
+			return result.toString();
+		}
+
+		/**
+		 * Render the given argument like a {@link MessageFormat} placeholder
+		 * without format type would.
+		 */
+		private String formatArgument(Object arg) {
+			if (arg == null) {
+				return "null";
+			}
+			else if (arg instanceof Number) {
+				return NumberFormat.getInstance(this.locale).format(arg);
+			}
+			else if (arg instanceof Date) {
+				return DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, this.locale).format(arg);
+			}
+			else if (arg instanceof String) {
+				return (String) arg;
+			}
+			else {
+				return arg.toString();
+			}
+		}
+	}
+
+}
@@ -19,9 +19,11 @@ package org.springframework.scheduling.annotation;
 import java.lang.reflect.Method;
 import java.util.concurrent.Executor;
 
+import org.springframework.aop.interceptor.AsyncBatchSpec;
 import org.springframework.aop.interceptor.AsyncExecutionInterceptor;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.StringUtils;
 
 /**
  * Specialization of {@link AsyncExecutionInterceptor} that delegates method execution to
@@ -29,6 +31,7 @@ import org.springframework.core.annotation.AnnotatedElementUtils;
  * support use of {@link Async#value()} executor qualification mechanism introduced in
  * Spring 3.1.2. Supports detecting qualifier metadata via {@code @Async} at the method or
  * declaring class level. See {@link #getExecutorQualifier(Method)} for details.
+ * As of 4.3, also supports batching via {@link Async#batchMethod()}.
  *
  * @author Chris Beams
  * @author Stephane Nicoll
@@ -85,4 +88,20 @@ public class AnnotationAsyncExecutionInterceptor extends AsyncExecutionIntercept
 		return (async != null ? async.value() : null);
 	}
 
+	/**
+	 * Return the batch settings specified via {@link Async#batchMethod},
+	 * {@link Async#batchSize} and {@link Async#batchTimeout} at the method level.
+	 * @param method the method to inspect for batch metadata
+	 * @return the batch settings, or {@code null} if no bulk method has been specified
+	 * @since 4.3
+	 */
+	@Override
+	protected AsyncBatchSpec getBatchSpec(Method method) {
+		Async async = AnnotatedElementUtils.findMergedAnnotation(method, Async.class);
+		if (async == null || !StringUtils.hasLength(async.batchMethod())) {
+			return null;
+		}
+		return new AsyncBatchSpec(async.batchMethod(), async.batchSize(), async.batchTimeout());
+	}
+
 }
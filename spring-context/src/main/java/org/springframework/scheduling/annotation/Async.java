@@ -61,4 +61,37 @@ public @interface Async {
 	 */
 	String value() default "";
 
+	/**
+	 * The name of a companion bulk method on the same bean, taking a
+	 * {@link java.util.List} of the argument type of this method, to deliver
+	 * invocations to in batches.
+	 * <p>Invocations of this single-argument method are buffered per target bean
+	 * instead of being executed individually, and the bulk method is asynchronously
+	 * invoked with the arguments collected once {@link #batchSize} invocations have
+	 * been buffered or {@link #batchTimeout} has elapsed since the first of them.
+	 * The bulk method may return a {@code List} with one result per argument (or a
+	 * {@link java.util.concurrent.Future} thereof), from which each caller's
+	 * {@code Future} gets completed; otherwise all {@code Future}s are completed
+	 * with {@code null}. An exception thrown by the bulk method fails all of them.
+	 * <p>Default is {@code ""}, meaning that every invocation is executed individually.
+	 * <p>Note that the bulk method is invoked on the target bean directly, bypassing
+	 * any further advice, and that batching is only supported in proxy mode.
+	 * @since 4.3
+	 */
+	String batchMethod() default "";
+
+	/**
+	 * The maximum number of invocations to deliver to the {@link #batchMethod}
+	 * at once. Default is 100.
+	 * @since 4.3
+	 */
+	int batchSize() default 100;
+
+	/**
+	 * The maximum time (in milliseconds) to buffer an invocation for the
+	 * {@link #batchMethod} before delivering an incomplete batch. Default is 10.
+	 * @since 4.3
+	 */
+	long batchTimeout() default 10;
+
 }
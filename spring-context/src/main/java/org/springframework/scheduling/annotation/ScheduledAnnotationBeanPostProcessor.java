@@ -36,9 +36,11 @@ import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.NoUniqueBeanDefinitionException;
 import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.EmbeddedValueResolverAware;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.core.MethodIntrospector;
@@ -48,6 +50,7 @@ import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.Trigger;
 import org.springframework.scheduling.config.CronTask;
 import org.springframework.scheduling.config.IntervalTask;
+import org.springframework.scheduling.config.ScheduledTaskMonitor;
 import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 import org.springframework.scheduling.support.CronTrigger;
 import org.springframework.scheduling.support.ScheduledMethodRunnable;
@@ -69,6 +72,10 @@ import org.springframework.util.StringValueResolver;
  * control over task registration (e.g. registration of {@link Trigger} tasks.
  * See the @{@link EnableScheduling} javadocs for complete usage details.
  *
+ * <p>As of 4.3, a unique {@link ScheduledTaskMonitor} bean in the container gets
+ * applied to all scheduled tasks, unless a {@code SchedulingConfigurer} has set
+ * a task monitor on the registrar already.
+ *
  * @author Mark Fisher
  * @author Juergen Hoeller
  * @author Chris Beams
@@ -190,7 +197,24 @@ public class ScheduledAnnotationBeanPostProcessor implements BeanPostProcessor,
 			}
 		}
 
-		if (this.registrar.hasTasks() && this.registrar.getScheduler() == null) {
+		// Deferred singletons may still register tasks after this point...
+		boolean expectTasks = (this.registrar.hasTasks() || isDeferredSingletonInitialization());
+
+		if (expectTasks && this.registrar.getTaskMonitor() == null &&
+				this.beanFactory instanceof ListableBeanFactory) {
+			Map<String, ScheduledTaskMonitor> monitors =
+					((ListableBeanFactory) this.beanFactory).getBeansOfType(ScheduledTaskMonitor.class);
+			if (monitors.size() == 1) {
+				this.registrar.setTaskMonitor(monitors.values().iterator().next());
+			}
+			else if (monitors.size() > 1 && logger.isInfoEnabled()) {
+				logger.info("More than one ScheduledTaskMonitor bean exists within the context: " +
+						"call ScheduledTaskRegistrar#setTaskMonitor explicitly within the configureTasks() " +
+						"callback of a SchedulingConfigurer: " + monitors.keySet());
+			}
+		}
+
+		if (expectTasks && this.registrar.getScheduler() == null) {
 			Assert.state(this.beanFactory != null, "BeanFactory must be set to find scheduler by type");
 			try {
 				// Search for TaskScheduler bean...
@@ -243,6 +267,15 @@ public class ScheduledAnnotationBeanPostProcessor implements BeanPostProcessor,
 		this.registrar.afterPropertiesSet();
 	}
 
+	private boolean isDeferredSingletonInitialization() {
+		BeanFactory bf = this.beanFactory;
+		if (this.applicationContext instanceof ConfigurableApplicationContext) {
+			bf = ((ConfigurableApplicationContext) this.applicationContext).getBeanFactory();
+		}
+		return (bf instanceof DefaultListableBeanFactory &&
+				((DefaultListableBeanFactory) bf).isDeferredSingletonInitialization());
+	}
+
 
 	@Override
 	public Object postProcessBeforeInitialization(Object bean, String beanName) {
@@ -0,0 +1,722 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.util.Date;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.BeanNameAware;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.PeriodicTrigger;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+import org.springframework.scheduling.support.TaskUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.ErrorHandler;
+
+/**
+ * Implementation of Spring's {@link TaskScheduler} interface based on a hashed
+ * timing wheel, suitable for very large numbers of scheduled tasks such as
+ * per-session timeouts and heartbeats.
+ *
+ * <p>Scheduled tasks are kept in a circular array of buckets, each covering one
+ * {@link #setTickDuration tick}, with a single thread advancing the wheel tick by
+ * tick. Scheduling and cancelling a task are constant-time operations that merely
+ * enqueue the task for the wheel thread, in contrast to the O(log n) heap behind
+ * a {@link java.util.concurrent.ScheduledThreadPoolExecutor}. Due tasks are handed
+ * to a separate {@link #setTaskExecutor task executor}, so that the wheel thread
+ * never runs user code.
+ *
+ * <p>The price for this is precision: a task runs no earlier than its scheduled
+ * time but up to one tick later, plus the time it may wait for a thread of the
+ * task executor. The wheel thread also wakes up once per tick, even when there
+ * is nothing to do. Repeated executions are driven through a {@link Trigger},
+ * with fixed-rate and fixed-delay tasks being based on a {@link PeriodicTrigger}.
+ * Cancelling a task that is currently running does not interrupt it.
+ *
+ * @since 4.3
+ * @see #setTickDuration
+ * @see #setTicksPerWheel
+ * @see #setTaskExecutor
+ * @see ThreadPoolTaskScheduler
+ */
+@SuppressWarnings("serial")
+public class HashedWheelTaskScheduler extends CustomizableThreadFactory
+		implements TaskScheduler, BeanNameAware, InitializingBean, DisposableBean {
+
+	private static final int MAXIMUM_TICKS_PER_WHEEL = 1 << 30;
+
+	private static final int MAXIMUM_TRANSFERS_PER_TICK = 100000;
+
+
+	protected final Log logger = LogFactory.getLog(getClass());
+
+	private long tickDuration = 10;
+
+	private int ticksPerWheel = 512;
+
+	private int poolSize = 1;
+
+	private Executor taskExecutor;
+
+	private volatile ErrorHandler errorHandler;
+
+	private boolean threadNamePrefixSet = false;
+
+	private String beanName;
+
+	private final Queue<WheelTask> pendingTasks = new ConcurrentLinkedQueue<WheelTask>();
+
+	private final Queue<WheelTask> cancelledTasks = new ConcurrentLinkedQueue<WheelTask>();
+
+	private volatile Wheel wheel;
+
+	private Executor executor;
+
+	private ExecutorService internalExecutor;
+
+
+	/**
+	 * Set the duration of a tick of the wheel, in milliseconds, i.e. the
+	 * resolution at which tasks are triggered.
+	 * <p>Default is 10 milliseconds.
+	 */
+	public void setTickDuration(long tickDuration) {
+		Assert.isTrue(tickDuration > 0, "'tickDuration' must be 1 or higher");
+		this.tickDuration = tickDuration;
+	}
+
+	/**
+	 * Set the number of ticks per revolution of the wheel, rounded up to a power
+	 * of two. Tasks scheduled further ahead than one revolution remain in their
+	 * bucket for further revolutions, so a wheel covering the typical delays
+	 * keeps the work per tick low.
+	 * <p>Default is 512, covering about 5 seconds with the default tick duration.
+	 */
+	public void setTicksPerWheel(int ticksPerWheel) {
+		Assert.isTrue(ticksPerWheel > 0, "'ticksPerWheel' must be 1 or higher");
+		Assert.isTrue(ticksPerWheel <= MAXIMUM_TICKS_PER_WHEEL, "'ticksPerWheel' may not exceed 2^30");
+		this.ticksPerWheel = ticksPerWheel;
+	}
+
+	/**
+	 * Set the number of threads of the internal task executor that runs
+	 * due tasks, unless a specific {@link #setTaskExecutor task executor}
+	 * has been specified.
+	 * <p>Default is 1.
+	 */
+	public void setPoolSize(int poolSize) {
+		Assert.isTrue(poolSize > 0, "'poolSize' must be 1 or higher");
+		this.poolSize = poolSize;
+	}
+
+	/**
+	 * Set the {@link Executor} to run due tasks with, e.g. a shared
+	 * {@link ThreadPoolTaskExecutor}. Its lifecycle is not managed by
+	 * this scheduler.
+	 * <p>Default is an internal fixed-size thread pool with the configured
+	 * {@link #setPoolSize pool size}.
+	 */
+	public void setTaskExecutor(Executor taskExecutor) {
+		this.taskExecutor = taskExecutor;
+	}
+
+	/**
+	 * Set a custom {@link ErrorHandler} strategy.
+	 */
+	public void setErrorHandler(ErrorHandler errorHandler) {
+		this.errorHandler = errorHandler;
+	}
+
+	@Override
+	public void setThreadNamePrefix(String threadNamePrefix) {
+		super.setThreadNamePrefix(threadNamePrefix);
+		this.threadNamePrefixSet = true;
+	}
+
+	@Override
+	public void setBeanName(String name) {
+		this.beanName = name;
+	}
+
+
+	/**
+	 * Calls {@code initialize()} after the container applied all property values.
+	 * @see #initialize()
+	 */
+	@Override
+	public void afterPropertiesSet() {
+		initialize();
+	}
+
+	/**
+	 * Set up the task executor and start the thread advancing the wheel.
+	 */
+	public void initialize() {
+		if (logger.isInfoEnabled()) {
+			logger.info("Initializing HashedWheelTaskScheduler" + (this.beanName != null ? " '" + this.beanName + "'" : ""));
+		}
+		if (!this.threadNamePrefixSet && this.beanName != null) {
+			setThreadNamePrefix(this.beanName + "-");
+		}
+		if (this.taskExecutor != null) {
+			this.executor = this.taskExecutor;
+		}
+		else {
+			this.internalExecutor = new ThreadPoolExecutor(this.poolSize, this.poolSize,
+					0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(), this);
+			this.executor = this.internalExecutor;
+		}
+		Wheel wheel = new Wheel(TimeUnit.MILLISECONDS.toNanos(this.tickDuration), this.ticksPerWheel);
+		Thread thread = createThread(wheel);
+		thread.setName(getThreadNamePrefix() + "wheel");
+		wheel.thread = thread;
+		this.wheel = wheel;
+		thread.start();
+	}
+
+	/**
+	 * Calls {@code shutdown} when the BeanFactory destroys
+	 * the task scheduler instance.
+	 * @see #shutdown()
+	 */
+	@Override
+	public void destroy() {
+		shutdown();
+	}
+
+	/**
+	 * Stop the wheel, cancelling all scheduled tasks, and shut down the
+	 * internal task executor, if any, interrupting running tasks.
+	 */
+	public void shutdown() {
+		if (logger.isInfoEnabled()) {
+			logger.info("Shutting down HashedWheelTaskScheduler" + (this.beanName != null ? " '" + this.beanName + "'" : ""));
+		}
+		Wheel wheel = this.wheel;
+		if (wheel != null) {
+			wheel.stop();
+		}
+		if (this.internalExecutor != null) {
+			for (Runnable task : this.internalExecutor.shutdownNow()) {
+				if (task instanceof WheelTask) {
+					((WheelTask) task).cancel(false);
+				}
+			}
+		}
+	}
+
+
+	// TaskScheduler implementation
+
+	@Override
+	public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+		return new WheelTask(errorHandlingTask(task, true), trigger, null).schedule();
+	}
+
+	@Override
+	public ScheduledFuture<?> schedule(Runnable task, Date startTime) {
+		return new WheelTask(errorHandlingTask(task, false), null, startTime).schedule();
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Date startTime, long period) {
+		PeriodicTrigger trigger = new PeriodicTrigger(period);
+		trigger.setFixedRate(true);
+		trigger.setInitialDelay(Math.max(startTime.getTime() - System.currentTimeMillis(), 0));
+		return schedule(task, trigger);
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period) {
+		PeriodicTrigger trigger = new PeriodicTrigger(period);
+		trigger.setFixedRate(true);
+		return schedule(task, trigger);
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Date startTime, long delay) {
+		PeriodicTrigger trigger = new PeriodicTrigger(delay);
+		trigger.setInitialDelay(Math.max(startTime.getTime() - System.currentTimeMillis(), 0));
+		return schedule(task, trigger);
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long delay) {
+		return schedule(task, new PeriodicTrigger(delay));
+	}
+
+
+	private Runnable errorHandlingTask(Runnable task, boolean isRepeatingTask) {
+		return TaskUtils.decorateTaskWithErrorHandler(task, this.errorHandler, isRepeatingTask);
+	}
+
+	private Wheel getWheel() {
+		Wheel wheel = this.wheel;
+		Assert.state(wheel != null, "HashedWheelTaskScheduler not initialized");
+		return wheel;
+	}
+
+
+	/**
+	 * The timing wheel, advanced by a dedicated thread. Its buckets are only
+	 * ever accessed by that thread, which picks up scheduled and cancelled
+	 * tasks from the corresponding queues on every tick.
+	 */
+	private class Wheel implements Runnable {
+
+		private final long tickNanos;
+
+		private final Bucket[] buckets;
+
+		private final int mask;
+
+		private final long startTime = System.nanoTime();
+
+		private volatile boolean running = true;
+
+		private Thread thread;
+
+		private long tick;
+
+		public Wheel(long tickNanos, int ticksPerWheel) {
+			int size = 1;
+			while (size < ticksPerWheel) {
+				size <<= 1;
+			}
+			this.tickNanos = tickNanos;
+			this.buckets = new Bucket[size];
+			for (int i = 0; i < size; i++) {
+				this.buckets[i] = new Bucket();
+			}
+			this.mask = size - 1;
+		}
+
+		/**
+		 * Return the deadline for the given execution time, in nanoseconds
+		 * relative to the start of the wheel.
+		 */
+		public long deadlineFor(Date executionTime) {
+			long now = System.nanoTime() - this.startTime;
+			long deadline = now + TimeUnit.MILLISECONDS.toNanos(executionTime.getTime() - System.currentTimeMillis());
+			// Guard against overflow for execution times in the distant future
+			return (deadline < now && executionTime.getTime() > System.currentTimeMillis() ? Long.MAX_VALUE : deadline);
+		}
+
+		public boolean isRunning() {
+			return this.running;
+		}
+
+		public void stop() {
+			this.running = false;
+			this.thread.interrupt();
+			if (Thread.currentThread() != this.thread) {
+				try {
+					this.thread.join(TimeUnit.NANOSECONDS.toMillis(this.tickNanos) + 1000);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			while (this.running) {
+				long currentTime = waitForNextTick();
+				if (currentTime < 0) {
+					break;
+				}
+				transferPendingTasks();
+				removeCancelledTasks();
+				this.buckets[(int) (this.tick & this.mask)].expireTasks();
+				this.tick++;
+			}
+			for (Bucket bucket : this.buckets) {
+				bucket.cancelTasks();
+			}
+			WheelTask task;
+			while ((task = pendingTasks.poll()) != null) {
+				task.cancel(false);
+			}
+			cancelledTasks.clear();
+		}
+
+		private long waitForNextTick() {
+			long deadline = this.tickNanos * (this.tick + 1);
+			while (true) {
+				long currentTime = System.nanoTime() - this.startTime;
+				long sleepMillis = (deadline - currentTime + 999999) / 1000000;
+				if (sleepMillis <= 0) {
+					return currentTime;
+				}
+				try {
+					Thread.sleep(sleepMillis);
+				}
+				catch (InterruptedException ex) {
+					if (!this.running) {
+						return -1;
+					}
+				}
+			}
+		}
+
+		private void transferPendingTasks() {
+			// Bounded, so that a flood of new tasks cannot stall the wheel
+			for (int i = 0; i < MAXIMUM_TRANSFERS_PER_TICK; i++) {
+				WheelTask task = pendingTasks.poll();
+				if (task == null) {
+					break;
+				}
+				if (task.isCancelled()) {
+					continue;
+				}
+				long calculatedTick = task.deadline / this.tickNanos;
+				task.remainingRounds = (calculatedTick - this.tick) / this.buckets.length;
+				// Tasks already overdue go into the current bucket
+				long ticks = Math.max(calculatedTick, this.tick);
+				this.buckets[(int) (ticks & this.mask)].add(task);
+			}
+		}
+
+		private void removeCancelledTasks() {
+			WheelTask task;
+			while ((task = cancelledTasks.poll()) != null) {
+				if (task.bucket != null) {
+					task.bucket.remove(task);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Doubly-linked list of the tasks in a bucket of the wheel.
+	 */
+	private static class Bucket {
+
+		private WheelTask head;
+
+		private WheelTask tail;
+
+		public void add(WheelTask task) {
+			task.bucket = this;
+			if (this.head == null) {
+				this.head = task;
+				this.tail = task;
+			}
+			else {
+				this.tail.next = task;
+				task.prev = this.tail;
+				this.tail = task;
+			}
+		}
+
+		public WheelTask remove(WheelTask task) {
+			WheelTask next = task.next;
+			if (task.prev != null) {
+				task.prev.next = next;
+			}
+			if (task.next != null) {
+				task.next.prev = task.prev;
+			}
+			if (task == this.head) {
+				this.head = next;
+			}
+			if (task == this.tail) {
+				this.tail = task.prev;
+			}
+			task.prev = null;
+			task.next = null;
+			task.bucket = null;
+			return next;
+		}
+
+		public void expireTasks() {
+			WheelTask task = this.head;
+			while (task != null) {
+				if (task.remainingRounds <= 0) {
+					WheelTask next = remove(task);
+					task.expire();
+					task = next;
+				}
+				else if (task.isCancelled()) {
+					task = remove(task);
+				}
+				else {
+					task.remainingRounds--;
+					task = task.next;
+				}
+			}
+		}
+
+		public void cancelTasks() {
+			WheelTask task = this.head;
+			while (task != null) {
+				WheelTask next = remove(task);
+				task.cancel(false);
+				task = next;
+			}
+		}
+	}
+
+
+	/**
+	 * A scheduled task, exposed as its own {@link ScheduledFuture}. Repeating
+	 * tasks re-enter the wheel after each execution, as long as their trigger
+	 * yields a next execution time.
+	 */
+	private class WheelTask implements ScheduledFuture<Object>, Runnable {
+
+		private final Runnable task;
+
+		private final Trigger trigger;
+
+		private final SimpleTriggerContext triggerContext = new SimpleTriggerContext();
+
+		private final Object monitor = new Object();
+
+		private Date scheduledExecutionTime;
+
+		private volatile boolean cancelled;
+
+		private volatile boolean done;
+
+		private Throwable failure;
+
+		private Thread runner;
+
+		// Wheel state, only accessed by the wheel thread (and published through the pending queue)
+
+		private long deadline;
+
+		private long remainingRounds;
+
+		private Bucket bucket;
+
+		private WheelTask prev;
+
+		private WheelTask next;
+
+		public WheelTask(Runnable task, Trigger trigger, Date startTime) {
+			this.task = task;
+			this.trigger = trigger;
+			this.scheduledExecutionTime = startTime;
+		}
+
+		/**
+		 * Schedule the next execution of this task.
+		 * @return this task, or {@code null} if there is no further execution
+		 */
+		public ScheduledFuture<?> schedule() {
+			Wheel wheel = getWheel();
+			synchronized (this.monitor) {
+				if (this.cancelled) {
+					return null;
+				}
+				if (this.trigger != null) {
+					this.scheduledExecutionTime = this.trigger.nextExecutionTime(this.triggerContext);
+				}
+				else if (this.triggerContext.lastActualExecutionTime() != null) {
+					this.scheduledExecutionTime = null;
+				}
+				if (this.scheduledExecutionTime == null) {
+					complete(null);
+					return null;
+				}
+				if (!wheel.isRunning()) {
+					throw new TaskRejectedException("HashedWheelTaskScheduler has been shut down - did not accept task: " +
+							this.task);
+				}
+				this.deadline = wheel.deadlineFor(this.scheduledExecutionTime);
+				pendingTasks.add(this);
+				if (!wheel.isRunning() && pendingTasks.remove(this)) {
+					// Missed by the wheel thread cancelling all remaining tasks on shutdown
+					this.cancelled = true;
+					complete(null);
+				}
+				return this;
+			}
+		}
+
+		/**
+		 * Hand this task over to the task executor, called by the wheel thread
+		 * once the task's deadline has been reached.
+		 */
+		public void expire() {
+			try {
+				executor.execute(this);
+			}
+			catch (RejectedExecutionException ex) {
+				logger.warn("Task executor [" + executor + "] did not accept task: " + this.task, ex);
+				synchronized (this.monitor) {
+					complete(new TaskRejectedException("Executor [" + executor + "] did not accept task: " +
+							this.task, ex));
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			Date actualExecutionTime;
+			synchronized (this.monitor) {
+				if (this.cancelled) {
+					return;
+				}
+				this.runner = Thread.currentThread();
+				actualExecutionTime = new Date();
+			}
+			Throwable failure = null;
+			try {
+				this.task.run();
+			}
+			catch (Throwable ex) {
+				failure = ex;
+			}
+			Date completionTime = new Date();
+			synchronized (this.monitor) {
+				this.runner = null;
+				this.triggerContext.update(this.scheduledExecutionTime, actualExecutionTime, completionTime);
+				if (failure != null) {
+					// Like a ScheduledThreadPoolExecutor, suppress further executions after a failure
+					complete(failure);
+					return;
+				}
+			}
+			try {
+				schedule();
+			}
+			catch (TaskRejectedException ex) {
+				synchronized (this.monitor) {
+					complete(ex);
+				}
+			}
+		}
+
+		private void complete(Throwable failure) {
+			if (!this.done) {
+				this.failure = failure;
+				this.done = true;
+				this.monitor.notifyAll();
+			}
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			synchronized (this.monitor) {
+				if (this.done) {
+					return false;
+				}
+				this.cancelled = true;
+				complete(null);
+				if (mayInterruptIfRunning && this.runner != null) {
+					this.runner.interrupt();
+				}
+			}
+			cancelledTasks.add(this);
+			return true;
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return this.cancelled;
+		}
+
+		@Override
+		public boolean isDone() {
+			return this.done;
+		}
+
+		@Override
+		public Object get() throws InterruptedException, ExecutionException {
+			synchronized (this.monitor) {
+				while (!this.done) {
+					this.monitor.wait();
+				}
+				return getResult();
+			}
+		}
+
+		@Override
+		public Object get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+			long deadline = System.nanoTime() + unit.toNanos(timeout);
+			synchronized (this.monitor) {
+				while (!this.done) {
+					long remaining = deadline - System.nanoTime();
+					if (remaining <= 0) {
+						throw new TimeoutException();
+					}
+					TimeUnit.NANOSECONDS.timedWait(this.monitor, remaining);
+				}
+				return getResult();
+			}
+		}
+
+		private Object getResult() throws ExecutionException {
+			if (this.cancelled) {
+				throw new CancellationException();
+			}
+			if (this.failure != null) {
+				throw new ExecutionException(this.failure);
+			}
+			return null;
+		}
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			Date executionTime;
+			synchronized (this.monitor) {
+				executionTime = this.scheduledExecutionTime;
+			}
+			long delay = (executionTime != null ? executionTime.getTime() - System.currentTimeMillis() : 0);
+			return unit.convert(delay, TimeUnit.MILLISECONDS);
+		}
+
+		@Override
+		public int compareTo(Delayed other) {
+			if (this == other) {
+				return 0;
+			}
+			long diff = getDelay(TimeUnit.MILLISECONDS) - other.getDelay(TimeUnit.MILLISECONDS);
+			return (diff == 0 ? 0 : ((diff < 0) ? -1 : 1));
+		}
+
+		@Override
+		public String toString() {
+			return "WheelTask for [" + this.task + "]";
+		}
+	}
+
+}
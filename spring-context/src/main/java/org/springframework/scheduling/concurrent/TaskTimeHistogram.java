@@ -0,0 +1,119 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe histogram of task durations with exponentially growing buckets:
+ * bucket {@code i} counts durations below 2<sup>i</sup> microseconds, with the
+ * last bucket catching all longer ones.
+ *
+ * @since 4.3
+ * @see ThreadPoolTaskExecutor#setStatisticsEnabled
+ */
+final class TaskTimeHistogram {
+
+	static final int BUCKET_COUNT = 32;
+
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+	private final AtomicLong count = new AtomicLong();
+
+	private final AtomicLong totalTime = new AtomicLong();
+
+	private final AtomicLong maxTime = new AtomicLong();
+
+
+	/**
+	 * Record the given duration.
+	 * @param nanos the duration in nanoseconds
+	 */
+	public void record(long nanos) {
+		long micros = Math.max(nanos, 0) / 1000;
+		int bucket = Math.min(64 - Long.numberOfLeadingZeros(micros), BUCKET_COUNT - 1);
+		this.buckets.incrementAndGet(bucket);
+		this.count.incrementAndGet();
+		this.totalTime.addAndGet(nanos);
+		long max = this.maxTime.get();
+		while (nanos > max && !this.maxTime.compareAndSet(max, nanos)) {
+			max = this.maxTime.get();
+		}
+	}
+
+	/**
+	 * Return the number of recorded durations.
+	 */
+	public long getCount() {
+		return this.count.get();
+	}
+
+	/**
+	 * Return the mean duration in milliseconds, or 0 if none recorded.
+	 */
+	public double getMean() {
+		long count = this.count.get();
+		return (count > 0 ? this.totalTime.get() / 1000000d / count : 0);
+	}
+
+	/**
+	 * Return the maximum duration in milliseconds.
+	 */
+	public double getMax() {
+		return this.maxTime.get() / 1000000d;
+	}
+
+	/**
+	 * Return an upper bound for the given percentile of durations in milliseconds,
+	 * i.e. the upper bound of the bucket it falls into (or the maximum duration
+	 * for the last bucket), or 0 if none recorded.
+	 * @param percentile the percentile, between 0 and 100
+	 */
+	public double getPercentile(double percentile) {
+		long[] counts = getBucketCounts();
+		long total = 0;
+		for (long count : counts) {
+			total += count;
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long threshold = (long) Math.ceil(total * percentile / 100);
+		long cumulative = 0;
+		for (int i = 0; i < counts.length - 1; i++) {
+			cumulative += counts[i];
+			if (cumulative >= threshold && cumulative > 0) {
+				return Math.min((1L << i) / 1000d, getMax());
+			}
+		}
+		return getMax();
+	}
+
+	/**
+	 * Return a snapshot of the bucket counts.
+	 */
+	public long[] getBucketCounts() {
+		long[] counts = new long[BUCKET_COUNT];
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			counts[i] = this.buckets.get(i);
+		}
+		return counts;
+	}
+
+}
@@ -28,6 +28,7 @@ import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.springframework.core.task.AsyncListenableTaskExecutor;
 import org.springframework.core.task.TaskDecorator;
@@ -45,6 +46,13 @@ import org.springframework.util.concurrent.ListenableFutureTask;
  * providing several useful attributes: "corePoolSize", "maxPoolSize", "keepAliveSeconds"
  * (all supporting updates at runtime); "poolSize", "activeCount" (for introspection only).
  *
+ * <p>With {@link #setStatisticsEnabled "statisticsEnabled"}, the time tasks spend in the
+ * queue and their execution time are recorded in histograms, exposed as further
+ * attributes such as "queueWaitTimeMean" and "executionTimeHistogram". On top of that,
+ * {@link #setAdaptivePoolSize "adaptivePoolSize"} lets the executor resize its core
+ * pool between the configured "corePoolSize" and "maxPoolSize" according to the
+ * measured queue wait time, instead of only growing once the queue is full.
+ *
  * <p>For an alternative, you may set up a ThreadPoolExecutor instance directly using
  * constructor injection, or use a factory method definition that points to the
  * {@link java.util.concurrent.Executors} class. To expose such a raw Executor as a
@@ -85,8 +93,28 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 
 	private TaskDecorator taskDecorator;
 
+	private boolean statisticsEnabled = false;
+
+	private boolean adaptivePoolSize = false;
+
+	private long targetQueueWait = 10;
+
+	private long adaptiveInterval = 1000;
+
 	private ThreadPoolExecutor threadPoolExecutor;
 
+	private TaskTimeHistogram queueWaitHistogram;
+
+	private TaskTimeHistogram executionHistogram;
+
+	private final AtomicLong windowStart = new AtomicLong();
+
+	private final AtomicLong windowCount = new AtomicLong();
+
+	private final AtomicLong windowQueueWait = new AtomicLong();
+
+	private final AtomicLong windowExecution = new AtomicLong();
+
 
 	/**
 	 * Set the ThreadPoolExecutor's core pool size.
@@ -194,6 +222,66 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 		this.taskDecorator = taskDecorator;
 	}
 
+	/**
+	 * Specify whether to record the time tasks wait in the queue as well as their
+	 * execution time, exposing histograms and derived values as attributes of this
+	 * executor (e.g. for JMX export).
+	 * <p>Default is "false". Implicitly enabled by {@link #setAdaptivePoolSize}.
+	 * @since 4.3
+	 * @see #getQueueWaitTimeHistogram()
+	 * @see #getExecutionTimeHistogram()
+	 */
+	public void setStatisticsEnabled(boolean statisticsEnabled) {
+		this.statisticsEnabled = statisticsEnabled;
+	}
+
+	/**
+	 * Return whether task timings are recorded.
+	 * @since 4.3
+	 */
+	public boolean isStatisticsEnabled() {
+		return (this.statisticsEnabled || this.adaptivePoolSize);
+	}
+
+	/**
+	 * Specify whether to adapt the core pool size to the workload.
+	 * <p>Once per {@link #setAdaptiveInterval adaptive interval}, the mean queue wait
+	 * time of the tasks completed in the meantime is compared with the
+	 * {@link #setTargetQueueWait target queue wait time}: if exceeded, the core pool
+	 * grows to 125% of the average number of busy threads (at least by one thread);
+	 * if the pool turns out to be mostly idle, it shrinks to that size accordingly.
+	 * The core pool size always stays within the configured "corePoolSize" and
+	 * "maxPoolSize", with the latter being required to be bounded in this mode.
+	 * <p>Default is "false".
+	 * @since 4.3
+	 */
+	public void setAdaptivePoolSize(boolean adaptivePoolSize) {
+		this.adaptivePoolSize = adaptivePoolSize;
+	}
+
+	/**
+	 * Set the mean time (in milliseconds) tasks may wait in the queue before the
+	 * core pool grows, in case of {@link #setAdaptivePoolSize adaptive pool sizing}.
+	 * Default is 10.
+	 * @since 4.3
+	 */
+	public void setTargetQueueWait(long targetQueueWait) {
+		this.targetQueueWait = targetQueueWait;
+	}
+
+	/**
+	 * Set the minimum interval (in milliseconds) between adjustments of the core
+	 * pool size, in case of {@link #setAdaptivePoolSize adaptive pool sizing}.
+	 * Default is 1000.
+	 * <p>Adjustments are triggered by completing tasks, so an idle pool keeps its
+	 * size until further tasks come in.
+	 * @since 4.3
+	 */
+	public void setAdaptiveInterval(long adaptiveInterval) {
+		Assert.isTrue(adaptiveInterval > 0, "Adaptive interval must be greater than 0");
+		this.adaptiveInterval = adaptiveInterval;
+	}
+
 
 	/**
 	 * Note: This method exposes an {@link ExecutorService} to its base class
@@ -207,14 +295,29 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 
 		BlockingQueue<Runnable> queue = createQueue(this.queueCapacity);
 
+		if (this.adaptivePoolSize) {
+			Assert.isTrue(this.maxPoolSize != Integer.MAX_VALUE, "Adaptive pool size requires a bounded 'maxPoolSize'");
+		}
+		if (isStatisticsEnabled()) {
+			this.queueWaitHistogram = new TaskTimeHistogram();
+			this.executionHistogram = new TaskTimeHistogram();
+			this.windowStart.set(System.nanoTime());
+		}
+
 		ThreadPoolExecutor executor;
-		if (this.taskDecorator != null) {
+		if (this.taskDecorator != null || isStatisticsEnabled()) {
 			executor = new ThreadPoolExecutor(
 					this.corePoolSize, this.maxPoolSize, this.keepAliveSeconds, TimeUnit.SECONDS,
 					queue, threadFactory, rejectedExecutionHandler) {
 				@Override
 				public void execute(Runnable command) {
-					super.execute(taskDecorator.decorate(command));
+					if (taskDecorator != null) {
+						command = taskDecorator.decorate(command);
+					}
+					if (queueWaitHistogram != null) {
+						command = new TimedTask(command);
+					}
+					super.execute(command);
 				}
 			};
 		}
@@ -285,6 +388,161 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 		return this.threadPoolExecutor.getActiveCount();
 	}
 
+	/**
+	 * Return the current core pool size, potentially adapted to the workload.
+	 * @since 4.3
+	 * @see #setAdaptivePoolSize
+	 * @see java.util.concurrent.ThreadPoolExecutor#getCorePoolSize()
+	 */
+	public int getCurrentCorePoolSize() {
+		if (this.threadPoolExecutor == null) {
+			// Not initialized yet: assume configured core pool size.
+			return getCorePoolSize();
+		}
+		return this.threadPoolExecutor.getCorePoolSize();
+	}
+
+	/**
+	 * Return the number of tasks currently waiting in the queue.
+	 * @since 4.3
+	 */
+	public int getQueueSize() {
+		if (this.threadPoolExecutor == null) {
+			// Not initialized yet: assume empty queue.
+			return 0;
+		}
+		return this.threadPoolExecutor.getQueue().size();
+	}
+
+	/**
+	 * Return the mean time (in milliseconds) tasks waited in the queue,
+	 * or -1 if {@link #setStatisticsEnabled statistics} are not recorded.
+	 * @since 4.3
+	 */
+	public double getQueueWaitTimeMean() {
+		return (this.queueWaitHistogram != null ? this.queueWaitHistogram.getMean() : -1);
+	}
+
+	/**
+	 * Return an upper bound (in milliseconds) for the time 99% of all tasks
+	 * waited in the queue, or -1 if {@link #setStatisticsEnabled statistics}
+	 * are not recorded.
+	 * @since 4.3
+	 */
+	public double getQueueWaitTime99thPercentile() {
+		return (this.queueWaitHistogram != null ? this.queueWaitHistogram.getPercentile(99) : -1);
+	}
+
+	/**
+	 * Return the maximum time (in milliseconds) a task waited in the queue,
+	 * or -1 if {@link #setStatisticsEnabled statistics} are not recorded.
+	 * @since 4.3
+	 */
+	public double getQueueWaitTimeMax() {
+		return (this.queueWaitHistogram != null ? this.queueWaitHistogram.getMax() : -1);
+	}
+
+	/**
+	 * Return the histogram of the time tasks waited in the queue: element {@code i}
+	 * counts the tasks that waited less than 2<sup>i</sup> microseconds (and at least
+	 * as long as counted by element {@code i - 1}), with the last element covering all
+	 * longer waits. Returns {@code null} if {@link #setStatisticsEnabled statistics}
+	 * are not recorded.
+	 * @since 4.3
+	 */
+	public long[] getQueueWaitTimeHistogram() {
+		return (this.queueWaitHistogram != null ? this.queueWaitHistogram.getBucketCounts() : null);
+	}
+
+	/**
+	 * Return the mean execution time (in milliseconds) of tasks,
+	 * or -1 if {@link #setStatisticsEnabled statistics} are not recorded.
+	 * @since 4.3
+	 */
+	public double getExecutionTimeMean() {
+		return (this.executionHistogram != null ? this.executionHistogram.getMean() : -1);
+	}
+
+	/**
+	 * Return an upper bound (in milliseconds) for the execution time of 99% of
+	 * all tasks, or -1 if {@link #setStatisticsEnabled statistics} are not recorded.
+	 * @since 4.3
+	 */
+	public double getExecutionTime99thPercentile() {
+		return (this.executionHistogram != null ? this.executionHistogram.getPercentile(99) : -1);
+	}
+
+	/**
+	 * Return the maximum execution time (in milliseconds) of a task,
+	 * or -1 if {@link #setStatisticsEnabled statistics} are not recorded.
+	 * @since 4.3
+	 */
+	public double getExecutionTimeMax() {
+		return (this.executionHistogram != null ? this.executionHistogram.getMax() : -1);
+	}
+
+	/**
+	 * Return the histogram of task execution times, with buckets as described for
+	 * {@link #getQueueWaitTimeHistogram()}, or {@code null} if
+	 * {@link #setStatisticsEnabled statistics} are not recorded.
+	 * @since 4.3
+	 */
+	public long[] getExecutionTimeHistogram() {
+		return (this.executionHistogram != null ? this.executionHistogram.getBucketCounts() : null);
+	}
+
+	/**
+	 * Record the timing of a completed task and, in case of adaptive pool sizing,
+	 * adjust the core pool size once the current interval has elapsed.
+	 */
+	private void recordTaskTiming(long queueWait, long execution) {
+		this.queueWaitHistogram.record(queueWait);
+		this.executionHistogram.record(execution);
+		if (this.adaptivePoolSize) {
+			this.windowQueueWait.addAndGet(queueWait);
+			this.windowExecution.addAndGet(execution);
+			this.windowCount.incrementAndGet();
+			long now = System.nanoTime();
+			long start = this.windowStart.get();
+			if (now - start >= TimeUnit.MILLISECONDS.toNanos(this.adaptiveInterval) &&
+					this.windowStart.compareAndSet(start, now)) {
+				long count = this.windowCount.getAndSet(0);
+				long totalQueueWait = this.windowQueueWait.getAndSet(0);
+				long totalExecution = this.windowExecution.getAndSet(0);
+				if (count > 0) {
+					adjustCorePoolSize(totalQueueWait / count, (double) totalExecution / (now - start));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Adjust the core pool size of the underlying ThreadPoolExecutor.
+	 * @param meanQueueWait the mean queue wait time in the last interval (in nanoseconds)
+	 * @param busyThreads the average number of threads busy with tasks in the last interval
+	 */
+	private void adjustCorePoolSize(long meanQueueWait, double busyThreads) {
+		synchronized (this.poolSizeMonitor) {
+			int current = this.threadPoolExecutor.getCorePoolSize();
+			long targetQueueWait = TimeUnit.MILLISECONDS.toNanos(this.targetQueueWait);
+			int target = current;
+			if (meanQueueWait > targetQueueWait) {
+				target = Math.max(current + 1, (int) Math.ceil(busyThreads * 1.25));
+			}
+			else if (meanQueueWait <= targetQueueWait / 2 && busyThreads < current / 2d) {
+				target = (int) Math.ceil(busyThreads * 1.25);
+			}
+			target = Math.max(this.corePoolSize, Math.min(this.maxPoolSize, target));
+			if (target != current) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Adjusting core pool size from " + current + " to " + target + " (mean queue wait " +
+							meanQueueWait / 1000000d + "ms, " + busyThreads + " busy threads on average)");
+				}
+				this.threadPoolExecutor.setCorePoolSize(target);
+			}
+		}
+	}
+
 
 	@Override
 	public void execute(Runnable task) {
@@ -358,4 +616,35 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 		return true;
 	}
 
+
+	/**
+	 * Runnable wrapper recording the time spent in the queue and in execution.
+	 */
+	private class TimedTask implements Runnable {
+
+		private final Runnable task;
+
+		private final long submitTime = System.nanoTime();
+
+		public TimedTask(Runnable task) {
+			this.task = task;
+		}
+
+		@Override
+		public void run() {
+			long startTime = System.nanoTime();
+			try {
+				this.task.run();
+			}
+			finally {
+				recordTaskTiming(startTime - this.submitTime, System.nanoTime() - startTime);
+			}
+		}
+
+		@Override
+		public String toString() {
+			return this.task.toString();
+		}
+	}
+
 }
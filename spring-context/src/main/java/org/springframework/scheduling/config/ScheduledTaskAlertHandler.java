@@ -0,0 +1,37 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.config;
+
+/**
+ * Callback interface for alerts raised by a {@link ScheduledTaskMonitor}.
+ *
+ * @since 4.3
+ * @see ScheduledTaskMonitor#setAlertHandler
+ */
+public interface ScheduledTaskAlertHandler {
+
+	/**
+	 * Handle a fixed-rate task that cannot keep up with its rate, i.e. whose
+	 * execution started at least one full interval late. Called once when the
+	 * task starts to lag behind, and again only after it has caught up in between.
+	 * @param statistics the statistics of the task
+	 * @param startDelay the delay of the execution against its scheduled start
+	 * time in milliseconds
+	 */
+	void handleLaggingTask(ScheduledTaskStatistics statistics, long startDelay);
+
+}
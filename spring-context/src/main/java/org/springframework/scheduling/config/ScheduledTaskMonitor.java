@@ -0,0 +1,370 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.config;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Hashtable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.jmx.export.MBeanExportException;
+import org.springframework.jmx.export.MBeanExportOperations;
+import org.springframework.jmx.support.ObjectNameManager;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.TriggerContext;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+
+/**
+ * Instrumentation for scheduled tasks, registered with a {@link ScheduledTaskRegistrar}
+ * through {@link ScheduledTaskRegistrar#setTaskMonitor}. A single {@code ScheduledTaskMonitor}
+ * bean in the context is also picked up for {@code @Scheduled} methods automatically.
+ *
+ * <p>Records {@link ScheduledTaskStatistics} per task, in particular the delay of each
+ * execution against its scheduled start time: as determined by the trigger for cron and
+ * trigger tasks, by the previous scheduled start time for fixed-rate tasks, and by the
+ * end of the previous execution for fixed-delay tasks. A fixed-rate task that starts a
+ * full interval late or more cannot keep up with its rate, which gets reported to the
+ * {@link #setAlertHandler alert handler} (by default, logged as a warning).
+ *
+ * <p>The statistics of each task are registered as an MBean with object names of the
+ * form {@code org.springframework.scheduling:type=ScheduledTask,name=com.example.Jobs.cleanup}
+ * through the {@link #setMbeanExporter MBeanExporter}, defaulting to the unique
+ * {@link MBeanExportOperations} bean in the context, if any.
+ *
+ * @since 4.3
+ * @see ScheduledTaskRegistrar#setTaskMonitor
+ * @see ScheduledTaskStatistics
+ */
+public class ScheduledTaskMonitor implements BeanFactoryAware {
+
+	/**
+	 * The default JMX domain for scheduled task MBeans.
+	 */
+	public static final String DEFAULT_DOMAIN = "org.springframework.scheduling";
+
+	private static final Log logger = LogFactory.getLog(ScheduledTaskMonitor.class);
+
+
+	private MBeanExportOperations mbeanExporter;
+
+	private String domain = DEFAULT_DOMAIN;
+
+	private ScheduledTaskAlertHandler alertHandler;
+
+	private BeanFactory beanFactory;
+
+	private final Map<String, ScheduledTaskStatistics> taskStatistics =
+			new ConcurrentHashMap<String, ScheduledTaskStatistics>(16);
+
+
+	/**
+	 * Set the {@link MBeanExportOperations} to register the statistics MBeans with,
+	 * typically an {@link org.springframework.jmx.export.MBeanExporter}.
+	 * <p>Default is the unique {@code MBeanExportOperations} bean in the containing
+	 * bean factory, if any; otherwise, statistics are not exported.
+	 */
+	public void setMbeanExporter(MBeanExportOperations mbeanExporter) {
+		this.mbeanExporter = mbeanExporter;
+	}
+
+	/**
+	 * Set the JMX domain of the object names.
+	 * <p>Default is "org.springframework.scheduling".
+	 */
+	public void setDomain(String domain) {
+		this.domain = domain;
+	}
+
+	/**
+	 * Set the {@link ScheduledTaskAlertHandler} to notify when a fixed-rate task
+	 * cannot keep up with its rate.
+	 * <p>Default is to log a warning.
+	 */
+	public void setAlertHandler(ScheduledTaskAlertHandler alertHandler) {
+		this.alertHandler = alertHandler;
+	}
+
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) {
+		this.beanFactory = beanFactory;
+	}
+
+
+	/**
+	 * Instrument the given trigger task, including cron tasks.
+	 * @param task the task to instrument
+	 * @return a task with instrumented {@code Runnable} and {@code Trigger}
+	 */
+	public TriggerTask monitorTriggerTask(TriggerTask task) {
+		String taskType = (task instanceof CronTask ? "cron" : "trigger");
+		MonitoredRunnable runnable = new MonitoredRunnable(
+				task.getRunnable(), register(task.getRunnable(), taskType, -1), -1, -1, false);
+		return new TriggerTask(runnable, new MonitoredTrigger(task.getTrigger(), runnable));
+	}
+
+	/**
+	 * Instrument the given fixed-rate task.
+	 * @param task the task to instrument
+	 * @param firstExecutionTime the scheduled start time of the first execution
+	 * @return the instrumented {@code Runnable}
+	 */
+	public Runnable monitorFixedRateTask(IntervalTask task, long firstExecutionTime) {
+		return new MonitoredRunnable(task.getRunnable(), register(task.getRunnable(), "fixedRate",
+				task.getInterval()), task.getInterval(), firstExecutionTime, true);
+	}
+
+	/**
+	 * Instrument the given fixed-delay task.
+	 * @param task the task to instrument
+	 * @param firstExecutionTime the scheduled start time of the first execution
+	 * @return the instrumented {@code Runnable}
+	 */
+	public Runnable monitorFixedDelayTask(IntervalTask task, long firstExecutionTime) {
+		return new MonitoredRunnable(task.getRunnable(), register(task.getRunnable(), "fixedDelay",
+				task.getInterval()), task.getInterval(), firstExecutionTime, false);
+	}
+
+	/**
+	 * Return the statistics of all instrumented tasks.
+	 */
+	public Collection<ScheduledTaskStatistics> getTaskStatistics() {
+		return Collections.unmodifiableCollection(this.taskStatistics.values());
+	}
+
+	/**
+	 * Return the statistics of the task with the given name.
+	 * @param taskName the name of the task
+	 * @return the statistics, or {@code null} if no such task has been instrumented
+	 * @see #getTaskName
+	 */
+	public ScheduledTaskStatistics getTaskStatistics(String taskName) {
+		return this.taskStatistics.get(taskName);
+	}
+
+
+	private ScheduledTaskStatistics register(Runnable runnable, String taskType, long interval) {
+		String baseName = getTaskName(runnable);
+		ScheduledTaskStatistics statistics;
+		synchronized (this.taskStatistics) {
+			String taskName = baseName;
+			int counter = 1;
+			while (this.taskStatistics.containsKey(taskName)) {
+				taskName = baseName + "#" + (++counter);
+			}
+			statistics = new ScheduledTaskStatistics(taskName, taskType, interval);
+			this.taskStatistics.put(taskName, statistics);
+		}
+		MBeanExportOperations exporter = getMbeanExporter();
+		if (exporter != null) {
+			exporter.registerManagedResource(statistics, getObjectName(statistics.getTaskName()));
+		}
+		return statistics;
+	}
+
+	private MBeanExportOperations getMbeanExporter() {
+		if (this.mbeanExporter == null && this.beanFactory != null) {
+			try {
+				this.mbeanExporter = this.beanFactory.getBean(MBeanExportOperations.class);
+			}
+			catch (NoSuchBeanDefinitionException ex) {
+				logger.debug("Could not find unique MBeanExportOperations bean: not exporting scheduled task statistics");
+			}
+			this.beanFactory = null;
+		}
+		return this.mbeanExporter;
+	}
+
+	/**
+	 * Determine the name of the task with the given {@code Runnable}: the fully
+	 * qualified method name for a {@link ScheduledMethodRunnable}, and the
+	 * {@code toString()} representation of the {@code Runnable} otherwise.
+	 * Duplicate names get suffixed with "#2", "#3" and so forth.
+	 * @param runnable the runnable of the task
+	 * @return the name of the task
+	 */
+	protected String getTaskName(Runnable runnable) {
+		if (runnable instanceof ScheduledMethodRunnable) {
+			Method method = ((ScheduledMethodRunnable) runnable).getMethod();
+			return method.getDeclaringClass().getName() + "." + method.getName();
+		}
+		return runnable.toString();
+	}
+
+	/**
+	 * Build the {@link ObjectName} for the statistics of the specified task.
+	 * @param taskName the name of the task
+	 * @return the object name to register the statistics under
+	 * @throws MBeanExportException if the object name is invalid
+	 */
+	protected ObjectName getObjectName(String taskName) throws MBeanExportException {
+		Hashtable<String, String> properties = new Hashtable<String, String>();
+		properties.put("type", "ScheduledTask");
+		properties.put("name", quoteIfNecessary(taskName));
+		try {
+			return ObjectNameManager.getInstance(this.domain, properties);
+		}
+		catch (MalformedObjectNameException ex) {
+			throw new MBeanExportException("Invalid object name for statistics of task '" + taskName + "'", ex);
+		}
+	}
+
+	private static String quoteIfNecessary(String value) {
+		for (int i = 0; i < value.length(); i++) {
+			if (",=:\"*?\n".indexOf(value.charAt(i)) != -1) {
+				return ObjectName.quote(value);
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Raise an alert for a fixed-rate task that cannot keep up with its rate.
+	 */
+	private void alertLaggingTask(ScheduledTaskStatistics statistics, long startDelay) {
+		if (this.alertHandler != null) {
+			try {
+				this.alertHandler.handleLaggingTask(statistics, startDelay);
+			}
+			catch (Throwable ex) {
+				logger.error("Alert handler for scheduled task '" + statistics.getTaskName() + "' failed", ex);
+			}
+		}
+		else if (logger.isWarnEnabled()) {
+			logger.warn("Fixed-rate task '" + statistics.getTaskName() + "' cannot keep up with its rate of " +
+					statistics.getInterval() + "ms: execution started " + startDelay + "ms late");
+		}
+	}
+
+
+	/**
+	 * Runnable decorator recording the statistics of each execution.
+	 */
+	private class MonitoredRunnable implements Runnable {
+
+		private final Runnable delegate;
+
+		private final ScheduledTaskStatistics statistics;
+
+		private final long interval;
+
+		private final boolean fixedRate;
+
+		/** Scheduled start time of the next execution, or -1 if unknown */
+		private volatile long scheduledStart;
+
+		/** Latest scheduled start time already counted as missed, or -1 if none */
+		private volatile long missedUntil = -1;
+
+		public MonitoredRunnable(Runnable delegate, ScheduledTaskStatistics statistics,
+				long interval, long firstExecutionTime, boolean fixedRate) {
+
+			this.delegate = delegate;
+			this.statistics = statistics;
+			this.interval = interval;
+			this.scheduledStart = firstExecutionTime;
+			this.fixedRate = fixedRate;
+		}
+
+		@Override
+		public void run() {
+			long startTime = System.currentTimeMillis();
+			long scheduledStart = this.scheduledStart;
+			long startDelay = (scheduledStart >= 0 ? Math.max(startTime - scheduledStart, 0) : -1);
+			this.statistics.recordStart(startTime, startDelay);
+			if (this.fixedRate) {
+				this.scheduledStart = scheduledStart + this.interval;
+				long overdue = (this.interval > 0 ? startDelay / this.interval : 0);
+				if (overdue > 0) {
+					// Catch-up executions after a stall see the same overdue slots again:
+					// only count slots that have not been counted before.
+					long lastOverdue = scheduledStart + overdue * this.interval;
+					if (lastOverdue > this.missedUntil) {
+						long from = Math.max(scheduledStart, this.missedUntil);
+						this.statistics.recordMissedExecutions((lastOverdue - from) / this.interval);
+						this.missedUntil = lastOverdue;
+					}
+				}
+				if (this.statistics.updateLagging(overdue > 0)) {
+					alertLaggingTask(this.statistics, startDelay);
+				}
+			}
+			Throwable error = null;
+			try {
+				this.delegate.run();
+			}
+			catch (RuntimeException ex) {
+				error = ex;
+				throw ex;
+			}
+			catch (Error err) {
+				error = err;
+				throw err;
+			}
+			finally {
+				long endTime = System.currentTimeMillis();
+				this.statistics.recordCompletion(endTime - startTime, error);
+				if (!this.fixedRate && this.interval >= 0) {
+					this.scheduledStart = endTime + this.interval;
+				}
+			}
+		}
+
+		public void setScheduledStart(long scheduledStart) {
+			this.scheduledStart = scheduledStart;
+		}
+
+		@Override
+		public String toString() {
+			return this.delegate.toString();
+		}
+	}
+
+
+	/**
+	 * Trigger decorator exposing each scheduled start time to the task's runnable.
+	 */
+	private static class MonitoredTrigger implements Trigger {
+
+		private final Trigger delegate;
+
+		private final MonitoredRunnable runnable;
+
+		public MonitoredTrigger(Trigger delegate, MonitoredRunnable runnable) {
+			this.delegate = delegate;
+			this.runnable = runnable;
+		}
+
+		@Override
+		public Date nextExecutionTime(TriggerContext triggerContext) {
+			Date nextExecutionTime = this.delegate.nextExecutionTime(triggerContext);
+			this.runnable.setScheduledStart(nextExecutionTime != null ? nextExecutionTime.getTime() : -1);
+			return nextExecutionTime;
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -46,6 +46,12 @@ import org.springframework.util.CollectionUtils;
  * {@link org.springframework.scheduling.annotation.SchedulingConfigurer
  * SchedulingConfigurer} callback interface.
  *
+ * <p>As of Spring 4.3, all tasks may be instrumented through a
+ * {@link #setTaskMonitor ScheduledTaskMonitor}. Furthermore, tasks added after
+ * the registered tasks have been {@linkplain #scheduleTasks() scheduled} (e.g.
+ * by singletons initialized after the refresh of an application context) get
+ * scheduled right away.
+ *
  * @author Juergen Hoeller
  * @author Chris Beams
  * @author Tobias Montagna-Hay
@@ -59,6 +65,8 @@ public class ScheduledTaskRegistrar implements InitializingBean, DisposableBean
 
 	private ScheduledExecutorService localExecutor;
 
+	private ScheduledTaskMonitor taskMonitor;
+
 	private List<TriggerTask> triggerTasks;
 
 	private List<CronTask> cronTasks;
@@ -69,6 +77,8 @@ public class ScheduledTaskRegistrar implements InitializingBean, DisposableBean
 
 	private final Set<ScheduledFuture<?>> scheduledFutures = new LinkedHashSet<ScheduledFuture<?>>();
 
+	private volatile boolean tasksScheduled;
+
 
 	/**
 	 * Set the {@link TaskScheduler} to register scheduled tasks with.
@@ -104,6 +114,24 @@ public class ScheduledTaskRegistrar implements InitializingBean, DisposableBean
 	}
 
 
+	/**
+	 * Set a {@link ScheduledTaskMonitor} to record execution statistics of all tasks
+	 * scheduled by this registrar.
+	 * @since 4.3
+	 */
+	public void setTaskMonitor(ScheduledTaskMonitor taskMonitor) {
+		this.taskMonitor = taskMonitor;
+	}
+
+	/**
+	 * Return the {@link ScheduledTaskMonitor} for this registrar (may be {@code null}).
+	 * @since 4.3
+	 */
+	public ScheduledTaskMonitor getTaskMonitor() {
+		return this.taskMonitor;
+	}
+
+
 	/**
 	 * Specify triggered tasks as a Map of Runnables (the tasks) and Trigger objects
 	 * (typically custom implementations of the {@link Trigger} interface).
@@ -246,6 +274,9 @@ public class ScheduledTaskRegistrar implements InitializingBean, DisposableBean
 			this.triggerTasks = new ArrayList<TriggerTask>();
 		}
 		this.triggerTasks.add(task);
+		if (this.tasksScheduled) {
+			scheduleTriggerTask(task);
+		}
 	}
 
 	/**
@@ -264,6 +295,9 @@ public class ScheduledTaskRegistrar implements InitializingBean, DisposableBean
 			this.cronTasks = new ArrayList<CronTask>();
 		}
 		this.cronTasks.add(task);
+		if (this.tasksScheduled) {
+			scheduleTriggerTask(task);
+		}
 	}
 
 	/**
@@ -284,6 +318,9 @@ public class ScheduledTaskRegistrar implements InitializingBean, DisposableBean
 			this.fixedRateTasks = new ArrayList<IntervalTask>();
 		}
 		this.fixedRateTasks.add(task);
+		if (this.tasksScheduled) {
+			scheduleFixedRateTask(task, System.currentTimeMillis());
+		}
 	}
 
 	/**
@@ -304,6 +341,9 @@ public class ScheduledTaskRegistrar implements InitializingBean, DisposableBean
 			this.fixedDelayTasks = new ArrayList<IntervalTask>();
 		}
 		this.fixedDelayTasks.add(task);
+		if (this.tasksScheduled) {
+			scheduleFixedDelayTask(task, System.currentTimeMillis());
+		}
 	}
 
 	/**
@@ -339,48 +379,74 @@ public class ScheduledTaskRegistrar implements InitializingBean, DisposableBean
 		}
 		if (this.triggerTasks != null) {
 			for (TriggerTask task : this.triggerTasks) {
-				this.scheduledFutures.add(this.taskScheduler.schedule(
-						task.getRunnable(), task.getTrigger()));
+				scheduleTriggerTask(task);
 			}
 		}
 		if (this.cronTasks != null) {
 			for (CronTask task : this.cronTasks) {
-				this.scheduledFutures.add(this.taskScheduler.schedule(
-						task.getRunnable(), task.getTrigger()));
+				scheduleTriggerTask(task);
 			}
 		}
 		if (this.fixedRateTasks != null) {
 			for (IntervalTask task : this.fixedRateTasks) {
-				if (task.getInitialDelay() > 0) {
-					Date startTime = new Date(now + task.getInitialDelay());
-					this.scheduledFutures.add(this.taskScheduler.scheduleAtFixedRate(
-							task.getRunnable(), startTime, task.getInterval()));
-				}
-				else {
-					this.scheduledFutures.add(this.taskScheduler.scheduleAtFixedRate(
-							task.getRunnable(), task.getInterval()));
-				}
+				scheduleFixedRateTask(task, now);
 			}
 		}
 		if (this.fixedDelayTasks != null) {
 			for (IntervalTask task : this.fixedDelayTasks) {
-				if (task.getInitialDelay() > 0) {
-					Date startTime = new Date(now + task.getInitialDelay());
-					this.scheduledFutures.add(this.taskScheduler.scheduleWithFixedDelay(
-							task.getRunnable(), startTime, task.getInterval()));
-				}
-				else {
-					this.scheduledFutures.add(this.taskScheduler.scheduleWithFixedDelay(
-							task.getRunnable(), task.getInterval()));
-				}
+				scheduleFixedDelayTask(task, now);
 			}
 		}
+		this.tasksScheduled = true;
+	}
+
+	private void scheduleTriggerTask(TriggerTask task) {
+		if (this.taskMonitor != null) {
+			task = this.taskMonitor.monitorTriggerTask(task);
+		}
+		addScheduledFuture(this.taskScheduler.schedule(task.getRunnable(), task.getTrigger()));
+	}
+
+	private void scheduleFixedRateTask(IntervalTask task, long now) {
+		Runnable runnable = task.getRunnable();
+		if (this.taskMonitor != null) {
+			runnable = this.taskMonitor.monitorFixedRateTask(task, now + Math.max(task.getInitialDelay(), 0));
+		}
+		if (task.getInitialDelay() > 0) {
+			Date startTime = new Date(now + task.getInitialDelay());
+			addScheduledFuture(this.taskScheduler.scheduleAtFixedRate(runnable, startTime, task.getInterval()));
+		}
+		else {
+			addScheduledFuture(this.taskScheduler.scheduleAtFixedRate(runnable, task.getInterval()));
+		}
+	}
+
+	private void scheduleFixedDelayTask(IntervalTask task, long now) {
+		Runnable runnable = task.getRunnable();
+		if (this.taskMonitor != null) {
+			runnable = this.taskMonitor.monitorFixedDelayTask(task, now + Math.max(task.getInitialDelay(), 0));
+		}
+		if (task.getInitialDelay() > 0) {
+			Date startTime = new Date(now + task.getInitialDelay());
+			addScheduledFuture(this.taskScheduler.scheduleWithFixedDelay(runnable, startTime, task.getInterval()));
+		}
+		else {
+			addScheduledFuture(this.taskScheduler.scheduleWithFixedDelay(runnable, task.getInterval()));
+		}
+	}
+
+	private void addScheduledFuture(ScheduledFuture<?> future) {
+		synchronized (this.scheduledFutures) {
+			this.scheduledFutures.add(future);
+		}
 	}
 
 	@Override
 	public void destroy() {
-		for (ScheduledFuture<?> future : this.scheduledFutures) {
-			future.cancel(true);
+		synchronized (this.scheduledFutures) {
+			for (ScheduledFuture<?> future : this.scheduledFutures) {
+				future.cancel(true);
+			}
 		}
 		if (this.localExecutor != null) {
 			this.localExecutor.shutdownNow();
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedMetric;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.jmx.support.MetricType;
+
+/**
+ * Execution statistics of a single scheduled task, as recorded by a
+ * {@link ScheduledTaskMonitor}: execution and error counts, execution times,
+ * the delay of each execution against its scheduled start time and, for
+ * fixed-rate tasks, the number of executions that could not keep up.
+ *
+ * <p>Registered as an MBean per task if the monitor has access to an
+ * {@link org.springframework.jmx.export.MBeanExporter}.
+ *
+ * @since 4.3
+ * @see ScheduledTaskMonitor
+ */
+@ManagedResource(description = "Scheduled task statistics")
+public class ScheduledTaskStatistics {
+
+	private final String taskName;
+
+	private final String taskType;
+
+	private final long interval;
+
+	private final AtomicLong executionCount = new AtomicLong();
+
+	private final AtomicLong errorCount = new AtomicLong();
+
+	private final AtomicLong overlapCount = new AtomicLong();
+
+	private final AtomicLong missedExecutionCount = new AtomicLong();
+
+	private final AtomicLong totalExecutionTime = new AtomicLong();
+
+	private final AtomicLong maxExecutionTime = new AtomicLong();
+
+	private final AtomicLong maxStartDelay = new AtomicLong();
+
+	private final AtomicInteger running = new AtomicInteger();
+
+	private volatile long lastExecutionTime = -1;
+
+	private volatile long lastStartDelay = -1;
+
+	private volatile long lastExecutionStart = -1;
+
+	private volatile Throwable lastError;
+
+	private volatile boolean lagging;
+
+
+	/**
+	 * Create a new {@code ScheduledTaskStatistics} instance.
+	 * @param taskName the name of the task
+	 * @param taskType the type of the task: "cron", "fixedRate", "fixedDelay" or "trigger"
+	 * @param interval the interval of a fixed-rate or fixed-delay task in milliseconds, or -1
+	 */
+	public ScheduledTaskStatistics(String taskName, String taskType, long interval) {
+		this.taskName = taskName;
+		this.taskType = taskType;
+		this.interval = interval;
+	}
+
+
+	@ManagedAttribute(description = "The name of the task")
+	public String getTaskName() {
+		return this.taskName;
+	}
+
+	@ManagedAttribute(description = "The type of the task: cron, fixedRate, fixedDelay or trigger")
+	public String getTaskType() {
+		return this.taskType;
+	}
+
+	@ManagedAttribute(description = "The interval of a fixed-rate or fixed-delay task in milliseconds, or -1")
+	public long getInterval() {
+		return this.interval;
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER, description = "The number of completed executions")
+	public long getExecutionCount() {
+		return this.executionCount.get();
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER, description = "The number of executions that threw an exception")
+	public long getErrorCount() {
+		return this.errorCount.get();
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER,
+			description = "The number of executions started while a previous one was still running")
+	public long getOverlapCount() {
+		return this.overlapCount.get();
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER,
+			description = "The number of full intervals by which executions of a fixed-rate task started late")
+	public long getMissedExecutionCount() {
+		return this.missedExecutionCount.get();
+	}
+
+	@ManagedMetric(metricType = MetricType.GAUGE, unit = "ms",
+			description = "The execution time of the last execution, or -1 if none")
+	public long getLastExecutionTime() {
+		return this.lastExecutionTime;
+	}
+
+	@ManagedMetric(metricType = MetricType.GAUGE, unit = "ms",
+			description = "The mean execution time, or -1 if no executions")
+	public double getMeanExecutionTime() {
+		long count = this.executionCount.get();
+		return (count > 0 ? (double) this.totalExecutionTime.get() / count : -1);
+	}
+
+	@ManagedMetric(metricType = MetricType.GAUGE, unit = "ms", description = "The maximum execution time")
+	public long getMaxExecutionTime() {
+		return this.maxExecutionTime.get();
+	}
+
+	@ManagedMetric(metricType = MetricType.GAUGE, unit = "ms",
+			description = "The delay of the last execution against its scheduled start time, or -1 if unknown")
+	public long getLastStartDelay() {
+		return this.lastStartDelay;
+	}
+
+	@ManagedMetric(metricType = MetricType.GAUGE, unit = "ms",
+			description = "The maximum delay of an execution against its scheduled start time")
+	public long getMaxStartDelay() {
+		return this.maxStartDelay.get();
+	}
+
+	@ManagedAttribute(description = "The start time of the last execution in milliseconds since the epoch, or -1")
+	public long getLastExecutionStart() {
+		return this.lastExecutionStart;
+	}
+
+	@ManagedAttribute(description = "Whether the task is currently running")
+	public boolean isRunning() {
+		return (this.running.get() > 0);
+	}
+
+	@ManagedAttribute(description = "Whether a fixed-rate task currently cannot keep up with its rate")
+	public boolean isLagging() {
+		return this.lagging;
+	}
+
+	@ManagedAttribute(description = "The exception thrown by the last failed execution, if any")
+	public String getLastError() {
+		Throwable lastError = this.lastError;
+		return (lastError != null ? lastError.toString() : null);
+	}
+
+
+	/**
+	 * Record the start of an execution.
+	 * @param startTime the start time in milliseconds since the epoch
+	 * @param startDelay the delay against the scheduled start time, or -1 if unknown
+	 */
+	void recordStart(long startTime, long startDelay) {
+		if (this.running.getAndIncrement() > 0) {
+			this.overlapCount.incrementAndGet();
+		}
+		this.lastExecutionStart = startTime;
+		if (startDelay >= 0) {
+			this.lastStartDelay = startDelay;
+			updateMax(this.maxStartDelay, startDelay);
+		}
+	}
+
+	/**
+	 * Record the given number of missed fixed-rate intervals.
+	 */
+	void recordMissedExecutions(long count) {
+		this.missedExecutionCount.addAndGet(count);
+	}
+
+	/**
+	 * Update the lagging state of a fixed-rate task.
+	 * @param lagging whether the task is currently lagging behind its rate
+	 * @return {@code true} if the task just started to lag behind
+	 */
+	boolean updateLagging(boolean lagging) {
+		boolean wasLagging = this.lagging;
+		this.lagging = lagging;
+		return (lagging && !wasLagging);
+	}
+
+	/**
+	 * Record the completion of an execution.
+	 * @param executionTime the execution time in milliseconds
+	 * @param error the exception thrown by the execution, or {@code null}
+	 */
+	void recordCompletion(long executionTime, Throwable error) {
+		this.running.decrementAndGet();
+		this.executionCount.incrementAndGet();
+		this.totalExecutionTime.addAndGet(executionTime);
+		updateMax(this.maxExecutionTime, executionTime);
+		this.lastExecutionTime = executionTime;
+		if (error != null) {
+			this.errorCount.incrementAndGet();
+			this.lastError = error;
+		}
+	}
+
+	private static void updateMax(AtomicLong max, long value) {
+		long current = max.get();
+		while (value > current && !max.compareAndSet(current, value)) {
+			current = max.get();
+		}
+	}
+
+
+	@Override
+	public String toString() {
+		return "ScheduledTaskStatistics for " + this.taskType + " task '" + this.taskName + "'";
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,12 @@
 
 package org.springframework.scheduling.support;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
@@ -26,6 +32,8 @@ import java.util.GregorianCalendar;
 import java.util.List;
 import java.util.TimeZone;
 
+import org.springframework.lang.UsesJava8;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -47,6 +55,12 @@ import org.springframework.util.StringUtils;
  * <li>"0 0 0 25 12 ?" = every Christmas Day at midnight</li>
  * </ul>
  *
+ * <p>On Java 8, the next matching date is determined with {@code java.time},
+ * jumping from field to field through bit masks precompiled from the pattern;
+ * the search only takes a few steps per month even for sparse patterns.
+ * Local times skipped by a daylight saving time transition never match,
+ * whereas local times occurring twice match on their first occurrence.
+ *
  * @author Dave Syer
  * @author Juergen Hoeller
  * @since 3.0
@@ -54,6 +68,11 @@ import org.springframework.util.StringUtils;
  */
 public class CronSequenceGenerator {
 
+	// java.time API available on Java 8+
+	private static final boolean javaTimePresent =
+			ClassUtils.isPresent("java.time.ZonedDateTime", CronSequenceGenerator.class.getClassLoader());
+
+
 	private final String expression;
 
 	private final TimeZone timeZone;
@@ -70,6 +89,23 @@ public class CronSequenceGenerator {
 
 	private final BitSet seconds = new BitSet(60);
 
+	// The fields above as bit masks, for the java.time-based search
+
+	private final long monthsMask;
+
+	private final long daysOfMonthMask;
+
+	private final long daysOfWeekMask;
+
+	private final long hoursMask;
+
+	private final long minutesMask;
+
+	private final long secondsMask;
+
+	/** The java.time.ZoneId for the TimeZone, lazily resolved */
+	private volatile Object zoneId;
+
 
 	/**
 	 * Construct a {@link CronSequenceGenerator} from the pattern provided,
@@ -93,6 +129,12 @@ public class CronSequenceGenerator {
 		this.expression = expression;
 		this.timeZone = timeZone;
 		parse(expression);
+		this.monthsMask = toMask(this.months);
+		this.daysOfMonthMask = toMask(this.daysOfMonth);
+		this.daysOfWeekMask = toMask(this.daysOfWeek);
+		this.hoursMask = toMask(this.hours);
+		this.minutesMask = toMask(this.minutes);
+		this.secondsMask = toMask(this.seconds);
 	}
 
 
@@ -112,6 +154,16 @@ public class CronSequenceGenerator {
 	 * @return the next value matching the pattern
 	 */
 	public Date next(Date date) {
+		if (javaTimePresent) {
+			return JavaTimeDelegate.next(this, date);
+		}
+		return nextWithCalendar(date);
+	}
+
+	/**
+	 * Calendar-based variant of {@link #next(Date)}, used before Java 8.
+	 */
+	Date nextWithCalendar(Date date) {
 		/*
 		The plan:
 
@@ -154,10 +206,9 @@ public class CronSequenceGenerator {
 
 		int second = calendar.get(Calendar.SECOND);
 		List<Integer> emptyList = Collections.emptyList();
-		int updateSecond = findNext(this.seconds, second, calendar, Calendar.SECOND, Calendar.MINUTE, emptyList);
-		if (second == updateSecond) {
-			resets.add(Calendar.SECOND);
-		}
+		findNext(this.seconds, second, calendar, Calendar.SECOND, Calendar.MINUTE, emptyList);
+		// Seconds need to be reset on any change of a higher field, even if just adjusted
+		resets.add(Calendar.SECOND);
 
 		int minute = calendar.get(Calendar.MINUTE);
 		int updateMinute = findNext(this.minutes, minute, calendar, Calendar.MINUTE, Calendar.HOUR_OF_DAY, resets);
@@ -255,6 +306,15 @@ public class CronSequenceGenerator {
 	}
 
 
+	private static long toMask(BitSet bits) {
+		long mask = 0;
+		for (int i = bits.nextSetBit(0); i >= 0 && i < 64; i = bits.nextSetBit(i + 1)) {
+			mask |= (1L << i);
+		}
+		return mask;
+	}
+
+
 	// Parsing logic invoked by the constructor
 
 	/**
@@ -408,4 +468,125 @@ public class CronSequenceGenerator {
 		return (getClass().getSimpleName() + ": " + this.expression);
 	}
 
+
+	/**
+	 * Inner class to avoid a hard dependency on Java 8.
+	 */
+	@UsesJava8
+	private static class JavaTimeDelegate {
+
+		/**
+		 * Search for the next match field by field, from month down to second.
+		 * Whenever a field does not match, the candidate moves forward to the
+		 * next value allowed by the field's mask (or rolls over the next higher
+		 * field), resetting all lower fields, and the search starts over.
+		 * <p>The search operates on local date-times, so that every local time
+		 * matches at most once: a match within a daylight saving time overlap
+		 * resolves to the earlier offset, and local times within a gap are
+		 * skipped since they do not exist.
+		 */
+		public static Date next(CronSequenceGenerator generator, Date date) {
+			ZoneId zoneId = (ZoneId) generator.zoneId;
+			if (zoneId == null) {
+				zoneId = generator.timeZone.toZoneId();
+				generator.zoneId = zoneId;
+			}
+			Instant instant = Instant.ofEpochMilli(date.getTime());
+			// The next whole second after the given date
+			LocalDateTime candidate = LocalDateTime.ofInstant(instant, zoneId)
+					.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+			int startYear = candidate.getYear();
+
+			while (true) {
+				if (candidate.getYear() - startYear > 4) {
+					throw new IllegalArgumentException("Invalid cron expression \"" + generator.expression +
+							"\" led to runaway search for next trigger");
+				}
+
+				int month = candidate.getMonthValue() - 1;
+				int nextMonth = nextSetBit(generator.monthsMask, month);
+				if (nextMonth != month) {
+					LocalDate firstOfMonth = candidate.toLocalDate().withDayOfMonth(1);
+					firstOfMonth = (nextMonth == -1 ?
+							firstOfMonth.plusYears(1).withMonth(1) : firstOfMonth.withMonth(nextMonth + 1));
+					candidate = firstOfMonth.atStartOfDay();
+					continue;
+				}
+
+				int dayOfMonth = candidate.getDayOfMonth();
+				int nextDayOfMonth = nextSetBit(generator.daysOfMonthMask, dayOfMonth);
+				if (nextDayOfMonth == -1 || nextDayOfMonth > candidate.toLocalDate().lengthOfMonth()) {
+					candidate = candidate.toLocalDate().withDayOfMonth(1).plusMonths(1).atStartOfDay();
+					continue;
+				}
+				if (nextDayOfMonth != dayOfMonth) {
+					candidate = candidate.toLocalDate().withDayOfMonth(nextDayOfMonth).atStartOfDay();
+					continue;
+				}
+				// Sunday is 0 in the cron pattern but 7 in java.time
+				int dayOfWeek = candidate.getDayOfWeek().getValue() % 7;
+				if ((generator.daysOfWeekMask & (1L << dayOfWeek)) == 0) {
+					candidate = candidate.toLocalDate().plusDays(1).atStartOfDay();
+					continue;
+				}
+
+				int hour = candidate.getHour();
+				int nextHour = nextSetBit(generator.hoursMask, hour);
+				if (nextHour == -1) {
+					candidate = candidate.toLocalDate().plusDays(1).atStartOfDay();
+					continue;
+				}
+				if (nextHour != hour) {
+					candidate = candidate.withHour(nextHour).truncatedTo(ChronoUnit.HOURS);
+					continue;
+				}
+
+				int minute = candidate.getMinute();
+				int nextMinute = nextSetBit(generator.minutesMask, minute);
+				if (nextMinute == -1) {
+					candidate = candidate.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+					continue;
+				}
+				if (nextMinute != minute) {
+					candidate = candidate.withMinute(nextMinute).truncatedTo(ChronoUnit.MINUTES);
+					continue;
+				}
+
+				int second = candidate.getSecond();
+				int nextSecond = nextSetBit(generator.secondsMask, second);
+				if (nextSecond == -1) {
+					candidate = candidate.truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+					continue;
+				}
+				if (nextSecond != second) {
+					candidate = candidate.withSecond(nextSecond);
+					continue;
+				}
+
+				ZonedDateTime result = ZonedDateTime.ofLocal(candidate, zoneId, null);
+				if (!result.toLocalDateTime().equals(candidate)) {
+					// Within a gap: continue with the first local time after it
+					candidate = zoneId.getRules().getTransition(candidate).getDateTimeAfter();
+					continue;
+				}
+				if (!result.toInstant().isAfter(instant)) {
+					// Within an overlap, the match resolves to the earlier offset: the
+					// given date lies in the later half, so that local time has passed
+					candidate = candidate.plusSeconds(1);
+					continue;
+				}
+				return new Date(result.toInstant().toEpochMilli());
+			}
+		}
+
+		/**
+		 * Return the index of the lowest bit set in the mask at or above the
+		 * given index, or -1 if there is none.
+		 */
+		private static int nextSetBit(long mask, int fromIndex) {
+			long bits = mask & (-1L << fromIndex);
+			return (bits != 0 ? Long.numberOfTrailingZeros(bits) : -1);
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,6 +25,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -47,6 +49,7 @@ import org.springframework.format.support.FormatterPropertyEditorAdapter;
 import org.springframework.lang.UsesJava8;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.PatternMatchUtils;
 import org.springframework.util.StringUtils;
@@ -125,6 +128,13 @@ public class DataBinder implements PropertyEditorRegistry, TypeConverter {
 	 */
 	protected static final Log logger = LogFactory.getLog(DataBinder.class);
 
+	/**
+	 * Binding plans per target class and field configuration, shared across
+	 * the DataBinder instances that are typically created for every request.
+	 */
+	private static final ConcurrentMap<BindingPlanKey, BindingPlan> bindingPlanCache =
+			new ConcurrentReferenceHashMap<BindingPlanKey, BindingPlan>(64);
+
 	private static Class<?> javaUtilOptionalClass = null;
 
 	static {
@@ -160,6 +170,8 @@ public class DataBinder implements PropertyEditorRegistry, TypeConverter {
 
 	private String[] requiredFields;
 
+	private BindingPlan bindingPlan;
+
 	private BindingErrorProcessor bindingErrorProcessor = new DefaultBindingErrorProcessor();
 
 	private final List<Validator> validators = new ArrayList<Validator>();
@@ -425,6 +437,7 @@ public class DataBinder implements PropertyEditorRegistry, TypeConverter {
 	 */
 	public void setAllowedFields(String... allowedFields) {
 		this.allowedFields = PropertyAccessorUtils.canonicalPropertyNames(allowedFields);
+		this.bindingPlan = null;
 	}
 
 	/**
@@ -449,6 +462,7 @@ public class DataBinder implements PropertyEditorRegistry, TypeConverter {
 	 */
 	public void setDisallowedFields(String... disallowedFields) {
 		this.disallowedFields = PropertyAccessorUtils.canonicalPropertyNames(disallowedFields);
+		this.bindingPlan = null;
 	}
 
 	/**
@@ -738,9 +752,10 @@ public class DataBinder implements PropertyEditorRegistry, TypeConverter {
 	 * @see #isAllowed(String)
 	 */
 	protected void checkAllowedFields(MutablePropertyValues mpvs) {
+		BindingPlan plan = getBindingPlan();
 		PropertyValue[] pvs = mpvs.getPropertyValues();
 		for (PropertyValue pv : pvs) {
-			String field = PropertyAccessorUtils.canonicalPropertyName(pv.getName());
+			String field = plan.getCanonicalName(pv.getName());
 			if (!isAllowed(field)) {
 				mpvs.removePropertyValue(pv);
 				getBindingResult().recordSuppressedField(field);
@@ -759,6 +774,9 @@ public class DataBinder implements PropertyEditorRegistry, TypeConverter {
 	 * as well as direct equality, in the specified lists of allowed fields and
 	 * disallowed fields. A field matching a disallowed pattern will not be accepted
 	 * even if it also happens to match a pattern in the allowed list.
+	 * <p>The outcome is cached per field in a binding plan that is shared by all
+	 * DataBinders for the same target class and field configuration, so that
+	 * the patterns are only matched once per field name.
 	 * <p>Can be overridden in subclasses.
 	 * @param field the field to check
 	 * @return if the field is allowed
@@ -767,10 +785,7 @@ public class DataBinder implements PropertyEditorRegistry, TypeConverter {
 	 * @see org.springframework.util.PatternMatchUtils#simpleMatch(String, String)
 	 */
 	protected boolean isAllowed(String field) {
-		String[] allowed = getAllowedFields();
-		String[] disallowed = getDisallowedFields();
-		return ((ObjectUtils.isEmpty(allowed) || PatternMatchUtils.simpleMatch(allowed, field)) &&
-				(ObjectUtils.isEmpty(disallowed) || !PatternMatchUtils.simpleMatch(disallowed, field)));
+		return getBindingPlan().isAllowed(field);
 	}
 
 	/**
@@ -786,8 +801,9 @@ public class DataBinder implements PropertyEditorRegistry, TypeConverter {
 		if (!ObjectUtils.isEmpty(requiredFields)) {
 			Map<String, PropertyValue> propertyValues = new HashMap<String, PropertyValue>();
 			PropertyValue[] pvs = mpvs.getPropertyValues();
+			BindingPlan plan = getBindingPlan();
 			for (PropertyValue pv : pvs) {
-				String canonicalName = PropertyAccessorUtils.canonicalPropertyName(pv.getName());
+				String canonicalName = plan.getCanonicalName(pv.getName());
 				propertyValues.put(canonicalName, pv);
 			}
 			for (String field : requiredFields) {
@@ -886,6 +902,125 @@ public class DataBinder implements PropertyEditorRegistry, TypeConverter {
 	}
 
 
+	/**
+	 * Obtain the binding plan for the current target class and field
+	 * configuration, reusing a cached plan where possible.
+	 */
+	private BindingPlan getBindingPlan() {
+		BindingPlan plan = this.bindingPlan;
+		if (plan == null) {
+			BindingPlanKey key = new BindingPlanKey(
+					(getTarget() != null ? getTarget().getClass() : null), getAllowedFields(), getDisallowedFields());
+			plan = bindingPlanCache.get(key);
+			if (plan == null) {
+				plan = new BindingPlan(key.allowedFields, key.disallowedFields);
+				BindingPlan existing = bindingPlanCache.putIfAbsent(key, plan);
+				if (existing != null) {
+					plan = existing;
+				}
+			}
+			this.bindingPlan = plan;
+		}
+		return plan;
+	}
+
+
+	/**
+	 * Cache key for a {@link BindingPlan}.
+	 */
+	private static final class BindingPlanKey {
+
+		private final Class<?> targetClass;
+
+		private final String[] allowedFields;
+
+		private final String[] disallowedFields;
+
+		public BindingPlanKey(Class<?> targetClass, String[] allowedFields, String[] disallowedFields) {
+			this.targetClass = targetClass;
+			this.allowedFields = (allowedFields != null ? allowedFields.clone() : null);
+			this.disallowedFields = (disallowedFields != null ? disallowedFields.clone() : null);
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof BindingPlanKey)) {
+				return false;
+			}
+			BindingPlanKey otherKey = (BindingPlanKey) other;
+			return (this.targetClass == otherKey.targetClass &&
+					Arrays.equals(this.allowedFields, otherKey.allowedFields) &&
+					Arrays.equals(this.disallowedFields, otherKey.disallowedFields));
+		}
+
+		@Override
+		public int hashCode() {
+			return (ObjectUtils.nullSafeHashCode(this.targetClass) * 29 +
+					Arrays.hashCode(this.allowedFields)) * 29 + Arrays.hashCode(this.disallowedFields);
+		}
+	}
+
+
+	/**
+	 * Precomputed binding decisions for a target class and field configuration:
+	 * the canonical name of each submitted property path as well as whether the
+	 * field is allowed according to the allowed and disallowed field patterns.
+	 * <p>Since field names are client-supplied, the number of cached names is
+	 * limited; further names are resolved on every call.
+	 */
+	private static final class BindingPlan {
+
+		private static final int MAX_CACHED_FIELDS = 1024;
+
+		private final String[] allowedFields;
+
+		private final String[] disallowedFields;
+
+		private final boolean unrestricted;
+
+		private final ConcurrentMap<String, String> canonicalNames = new ConcurrentHashMap<String, String>(64);
+
+		private final ConcurrentMap<String, Boolean> allowedDecisions = new ConcurrentHashMap<String, Boolean>(64);
+
+		public BindingPlan(String[] allowedFields, String[] disallowedFields) {
+			this.allowedFields = allowedFields;
+			this.disallowedFields = disallowedFields;
+			this.unrestricted = (ObjectUtils.isEmpty(allowedFields) && ObjectUtils.isEmpty(disallowedFields));
+		}
+
+		public String getCanonicalName(String propertyName) {
+			String canonicalName = this.canonicalNames.get(propertyName);
+			if (canonicalName == null) {
+				canonicalName = PropertyAccessorUtils.canonicalPropertyName(propertyName);
+				if (this.canonicalNames.size() < MAX_CACHED_FIELDS) {
+					this.canonicalNames.put(propertyName, canonicalName);
+				}
+			}
+			return canonicalName;
+		}
+
+		public boolean isAllowed(String field) {
+			if (this.unrestricted) {
+				return true;
+			}
+			Boolean allowed = this.allowedDecisions.get(field);
+			if (allowed == null) {
+				allowed = ((ObjectUtils.isEmpty(this.allowedFields) ||
+						PatternMatchUtils.simpleMatch(this.allowedFields, field)) &&
+						(ObjectUtils.isEmpty(this.disallowedFields) ||
+						!PatternMatchUtils.simpleMatch(this.disallowedFields, field)));
+				if (this.allowedDecisions.size() < MAX_CACHED_FIELDS) {
+					this.allowedDecisions.put(field, allowed);
+				}
+			}
+			return allowed;
+		}
+	}
+
+
 	/**
 	 * Inner class to avoid a hard dependency on Java 8.
 	 */
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,12 +17,15 @@
 package org.springframework.validation.beanvalidation;
 
 import java.lang.reflect.Method;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
 import javax.validation.Validation;
 import javax.validation.Validator;
 import javax.validation.ValidatorFactory;
+import javax.validation.metadata.BeanDescriptor;
 
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
@@ -31,6 +34,7 @@ import org.hibernate.validator.HibernateValidator;
 import org.springframework.core.BridgeMethodResolver;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ObjectUtils;
 import org.springframework.util.ReflectionUtils;
 import org.springframework.validation.annotation.Validated;
 
@@ -52,6 +56,10 @@ import org.springframework.validation.annotation.Validated;
  * (such as Hibernate Validator 5.x) or the Bean Validation 1.0 API with Hibernate Validator
  * 4.3. The actual provider will be autodetected and automatically adapted.
  *
+ * <p>As of Spring 4.3, the provider's constraint metadata is introspected once per
+ * method: invocations of methods without any parameter or return value constraints
+ * (including cascaded validation) proceed without calling the validator at all.
+ *
  * @author Juergen Hoeller
  * @since 3.1
  * @see MethodValidationPostProcessor
@@ -66,6 +74,12 @@ public class MethodValidationInterceptor implements MethodInterceptor {
 
 	private static Method validateReturnValueMethod;
 
+	private static Method getConstraintsForMethodMethod;
+
+	private static Method hasConstrainedParametersMethod;
+
+	private static Method hasConstrainedReturnValueMethod;
+
 	static {
 		try {
 			forExecutablesMethod = Validator.class.getMethod("forExecutables");
@@ -74,6 +88,11 @@ public class MethodValidationInterceptor implements MethodInterceptor {
 					"validateParameters", Object.class, Method.class, Object[].class, Class[].class);
 			validateReturnValueMethod = executableValidatorClass.getMethod(
 					"validateReturnValue", Object.class, Method.class, Object.class, Class[].class);
+			getConstraintsForMethodMethod = BeanDescriptor.class.getMethod(
+					"getConstraintsForMethod", String.class, Class[].class);
+			Class<?> methodDescriptorClass = getConstraintsForMethodMethod.getReturnType();
+			hasConstrainedParametersMethod = methodDescriptorClass.getMethod("hasConstrainedParameters");
+			hasConstrainedReturnValueMethod = methodDescriptorClass.getMethod("hasConstrainedReturnValue");
 		}
 		catch (Exception ex) {
 			// Bean Validation 1.1 ExecutableValidator API not available
@@ -83,6 +102,9 @@ public class MethodValidationInterceptor implements MethodInterceptor {
 
 	private final Validator validator;
 
+	private final Map<MethodConstraintsKey, MethodConstraints> constraintsCache =
+			new ConcurrentHashMap<MethodConstraintsKey, MethodConstraints>(256);
+
 
 	/**
 	 * Create a new MethodValidationInterceptor using a default JSR-303 validator underneath.
@@ -112,6 +134,11 @@ public class MethodValidationInterceptor implements MethodInterceptor {
 	@Override
 	@SuppressWarnings("unchecked")
 	public Object invoke(MethodInvocation invocation) throws Throwable {
+		MethodConstraints constraints = getMethodConstraints(invocation);
+		if (!constraints.parameters && !constraints.returnValue) {
+			return invocation.proceed();
+		}
+
 		Class<?>[] groups = determineValidationGroups(invocation);
 
 		if (forExecutablesMethod != null) {
@@ -120,28 +147,42 @@ public class MethodValidationInterceptor implements MethodInterceptor {
 			Method methodToValidate = invocation.getMethod();
 			Set<ConstraintViolation<?>> result;
 
-			try {
-				result = (Set<ConstraintViolation<?>>) ReflectionUtils.invokeMethod(validateParametersMethod,
-						execVal, invocation.getThis(), methodToValidate, invocation.getArguments(), groups);
-			}
-			catch (IllegalArgumentException ex) {
-				// Probably a generic type mismatch between interface and impl as reported in SPR-12237 / HV-1011
-				// Let's try to find the bridged method on the implementation class...
-				methodToValidate = BridgeMethodResolver.findBridgedMethod(
-						ClassUtils.getMostSpecificMethod(invocation.getMethod(), invocation.getThis().getClass()));
-				result = (Set<ConstraintViolation<?>>) ReflectionUtils.invokeMethod(validateParametersMethod,
-						execVal, invocation.getThis(), methodToValidate, invocation.getArguments(), groups);
-			}
-			if (!result.isEmpty()) {
-				throw new ConstraintViolationException(result);
+			if (constraints.parameters) {
+				try {
+					result = (Set<ConstraintViolation<?>>) ReflectionUtils.invokeMethod(validateParametersMethod,
+							execVal, invocation.getThis(), methodToValidate, invocation.getArguments(), groups);
+				}
+				catch (IllegalArgumentException ex) {
+					// Probably a generic type mismatch between interface and impl as reported in SPR-12237 / HV-1011
+					// Let's try to find the bridged method on the implementation class...
+					methodToValidate = findBridgedMethod(invocation);
+					result = (Set<ConstraintViolation<?>>) ReflectionUtils.invokeMethod(validateParametersMethod,
+							execVal, invocation.getThis(), methodToValidate, invocation.getArguments(), groups);
+				}
+				if (!result.isEmpty()) {
+					throw new ConstraintViolationException(result);
+				}
 			}
 
 			Object returnValue = invocation.proceed();
 
-			result = (Set<ConstraintViolation<?>>) ReflectionUtils.invokeMethod(validateReturnValueMethod,
-					execVal, invocation.getThis(), methodToValidate, returnValue, groups);
-			if (!result.isEmpty()) {
-				throw new ConstraintViolationException(result);
+			if (constraints.returnValue) {
+				try {
+					result = (Set<ConstraintViolation<?>>) ReflectionUtils.invokeMethod(validateReturnValueMethod,
+							execVal, invocation.getThis(), methodToValidate, returnValue, groups);
+				}
+				catch (IllegalArgumentException ex) {
+					if (methodToValidate != invocation.getMethod()) {
+						throw ex;
+					}
+					// See above: generic type mismatch, not detected on parameter validation
+					methodToValidate = findBridgedMethod(invocation);
+					result = (Set<ConstraintViolation<?>>) ReflectionUtils.invokeMethod(validateReturnValueMethod,
+							execVal, invocation.getThis(), methodToValidate, returnValue, groups);
+				}
+				if (!result.isEmpty()) {
+					throw new ConstraintViolationException(result);
+				}
 			}
 
 			return returnValue;
@@ -153,6 +194,74 @@ public class MethodValidationInterceptor implements MethodInterceptor {
 		}
 	}
 
+	private Method findBridgedMethod(MethodInvocation invocation) {
+		return BridgeMethodResolver.findBridgedMethod(
+				ClassUtils.getMostSpecificMethod(invocation.getMethod(), invocation.getThis().getClass()));
+	}
+
+	/**
+	 * Determine whether the given method invocation has any parameter or return
+	 * value constraints to validate, as indicated by the provider's metadata.
+	 * The result is cached per method and target class.
+	 */
+	private MethodConstraints getMethodConstraints(MethodInvocation invocation) {
+		Object target = invocation.getThis();
+		if (target == null) {
+			return MethodConstraints.ALL;
+		}
+		MethodConstraintsKey key = new MethodConstraintsKey(invocation.getMethod(), target.getClass());
+		MethodConstraints constraints = this.constraintsCache.get(key);
+		if (constraints == null) {
+			constraints = introspectMethodConstraints(invocation.getMethod(), target.getClass());
+			this.constraintsCache.put(key, constraints);
+		}
+		return constraints;
+	}
+
+	private MethodConstraints introspectMethodConstraints(Method method, Class<?> targetClass) {
+		// Check the invoked signature as well as the bridged method on the implementation class,
+		// since the provider may register constraints for either one with generic interfaces.
+		Method bridgedMethod = BridgeMethodResolver.findBridgedMethod(
+				ClassUtils.getMostSpecificMethod(method, targetClass));
+		try {
+			if (forExecutablesMethod != null) {
+				if (getConstraintsForMethodMethod == null) {
+					return MethodConstraints.ALL;
+				}
+				BeanDescriptor descriptor = this.validator.getConstraintsForClass(targetClass);
+				MethodConstraints constraints = introspectMethodConstraints(descriptor, method);
+				if (!bridgedMethod.equals(method)) {
+					constraints = constraints.merge(introspectMethodConstraints(descriptor, bridgedMethod));
+				}
+				return constraints;
+			}
+			else {
+				MethodConstraints constraints =
+						HibernateValidatorDelegate.introspectMethodConstraints(this.validator, targetClass, method);
+				if (!bridgedMethod.equals(method)) {
+					constraints = constraints.merge(HibernateValidatorDelegate.introspectMethodConstraints(
+							this.validator, targetClass, bridgedMethod));
+				}
+				return constraints;
+			}
+		}
+		catch (RuntimeException ex) {
+			// Provider not able to expose method metadata - validate every invocation then.
+			return MethodConstraints.ALL;
+		}
+	}
+
+	private static MethodConstraints introspectMethodConstraints(BeanDescriptor descriptor, Method method) {
+		Object methodDescriptor = ReflectionUtils.invokeMethod(getConstraintsForMethodMethod,
+				descriptor, method.getName(), method.getParameterTypes());
+		if (methodDescriptor == null) {
+			return MethodConstraints.NONE;
+		}
+		return MethodConstraints.of(
+				(Boolean) ReflectionUtils.invokeMethod(hasConstrainedParametersMethod, methodDescriptor),
+				(Boolean) ReflectionUtils.invokeMethod(hasConstrainedReturnValueMethod, methodDescriptor));
+	}
+
 	/**
 	 * Determine the validation groups to validate against for the given method invocation.
 	 * <p>Default are the validation groups as specified in the {@link Validated} annotation
@@ -178,6 +287,28 @@ public class MethodValidationInterceptor implements MethodInterceptor {
 			return Validation.byProvider(HibernateValidator.class).configure().buildValidatorFactory();
 		}
 
+		@SuppressWarnings("deprecation")
+		public static MethodConstraints introspectMethodConstraints(
+				Validator validator, Class<?> targetClass, Method method) {
+
+			org.hibernate.validator.method.MethodValidator methodValidator =
+					validator.unwrap(org.hibernate.validator.method.MethodValidator.class);
+			org.hibernate.validator.method.metadata.MethodDescriptor methodDescriptor = methodValidator
+					.getConstraintsForType(targetClass).getConstraintsForMethod(method.getName(), method.getParameterTypes());
+			if (methodDescriptor == null) {
+				return MethodConstraints.NONE;
+			}
+			boolean parameters = false;
+			for (org.hibernate.validator.method.metadata.ParameterDescriptor parameterDescriptor :
+					methodDescriptor.getParameterDescriptors()) {
+				if (parameterDescriptor.hasConstraints() || parameterDescriptor.isCascaded()) {
+					parameters = true;
+					break;
+				}
+			}
+			return MethodConstraints.of(parameters, methodDescriptor.hasConstraints() || methodDescriptor.isCascaded());
+		}
+
 		@SuppressWarnings("deprecation")
 		public static Object invokeWithinValidation(MethodInvocation invocation, Validator validator, Class<?>[] groups)
 				throws Throwable {
@@ -200,4 +331,68 @@ public class MethodValidationInterceptor implements MethodInterceptor {
 		}
 	}
 
+
+	/**
+	 * Cache key for the {@link MethodConstraints} of a method on a target class.
+	 */
+	private static final class MethodConstraintsKey {
+
+		private final Method method;
+
+		private final Class<?> targetClass;
+
+		public MethodConstraintsKey(Method method, Class<?> targetClass) {
+			this.method = method;
+			this.targetClass = targetClass;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof MethodConstraintsKey)) {
+				return false;
+			}
+			MethodConstraintsKey otherKey = (MethodConstraintsKey) other;
+			return (this.method.equals(otherKey.method) && this.targetClass == otherKey.targetClass);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.method.hashCode() * 29 + ObjectUtils.nullSafeHashCode(this.targetClass);
+		}
+	}
+
+
+	/**
+	 * Whether a method declares parameter and/or return value constraints.
+	 */
+	private static final class MethodConstraints {
+
+		static final MethodConstraints NONE = new MethodConstraints(false, false);
+
+		static final MethodConstraints ALL = new MethodConstraints(true, true);
+
+		final boolean parameters;
+
+		final boolean returnValue;
+
+		private MethodConstraints(boolean parameters, boolean returnValue) {
+			this.parameters = parameters;
+			this.returnValue = returnValue;
+		}
+
+		MethodConstraints merge(MethodConstraints other) {
+			return of(this.parameters || other.parameters, this.returnValue || other.returnValue);
+		}
+
+		static MethodConstraints of(boolean parameters, boolean returnValue) {
+			if (parameters) {
+				return (returnValue ? ALL : new MethodConstraints(true, false));
+			}
+			return (returnValue ? new MethodConstraints(false, true) : NONE);
+		}
+	}
+
 }
@@ -25,6 +25,8 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -35,6 +37,7 @@ import org.springframework.cache.interceptor.CacheOperation;
 import org.springframework.cache.interceptor.CacheableOperation;
 import org.springframework.core.annotation.AliasFor;
 import org.springframework.util.ReflectionUtils;
+import org.springframework.util.concurrent.ListenableFuture;
 
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
@@ -166,6 +169,44 @@ public class AnnotationCacheOperationSourceTests {
 		getOps(AnnotatedClass.class, "invalidKeyAndKeyGeneratorSet");
 	}
 
+	@Test
+	public void bulkKeysAndKeyCannotBeSetTogether() {
+		exception.expect(IllegalStateException.class);
+		getOps(AnnotatedClass.class, "invalidBulkKeysAndKeySet");
+	}
+
+	@Test
+	public void bulkKeysOnVarargsMethod() {
+		exception.expect(IllegalStateException.class);
+		Method method = ReflectionUtils.findMethod(AnnotatedClass.class, "invalidBulkKeysOnVarargs", Long[].class);
+		source.getCacheOperations(method, AnnotatedClass.class);
+	}
+
+	@Test
+	public void refreshAfterAndSyncCannotBeSetTogether() {
+		exception.expect(IllegalStateException.class);
+		getOps(AnnotatedClass.class, "invalidRefreshAfterAndSyncSet");
+	}
+
+	@Test
+	public void refreshAfterOnMethodReturningListenableFuture() {
+		exception.expect(IllegalStateException.class);
+		getOps(AnnotatedClass.class, "invalidRefreshAfterOnListenableFuture");
+	}
+
+	@Test
+	public void refreshAfterOnMethodReturningCompletableFuture() {
+		exception.expect(IllegalStateException.class);
+		getOps(AnnotatedClass.class, "invalidRefreshAfterOnCompletableFuture");
+	}
+
+	@Test
+	public void bulkKeysWithClassLevelKeyGenerator() {
+		Collection<CacheOperation> ops = getOps(AnnotatedClassWithFullDefault.class, "bulkKeys", 1);
+		CacheableOperation cacheOperation = (CacheableOperation) ops.iterator().next();
+		assertEquals("#ids", cacheOperation.getBulkKeys());
+	}
+
 	@Test
 	public void customCacheManager() {
 		Collection<CacheOperation> ops = getOps(AnnotatedClass.class, "customCacheManager", 1);
@@ -344,6 +385,29 @@ public class AnnotationCacheOperationSourceTests {
 		public void invalidKeyAndKeyGeneratorSet() {
 		}
 
+		@Cacheable(cacheNames = "test", bulkKeys = "#ids", key = "#ids")
+		public void invalidBulkKeysAndKeySet() {
+		}
+
+		@Cacheable(cacheNames = "test", bulkKeys = "#ids")
+		public Map<Long, Object> invalidBulkKeysOnVarargs(Long... ids) {
+			return null;
+		}
+
+		@Cacheable(cacheNames = "test", refreshAfter = 1000, sync = true)
+		public void invalidRefreshAfterAndSyncSet() {
+		}
+
+		@Cacheable(cacheNames = "test", refreshAfter = 1000)
+		public ListenableFuture<Object> invalidRefreshAfterOnListenableFuture() {
+			return null;
+		}
+
+		@Cacheable(cacheNames = "test", refreshAfter = 1000)
+		public CompletableFuture<Object> invalidRefreshAfterOnCompletableFuture() {
+			return null;
+		}
+
 		@CacheableFooCustomCacheManager
 		public void customCacheManagerInherited() {
 		}
@@ -370,6 +434,10 @@ public class AnnotationCacheOperationSourceTests {
 		public void methodLevelCacheName() {
 		}
 
+		@Cacheable(bulkKeys = "#ids")
+		public void bulkKeys() {
+		}
+
 		@Cacheable(keyGenerator = "custom")
 		public void methodLevelKeyGenerator() {
 		}
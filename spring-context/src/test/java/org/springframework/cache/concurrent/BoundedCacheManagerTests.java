@@ -0,0 +1,109 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.util.Collections;
+
+import org.junit.Test;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link BoundedCacheManager}.
+ *
+ * @since 4.3
+ */
+public class BoundedCacheManagerTests {
+
+	@Test
+	public void dynamicMode() {
+		CacheManager cm = new BoundedCacheManager();
+		Cache cache1 = cm.getCache("c1");
+		assertTrue(cache1 instanceof BoundedCache);
+		assertSame(cache1, cm.getCache("c1"));
+		Cache cache2 = cm.getCache("c2");
+		assertNotSame(cache1, cache2);
+
+		cache1.put("key1", "value1");
+		assertEquals("value1", cache1.get("key1").get());
+		cache1.put("key3", null);
+		assertNull(cache1.get("key3").get());
+		cache1.evict("key3");
+		assertNull(cache1.get("key3"));
+		assertEquals("value1", cache1.putIfAbsent("key1", "value1x").get());
+		assertNull(cache1.putIfAbsent("key3", null));
+		assertNull(cache1.putIfAbsent("key3", null).get());
+	}
+
+	@Test
+	public void staticMode() {
+		BoundedCacheManager cm = new BoundedCacheManager("c1", "c2");
+		assertEquals(2, cm.getCacheNames().size());
+		assertTrue(cm.getCache("c1") instanceof BoundedCache);
+		assertNull(cm.getCache("c3"));
+
+		cm.setCacheNames(null);
+		assertNotNull(cm.getCache("c3"));
+	}
+
+	@Test
+	public void defaultMaximumSize() {
+		BoundedCache cache = (BoundedCache) new BoundedCacheManager().getCache("c1");
+		for (int i = 0; i < BoundedCacheManager.DEFAULT_MAXIMUM_SIZE + 100; i++) {
+			cache.put(i, i);
+		}
+		assertEquals(BoundedCacheManager.DEFAULT_MAXIMUM_SIZE, cache.size());
+	}
+
+	@Test
+	public void cacheSpecPerName() {
+		BoundedCacheManager cm = new BoundedCacheManager();
+		cm.setCacheSpecification("maximumSize=5");
+		BoundedCacheSpec spec = new BoundedCacheSpec();
+		spec.setMaximumSize(2);
+		cm.setCacheSpecs(Collections.singletonMap("small", spec));
+
+		BoundedCache defaultCache = (BoundedCache) cm.getCache("default");
+		BoundedCache smallCache = (BoundedCache) cm.getCache("small");
+		for (int i = 0; i < 10; i++) {
+			defaultCache.put(i, i);
+			smallCache.put(i, i);
+		}
+		assertEquals(5, defaultCache.size());
+		assertEquals(2, smallCache.size());
+	}
+
+	@Test
+	public void changeSettingsRecreatesCaches() {
+		BoundedCacheManager cm = new BoundedCacheManager("c1");
+		Cache cache1 = cm.getCache("c1");
+		cache1.put("key", null);
+		assertNotNull(cache1.get("key"));
+
+		cm.setAllowNullValues(false);
+		Cache cache1x = cm.getCache("c1");
+		assertNotSame(cache1, cache1x);
+		assertNull(cache1x.get("key"));
+
+		cm.setCacheSpecification("maximumSize=10");
+		assertNotSame(cache1x, cm.getCache("c1"));
+	}
+
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cache.AbstractCacheTests;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link BoundedCache}.
+ *
+ * @since 4.3
+ */
+public class BoundedCacheTests extends AbstractCacheTests<BoundedCache> {
+
+	private BoundedCache cache;
+
+	private long time = 0;
+
+
+	@Before
+	public void setUp() {
+		this.cache = new BoundedCache(CACHE_NAME, 1000);
+	}
+
+	@Override
+	protected BoundedCache getCache() {
+		return this.cache;
+	}
+
+	@Override
+	protected Object getNativeCache() {
+		return this.cache;
+	}
+
+
+	@Test
+	public void maximumSize() {
+		BoundedCache cache = new BoundedCache(CACHE_NAME, 100);
+		for (int i = 0; i < 1000; i++) {
+			cache.put(i, "value" + i);
+		}
+		assertEquals(100, cache.weightedSize());
+		assertEquals(100, cache.size());
+	}
+
+	@Test
+	public void frequentlyUsedEntriesSurviveScan() {
+		BoundedCache cache = new BoundedCache(CACHE_NAME, 100);
+		for (int round = 0; round < 5; round++) {
+			for (int i = 0; i < 50; i++) {
+				if (cache.get("hot" + i) == null) {
+					cache.put("hot" + i, i);
+				}
+			}
+		}
+		for (int i = 0; i < 1000; i++) {
+			cache.put("scan" + i, i);
+		}
+		cache.cleanUp();
+		int hits = 0;
+		for (int i = 0; i < 50; i++) {
+			if (cache.get("hot" + i) != null) {
+				hits++;
+			}
+		}
+		assertTrue("Expected most frequently used entries to be retained: " + hits, hits >= 45);
+		assertEquals(100, cache.size());
+	}
+
+	@Test
+	public void maximumWeight() {
+		BoundedCacheSpec spec = new BoundedCacheSpec();
+		spec.setMaximumWeight(100);
+		spec.setWeigher(new BoundedCache.Weigher() {
+			@Override
+			public int weigh(Object key, Object value) {
+				return ((String) value).length();
+			}
+		});
+		BoundedCache cache = new BoundedCache(CACHE_NAME, spec, true);
+		for (int i = 0; i < 100; i++) {
+			cache.put(i, "0123456789");
+		}
+		assertTrue(cache.weightedSize() <= 100);
+		assertTrue(cache.size() <= 10);
+
+		cache.put("heavy", "01234567890123456789012345678901234567890123456789" +
+				"012345678901234567890123456789012345678901234567890");
+		assertNull(cache.get("heavy"));
+		assertTrue(cache.weightedSize() <= 100);
+	}
+
+	@Test
+	public void expireAfterWrite() {
+		BoundedCacheSpec spec = new BoundedCacheSpec();
+		spec.setExpireAfterWrite(1000);
+		BoundedCache cache = createCacheWithTestTime(spec);
+		cache.put("key", "value");
+		advanceTime(500);
+		assertEquals("value", cache.get("key").get());
+		advanceTime(500);
+		assertNull(cache.get("key"));
+		assertEquals(0, cache.size());
+
+		cache.put("key1", "value1");
+		cache.put("key2", "value2");
+		advanceTime(1000);
+		cache.cleanUp();
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void expireAfterAccess() {
+		BoundedCacheSpec spec = new BoundedCacheSpec();
+		spec.setExpireAfterAccess(1000);
+		BoundedCache cache = createCacheWithTestTime(spec);
+		cache.put("key", "value");
+		cache.put("other", "value");
+		for (int i = 0; i < 5; i++) {
+			advanceTime(600);
+			assertEquals("value", cache.get("key").get());
+		}
+		cache.cleanUp();
+		assertEquals(1, cache.size());
+		assertNull(cache.get("other"));
+	}
+
+	@Test
+	public void putIfAbsentReplacesExpiredEntry() {
+		BoundedCacheSpec spec = new BoundedCacheSpec();
+		spec.setExpireAfterWrite(1000);
+		BoundedCache cache = createCacheWithTestTime(spec);
+		assertNull(cache.putIfAbsent("key", "value1"));
+		assertEquals("value1", cache.putIfAbsent("key", "value2").get());
+		advanceTime(1000);
+		assertNull(cache.putIfAbsent("key", "value3"));
+		assertEquals("value3", cache.get("key").get());
+	}
+
+	@Test
+	public void clearResetsWeightedSize() {
+		BoundedCache cache = new BoundedCache(CACHE_NAME, 10);
+		for (int i = 0; i < 20; i++) {
+			cache.put(i, i);
+		}
+		cache.clear();
+		assertEquals(0, cache.weightedSize());
+		assertEquals(0, cache.size());
+		cache.put("key", "value");
+		assertEquals(1, cache.weightedSize());
+	}
+
+	@Test
+	public void replacedEntryIsCountedOnce() {
+		BoundedCache cache = new BoundedCache(CACHE_NAME, 10);
+		for (int i = 0; i < 100; i++) {
+			cache.put("key", i);
+		}
+		assertEquals(1, cache.weightedSize());
+		assertEquals(99, cache.get("key").get());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void maximumWeightWithoutWeigher() {
+		BoundedCacheSpec spec = new BoundedCacheSpec();
+		spec.setMaximumWeight(100);
+		new BoundedCache(CACHE_NAME, spec, true);
+	}
+
+	@Test
+	public void parseSpecification() {
+		BoundedCacheSpec spec = BoundedCacheSpec.parse("maximumSize=500, expireAfterWrite=10m,expireAfterAccess=250ms");
+		assertEquals(500, spec.getMaximumSize());
+		assertEquals(TimeUnit.MINUTES.toMillis(10), spec.getExpireAfterWrite());
+		assertEquals(250, spec.getExpireAfterAccess());
+		assertEquals(-1, spec.getMaximumWeight());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void parseSpecificationWithUnknownKey() {
+		BoundedCacheSpec.parse("maximumSize=500,refreshAfterWrite=1m");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void parseSpecificationWithInvalidDuration() {
+		BoundedCacheSpec.parse("expireAfterWrite=10");
+	}
+
+
+	private BoundedCache createCacheWithTestTime(BoundedCacheSpec spec) {
+		return new BoundedCache(CACHE_NAME, spec, true) {
+			@Override
+			long currentTime() {
+				return time;
+			}
+		};
+	}
+
+	private void advanceTime(long millis) {
+		this.time += TimeUnit.MILLISECONDS.toNanos(millis);
+	}
+
+}
@@ -26,6 +26,8 @@ import org.junit.Before;
 import org.junit.Test;
 
 import org.springframework.cache.AbstractCacheTests;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheStatistics;
 import org.springframework.core.serializer.support.SerializationDelegate;
 
 import static org.junit.Assert.*;
@@ -102,6 +104,46 @@ public class ConcurrentMapCacheTests extends AbstractCacheTests<ConcurrentMapCac
 		serializeCache.get(key);
 	}
 
+	@Test
+	public void testNoStatisticsByDefault() {
+		assertNull(this.cache.getCacheStatistics());
+	}
+
+	@Test
+	public void testStatistics() {
+		ConcurrentMapCache statisticsCache = new ConcurrentMapCache(CACHE_NAME, nativeCache, true, null, true);
+		CacheStatistics statistics = statisticsCache.getCacheStatistics();
+
+		statisticsCache.put("a", "1");
+		assertNull(statisticsCache.putIfAbsent("b", "2"));
+		assertNotNull(statisticsCache.putIfAbsent("b", "3"));
+		assertEquals("1", statisticsCache.get("a").get());
+		assertNull(statisticsCache.get("c"));
+		assertEquals("2", statisticsCache.get("b", String.class));
+		assertEquals(2, statisticsCache.getAll(Arrays.asList("a", "b", "c")).size());
+		assertEquals("4", statisticsCache.get("d", () -> "4"));
+		assertEquals("4", statisticsCache.get("d", () -> "5"));
+		try {
+			statisticsCache.get("e", () -> {
+				throw new IllegalStateException("Expected");
+			});
+			fail("Should have thrown ValueRetrievalException");
+		}
+		catch (Cache.ValueRetrievalException ex) {
+			// expected
+		}
+		statisticsCache.evict("a");
+		statisticsCache.evict("a");
+
+		assertEquals(5, statistics.getHitCount());
+		assertEquals(4, statistics.getMissCount());
+		assertEquals(3, statistics.getPutCount());
+		assertEquals(1, statistics.getEvictionCount());
+		assertEquals(1, statistics.getLoadSuccessCount());
+		assertEquals(1, statistics.getLoadFailureCount());
+		assertTrue(statistics.getTotalLoadTime() > 0);
+	}
+
 
 	private ConcurrentMapCache createCacheWithStoreByValue() {
 		return new ConcurrentMapCache(CACHE_NAME, nativeCache, true,
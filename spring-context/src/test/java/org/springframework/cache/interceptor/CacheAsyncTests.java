@@ -0,0 +1,206 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.CachingConfigurerSupport;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.SettableListenableFuture;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link Cacheable} methods returning a {@link ListenableFuture}
+ * or a {@link CompletableFuture}.
+ *
+ * @since 4.3
+ */
+public class CacheAsyncTests {
+
+	private ConfigurableApplicationContext context;
+
+	private AsyncService service;
+
+	private Cache cache;
+
+
+	@Before
+	public void setUp() {
+		this.context = new AnnotationConfigApplicationContext(Config.class);
+		this.service = this.context.getBean(AsyncService.class);
+		this.cache = this.context.getBean(CacheManager.class).getCache("async");
+	}
+
+	@After
+	public void closeContext() {
+		if (this.context != null) {
+			this.context.close();
+		}
+	}
+
+
+	@Test
+	public void listenableFutureLoadsAreCoalesced() throws Exception {
+		ListenableFuture<String> first = this.service.listenable("key");
+		ListenableFuture<String> second = this.service.listenable("key");
+		assertEquals(1, this.service.getListenableLoads().size());
+		assertNotSame(first, second);
+		assertFalse(first.isDone());
+		assertFalse(second.isDone());
+
+		this.service.getListenableLoads().get(0).set("value");
+		assertEquals("value", first.get());
+		assertEquals("value", second.get());
+		assertEquals("value", this.cache.get("key").get());
+
+		ListenableFuture<String> third = this.service.listenable("key");
+		assertTrue(third.isDone());
+		assertEquals("value", third.get());
+		assertEquals(1, this.service.getListenableLoads().size());
+	}
+
+	@Test
+	public void completableFutureLoadsAreCoalesced() throws Exception {
+		CompletableFuture<String> first = this.service.completable("key");
+		CompletableFuture<String> second = this.service.completable("key");
+		CompletableFuture<String> other = this.service.completable("other");
+		assertEquals(2, this.service.getCompletableLoads().size());
+		assertFalse(first.isDone());
+
+		this.service.getCompletableLoads().get(0).complete("value");
+		assertEquals("value", first.get());
+		assertEquals("value", second.get());
+		assertFalse(other.isDone());
+		assertEquals("value", this.cache.get("key").get());
+
+		CompletableFuture<String> third = this.service.completable("key");
+		assertTrue(third.isDone());
+		assertEquals("value", third.get());
+		assertEquals(2, this.service.getCompletableLoads().size());
+	}
+
+	@Test
+	public void failedLoadIsNotCached() throws Exception {
+		CompletableFuture<String> first = this.service.completable("key");
+		CompletableFuture<String> second = this.service.completable("key");
+		IllegalStateException failure = new IllegalStateException("test");
+		this.service.getCompletableLoads().get(0).completeExceptionally(failure);
+		assertSame(failure, getFailure(first));
+		assertSame(failure, getFailure(second));
+		assertNull(this.cache.get("key"));
+
+		CompletableFuture<String> third = this.service.completable("key");
+		assertEquals(2, this.service.getCompletableLoads().size());
+		this.service.getCompletableLoads().get(1).complete("value");
+		assertEquals("value", third.get());
+	}
+
+	@Test
+	public void unlessIsEvaluatedAgainstCompletedValue() throws Exception {
+		ListenableFuture<String> first = this.service.unless("key");
+		this.service.getListenableLoads().get(0).set(null);
+		assertNull(first.get());
+		assertNull(this.cache.get("key"));
+
+		this.service.unless("key");
+		assertEquals(2, this.service.getListenableLoads().size());
+	}
+
+
+	private static Throwable getFailure(CompletableFuture<?> future) throws InterruptedException {
+		try {
+			future.get();
+			fail("Should have thrown ExecutionException");
+			return null;
+		}
+		catch (ExecutionException ex) {
+			return ex.getCause();
+		}
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class Config extends CachingConfigurerSupport {
+
+		@Bean
+		@Override
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager();
+		}
+
+		@Bean
+		public AsyncService asyncService() {
+			return new AsyncService();
+		}
+	}
+
+
+	static class AsyncService {
+
+		final List<SettableListenableFuture<String>> listenableLoads = new ArrayList<>();
+
+		final List<CompletableFuture<String>> completableLoads = new ArrayList<>();
+
+		public List<SettableListenableFuture<String>> getListenableLoads() {
+			return this.listenableLoads;
+		}
+
+		public List<CompletableFuture<String>> getCompletableLoads() {
+			return this.completableLoads;
+		}
+
+		@Cacheable("async")
+		public ListenableFuture<String> listenable(String key) {
+			SettableListenableFuture<String> future = new SettableListenableFuture<>();
+			this.listenableLoads.add(future);
+			return future;
+		}
+
+		@Cacheable("async")
+		public CompletableFuture<String> completable(String key) {
+			CompletableFuture<String> future = new CompletableFuture<>();
+			this.completableLoads.add(future);
+			return future;
+		}
+
+		@Cacheable(cacheNames = "async", unless = "#result == null")
+		public ListenableFuture<String> unless(String key) {
+			SettableListenableFuture<String> future = new SettableListenableFuture<>();
+			this.listenableLoads.add(future);
+			return future;
+		}
+	}
+
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.After;
+import org.junit.Test;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.AnnotationCacheOperationSource;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.CachingConfigurerSupport;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.NearCacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link Cacheable#bulkKeys()} operations.
+ *
+ * @since 4.3
+ */
+public class CacheBulkTests {
+
+	private ConfigurableApplicationContext context;
+
+
+	@After
+	public void closeContext() {
+		if (this.context != null) {
+			this.context.close();
+		}
+	}
+
+
+	@Test
+	public void bulkLookupWithBulkCache() {
+		assertBulkLookup(BulkCacheConfig.class);
+	}
+
+	@Test
+	public void bulkLookupWithRegularCache() {
+		assertBulkLookup(RegularCacheConfig.class);
+	}
+
+	private void assertBulkLookup(Class<?> config) {
+		this.context = new AnnotationConfigApplicationContext(config);
+		UserService service = this.context.getBean(UserService.class);
+		Cache cache = this.context.getBean(CacheManager.class).getCache("users");
+
+		Map<Long, String> users = service.findUsers(Arrays.asList(1L, 2L, 3L));
+		assertEquals(Arrays.asList(1L, 2L, 3L), new ArrayList<>(users.keySet()));
+		assertEquals("user2", users.get(2L));
+		assertEquals(Arrays.asList(1L, 2L, 3L), service.getInvocations().get(0));
+		assertEquals("user3", cache.get(3L).get());
+
+		users = service.findUsers(Arrays.asList(4L, 3L, 2L));
+		assertEquals(Arrays.asList(4L, 3L, 2L), new ArrayList<>(users.keySet()));
+		assertEquals("user4", users.get(4L));
+		assertEquals(2, service.getInvocations().size());
+		assertEquals(Arrays.asList(4L), service.getInvocations().get(1));
+
+		users = service.findUsers(Arrays.asList(1L, 4L));
+		assertEquals(2, users.size());
+		assertEquals(2, service.getInvocations().size());
+	}
+
+	@Test
+	public void unlessIsEvaluatedPerValue() {
+		this.context = new AnnotationConfigApplicationContext(BulkCacheConfig.class);
+		UserService service = this.context.getBean(UserService.class);
+		Cache cache = this.context.getBean(CacheManager.class).getCache("users");
+
+		Map<Long, String> users = service.findExistingUsers(Arrays.asList(1L, -1L));
+		assertEquals(2, users.size());
+		assertNull(users.get(-1L));
+		assertEquals("user1", cache.get(1L).get());
+		assertNull(cache.get(-1L));
+
+		service.findExistingUsers(Arrays.asList(1L, -1L));
+		assertEquals(Arrays.asList(-1L), service.getInvocations().get(1));
+	}
+
+	@Test
+	public void setArgumentAndUnreturnedKeys() {
+		this.context = new AnnotationConfigApplicationContext(BulkCacheConfig.class);
+		UserService service = this.context.getBean(UserService.class);
+
+		service.findUsers(Arrays.asList(1L));
+		Map<Long, String> users = service.findUsersInSet(new TreeSet<>(Arrays.asList(1L, 2L, 42L)));
+		assertEquals(Arrays.asList(1L, 2L), new ArrayList<>(users.keySet()));
+		assertEquals(Arrays.asList(2L, 42L), service.getInvocations().get(1));
+	}
+
+	@Test
+	public void bulkKeysReferringToParameterByIndex() {
+		this.context = new AnnotationConfigApplicationContext(BulkCacheConfig.class);
+		UserService service = this.context.getBean(UserService.class);
+
+		service.findUsers(Arrays.asList(1L));
+		Map<Long, String> users = service.findUsersByIndex("tenant", Arrays.asList(1L, 2L));
+		assertEquals(Arrays.asList(1L, 2L), new ArrayList<>(users.keySet()));
+		assertEquals(Arrays.asList(2L), service.getInvocations().get(1));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void bulkKeysExpressionNotReferringToParameter() {
+		this.context = new AnnotationConfigApplicationContext(BulkCacheConfig.class);
+		this.context.getBean(UserService.class).findPositiveUsers(Arrays.asList(1L, -1L));
+	}
+
+	@Test
+	public void originalArgumentsLeftUntouched() {
+		CacheInterceptor interceptor = new CacheInterceptor();
+		interceptor.setCacheManager(new ConcurrentMapCacheManager());
+		interceptor.setCacheOperationSources(new AnnotationCacheOperationSource());
+		interceptor.afterPropertiesSet();
+		interceptor.afterSingletonsInstantiated();
+		final List<Object> outerArguments = new ArrayList<>();
+		ProxyFactory proxyFactory = new ProxyFactory(new UserService());
+		proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+			Object result = invocation.proceed();
+			if (invocation.getMethod().getName().equals("findUsers")) {
+				outerArguments.add(invocation.getArguments()[0]);
+			}
+			return result;
+		});
+		proxyFactory.addAdvice(interceptor);
+		UserService service = (UserService) proxyFactory.getProxy();
+
+		service.findUsers(Arrays.asList(1L));
+		List<Long> ids = Arrays.asList(1L, 2L);
+		Map<Long, String> users = service.findUsers(ids);
+		assertEquals(Arrays.asList(1L, 2L), new ArrayList<>(users.keySet()));
+		assertEquals(Arrays.asList(2L), service.getInvocations().get(1));
+		assertSame(ids, outerArguments.get(1));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void nonMapReturnType() {
+		this.context = new AnnotationConfigApplicationContext(BulkCacheConfig.class);
+		this.context.getBean(UserService.class).findUserList(Arrays.asList(1L));
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class BulkCacheConfig extends CachingConfigurerSupport {
+
+		@Bean
+		@Override
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager();
+		}
+
+		@Bean
+		public UserService userService() {
+			return new UserService();
+		}
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class RegularCacheConfig extends CachingConfigurerSupport {
+
+		@Bean
+		@Override
+		public CacheManager cacheManager() {
+			// NearCacheManager does not expose BulkCache instances
+			return new NearCacheManager(new ConcurrentMapCacheManager(), new ConcurrentMapCacheManager());
+		}
+
+		@Bean
+		public UserService userService() {
+			return new UserService();
+		}
+	}
+
+
+	static class UserService {
+
+		private final List<List<Long>> invocations = new ArrayList<>();
+
+		public List<List<Long>> getInvocations() {
+			return this.invocations;
+		}
+
+		@Cacheable(cacheNames = "users", bulkKeys = "#ids")
+		public Map<Long, String> findUsers(Collection<Long> ids) {
+			return load(ids);
+		}
+
+		@Cacheable(cacheNames = "users", bulkKeys = "#ids", unless = "#result == null")
+		public Map<Long, String> findExistingUsers(List<Long> ids) {
+			return load(ids);
+		}
+
+		@Cacheable(cacheNames = "users", bulkKeys = "#ids")
+		public Map<Long, String> findUsersInSet(Set<Long> ids) {
+			Map<Long, String> users = load(ids);
+			users.remove(42L);
+			return users;
+		}
+
+		@Cacheable(cacheNames = "users", bulkKeys = "#p1")
+		public Map<Long, String> findUsersByIndex(String tenant, Collection<Long> ids) {
+			return load(ids);
+		}
+
+		@Cacheable(cacheNames = "users", bulkKeys = "#ids.?[#this > 0]")
+		public Map<Long, String> findPositiveUsers(List<Long> ids) {
+			return load(ids);
+		}
+
+		@Cacheable(cacheNames = "users", bulkKeys = "#ids")
+		public List<String> findUserList(List<Long> ids) {
+			return new ArrayList<>(load(ids).values());
+		}
+
+		private Map<Long, String> load(Collection<Long> ids) {
+			this.invocations.add(new ArrayList<>(ids));
+			Map<Long, String> users = new LinkedHashMap<>();
+			for (Long id : ids) {
+				users.put(id, (id > 0 ? "user" + id : null));
+			}
+			return users;
+		}
+	}
+
+}
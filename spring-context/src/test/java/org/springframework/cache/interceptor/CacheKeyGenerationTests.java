@@ -0,0 +1,160 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.CachingConfigurerSupport;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the computation of cache keys within a cached invocation.
+ *
+ * @since 4.3
+ */
+public class CacheKeyGenerationTests {
+
+	private ConfigurableApplicationContext context;
+
+	private SimpleService service;
+
+	private Cache cache;
+
+	private CountingKeyGenerator keyGenerator;
+
+
+	@Before
+	public void setUp() {
+		this.context = new AnnotationConfigApplicationContext(Config.class);
+		this.service = this.context.getBean(SimpleService.class);
+		this.cache = this.context.getBean(CacheManager.class).getCache("test");
+		this.keyGenerator = this.context.getBean(CountingKeyGenerator.class);
+	}
+
+	@After
+	public void closeContext() {
+		if (this.context != null) {
+			this.context.close();
+		}
+	}
+
+
+	@Test
+	public void keyIsGeneratedOncePerInvocation() {
+		assertEquals("generated-1", this.service.generated(1L));
+		assertEquals(1, this.keyGenerator.counter.get());
+		assertEquals("generated-1", this.service.generated(1L));
+		assertEquals(2, this.keyGenerator.counter.get());
+		assertEquals("generated-1", this.cache.get("key-1").get());
+	}
+
+	@Test
+	public void parameterReferenceKey() {
+		assertEquals("byName-foo", this.service.byName("ignored", "foo"));
+		assertEquals("byName-foo", this.cache.get("foo").get());
+		assertEquals("byIndex-bar", this.service.byIndex("ignored", "bar"));
+		assertEquals("byIndex-bar", this.cache.get("bar").get());
+		assertEquals("byName-foo", this.service.byIndex("ignored", "foo"));
+	}
+
+	@Test
+	public void parameterReferenceKeyWithCondition() {
+		assertEquals("conditional-foo", this.service.conditional("foo"));
+		assertEquals("conditional-foo", this.cache.get("foo").get());
+		assertEquals("conditional-", this.service.conditional(""));
+		assertNull(this.cache.get(""));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void nullParameterReferenceKey() {
+		this.service.byName("ignored", null);
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class Config extends CachingConfigurerSupport {
+
+		@Bean
+		@Override
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager();
+		}
+
+		@Bean
+		public CountingKeyGenerator countingKeyGenerator() {
+			return new CountingKeyGenerator();
+		}
+
+		@Bean
+		public SimpleService simpleService() {
+			return new SimpleService();
+		}
+	}
+
+
+	static class CountingKeyGenerator implements KeyGenerator {
+
+		final AtomicInteger counter = new AtomicInteger();
+
+		@Override
+		public Object generate(Object target, Method method, Object... params) {
+			this.counter.incrementAndGet();
+			return "key-" + params[0];
+		}
+	}
+
+
+	static class SimpleService {
+
+		@Cacheable(cacheNames = "test", keyGenerator = "countingKeyGenerator")
+		public String generated(Long id) {
+			return "generated-" + id;
+		}
+
+		@Cacheable(cacheNames = "test", key = "#name")
+		public String byName(String ignored, String name) {
+			return "byName-" + name;
+		}
+
+		@Cacheable(cacheNames = "test", key = "#p1")
+		public String byIndex(String ignored, String name) {
+			return "byIndex-" + name;
+		}
+
+		@Cacheable(cacheNames = "test", key = "#name", condition = "#name.length() > 0")
+		public String conditional(String name) {
+			return "conditional-" + name;
+		}
+	}
+
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachingConfigurerSupport;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.AsyncResult;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link Cacheable#refreshAfter()} operations.
+ *
+ * @since 4.3
+ */
+public class CacheRefreshTests {
+
+	private ConfigurableApplicationContext context;
+
+	private RefreshService service;
+
+	private QueueExecutor executor;
+
+	private Cache cache;
+
+	@Rule
+	public final ExpectedException thrown = ExpectedException.none();
+
+
+	@Before
+	public void setUp() {
+		this.context = new AnnotationConfigApplicationContext(Config.class);
+		this.service = this.context.getBean(RefreshService.class);
+		this.executor = this.context.getBean(QueueExecutor.class);
+		this.cache = this.context.getBean(CacheManager.class).getCache("test");
+	}
+
+	@After
+	public void closeContext() {
+		if (this.context != null) {
+			this.context.close();
+		}
+	}
+
+
+	@Test
+	public void outdatedHitIsRefreshedInBackground() {
+		assertEquals(1, this.service.refreshed("key"));
+		assertTrue(this.executor.tasks.isEmpty());
+
+		assertEquals(1, this.service.refreshed("key"));
+		assertEquals(1, this.executor.tasks.size());
+		assertEquals(1, this.service.getCounter());
+
+		this.executor.runAll();
+		assertEquals(2, this.service.getCounter());
+		assertEquals(2, this.service.refreshed("key"));
+	}
+
+	@Test
+	public void singleRefreshInProgressPerKey() {
+		this.service.refreshed("key");
+		this.service.refreshed("key");
+		this.service.refreshed("key");
+		this.service.refreshed("other");
+		this.service.refreshed("other");
+		assertEquals(2, this.executor.tasks.size());
+
+		this.executor.runAll();
+		this.service.refreshed("key");
+		assertEquals(1, this.executor.tasks.size());
+	}
+
+	@Test
+	public void recentHitIsNotRefreshed() {
+		assertEquals(1, this.service.notYetDue("key"));
+		assertEquals(1, this.service.notYetDue("key"));
+		assertTrue(this.executor.tasks.isEmpty());
+	}
+
+	@Test
+	public void valuesAreStoredAsIs() {
+		this.service.refreshed("key");
+		assertEquals(1, this.cache.get("key").get());
+		assertEquals(1, this.service.regular("key"));
+	}
+
+	@Test
+	public void entryWrittenByOtherMeansIsRefreshedOnceDue() {
+		this.cache.put("key", 42);
+		assertEquals(42, this.service.notYetDue("key"));
+		assertTrue(this.executor.tasks.isEmpty());
+
+		assertEquals(42, this.service.refreshed("key"));
+		assertEquals(1, this.executor.tasks.size());
+		this.executor.runAll();
+		assertEquals(1, this.cache.get("key").get());
+	}
+
+	@Test
+	public void refreshAfterOnMethodReturningFuture() {
+		ConfigurableApplicationContext ctx = new AnnotationConfigApplicationContext(FutureConfig.class);
+		try {
+			FutureRefreshService futureService = ctx.getBean(FutureRefreshService.class);
+			thrown.expect(IllegalStateException.class);
+			thrown.expectMessage("refreshAfter");
+			futureService.refreshed("key");
+		}
+		finally {
+			ctx.close();
+		}
+	}
+
+	@Test
+	public void failedRefreshKeepsCachedValue() {
+		this.service.refreshed("key");
+		this.service.refreshed("key");
+		this.service.setFail(true);
+		this.executor.runAll();
+		assertEquals(1, this.service.refreshed("key"));
+
+		this.service.setFail(false);
+		this.executor.runAll();
+		assertEquals(3, this.service.refreshed("key"));
+	}
+
+	@Test
+	public void writeTimesAreReleasedOnEviction() {
+		Map<?, ?> writeTimes = (Map<?, ?>) new DirectFieldAccessor(
+				this.context.getBean(CacheInterceptor.class)).getPropertyValue("refreshWriteTimes");
+		this.service.notYetDue("key1");
+		this.service.notYetDue("key2");
+		this.service.notYetDue("key3");
+		assertEquals(3, writeTimes.size());
+
+		this.service.evict("key1");
+		assertEquals(2, writeTimes.size());
+		this.service.clear();
+		assertTrue(writeTimes.isEmpty());
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class Config extends CachingConfigurerSupport {
+
+		@Bean
+		@Override
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager();
+		}
+
+		@Bean
+		public QueueExecutor refreshExecutor() {
+			return new QueueExecutor();
+		}
+
+		@Bean
+		public RefreshService refreshService() {
+			return new RefreshService();
+		}
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class FutureConfig extends CachingConfigurerSupport {
+
+		@Bean
+		@Override
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager();
+		}
+
+		@Bean
+		public FutureRefreshService futureRefreshService() {
+			return new FutureRefreshService();
+		}
+	}
+
+
+	@Cacheable(cacheNames = "test", refreshAfter = 0)
+	static class FutureRefreshService {
+
+		public ListenableFuture<Integer> refreshed(String key) {
+			return new AsyncResult<>(1);
+		}
+	}
+
+
+	static class QueueExecutor implements TaskExecutor {
+
+		final List<Runnable> tasks = new ArrayList<>();
+
+		@Override
+		public void execute(Runnable task) {
+			this.tasks.add(task);
+		}
+
+		void runAll() {
+			List<Runnable> tasksToRun = new ArrayList<>(this.tasks);
+			this.tasks.clear();
+			for (Runnable task : tasksToRun) {
+				task.run();
+			}
+		}
+	}
+
+
+	static class RefreshService {
+
+		final AtomicInteger counter = new AtomicInteger();
+
+		volatile boolean fail;
+
+		public int getCounter() {
+			return this.counter.get();
+		}
+
+		public void setFail(boolean fail) {
+			this.fail = fail;
+		}
+
+		@Cacheable(cacheNames = "test", refreshAfter = 0)
+		public int refreshed(String key) {
+			return load();
+		}
+
+		@Cacheable(cacheNames = "test", refreshAfter = 60000)
+		public int notYetDue(String key) {
+			return load();
+		}
+
+		@Cacheable("test")
+		public int regular(String key) {
+			return load();
+		}
+
+		@CacheEvict("test")
+		public void evict(String key) {
+		}
+
+		@CacheEvict(cacheNames = "test", allEntries = true)
+		public void clear() {
+		}
+
+		private int load() {
+			int value = this.counter.incrementAndGet();
+			if (this.fail) {
+				throw new IllegalStateException("Test failure");
+			}
+			return value;
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -139,6 +139,34 @@ public class ExpressionEvaluatorTests {
 		assertThat(value, is(String.class.getName()));
 	}
 
+	@Test
+	public void keyParameterIndex() throws Exception {
+		Method method = ReflectionUtils.findMethod(AnnotatedClass.class, "multipleCaching", Object.class, Object.class);
+		assertEquals(0, eval.getKeyParameterIndex("#a", method));
+		assertEquals(1, eval.getKeyParameterIndex(" #b ", method));
+		assertEquals(0, eval.getKeyParameterIndex("#a0", method));
+		assertEquals(1, eval.getKeyParameterIndex("#p1", method));
+		assertEquals(1, eval.getKeyParameterIndex("#root.args[1]", method));
+		assertEquals(-1, eval.getKeyParameterIndex("#p2", method));
+		assertEquals(-1, eval.getKeyParameterIndex("#c", method));
+		assertEquals(-1, eval.getKeyParameterIndex("#b.toString()", method));
+		assertEquals(-1, eval.getKeyParameterIndex("#a + #b", method));
+		assertEquals(-1, eval.getKeyParameterIndex("#root", method));
+		assertEquals(-1, eval.getKeyParameterIndex("#result", method));
+	}
+
+	@Test
+	public void compiledKeyExpression() throws Exception {
+		Method method = ReflectionUtils.findMethod(AnnotatedClass.class, "multipleCaching", Object.class, Object.class);
+		AnnotatedElementKey elementKey = new AnnotatedElementKey(method, AnnotatedClass.class);
+		for (int i = 0; i < 300; i++) {
+			EvaluationContext context = createEvaluationContext(ExpressionEvaluator.NO_RESULT);
+			Object[] args = ((CacheExpressionRootObject) context.getRootObject().getValue()).getArgs();
+			assertEquals("multipleCaching" + args[1],
+					eval.key("#root.methodName + #root.args[1]", elementKey, context));
+		}
+	}
+
 	private EvaluationContext createEvaluationContext(Object result) {
 		return createEvaluationContext(result, null);
 	}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jmx.export.MBeanExporter;
+import org.springframework.jmx.export.annotation.AnnotationMBeanExporter;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link CacheStatisticsExporter}.
+ *
+ * @since 4.3
+ */
+public class CacheStatisticsExporterTests {
+
+	private MBeanServer server;
+
+	private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+
+
+	@Before
+	public void setUp() {
+		this.server = MBeanServerFactory.newMBeanServer();
+		this.cacheManager.setStatisticsEnabled(true);
+	}
+
+
+	@Test
+	public void exportStatistics() throws Exception {
+		MBeanExporter exporter = createExporter(new MBeanExporter());
+		Cache cache = this.cacheManager.getCache("books");
+		createStatisticsExporter(exporter, null).afterSingletonsInstantiated();
+
+		cache.put("a", "1");
+		cache.get("a");
+		cache.get("b");
+
+		ObjectName name = new ObjectName("org.springframework.cache:type=CacheStatistics,name=books");
+		assertEquals("books", this.server.getAttribute(name, "CacheName"));
+		assertEquals(1L, this.server.getAttribute(name, "HitCount"));
+		assertEquals(1L, this.server.getAttribute(name, "MissCount"));
+		assertEquals(1L, this.server.getAttribute(name, "PutCount"));
+		assertEquals(0.5d, this.server.getAttribute(name, "HitRatio"));
+		exporter.destroy();
+		assertFalse(this.server.isRegistered(name));
+	}
+
+	@Test
+	public void exportStatisticsWithAnnotationMBeanExporter() throws Exception {
+		MBeanExporter exporter = createExporter(new AnnotationMBeanExporter());
+		this.cacheManager.getCache("books").get("a");
+		createStatisticsExporter(exporter, "main").afterSingletonsInstantiated();
+
+		ObjectName name = new ObjectName("org.springframework.cache:type=CacheStatistics,cacheManager=main,name=books");
+		assertEquals(1L, this.server.getAttribute(name, "MissCount"));
+		assertEquals(0d, this.server.getAttribute(name, "HitRatio"));
+		exporter.destroy();
+	}
+
+	@Test
+	public void registerCachesCreatedLater() throws Exception {
+		MBeanExporter exporter = createExporter(new MBeanExporter());
+		this.cacheManager.getCache("books");
+		CacheStatisticsExporter statisticsExporter = createStatisticsExporter(exporter, null);
+		statisticsExporter.afterSingletonsInstantiated();
+		this.cacheManager.getCache("authors");
+		statisticsExporter.registerCaches();
+
+		assertTrue(this.server.isRegistered(
+				new ObjectName("org.springframework.cache:type=CacheStatistics,name=books")));
+		assertTrue(this.server.isRegistered(
+				new ObjectName("org.springframework.cache:type=CacheStatistics,name=authors")));
+		exporter.destroy();
+	}
+
+	@Test
+	public void skipCachesWithoutStatistics() throws Exception {
+		MBeanExporter exporter = createExporter(new MBeanExporter());
+		this.cacheManager.setStatisticsEnabled(false);
+		this.cacheManager.getCache("books");
+		createStatisticsExporter(exporter, null).afterSingletonsInstantiated();
+
+		assertFalse(this.server.isRegistered(
+				new ObjectName("org.springframework.cache:type=CacheStatistics,name=books")));
+		exporter.destroy();
+	}
+
+	@Test
+	public void quoteCacheNameIfNecessary() throws Exception {
+		MBeanExporter exporter = createExporter(new MBeanExporter());
+		this.cacheManager.getCache("books,authors");
+		createStatisticsExporter(exporter, null).afterSingletonsInstantiated();
+
+		assertTrue(this.server.isRegistered(new ObjectName("org.springframework.cache:type=CacheStatistics,name=" +
+				ObjectName.quote("books,authors"))));
+		exporter.destroy();
+	}
+
+
+	private MBeanExporter createExporter(MBeanExporter exporter) {
+		exporter.setServer(this.server);
+		exporter.afterPropertiesSet();
+		return exporter;
+	}
+
+	private CacheStatisticsExporter createStatisticsExporter(MBeanExporter exporter, String cacheManagerName) {
+		CacheStatisticsExporter statisticsExporter = new CacheStatisticsExporter();
+		statisticsExporter.setMbeanExporter(exporter);
+		statisticsExporter.setCacheManager(this.cacheManager);
+		statisticsExporter.setCacheManagerName(cacheManagerName);
+		statisticsExporter.afterPropertiesSet();
+		return statisticsExporter;
+	}
+
+}
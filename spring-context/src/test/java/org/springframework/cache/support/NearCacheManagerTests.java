@@ -0,0 +1,149 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.support.GenericApplicationContext;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link NearCacheManager}.
+ *
+ * @since 4.3
+ */
+public class NearCacheManagerTests {
+
+	private final CacheManager targetCacheManager = new ConcurrentMapCacheManager();
+
+	private final LoopbackCacheInvalidationChannel channel = new LoopbackCacheInvalidationChannel();
+
+	private Cache targetCache;
+
+	private Cache node1;
+
+	private Cache node2;
+
+
+	@Before
+	public void setUp() {
+		this.targetCache = this.targetCacheManager.getCache("test");
+		this.node1 = createNearCacheManager(this.channel).getCache("test");
+		this.node2 = createNearCacheManager(this.channel).getCache("test");
+	}
+
+	private NearCacheManager createNearCacheManager(CacheInvalidationChannel channel) {
+		NearCacheManager cacheManager = new NearCacheManager(this.targetCacheManager, new ConcurrentMapCacheManager());
+		cacheManager.setInvalidationChannel(channel);
+		cacheManager.afterPropertiesSet();
+		return cacheManager;
+	}
+
+
+	@Test
+	public void readsAreServedLocally() {
+		this.targetCache.put("key", "value");
+		assertEquals("value", this.node1.get("key").get());
+
+		this.targetCache.put("key", "changed behind the scenes");
+		assertEquals("value", this.node1.get("key").get());
+		assertEquals("value", this.node1.get("key", String.class));
+		assertEquals("changed behind the scenes", this.node2.get("key").get());
+	}
+
+	@Test
+	public void writesInvalidateOtherNodes() {
+		this.node1.put("key", "value");
+		assertEquals("value", this.node2.get("key").get());
+
+		this.node1.put("key", "updated");
+		assertEquals("updated", this.targetCache.get("key").get());
+		assertEquals("updated", this.node2.get("key").get());
+
+		this.node2.evict("key");
+		assertNull(this.targetCache.get("key"));
+		assertNull(this.node1.get("key"));
+	}
+
+	@Test
+	public void clearInvalidatesOtherNodes() {
+		this.node1.put("key1", "value1");
+		this.node1.put("key2", "value2");
+		assertEquals("value1", this.node2.get("key1").get());
+		assertEquals("value2", this.node2.get("key2").get());
+
+		this.node1.clear();
+		assertNull(this.node2.get("key1"));
+		assertNull(this.node2.get("key2"));
+	}
+
+	@Test
+	public void putIfAbsentInvalidatesOtherNodesOnlyIfApplied() {
+		assertNull(this.node1.putIfAbsent("key", "value"));
+		assertEquals("value", this.node2.get("key").get());
+		assertEquals("value", this.node2.putIfAbsent("key", "other").get());
+		assertEquals("value", this.node1.get("key").get());
+	}
+
+	@Test
+	public void valueLoaderPopulatesBothLevels() {
+		assertEquals("loaded", this.node1.get("key", () -> "loaded"));
+		assertEquals("loaded", this.targetCache.get("key").get());
+		this.targetCache.evict("key");
+		assertEquals("loaded", this.node1.get("key", () -> "reloaded"));
+		assertEquals("reloaded", this.node2.get("key", () -> "reloaded"));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void getWithWrongType() {
+		this.node1.put("key", "value");
+		this.node1.get("key", Integer.class);
+	}
+
+	@Test
+	public void unknownCaches() {
+		ConcurrentMapCacheManager localCacheManager = new ConcurrentMapCacheManager("local");
+		NearCacheManager cacheManager = new NearCacheManager(new ConcurrentMapCacheManager("target"), localCacheManager);
+		assertNull(cacheManager.getCache("local"));
+		assertNotNull(cacheManager.getCache("target"));
+		assertSame(cacheManager.getCache("target"), cacheManager.getCache("target"));
+		assertEquals("target", cacheManager.getCacheNames().iterator().next());
+	}
+
+	@Test
+	public void applicationEventChannel() {
+		GenericApplicationContext context = new GenericApplicationContext();
+		context.registerBeanDefinition("channel", new RootBeanDefinition(ApplicationEventCacheInvalidationChannel.class));
+		context.refresh();
+		CacheInvalidationChannel channel = context.getBean(CacheInvalidationChannel.class);
+		Cache first = createNearCacheManager(channel).getCache("test");
+		Cache second = createNearCacheManager(channel).getCache("test");
+
+		first.put("key", "value");
+		assertEquals("value", second.get("key").get());
+		first.put("key", "updated");
+		assertEquals("updated", second.get("key").get());
+		context.close();
+	}
+
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+import org.springframework.cache.BulkCache;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheStatistics;
+import org.springframework.cache.CacheStatisticsProvider;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link StatisticsCacheDecorator} and {@link CacheStatisticsCounter}.
+ *
+ * @since 4.3
+ */
+public class StatisticsCacheDecoratorTests {
+
+	private final Cache targetCache = new ConcurrentMapCache("test");
+
+	private final StatisticsCacheDecorator cache = new StatisticsCacheDecorator(this.targetCache);
+
+
+	@Test
+	public void countsLookups() {
+		this.targetCache.put("a", "1");
+		this.targetCache.put("b", null);
+
+		assertEquals("1", this.cache.get("a").get());
+		assertNull(this.cache.get("b").get());
+		assertNull(this.cache.get("c"));
+		assertNull(this.cache.get("b", String.class));
+		assertNull(this.cache.get("c", String.class));
+
+		CacheStatistics statistics = this.cache.getCacheStatistics();
+		assertEquals(3, statistics.getHitCount());
+		assertEquals(2, statistics.getMissCount());
+		assertEquals(0, statistics.getPutCount());
+	}
+
+	@Test
+	public void countsUpdates() {
+		this.cache.put("a", "1");
+		assertNull(this.cache.putIfAbsent("b", "2"));
+		assertEquals("2", this.cache.putIfAbsent("b", "3").get());
+		this.cache.evict("a");
+		this.cache.clear();
+
+		CacheStatistics statistics = this.cache.getCacheStatistics();
+		assertEquals(2, statistics.getPutCount());
+		assertEquals(1, statistics.getEvictionCount());
+		assertEquals(0, statistics.getHitCount() + statistics.getMissCount());
+		assertNull(this.targetCache.get("b"));
+	}
+
+	@Test
+	public void countsLoads() {
+		assertEquals("1", this.cache.get("a", () -> "1"));
+		assertEquals("1", this.cache.get("a", () -> "2"));
+		try {
+			this.cache.get("b", () -> {
+				throw new IllegalStateException("Expected");
+			});
+			fail("Should have thrown ValueRetrievalException");
+		}
+		catch (Cache.ValueRetrievalException ex) {
+			assertEquals("Expected", ex.getCause().getMessage());
+		}
+
+		CacheStatistics statistics = this.cache.getCacheStatistics();
+		assertEquals(1, statistics.getHitCount());
+		assertEquals(2, statistics.getMissCount());
+		assertEquals(1, statistics.getPutCount());
+		assertEquals(1, statistics.getLoadSuccessCount());
+		assertEquals(1, statistics.getLoadFailureCount());
+		assertTrue(statistics.getTotalLoadTime() > 0);
+	}
+
+	@Test
+	public void countsBulkOperations() {
+		BulkStatisticsCacheDecorator bulkCache = new BulkStatisticsCacheDecorator(new ConcurrentMapCache("bulk"));
+		Map<String, String> entries = new HashMap<>();
+		entries.put("a", "1");
+		entries.put("b", "2");
+		bulkCache.putAll(entries);
+
+		Map<Object, Cache.ValueWrapper> found = bulkCache.getAll(Arrays.asList("a", "b", "c"));
+		assertEquals(2, found.size());
+		assertEquals("1", found.get("a").get());
+
+		CacheStatistics statistics = bulkCache.getCacheStatistics();
+		assertEquals(2, statistics.getPutCount());
+		assertEquals(2, statistics.getHitCount());
+		assertEquals(1, statistics.getMissCount());
+	}
+
+	@Test
+	public void rejectsValueOfWrongType() {
+		this.targetCache.put("a", 1L);
+		try {
+			this.cache.get("a", String.class);
+			fail("Should have thrown IllegalStateException");
+		}
+		catch (IllegalStateException ex) {
+			assertTrue(ex.getMessage().contains("not of required type"));
+		}
+	}
+
+	@Test
+	public void cacheManagerDecoratesCachesWithoutStatistics() {
+		SimpleCacheManager cacheManager = new SimpleCacheManager();
+		cacheManager.setCaches(Arrays.asList(new ConcurrentMapCache("plain"),
+				new StatisticsCacheDecorator(new ConcurrentMapCache("counted"))));
+		cacheManager.setStatisticsEnabled(true);
+		cacheManager.afterPropertiesSet();
+
+		Cache plain = cacheManager.getCache("plain");
+		assertTrue(plain instanceof BulkStatisticsCacheDecorator);
+		assertNotNull(((CacheStatisticsProvider) plain).getCacheStatistics());
+		Cache counted = cacheManager.getCache("counted");
+		assertTrue(counted instanceof StatisticsCacheDecorator);
+		assertTrue(((StatisticsCacheDecorator) counted).getTargetCache() instanceof ConcurrentMapCache);
+	}
+
+	@Test
+	public void cacheManagerKeepsBulkOperationsOnlyIfSupported() {
+		Cache nonBulkCache = new NoOpCacheManager().getCache("nonBulk");
+		SimpleCacheManager cacheManager = new SimpleCacheManager();
+		cacheManager.setCaches(Arrays.asList(new ConcurrentMapCache("bulk"), nonBulkCache));
+		cacheManager.setStatisticsEnabled(true);
+		cacheManager.afterPropertiesSet();
+
+		assertTrue(cacheManager.getCache("bulk") instanceof BulkCache);
+		assertTrue(cacheManager.getCache("nonBulk") instanceof StatisticsCacheDecorator);
+		assertFalse(cacheManager.getCache("nonBulk") instanceof BulkCache);
+	}
+
+	@Test
+	public void cacheManagerDoesNotDecorateByDefault() {
+		SimpleCacheManager cacheManager = new SimpleCacheManager();
+		cacheManager.setCaches(Arrays.asList(new ConcurrentMapCache("plain")));
+		cacheManager.afterPropertiesSet();
+
+		assertTrue(cacheManager.getCache("plain") instanceof ConcurrentMapCache);
+	}
+
+	@Test
+	public void countsConcurrentUpdates() throws Exception {
+		final CacheStatisticsCounter counter = new CacheStatisticsCounter(4);
+		final CountDownLatch start = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			Thread thread = new Thread(() -> {
+				try {
+					start.await();
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				for (int j = 0; j < 10000; j++) {
+					counter.recordHits(1);
+					counter.recordLoadSuccess(2);
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(80000, counter.getHitCount());
+		assertEquals(0, counter.getMissCount());
+		assertEquals(80000, counter.getLoadSuccessCount());
+		assertEquals(160000, counter.getTotalLoadTime());
+	}
+
+}
@@ -20,6 +20,8 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.ArrayList;
+import java.util.List;
 import javax.annotation.PostConstruct;
 
 import org.junit.Before;
@@ -37,6 +39,9 @@ import org.springframework.beans.factory.annotation.AutowiredAnnotationBeanPostP
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.QualifierAnnotationAutowireCandidateResolver;
 import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.parsing.BeanDefinitionParsingException;
+import org.springframework.beans.factory.parsing.Problem;
+import org.springframework.beans.factory.parsing.ProblemReporter;
 import org.springframework.beans.factory.support.ChildBeanDefinition;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.beans.factory.support.RootBeanDefinition;
@@ -114,6 +119,86 @@ public class ConfigurationClassPostProcessorTests {
 		beanFactory.getBean("bar");
 	}
 
+	@Test
+	public void parallelProcessingRegistersSameBeanDefinitionsAsSequentialProcessing() {
+		DefaultListableBeanFactory sequential = new DefaultListableBeanFactory();
+		processMultiPackageScan(sequential, 1);
+		DefaultListableBeanFactory parallel = new DefaultListableBeanFactory();
+		processMultiPackageScan(parallel, 4);
+
+		assertArrayEquals(sequential.getBeanDefinitionNames(), parallel.getBeanDefinitionNames());
+		assertTrue(parallel.containsBeanDefinition("simpleComponent"));
+		assertTrue(parallel.containsBeanDefinition("foo"));
+		assertTrue(parallel.containsBeanDefinition("bar"));
+		assertNotNull(parallel.getBean("foo"));
+	}
+
+	private void processMultiPackageScan(DefaultListableBeanFactory beanFactory, int parallelism) {
+		beanFactory.registerBeanDefinition("scanConfig", new RootBeanDefinition(MultiPackageScanConfig.class.getName()));
+		beanFactory.registerBeanDefinition("unloadedConfig", new RootBeanDefinition(UnloadedConfig.class.getName()));
+		beanFactory.registerBeanDefinition("loadedConfig", new RootBeanDefinition(LoadedConfig.class));
+		ConfigurationClassPostProcessor pp = new ConfigurationClassPostProcessor();
+		pp.setParallelism(parallelism);
+		pp.setEnvironment(new StandardEnvironment());
+		pp.postProcessBeanFactory(beanFactory);
+	}
+
+	@Test
+	public void liteConfigurationClassIsNotEnhanced() {
+		beanFactory.registerBeanDefinition("config", new RootBeanDefinition(LiteSingletonBeanConfig.class));
+		CollectingProblemReporter problemReporter = new CollectingProblemReporter();
+		ConfigurationClassPostProcessor pp = new ConfigurationClassPostProcessor();
+		pp.setProblemReporter(problemReporter);
+		pp.postProcessBeanFactory(beanFactory);
+		assertSame(LiteSingletonBeanConfig.class, beanFactory.getBean("config").getClass());
+		Foo foo = beanFactory.getBean("foo", Foo.class);
+		Bar bar = beanFactory.getBean("bar", Bar.class);
+		assertSame(foo, bar.foo);
+		assertTrue(problemReporter.warnings.isEmpty());
+	}
+
+	@Test
+	public void liteConfigurationClassReportsInterBeanMethodCalls() {
+		beanFactory.registerBeanDefinition("config", new RootBeanDefinition(LiteInterBeanCallConfig.class.getName()));
+		CollectingProblemReporter problemReporter = new CollectingProblemReporter();
+		ConfigurationClassPostProcessor pp = new ConfigurationClassPostProcessor();
+		pp.setProblemReporter(problemReporter);
+		pp.postProcessBeanFactory(beanFactory);
+		assertSame(LiteInterBeanCallConfig.class, beanFactory.getBean("config").getClass());
+		Foo foo = beanFactory.getBean("foo", Foo.class);
+		Bar bar = beanFactory.getBean("bar", Bar.class);
+		assertNotSame(foo, bar.foo);
+		assertEquals(1, problemReporter.warnings.size());
+		String message = problemReporter.warnings.get(0).getMessage();
+		assertTrue(message, message.contains("'foo'"));
+		assertTrue(message, message.contains("LiteInterBeanCallConfig.bar()"));
+	}
+
+	@Test
+	public void proxyBeanMethodsSwitchedOffForAllConfigurationClasses() {
+		beanFactory.registerBeanDefinition("config", new RootBeanDefinition(SingletonBeanConfig.class));
+		CollectingProblemReporter problemReporter = new CollectingProblemReporter();
+		ConfigurationClassPostProcessor pp = new ConfigurationClassPostProcessor();
+		pp.setProblemReporter(problemReporter);
+		pp.setProxyBeanMethods(false);
+		pp.postProcessBeanFactory(beanFactory);
+		assertSame(SingletonBeanConfig.class, beanFactory.getBean("config").getClass());
+		Foo foo = beanFactory.getBean("foo", Foo.class);
+		Bar bar = beanFactory.getBean("bar", Bar.class);
+		assertNotSame(foo, bar.foo);
+		assertEquals(1, problemReporter.warnings.size());
+	}
+
+	@Test
+	public void interBeanMethodCallsNotReportedForProxiedConfigurationClasses() {
+		beanFactory.registerBeanDefinition("config", new RootBeanDefinition(SingletonBeanConfig.class));
+		CollectingProblemReporter problemReporter = new CollectingProblemReporter();
+		ConfigurationClassPostProcessor pp = new ConfigurationClassPostProcessor();
+		pp.setProblemReporter(problemReporter);
+		pp.postProcessBeanFactory(beanFactory);
+		assertTrue(problemReporter.warnings.isEmpty());
+	}
+
 	/**
 	 * Tests whether a bean definition without a specified bean class is handled
 	 * correctly.
@@ -625,6 +710,30 @@ public class ConfigurationClassPostProcessorTests {
 		}
 	}
 
+	@Configuration(proxyBeanMethods = false)
+	static final class LiteSingletonBeanConfig {
+
+		public @Bean Foo foo() {
+			return new Foo();
+		}
+
+		public @Bean Bar bar(Foo foo) {
+			return new Bar(foo);
+		}
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class LiteInterBeanCallConfig {
+
+		public @Bean Foo foo() {
+			return new Foo();
+		}
+
+		public @Bean Bar bar() {
+			return new Bar(foo());
+		}
+	}
+
 	@Configuration
 	@Order(2)
 	static class OverridingSingletonBeanConfig {
@@ -654,6 +763,26 @@ public class ConfigurationClassPostProcessorTests {
 		}
 	}
 
+	static class CollectingProblemReporter implements ProblemReporter {
+
+		final List<Problem> warnings = new ArrayList<Problem>();
+
+		@Override
+		public void fatal(Problem problem) {
+			throw new BeanDefinitionParsingException(problem);
+		}
+
+		@Override
+		public void error(Problem problem) {
+			throw new BeanDefinitionParsingException(problem);
+		}
+
+		@Override
+		public void warning(Problem problem) {
+			this.warnings.add(problem);
+		}
+	}
+
 	static class Foo {
 	}
 
@@ -681,6 +810,12 @@ public class ConfigurationClassPostProcessorTests {
 		}
 	}
 
+	@Configuration
+	@ComponentScan({"org.springframework.context.annotation.componentscan.simple", "example.scannable",
+			"org.springframework.context.annotation.componentscan.level1"})
+	static class MultiPackageScanConfig {
+	}
+
 	@Configuration
 	static class LoadedConfig {
 
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.tests.sample.beans.ITestBean;
+import org.springframework.tests.sample.beans.TestBean;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.junit.Assume.*;
+
+/**
+ * Tests for {@link ConfigurationClassSourceGenerator}.
+ *
+ * @since 4.3
+ */
+public class ConfigurationClassSourceGeneratorTests {
+
+	private static final String GENERATED_CLASS_NAME = "org.springframework.context.annotation.generated.TestBeanDefinitions";
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+
+	@Test
+	public void generatedSourceRegistersPrecomputedDefinitions() {
+		String source = new ConfigurationClassSourceGenerator(MainConfig.class).generate(GENERATED_CLASS_NAME);
+		assertThat(source, containsString("package org.springframework.context.annotation.generated;"));
+		assertThat(source, containsString("public class TestBeanDefinitions"));
+		assertThat(source, containsString("registry.registerBeanDefinition(\"testBean\""));
+		assertThat(source, containsString("bd.setUniqueFactoryMethodName(\"testBean\");"));
+		assertThat(source, containsString("bd.setResolvedFactoryMethod("));
+		assertThat(source, containsString("registry.registerAlias(\"spouse\", \"wife\");"));
+		assertThat(source, not(containsString("conditionalBean")));
+	}
+
+	@Test
+	public void generatedDefinitionsAreEquivalentToParsedConfiguration() throws Exception {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		assumeNotNull(compiler);
+
+		File sourceDir = this.folder.newFolder("src");
+		File classesDir = this.folder.newFolder("classes");
+		File sourceFile = new ConfigurationClassSourceGenerator(MainConfig.class).generate(sourceDir, GENERATED_CLASS_NAME);
+		int result = compiler.run(null, null, null, "-classpath", System.getProperty("java.class.path"),
+				"-d", classesDir.getAbsolutePath(), sourceFile.getAbsolutePath());
+		assertEquals(0, result);
+
+		URLClassLoader classLoader = new URLClassLoader(new URL[] {classesDir.toURI().toURL()}, getClass().getClassLoader());
+		@SuppressWarnings("unchecked")
+		ApplicationContextInitializer<GenericApplicationContext> initializer =
+				(ApplicationContextInitializer<GenericApplicationContext>) classLoader.loadClass(GENERATED_CLASS_NAME).newInstance();
+
+		GenericApplicationContext ctx = new GenericApplicationContext();
+		initializer.initialize(ctx);
+		ctx.refresh();
+
+		TestBean testBean = ctx.getBean("testBean", TestBean.class);
+		assertSame(ctx.getBean("spouse"), testBean.getSpouse());
+		assertSame(ctx.getBean("wife"), testBean.getSpouse());
+		assertFalse(ctx.containsBean("conditionalBean"));
+		assertTrue(ctx.getBean(MainConfig.class).getClass().getName().contains("$$EnhancerBySpringCGLIB"));
+		assertNotNull(((RootBeanDefinition) ctx.getBeanFactory().getMergedBeanDefinition("testBean")).getResolvedFactoryMethod());
+
+		AnnotationMetadata importMetadata = ctx.getBean(ImportedConfig.class).importMetadata;
+		assertNotNull(importMetadata);
+		assertEquals(MainConfig.class.getName(), importMetadata.getClassName());
+		assertEquals("imported", ctx.getBean("importedBean", TestBean.class).getName());
+		ctx.close();
+	}
+
+	@Test
+	public void overloadedBeanMethodsAreRejected() {
+		try {
+			new ConfigurationClassSourceGenerator(OverloadedConfig.class).generate(GENERATED_CLASS_NAME);
+			fail("Should have thrown IllegalStateException");
+		}
+		catch (IllegalStateException ex) {
+			assertThat(ex.getMessage(), containsString("overloaded @Bean factory method 'testBean'"));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void noAnnotatedClasses() {
+		new ConfigurationClassSourceGenerator();
+	}
+
+	@Test
+	public void generatedFileLocation() throws Exception {
+		File sourceDir = this.folder.newFolder("out");
+		File file = new ConfigurationClassSourceGenerator(MainConfig.class).generate(sourceDir, GENERATED_CLASS_NAME);
+		assertEquals(new File(sourceDir, "org/springframework/context/annotation/generated/TestBeanDefinitions.java"), file);
+		assertTrue(file.isFile());
+	}
+
+
+	@Configuration
+	@Import(ImportedConfig.class)
+	public static class MainConfig {
+
+		@Bean
+		public TestBean testBean() {
+			TestBean testBean = new TestBean("main");
+			testBean.setSpouse(spouse());
+			return testBean;
+		}
+
+		@Bean(name = {"spouse", "wife"})
+		public ITestBean spouse() {
+			return new TestBean("spouse");
+		}
+
+		@Bean
+		@Conditional(NeverCondition.class)
+		public TestBean conditionalBean() {
+			return new TestBean("conditional");
+		}
+	}
+
+
+	@Configuration
+	static class ImportedConfig implements ImportAware {
+
+		AnnotationMetadata importMetadata;
+
+		@Override
+		public void setImportMetadata(AnnotationMetadata importMetadata) {
+			this.importMetadata = importMetadata;
+		}
+
+		@Bean
+		static TestBean importedBean() {
+			return new TestBean("imported");
+		}
+	}
+
+
+	@Configuration
+	static class OverloadedConfig {
+
+		@Bean
+		TestBean testBean() {
+			return new TestBean();
+		}
+
+		@Bean
+		TestBean testBean(ITestBean spouse) {
+			return new TestBean();
+		}
+	}
+
+
+	static class NeverCondition implements Condition {
+
+		@Override
+		public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+			return false;
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2014 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,11 +28,14 @@ import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.core.SpringProperties;
 import org.springframework.core.annotation.AnnotationAttributes;
 import org.springframework.core.type.AnnotatedTypeMetadata;
 import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.core.type.StandardAnnotationMetadata;
 import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.ProxyAsyncConfiguration;
 import org.springframework.util.Assert;
 
 import static org.hamcrest.CoreMatchers.*;
@@ -80,6 +83,31 @@ public class ImportAwareTests {
 		assertThat(foo, is("xyz"));
 	}
 
+	@Test
+	public void importedWithoutProxyBeanMethods() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(ImportingLiteConfig.class);
+		LiteImportedConfig importAwareConfig = ctx.getBean(LiteImportedConfig.class);
+		assertSame(LiteImportedConfig.class, importAwareConfig.getClass());
+		AnnotationMetadata importMetadata = importAwareConfig.importMetadata;
+		assertThat("import metadata was not injected", importMetadata, notNullValue());
+		assertThat(importMetadata.getClassName(), is(ImportingLiteConfig.class.getName()));
+		ctx.close();
+	}
+
+	@Test
+	public void enableAsyncInGlobalLiteMode() {
+		SpringProperties.setFlag(ConfigurationClassPostProcessor.LITE_MODE_PROPERTY_NAME);
+		try {
+			AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(AsyncConfig.class);
+			assertSame(ProxyAsyncConfiguration.class, ctx.getBean(ProxyAsyncConfiguration.class).getClass());
+			assertNotNull(ctx.getBean(AsyncAnnotationBeanPostProcessor.class));
+			ctx.close();
+		}
+		finally {
+			SpringProperties.setProperty(ConfigurationClassPostProcessor.LITE_MODE_PROPERTY_NAME, null);
+		}
+	}
+
 	@Test
 	public void importRegistrar() throws Exception {
 		ImportedRegistrar.called = false;
@@ -163,6 +191,35 @@ public class ImportAwareTests {
 	}
 
 
+	@Configuration
+	@Import(LiteImportedConfig.class)
+	static class ImportingLiteConfig {
+	}
+
+
+	@Configuration(proxyBeanMethods = false)
+	static class LiteImportedConfig implements ImportAware {
+
+		AnnotationMetadata importMetadata;
+
+		@Override
+		public void setImportMetadata(AnnotationMetadata importMetadata) {
+			this.importMetadata = importMetadata;
+		}
+
+		@Bean
+		public String liteImportedConfigBean() {
+			return "";
+		}
+	}
+
+
+	@Configuration
+	@EnableAsync
+	static class AsyncConfig {
+	}
+
+
 	@Configuration
 	static class OtherImportedConfig {
 
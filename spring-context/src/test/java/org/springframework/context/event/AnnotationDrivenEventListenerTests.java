@@ -530,6 +530,26 @@ public class AnnotationDrivenEventListenerTests {
 		this.eventCollector.assertTotalEventsCount(0);
 	}
 
+	@Test
+	public void conditionMatchWithCompiledExpression() {
+		load(ConditionalEventListener.class);
+		TestEventListener listener = this.context.getBean(ConditionalEventListener.class);
+
+		List<Object> expected = new ArrayList<>();
+		for (int i = 0; i < 300; i++) {
+			TestEvent event = new TestEvent(this, (i % 3 == 0 ? "OK" : "KO"));
+			this.context.publishEvent(event);
+			if (i % 3 == 0) {
+				expected.add(event);
+			}
+		}
+		this.eventCollector.assertEvent(listener, expected.toArray());
+		this.eventCollector.assertTotalEventsCount(100);
+
+		this.context.publishEvent("OK");
+		this.eventCollector.assertTotalEventsCount(101);
+	}
+
 	@Test
 	public void orderedListeners() {
 		load(OrderedTestListener.class);
@@ -16,9 +16,19 @@
 
 package org.springframework.context.event;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.aopalliance.intercept.MethodInvocation;
 import org.junit.Test;
@@ -42,6 +52,7 @@ import org.springframework.context.support.StaticMessageSource;
 import org.springframework.core.Ordered;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.scheduling.support.TaskUtils;
 import org.springframework.tests.sample.beans.TestBean;
 
@@ -173,6 +184,121 @@ public class ApplicationContextEventTests extends AbstractApplicationEventListen
 		smc.multicastEvent(evt);
 	}
 
+	@Test
+	public void simpleApplicationEventMulticasterWithPerListenerOrdering() {
+		final List<Runnable> tasks = new LinkedList<Runnable>();
+		MyEventCollector listener1 = new MyEventCollector();
+		MyEventCollector listener2 = new MyEventCollector();
+
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.setTaskExecutor(new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				tasks.add(command);
+			}
+		});
+		smc.setPerListenerOrdering(true);
+		smc.addApplicationListener(listener1);
+		smc.addApplicationListener(listener2);
+
+		MyEvent event1 = new MyEvent(this);
+		MyEvent event2 = new MyEvent(this);
+		MyEvent event3 = new MyEvent(this);
+		smc.multicastEvent(event1);
+		smc.multicastEvent(event2);
+		smc.multicastEvent(event3);
+		assertEquals(2, tasks.size());
+
+		while (!tasks.isEmpty()) {
+			tasks.remove(0).run();
+		}
+		assertEquals(Arrays.asList(event1, event2, event3), listener1.events);
+		assertEquals(Arrays.asList(event1, event2, event3), listener2.events);
+	}
+
+	@Test
+	public void simpleApplicationEventMulticasterWithPerListenerOrderingAcrossGarbageCollection() throws Exception {
+		final AtomicInteger active = new AtomicInteger();
+		final AtomicInteger maxActive = new AtomicInteger();
+		final List<ApplicationEvent> events = new CopyOnWriteArrayList<ApplicationEvent>();
+		final CountDownLatch delivered = new CountDownLatch(10);
+		ApplicationListener<MyEvent> listener = new ApplicationListener<MyEvent>() {
+			@Override
+			public void onApplicationEvent(MyEvent event) {
+				int current = active.incrementAndGet();
+				if (current > maxActive.get()) {
+					maxActive.set(current);
+				}
+				try {
+					Thread.sleep(5);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				events.add(event);
+				active.decrementAndGet();
+				delivered.countDown();
+			}
+		};
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.setTaskExecutor(executor);
+		smc.setPerListenerOrdering(true);
+		smc.addApplicationListener(listener);
+
+		List<MyEvent> published = new ArrayList<MyEvent>();
+		for (int i = 0; i < 10; i++) {
+			MyEvent event = new MyEvent(this);
+			published.add(event);
+			smc.multicastEvent(event);
+			System.gc();
+		}
+		assertTrue(delivered.await(5, TimeUnit.SECONDS));
+		executor.shutdown();
+		assertEquals(1, maxActive.get());
+		assertEquals(published, events);
+	}
+
+	@Test
+	public void simpleApplicationEventMulticasterWithListenerQueueCapacity() {
+		final List<Runnable> tasks = new LinkedList<Runnable>();
+		MyEventCollector listener = new MyEventCollector();
+
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.setTaskExecutor(new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				tasks.add(command);
+			}
+		});
+		smc.setPerListenerOrdering(true);
+		smc.setListenerQueueCapacity(2);
+		smc.addApplicationListener(listener);
+
+		MyEvent event1 = new MyEvent(this);
+		MyEvent event2 = new MyEvent(this);
+		smc.multicastEvent(event1);
+		smc.multicastEvent(event2);
+		try {
+			smc.multicastEvent(new MyEvent(this));
+			fail("Should have thrown TaskRejectedException");
+		}
+		catch (TaskRejectedException ex) {
+			// expected
+		}
+
+		while (!tasks.isEmpty()) {
+			tasks.remove(0).run();
+		}
+		assertEquals(Arrays.asList(event1, event2), listener.events);
+
+		MyEvent event3 = new MyEvent(this);
+		smc.multicastEvent(event3);
+		tasks.remove(0).run();
+		assertEquals(Arrays.asList(event1, event2, event3), listener.events);
+	}
+
 	@Test
 	public void orderedListeners() {
 		MyOrderedListener1 listener1 = new MyOrderedListener1();
@@ -457,6 +583,17 @@ public class ApplicationContextEventTests extends AbstractApplicationEventListen
 	}
 
 
+	public static class MyEventCollector implements ApplicationListener<MyEvent> {
+
+		public final List<MyEvent> events = new ArrayList<MyEvent>();
+
+		@Override
+		public void onApplicationEvent(MyEvent event) {
+			this.events.add(event);
+		}
+	}
+
+
 	public static class MyPayloadListener implements ApplicationListener<PayloadApplicationEvent> {
 
 		public final Set<Object> seenPayloads = new HashSet<Object>();
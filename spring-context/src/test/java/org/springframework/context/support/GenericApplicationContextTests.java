@@ -16,11 +16,17 @@
 
 package org.springframework.context.support;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
 import org.junit.Test;
 
 import org.springframework.beans.factory.NoUniqueBeanDefinitionException;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
 
 import static org.junit.Assert.*;
 
@@ -85,4 +91,70 @@ public class GenericApplicationContextTests {
 		}
 	}
 
+	@Test
+	public void deferredSingletonInitialization() {
+		final List<Runnable> tasks = new ArrayList<Runnable>();
+		final List<ContextRefreshedEvent> events = new ArrayList<ContextRefreshedEvent>();
+		GenericApplicationContext ac = new GenericApplicationContext();
+		ac.setDeferredSingletonInitialization(true);
+		ac.setDeferredSingletonExecutor(new Executor() {
+			@Override
+			public void execute(Runnable task) {
+				tasks.add(task);
+			}
+		});
+		ac.addApplicationListener(new ApplicationListener<ContextRefreshedEvent>() {
+			@Override
+			public void onApplicationEvent(ContextRefreshedEvent event) {
+				events.add(event);
+			}
+		});
+		ac.registerBeanDefinition("testBean", new RootBeanDefinition(StringBuilder.class));
+		ac.refresh();
+
+		assertEquals(1, events.size());
+		assertEquals(1, tasks.size());
+		assertFalse(ac.getBeanFactory().containsSingleton("testBean"));
+
+		tasks.get(0).run();
+		assertTrue(ac.getBeanFactory().containsSingleton("testBean"));
+		ac.close();
+	}
+
+	@Test
+	public void deferredSingletonInitializationSpecifiedOnBeanFactory() {
+		final List<Runnable> tasks = new ArrayList<Runnable>();
+		GenericApplicationContext ac = new GenericApplicationContext();
+		ac.getDefaultListableBeanFactory().setDeferredSingletonInitialization(true);
+		ac.setDeferredSingletonExecutor(new Executor() {
+			@Override
+			public void execute(Runnable task) {
+				tasks.add(task);
+			}
+		});
+		ac.registerBeanDefinition("testBean", new RootBeanDefinition(StringBuilder.class));
+		ac.refresh();
+
+		assertTrue(ac.getDefaultListableBeanFactory().isDeferredSingletonInitialization());
+		assertEquals(1, tasks.size());
+		assertFalse(ac.getBeanFactory().containsSingleton("testBean"));
+
+		tasks.get(0).run();
+		assertTrue(ac.getBeanFactory().containsSingleton("testBean"));
+		ac.close();
+	}
+
+	@Test
+	public void metadataCompaction() {
+		GenericApplicationContext ac = new GenericApplicationContext();
+		ac.setMetadataCompaction(true);
+		ac.registerBeanDefinition("testBean", new RootBeanDefinition(StringBuilder.class));
+		ac.refresh();
+
+		assertEquals(0, ac.getDefaultListableBeanFactory().compactMetadata());
+		assertSame(ac.getBean("testBean"), ac.getBean(StringBuilder.class));
+		assertTrue(ac.isSingleton("testBean"));
+		ac.close();
+	}
+
 }
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.support;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.text.MessageFormat;
+import java.util.Date;
+import java.util.Locale;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link SnapshotResourceBundleMessageSource}.
+ */
+public class SnapshotResourceBundleMessageSourceTests {
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	private final SnapshotResourceBundleMessageSource messageSource = new SnapshotResourceBundleMessageSource();
+
+
+	@After
+	public void destroy() {
+		this.messageSource.destroy();
+	}
+
+
+	@Test
+	public void messageAccess() {
+		this.messageSource.setBasenames("org/springframework/context/support/messages",
+				"classpath:org/springframework/context/support/more-messages");
+		this.messageSource.setFallbackToSystemLocale(false);
+
+		assertEquals("message1", this.messageSource.getMessage("code1", null, Locale.ENGLISH));
+		assertEquals("message2", this.messageSource.getMessage("code2", null, Locale.ENGLISH));
+		assertEquals("nachricht2", this.messageSource.getMessage("code2", null, Locale.GERMAN));
+		assertEquals("nochricht2", this.messageSource.getMessage("code2", null, new Locale("DE", "at")));
+		assertEquals("noochricht2", this.messageSource.getMessage("code2", null, new Locale("DE", "at", "oo")));
+		assertEquals("nachricht2xml", this.messageSource.getMessage("code2", null, Locale.GERMANY));
+		assertEquals("message3", this.messageSource.getMessage("code3", null, Locale.GERMAN));
+		assertEquals("I''m", this.messageSource.getMessage("escaped", null, Locale.ENGLISH));
+		assertEquals("I'm", this.messageSource.getMessage("escaped", new Object[] {"some arg"}, Locale.ENGLISH));
+		assertEquals("Hello, World", this.messageSource.getMessage("hello", new Object[] {"Hello", "World"}, Locale.ENGLISH));
+		assertEquals("default", this.messageSource.getMessage("code4", null, "default", Locale.ENGLISH));
+	}
+
+	@Test
+	public void messageAccessWithAlwaysUseMessageFormat() {
+		this.messageSource.setBasename("org/springframework/context/support/messages");
+		this.messageSource.setAlwaysUseMessageFormat(true);
+
+		assertEquals("I'm", this.messageSource.getMessage("escaped", null, Locale.ENGLISH));
+		assertEquals("{0}, {1}", this.messageSource.getMessage("hello", null, Locale.ENGLISH));
+	}
+
+	@Test
+	public void formattingMatchesMessageFormat() throws IOException {
+		String[] patterns = {"{0}, {1}", "I''m {0}", "'{0}' is {0}", "a '{quoted'' text}' {1} {0}", "{2} missing",
+				"}{0}}", "{0,number,#.##}", "{0,choice,0#none|1#one|1<many}", "{01}", "no placeholders", "''''"};
+		Object[][] argSets = {
+				{"value", 42}, {1234567.891, "x", null}, {new Date(0), new BigDecimal("12.5")}, {null}, {}};
+		writeMessages("formats", patterns);
+		this.messageSource.setBasename(this.folder.getRoot().toURI() + "formats");
+		this.messageSource.setWatchForChanges(false);
+		this.messageSource.setAlwaysUseMessageFormat(true);
+
+		for (Locale locale : new Locale[] {Locale.ENGLISH, Locale.GERMAN}) {
+			for (int i = 0; i < patterns.length; i++) {
+				for (Object[] args : argSets) {
+					if (patterns[i].contains(",") && args.length > 0 && args[0] != null && !(args[0] instanceof Number)) {
+						continue;
+					}
+					String expected = new MessageFormat(patterns[i], locale).format(args);
+					assertEquals("Pattern [" + patterns[i] + "]", expected,
+							this.messageSource.getMessage("p" + i, args, locale));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void reloadOnFileChange() throws Exception {
+		writeMessages("watched", "first {0}");
+		this.messageSource.setBasename(this.folder.getRoot().toURI() + "watched");
+		this.messageSource.setFallbackToSystemLocale(false);
+		assertEquals("first arg", this.messageSource.getMessage("p0", new Object[] {"arg"}, Locale.ENGLISH));
+
+		File localized = new File(this.folder.getRoot(), "watched_de.properties");
+		try (OutputStream os = new FileOutputStream(localized)) {
+			os.write("p0=zweite {0}".getBytes("ISO-8859-1"));
+		}
+		assertEventually("zweite arg", "p0", Locale.GERMAN);
+		assertEquals("first arg", this.messageSource.getMessage("p0", new Object[] {"arg"}, Locale.ENGLISH));
+
+		writeMessages("watched", "second {0}");
+		assertEventually("second arg", "p0", Locale.ENGLISH);
+	}
+
+	@Test
+	public void reloadProgrammatically() throws Exception {
+		writeMessages("manual", "first");
+		this.messageSource.setBasename(this.folder.getRoot().toURI() + "manual");
+		this.messageSource.setWatchForChanges(false);
+		assertEquals("first", this.messageSource.getMessage("p0", null, Locale.ENGLISH));
+
+		writeMessages("manual", "second");
+		assertEquals("first", this.messageSource.getMessage("p0", null, Locale.ENGLISH));
+		this.messageSource.reload();
+		assertEquals("second", this.messageSource.getMessage("p0", null, Locale.ENGLISH));
+
+		writeMessages("manual", "third");
+		this.messageSource.clearCache();
+		assertEquals("third", this.messageSource.getMessage("p0", null, Locale.ENGLISH));
+	}
+
+
+	private void writeMessages(String basename, String... messages) throws IOException {
+		StringBuilder content = new StringBuilder();
+		for (int i = 0; i < messages.length; i++) {
+			content.append('p').append(i).append('=').append(messages[i].replace("\\", "\\\\")).append('\n');
+		}
+		File file = new File(this.folder.getRoot(), basename + ".properties");
+		try (OutputStream os = new FileOutputStream(file)) {
+			os.write(content.toString().getBytes("ISO-8859-1"));
+		}
+	}
+
+	private void assertEventually(String expected, String code, Locale locale) throws InterruptedException {
+		String message = null;
+		for (int i = 0; i < 200; i++) {
+			message = this.messageSource.getMessage(code, new Object[] {"arg"}, null, locale);
+			if (expected.equals(message)) {
+				return;
+			}
+			Thread.sleep(50);
+		}
+		assertEquals(expected, message);
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2012 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,8 @@ import java.lang.annotation.RetentionPolicy;
 
 import org.junit.Test;
 
+import org.springframework.aop.interceptor.AsyncBatchSpec;
+
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
 
@@ -58,6 +60,29 @@ public class AnnotationAsyncExecutionInterceptorTests {
 		}
 	}
 
+	@Test
+	@SuppressWarnings("unused")
+	public void testGetBatchSpec() throws SecurityException, NoSuchMethodException {
+		AnnotationAsyncExecutionInterceptor i = new AnnotationAsyncExecutionInterceptor(null);
+		{ // no batching
+			class C { @Async void m(int i) { } }
+			assertThat(i.getBatchSpec(C.class.getDeclaredMethod("m", int.class)), nullValue());
+		}
+		{ // bulk method with defaults
+			class C { @Async(batchMethod = "all") void m(int i) { } }
+			AsyncBatchSpec spec = i.getBatchSpec(C.class.getDeclaredMethod("m", int.class));
+			assertThat(spec.getBulkMethodName(), is("all"));
+			assertThat(spec.getBatchSize(), is(100));
+			assertThat(spec.getBatchTimeout(), is(10L));
+		}
+		{ // custom batch size and timeout
+			class C { @Async(batchMethod = "all", batchSize = 5, batchTimeout = 50) void m(int i) { } }
+			AsyncBatchSpec spec = i.getBatchSpec(C.class.getDeclaredMethod("m", int.class));
+			assertThat(spec.getBatchSize(), is(5));
+			assertThat(spec.getBatchTimeout(), is(50L));
+		}
+	}
+
 	@Async("qMeta")
 	@Retention(RetentionPolicy.RUNTIME)
 	@interface MyAsync { }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,16 +20,25 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 import org.junit.Test;
 
 import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.aop.framework.autoproxy.DefaultAdvisorAutoProxyCreator;
 import org.springframework.aop.support.DefaultIntroductionAdvisor;
 import org.springframework.beans.factory.DisposableBean;
@@ -409,6 +418,90 @@ public class AsyncExecutionTests {
 		assertEquals(2, listenerConstructed);
 	}
 
+	@Test
+	public void batchedAsyncMethods() throws Exception {
+		originalThreadName = Thread.currentThread().getName();
+		GenericApplicationContext context = new GenericApplicationContext();
+		context.registerBeanDefinition("asyncTest", new RootBeanDefinition(AsyncBatchBean.class));
+		context.registerBeanDefinition("autoProxyCreator", new RootBeanDefinition(DefaultAdvisorAutoProxyCreator.class));
+		context.registerBeanDefinition("asyncAdvisor", new RootBeanDefinition(AsyncAnnotationAdvisor.class));
+		context.refresh();
+
+		AsyncBatchBean asyncTest = context.getBean("asyncTest", AsyncBatchBean.class);
+		List<Future<String>> futures = new ArrayList<>();
+		for (int i = 0; i < 25; i++) {
+			futures.add(asyncTest.returnSomething(i));
+		}
+		for (int i = 0; i < 25; i++) {
+			assertEquals(Integer.toString(i), futures.get(i).get(5, TimeUnit.SECONDS));
+		}
+		List<Integer> batchSizes = new ArrayList<>(asyncTest.getBatchSizes());
+		Collections.sort(batchSizes);
+		assertEquals(Arrays.asList(5, 10, 10), batchSizes);
+
+		asyncTest.doSomething("a");
+		asyncTest.doSomething("b");
+		assertTrue(asyncTest.getLatch().await(5, TimeUnit.SECONDS));
+		assertEquals(Arrays.asList("a", "b"), asyncTest.getRecorded());
+
+		try {
+			asyncTest.returnSomethingCompletable(1).get(5, TimeUnit.SECONDS);
+			fail("Should have thrown ExecutionException");
+		}
+		catch (ExecutionException ex) {
+			assertTrue(ex.getCause() instanceof IOException);
+		}
+		context.close();
+	}
+
+	@Test
+	public void batchedAsyncMethodFailureHandledPerInvocation() throws Exception {
+		final List<Object[]> handledParams = new CopyOnWriteArrayList<>();
+		final CountDownLatch handled = new CountDownLatch(2);
+		AsyncUncaughtExceptionHandler exceptionHandler = (ex, method, params) -> {
+			assertEquals("Bulk failure", ex.getMessage());
+			assertEquals("failSomething", method.getName());
+			handledParams.add(params);
+			handled.countDown();
+		};
+		RootBeanDefinition advisorDefinition = new RootBeanDefinition(AsyncAnnotationAdvisor.class);
+		advisorDefinition.getConstructorArgumentValues().addIndexedArgumentValue(0, null, Executor.class.getName());
+		advisorDefinition.getConstructorArgumentValues().addIndexedArgumentValue(1, exceptionHandler);
+		GenericApplicationContext context = new GenericApplicationContext();
+		context.registerBeanDefinition("asyncTest", new RootBeanDefinition(AsyncBatchBean.class));
+		context.registerBeanDefinition("autoProxyCreator", new RootBeanDefinition(DefaultAdvisorAutoProxyCreator.class));
+		context.registerBeanDefinition("asyncAdvisor", advisorDefinition);
+		context.refresh();
+
+		AsyncBatchBean asyncTest = context.getBean("asyncTest", AsyncBatchBean.class);
+		asyncTest.failSomething("a");
+		asyncTest.failSomething("b");
+		assertTrue(handled.await(5, TimeUnit.SECONDS));
+		assertEquals(2, handledParams.size());
+		assertArrayEquals(new Object[] {"a"}, handledParams.get(0));
+		assertArrayEquals(new Object[] {"b"}, handledParams.get(1));
+		context.close();
+	}
+
+	@Test
+	public void batchedAsyncMethodWithoutBulkMethod() throws Exception {
+		GenericApplicationContext context = new GenericApplicationContext();
+		context.registerBeanDefinition("asyncTest", new RootBeanDefinition(AsyncBatchBean.class));
+		context.registerBeanDefinition("autoProxyCreator", new RootBeanDefinition(DefaultAdvisorAutoProxyCreator.class));
+		context.registerBeanDefinition("asyncAdvisor", new RootBeanDefinition(AsyncAnnotationAdvisor.class));
+		context.refresh();
+
+		AsyncBatchBean asyncTest = context.getBean("asyncTest", AsyncBatchBean.class);
+		try {
+			asyncTest.returnNothing(1);
+			fail("Should have thrown IllegalStateException");
+		}
+		catch (IllegalStateException ex) {
+			assertTrue(ex.getMessage().contains("missingBulk"));
+		}
+		context.close();
+	}
+
 
 	public interface SimpleInterface {
 
@@ -468,6 +561,75 @@ public class AsyncExecutionTests {
 	}
 
 
+	public static class AsyncBatchBean {
+
+		private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+		private final List<String> recorded = new CopyOnWriteArrayList<>();
+
+		private final CountDownLatch latch = new CountDownLatch(1);
+
+		@Async(batchMethod = "returnAll", batchSize = 10, batchTimeout = 200)
+		public Future<String> returnSomething(int i) {
+			throw new UnsupportedOperationException("Should have been batched");
+		}
+
+		public List<String> returnAll(List<Integer> items) {
+			assertTrue(!Thread.currentThread().getName().equals(originalThreadName));
+			this.batchSizes.add(items.size());
+			List<String> results = new ArrayList<>();
+			for (Integer item : items) {
+				results.add(Integer.toString(item));
+			}
+			return results;
+		}
+
+		@Async(batchMethod = "doAll", batchSize = 2, batchTimeout = 5000)
+		public void doSomething(String s) {
+			throw new UnsupportedOperationException("Should have been batched");
+		}
+
+		public void doAll(List<String> items) {
+			this.recorded.addAll(items);
+			this.latch.countDown();
+		}
+
+		@Async(batchMethod = "failAll", batchTimeout = 0)
+		public CompletableFuture<String> returnSomethingCompletable(int i) {
+			throw new UnsupportedOperationException("Should have been batched");
+		}
+
+		public Future<List<String>> failAll(List<Integer> items) {
+			return AsyncResult.forExecutionException(new IOException());
+		}
+
+		@Async(batchMethod = "failVoidAll", batchSize = 2, batchTimeout = 5000)
+		public void failSomething(String s) {
+			throw new UnsupportedOperationException("Should have been batched");
+		}
+
+		public void failVoidAll(List<String> items) {
+			throw new IllegalStateException("Bulk failure");
+		}
+
+		@Async(batchMethod = "missingBulk")
+		public void returnNothing(int i) {
+		}
+
+		public List<Integer> getBatchSizes() {
+			return this.batchSizes;
+		}
+
+		public List<String> getRecorded() {
+			return this.recorded;
+		}
+
+		public CountDownLatch getLatch() {
+			return this.latch;
+		}
+	}
+
+
 	public static class SimpleAsyncMethodBean extends AsyncMethodBean implements SimpleInterface {
 
 		@Override
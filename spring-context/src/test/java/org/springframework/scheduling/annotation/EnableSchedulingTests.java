@@ -17,6 +17,8 @@
 package org.springframework.scheduling.annotation;
 
 import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.After;
@@ -25,6 +27,7 @@ import org.junit.Test;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SyncTaskExecutor;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.Trigger;
 import org.springframework.scheduling.TriggerContext;
@@ -67,6 +70,17 @@ public class EnableSchedulingTests {
 		assertThat(ctx.getBean(AtomicInteger.class).get(), greaterThanOrEqualTo(10));
 	}
 
+	@Test
+	public void withFixedRateTaskOnDeferredSingleton() throws InterruptedException {
+		ctx = new AnnotationConfigApplicationContext();
+		ctx.setDeferredSingletonInitialization(true);
+		ctx.setDeferredSingletonExecutor(new SyncTaskExecutor());
+		ctx.register(DeferredFixedRateTaskConfig.class);
+		ctx.refresh();
+
+		assertTrue(ctx.getBean(CountDownLatch.class).await(5, TimeUnit.SECONDS));
+	}
+
 	@Test
 	public void withSubclass() throws InterruptedException {
 		Assume.group(TestGroup.PERFORMANCE);
@@ -194,6 +208,22 @@ public class EnableSchedulingTests {
 	}
 
 
+	@Configuration
+	@EnableScheduling
+	static class DeferredFixedRateTaskConfig {
+
+		@Bean
+		public CountDownLatch latch() {
+			return new CountDownLatch(3);
+		}
+
+		@Scheduled(fixedRate = 10)
+		public void task() {
+			latch().countDown();
+		}
+	}
+
+
 	@Configuration
 	@EnableScheduling
 	static class ExplicitSchedulerConfig {
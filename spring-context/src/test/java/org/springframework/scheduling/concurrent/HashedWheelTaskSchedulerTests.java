@@ -0,0 +1,250 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.TriggerContext;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link HashedWheelTaskScheduler}.
+ *
+ * @since 4.3
+ */
+public class HashedWheelTaskSchedulerTests {
+
+	private static final String THREAD_NAME_PREFIX = "wheel-test-";
+
+	private final HashedWheelTaskScheduler scheduler = new HashedWheelTaskScheduler();
+
+
+	@Before
+	public void initScheduler() {
+		scheduler.setThreadNamePrefix(THREAD_NAME_PREFIX);
+		scheduler.setTickDuration(5);
+		scheduler.setTicksPerWheel(8);
+		scheduler.setPoolSize(2);
+		scheduler.afterPropertiesSet();
+	}
+
+	@After
+	public void shutdownScheduler() {
+		scheduler.destroy();
+	}
+
+
+	@Test
+	public void scheduleOneTimeTask() throws Exception {
+		final AtomicReference<String> threadName = new AtomicReference<>();
+		long start = System.currentTimeMillis();
+		ScheduledFuture<?> future = scheduler.schedule(
+				() -> threadName.set(Thread.currentThread().getName()), new Date(start + 50));
+
+		assertNull(future.get(1000, TimeUnit.MILLISECONDS));
+		assertTrue(System.currentTimeMillis() - start >= 50);
+		assertTrue(future.isDone());
+		assertFalse(future.isCancelled());
+		assertTrue(threadName.get().startsWith(THREAD_NAME_PREFIX));
+		assertNotEquals(THREAD_NAME_PREFIX + "wheel", threadName.get());
+	}
+
+	@Test
+	public void scheduleOverdueTask() throws Exception {
+		ScheduledFuture<?> future = scheduler.schedule(() -> {}, new Date(System.currentTimeMillis() - 1000));
+		assertNull(future.get(1000, TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	public void scheduleBeyondOneRevolution() throws Exception {
+		// 8 ticks of 5 ms per revolution
+		long start = System.currentTimeMillis();
+		ScheduledFuture<?> future = scheduler.schedule(() -> {}, new Date(start + 120));
+
+		future.get(1000, TimeUnit.MILLISECONDS);
+		assertTrue(System.currentTimeMillis() - start >= 120);
+	}
+
+	@Test
+	public void scheduleManyTasks() throws Exception {
+		int count = 10000;
+		final CountDownLatch latch = new CountDownLatch(count);
+		long start = System.currentTimeMillis();
+		for (int i = 0; i < count; i++) {
+			scheduler.schedule(latch::countDown, new Date(start + (i % 100)));
+		}
+		assertTrue(latch.await(2000, TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	public void failingOneTimeTask() throws Exception {
+		ScheduledFuture<?> future = scheduler.schedule(() -> {
+			throw new IllegalStateException("Expected");
+		}, new Date());
+		try {
+			future.get(1000, TimeUnit.MILLISECONDS);
+			fail("Should have thrown ExecutionException");
+		}
+		catch (ExecutionException ex) {
+			assertEquals("Expected", ex.getCause().getMessage());
+		}
+		assertTrue(future.isDone());
+	}
+
+	@Test
+	public void failingOneTimeTaskWithErrorHandler() throws Exception {
+		final AtomicReference<Throwable> error = new AtomicReference<>();
+		scheduler.setErrorHandler(error::set);
+		ScheduledFuture<?> future = scheduler.schedule(() -> {
+			throw new IllegalStateException("Expected");
+		}, new Date());
+
+		assertNull(future.get(1000, TimeUnit.MILLISECONDS));
+		assertEquals("Expected", error.get().getMessage());
+	}
+
+	@Test
+	public void cancelTask() throws Exception {
+		final AtomicInteger count = new AtomicInteger();
+		ScheduledFuture<?> future = scheduler.schedule(count::incrementAndGet,
+				new Date(System.currentTimeMillis() + 50));
+
+		assertTrue(future.cancel(false));
+		assertTrue(future.isCancelled());
+		assertTrue(future.isDone());
+		assertFalse(future.cancel(false));
+		Thread.sleep(100);
+		assertEquals(0, count.get());
+		try {
+			future.get();
+			fail("Should have thrown CancellationException");
+		}
+		catch (CancellationException ex) {
+			// expected
+		}
+	}
+
+	@Test
+	public void scheduleWithFixedDelay() throws Exception {
+		final CountDownLatch latch = new CountDownLatch(3);
+		ScheduledFuture<?> future = scheduler.scheduleWithFixedDelay(latch::countDown, 10);
+
+		assertTrue(latch.await(1000, TimeUnit.MILLISECONDS));
+		assertFalse(future.isDone());
+		future.cancel(false);
+		assertTrue(future.isCancelled());
+	}
+
+	@Test
+	public void scheduleAtFixedRateWithStartTime() throws Exception {
+		final List<Long> executionTimes = new ArrayList<>();
+		final CountDownLatch latch = new CountDownLatch(3);
+		long start = System.currentTimeMillis();
+		ScheduledFuture<?> future = scheduler.scheduleAtFixedRate(() -> {
+			synchronized (executionTimes) {
+				executionTimes.add(System.currentTimeMillis());
+			}
+			latch.countDown();
+		}, new Date(start + 30), 20);
+
+		assertTrue(latch.await(1000, TimeUnit.MILLISECONDS));
+		future.cancel(false);
+		synchronized (executionTimes) {
+			assertTrue(executionTimes.get(0) - start >= 30);
+			assertTrue(executionTimes.get(2) - start >= 70);
+		}
+	}
+
+	@Test
+	public void scheduleWithTrigger() throws Exception {
+		ScheduledFuture<?> future = scheduler.schedule(() -> {}, new CountingTrigger(3));
+		assertNull(future.get(1000, TimeUnit.MILLISECONDS));
+		assertTrue(future.isDone());
+		assertFalse(future.isCancelled());
+	}
+
+	@Test
+	public void scheduleWithTriggerWithoutExecution() {
+		assertNull(scheduler.schedule(() -> {}, new CountingTrigger(0)));
+	}
+
+	@Test
+	public void getWithTimeout() throws Exception {
+		ScheduledFuture<?> future = scheduler.schedule(() -> {}, new Date(System.currentTimeMillis() + 1000));
+		assertTrue(future.getDelay(TimeUnit.MILLISECONDS) > 500);
+		try {
+			future.get(20, TimeUnit.MILLISECONDS);
+			fail("Should have thrown TimeoutException");
+		}
+		catch (TimeoutException ex) {
+			// expected
+		}
+	}
+
+	@Test
+	public void shutdownCancelsScheduledTasks() throws Exception {
+		ScheduledFuture<?> future = scheduler.schedule(() -> {}, new Date(System.currentTimeMillis() + 10000));
+		scheduler.shutdown();
+
+		assertTrue(future.isCancelled());
+		try {
+			scheduler.schedule(() -> {}, new Date());
+			fail("Should have thrown TaskRejectedException");
+		}
+		catch (TaskRejectedException ex) {
+			// expected
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void scheduleBeforeInitialization() {
+		new HashedWheelTaskScheduler().schedule(() -> {}, new Date());
+	}
+
+
+	private static class CountingTrigger implements Trigger {
+
+		private final AtomicInteger remaining;
+
+		public CountingTrigger(int executions) {
+			this.remaining = new AtomicInteger(executions);
+		}
+
+		@Override
+		public Date nextExecutionTime(TriggerContext triggerContext) {
+			return (this.remaining.getAndDecrement() > 0 ? new Date(System.currentTimeMillis() + 10) : null);
+		}
+	}
+
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.springframework.jmx.export.MBeanExporter;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ThreadPoolTaskExecutor}'s task statistics and adaptive pool size.
+ */
+public class ThreadPoolTaskExecutorTests {
+
+	private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+
+	@After
+	public void shutdown() {
+		this.executor.shutdown();
+	}
+
+
+	@Test
+	public void noStatisticsByDefault() throws Exception {
+		this.executor.afterPropertiesSet();
+		this.executor.submit(sleepingTask(0)).get();
+		assertEquals(-1, this.executor.getQueueWaitTimeMean(), 0);
+		assertEquals(-1, this.executor.getExecutionTimeMax(), 0);
+		assertNull(this.executor.getQueueWaitTimeHistogram());
+		assertNull(this.executor.getExecutionTimeHistogram());
+	}
+
+	@Test
+	public void statistics() throws Exception {
+		this.executor.setStatisticsEnabled(true);
+		this.executor.afterPropertiesSet();
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			futures.add(this.executor.submit(sleepingTask(20)));
+		}
+		for (Future<?> future : futures) {
+			future.get(5, TimeUnit.SECONDS);
+		}
+		// The last task's timing is recorded right after its completion
+		Thread.sleep(50);
+
+		assertEquals(5, sum(this.executor.getQueueWaitTimeHistogram()));
+		assertEquals(5, sum(this.executor.getExecutionTimeHistogram()));
+		assertTrue(this.executor.getExecutionTimeMean() >= 15);
+		assertTrue(this.executor.getExecutionTime99thPercentile() >= 15);
+		assertTrue(this.executor.getExecutionTime99thPercentile() <= this.executor.getExecutionTimeMax());
+		// The last task waited for the four tasks before it with a single thread
+		assertTrue(this.executor.getQueueWaitTimeMax() >= 60);
+		assertTrue(this.executor.getQueueWaitTimeMean() > 0);
+		assertEquals(0, this.executor.getQueueSize());
+	}
+
+	@Test
+	public void adaptivePoolSize() throws Exception {
+		this.executor.setCorePoolSize(1);
+		this.executor.setMaxPoolSize(4);
+		this.executor.setAdaptivePoolSize(true);
+		this.executor.setTargetQueueWait(1);
+		this.executor.setAdaptiveInterval(20);
+		this.executor.afterPropertiesSet();
+		assertTrue(this.executor.isStatisticsEnabled());
+
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			futures.add(this.executor.submit(sleepingTask(5)));
+		}
+		for (Future<?> future : futures) {
+			future.get(10, TimeUnit.SECONDS);
+		}
+		assertEquals(4, this.executor.getCurrentCorePoolSize());
+		assertEquals(1, this.executor.getCorePoolSize());
+
+		// Hardly any load: back to the configured core pool size
+		for (int i = 0; i < 3; i++) {
+			Thread.sleep(30);
+			this.executor.submit(sleepingTask(0)).get();
+		}
+		Thread.sleep(50);
+		assertEquals(1, this.executor.getCurrentCorePoolSize());
+	}
+
+	@Test
+	public void adaptivePoolSizeRequiresBoundedMaxPoolSize() {
+		this.executor.setAdaptivePoolSize(true);
+		try {
+			this.executor.afterPropertiesSet();
+			fail("Should have thrown IllegalArgumentException");
+		}
+		catch (IllegalArgumentException ex) {
+			assertTrue(ex.getMessage().contains("maxPoolSize"));
+		}
+		this.executor.setMaxPoolSize(4);
+		this.executor.afterPropertiesSet();
+	}
+
+	@Test
+	public void statisticsExportedThroughJmx() throws Exception {
+		this.executor.setStatisticsEnabled(true);
+		this.executor.afterPropertiesSet();
+		this.executor.submit(sleepingTask(0)).get();
+
+		MBeanServer server = MBeanServerFactory.newMBeanServer();
+		MBeanExporter exporter = new MBeanExporter();
+		exporter.setServer(server);
+		ObjectName name = ObjectName.getInstance("spring:name=executor");
+		exporter.registerManagedResource(this.executor, name);
+		assertTrue((Double) server.getAttribute(name, "QueueWaitTimeMean") >= 0);
+		assertEquals(TaskTimeHistogram.BUCKET_COUNT, ((long[]) server.getAttribute(name, "ExecutionTimeHistogram")).length);
+		assertEquals(1, server.getAttribute(name, "CurrentCorePoolSize"));
+	}
+
+
+	private static Runnable sleepingTask(final long millis) {
+		return new Runnable() {
+			@Override
+			public void run() {
+				try {
+					Thread.sleep(millis);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+	}
+
+	private static long sum(long[] counts) {
+		long sum = 0;
+		for (long count : counts) {
+			sum += count;
+		}
+		return sum;
+	}
+
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.config;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jmx.export.annotation.AnnotationMBeanExporter;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.PeriodicTrigger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ScheduledTaskMonitor}.
+ */
+public class ScheduledTaskMonitorTests {
+
+	private final ScheduledTaskMonitor monitor = new ScheduledTaskMonitor();
+
+	private final ScheduledTaskRegistrar registrar = new ScheduledTaskRegistrar();
+
+
+	@After
+	public void destroy() {
+		this.registrar.destroy();
+	}
+
+
+	@Test
+	public void fixedRateTask() throws Exception {
+		CountingTask task = new CountingTask(0, 3);
+		this.registrar.setTaskMonitor(this.monitor);
+		this.registrar.addFixedRateTask(task, 10);
+		this.registrar.afterPropertiesSet();
+		assertTrue(task.latch.await(5, TimeUnit.SECONDS));
+		Thread.sleep(20);
+
+		ScheduledTaskStatistics statistics = this.monitor.getTaskStatistics("countingTask");
+		assertEquals("fixedRate", statistics.getTaskType());
+		assertEquals(10, statistics.getInterval());
+		assertTrue(statistics.getExecutionCount() >= 3);
+		assertEquals(0, statistics.getErrorCount());
+		assertEquals(0, statistics.getOverlapCount());
+		assertTrue(statistics.getLastStartDelay() >= 0);
+		assertTrue(statistics.getLastExecutionStart() > 0);
+		assertTrue(statistics.getMeanExecutionTime() >= 0);
+		assertFalse(statistics.isLagging());
+	}
+
+	@Test
+	public void fixedRateTaskNotKeepingUp() throws Exception {
+		final AtomicInteger alerts = new AtomicInteger();
+		this.monitor.setAlertHandler(new ScheduledTaskAlertHandler() {
+			@Override
+			public void handleLaggingTask(ScheduledTaskStatistics statistics, long startDelay) {
+				assertTrue(startDelay >= statistics.getInterval());
+				alerts.incrementAndGet();
+			}
+		});
+		CountingTask task = new CountingTask(25, 5);
+		this.registrar.setTaskMonitor(this.monitor);
+		this.registrar.addFixedRateTask(task, 10);
+		long start = System.currentTimeMillis();
+		this.registrar.afterPropertiesSet();
+		assertTrue(task.latch.await(5, TimeUnit.SECONDS));
+
+		ScheduledTaskStatistics statistics = this.monitor.getTaskStatistics("countingTask");
+		// 25 ms executions overrun the 10 ms rate, without any interval counted twice
+		long elapsedIntervals = (statistics.getLastExecutionStart() - start) / 10;
+		assertTrue(statistics.getMissedExecutionCount() >= 2);
+		assertTrue(statistics.getMissedExecutionCount() <= elapsedIntervals);
+		assertTrue(statistics.getMaxStartDelay() >= 10);
+		assertTrue(statistics.getMaxExecutionTime() >= 20);
+		assertTrue(statistics.isLagging());
+		// Alerted once as long as the task does not catch up
+		assertEquals(1, alerts.get());
+	}
+
+	@Test
+	public void fixedRateTaskCatchingUpAfterStall() throws Exception {
+		final AtomicInteger alerts = new AtomicInteger();
+		this.monitor.setAlertHandler(new ScheduledTaskAlertHandler() {
+			@Override
+			public void handleLaggingTask(ScheduledTaskStatistics statistics, long startDelay) {
+				alerts.incrementAndGet();
+			}
+		});
+		CountingTask task = new CountingTask(0, 6);
+		// First execution stalled for five intervals, followed by five catch-up executions
+		Runnable runnable = this.monitor.monitorFixedRateTask(
+				new IntervalTask(task, 1000, 0), System.currentTimeMillis() - 5000);
+		for (int i = 0; i < 6; i++) {
+			runnable.run();
+		}
+
+		ScheduledTaskStatistics statistics = this.monitor.getTaskStatistics("countingTask");
+		assertEquals(6, statistics.getExecutionCount());
+		assertEquals(5, statistics.getMissedExecutionCount());
+		assertFalse(statistics.isLagging());
+		assertEquals(1, alerts.get());
+	}
+
+	@Test
+	public void fixedDelayTaskWithErrors() throws Exception {
+		CountingTask task = new CountingTask(0, 3);
+		task.fail = true;
+		this.registrar.setTaskMonitor(this.monitor);
+		this.registrar.addFixedDelayTask(task, 10);
+		this.registrar.afterPropertiesSet();
+		assertTrue(task.latch.await(5, TimeUnit.SECONDS));
+		Thread.sleep(20);
+
+		ScheduledTaskStatistics statistics = this.monitor.getTaskStatistics("countingTask");
+		assertEquals("fixedDelay", statistics.getTaskType());
+		assertTrue(statistics.getErrorCount() >= 3);
+		assertEquals(statistics.getExecutionCount(), statistics.getErrorCount());
+		assertTrue(statistics.getLastError().contains("IllegalStateException"));
+		assertEquals(0, statistics.getMissedExecutionCount());
+	}
+
+	@Test
+	public void triggerTasks() throws Exception {
+		CountingTask task = new CountingTask(0, 2);
+		this.registrar.setTaskMonitor(this.monitor);
+		this.registrar.addTriggerTask(task, new PeriodicTrigger(10));
+		this.registrar.addCronTask(task, "* * * * * *");
+		this.registrar.afterPropertiesSet();
+		assertTrue(task.latch.await(5, TimeUnit.SECONDS));
+
+		assertEquals(2, this.monitor.getTaskStatistics().size());
+		assertEquals("trigger", this.monitor.getTaskStatistics("countingTask").getTaskType());
+		assertEquals("cron", this.monitor.getTaskStatistics("countingTask#2").getTaskType());
+		assertEquals(-1, this.monitor.getTaskStatistics("countingTask").getInterval());
+		assertTrue(this.monitor.getTaskStatistics("countingTask").getLastStartDelay() >= 0);
+	}
+
+	@Test
+	public void scheduledMethodsExportedThroughJmx() throws Exception {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(MonitoringConfig.class);
+		MBeanServer server = context.getBean(MBeanServer.class);
+		ScheduledBean bean = context.getBean(ScheduledBean.class);
+		assertTrue(bean.latch.await(5, TimeUnit.SECONDS));
+		Thread.sleep(20);
+
+		String taskName = ScheduledBean.class.getName() + ".tick";
+		ScheduledTaskStatistics statistics = context.getBean(ScheduledTaskMonitor.class).getTaskStatistics(taskName);
+		assertNotNull(statistics);
+		ObjectName name = ObjectName.getInstance("org.springframework.scheduling:type=ScheduledTask,name=" + taskName);
+		assertEquals("fixedRate", server.getAttribute(name, "TaskType"));
+		assertTrue((Long) server.getAttribute(name, "ExecutionCount") >= 2);
+		context.close();
+		MBeanServerFactory.releaseMBeanServer(server);
+	}
+
+
+	private static class CountingTask implements Runnable {
+
+		private final long sleep;
+
+		private final CountDownLatch latch;
+
+		private boolean fail;
+
+		public CountingTask(long sleep, int count) {
+			this.sleep = sleep;
+			this.latch = new CountDownLatch(count);
+		}
+
+		@Override
+		public void run() {
+			try {
+				Thread.sleep(this.sleep);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			this.latch.countDown();
+			if (this.fail) {
+				throw new IllegalStateException("Failed");
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "countingTask";
+		}
+	}
+
+
+	@Configuration
+	@EnableScheduling
+	static class MonitoringConfig {
+
+		@Bean
+		public MBeanServer mbeanServer() {
+			return MBeanServerFactory.createMBeanServer();
+		}
+
+		@Bean
+		public AnnotationMBeanExporter mbeanExporter() {
+			AnnotationMBeanExporter exporter = new AnnotationMBeanExporter();
+			exporter.setServer(mbeanServer());
+			return exporter;
+		}
+
+		@Bean
+		public ScheduledTaskMonitor scheduledTaskMonitor() {
+			return new ScheduledTaskMonitor();
+		}
+
+		@Bean
+		public ScheduledBean scheduledBean() {
+			return new ScheduledBean();
+		}
+	}
+
+
+	static class ScheduledBean {
+
+		private final CountDownLatch latch = new CountDownLatch(2);
+
+		@Scheduled(fixedRate = 10)
+		public void tick() {
+			this.latch.countDown();
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,9 +17,14 @@
 package org.springframework.scheduling.support;
 
 import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
 
 import org.junit.Test;
 
+import org.springframework.tests.Assume;
+import org.springframework.tests.TestGroup;
+
 import static org.junit.Assert.*;
 
 /**
@@ -56,4 +61,104 @@ public class CronSequenceGeneratorTests {
 		new CronSequenceGenerator("*/-1 * * * * *").next(new Date(2012, 6, 1, 9, 0));
 	}
 
+	@Test
+	public void testLeapDay() {
+		CronSequenceGenerator generator = new CronSequenceGenerator("0 0 3 29 2 *", TimeZone.getTimeZone("UTC"));
+		assertEquals(1456714800000L, generator.next(new Date(1420070400000L)).getTime());  // 2016-02-29T03:00Z
+	}
+
+	@Test
+	public void testFridayThe13th() {
+		CronSequenceGenerator generator = new CronSequenceGenerator("0 0 12 13 * FRI", TimeZone.getTimeZone("UTC"));
+		assertEquals(1484308800000L, generator.next(new Date(1463184000000L)).getTime());  // 2017-01-13T12:00Z
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testWithNonExistentDay() {
+		new CronSequenceGenerator("0 0 0 31 2 *").next(new Date(2012, 6, 1, 9, 0));
+	}
+
+	@Test
+	public void testDaylightSavingTimeGap() {
+		// 2:30 does not exist on 2018-03-11 in New York
+		CronSequenceGenerator generator = new CronSequenceGenerator("0 30 2 * * *", TimeZone.getTimeZone("America/New_York"));
+		assertEquals(1520836200000L, generator.next(new Date(1520683200000L)).getTime());  // 2018-03-12T06:30Z
+	}
+
+	@Test
+	public void testDaylightSavingTimeOverlap() {
+		// 1:00 occurs twice on 2018-11-04 in New York
+		CronSequenceGenerator generator = new CronSequenceGenerator("0 0 1 * * *", TimeZone.getTimeZone("America/New_York"));
+		Date first = generator.next(new Date(1541246400000L));
+		assertEquals(1541307600000L, first.getTime());  // 2018-11-04T05:00Z
+		assertEquals(1541397600000L, generator.next(first).getTime());  // 2018-11-05T06:00Z
+	}
+
+	@Test
+	public void testDaylightSavingTimeOverlapFiresOnce() {
+		// 1:30 occurs twice on 2016-11-06 in New York
+		CronSequenceGenerator generator = new CronSequenceGenerator("0 30 1 * * *", TimeZone.getTimeZone("America/New_York"));
+		Date first = generator.next(new Date(1478404800000L));  // 2016-11-06T00:00 EDT
+		assertEquals(1478410200000L, first.getTime());  // 2016-11-06T05:30Z (01:30 EDT)
+		Date second = generator.next(first);
+		assertEquals(1478500200000L, second.getTime());  // 2016-11-07T06:30Z (01:30 EST)
+		// Starting within the later half of the overlap, after 1:30 EDT has passed
+		assertEquals(second, generator.next(new Date(1478412600000L)));  // 2016-11-06T01:10 EST
+	}
+
+	@Test
+	public void testSameResultAsCalendarBasedSearch() {
+		String[] expressions = {"* * * * * *", "*/15 * 1-4 * * *", "0 */2 1-4 * * *", "0 0 * * * MON-FRI",
+				"0 30 2 * * *", "0 0 0 1 * *", "0 0 3 29 2 *", "10-20/5 7 8 ? JAN,JUL SUN",
+				"59 59 23 31 12 *", "0 0 0 28-31 * *"};
+		String[] zones = {"UTC", "Asia/Tokyo", "Asia/Kolkata", "GMT-03:30",
+				"America/New_York", "Europe/Berlin", "Australia/Sydney", "Australia/Lord_Howe"};
+		Random random = new Random(42);
+		for (String zone : zones) {
+			TimeZone timeZone = TimeZone.getTimeZone(zone);
+			for (String expression : expressions) {
+				CronSequenceGenerator generator = new CronSequenceGenerator(expression, timeZone);
+				for (int i = 0; i < 200; i++) {
+					// Random dates between 2000 and 2030
+					Date date = new Date(946684800000L + (long) (random.nextDouble() * 946080000000L));
+					Date expected = generator.nextWithCalendar(date);
+					// GregorianCalendar resolves local times around a daylight saving time transition differently
+					if (timeZone.getOffset(date.getTime()) == timeZone.getOffset(expected.getTime())) {
+						assertEquals(expression + " in " + zone + " after " + date.getTime(),
+								expected, generator.next(date));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testPerformance() {
+		Assume.group(TestGroup.PERFORMANCE);
+		// Dense and sparse expressions
+		String[] expressions = {"* * * * * *", "0 0 0 1 1 *"};
+		for (String expression : expressions) {
+			CronSequenceGenerator generator = new CronSequenceGenerator(expression);
+			long javaTime = 0;
+			long calendar = 0;
+			// First round for warm-up only
+			for (int round = 0; round < 2; round++) {
+				Date date = new Date(0);
+				long start = System.nanoTime();
+				for (int i = 0; i < 10000; i++) {
+					date = generator.next(date);
+				}
+				javaTime = System.nanoTime() - start;
+				date = new Date(0);
+				start = System.nanoTime();
+				for (int i = 0; i < 10000; i++) {
+					date = generator.nextWithCalendar(date);
+				}
+				calendar = System.nanoTime() - start;
+			}
+			assertTrue("java.time-based search for \"" + expression + "\" took " + javaTime +
+					"ns, Calendar-based search took " + calendar + "ns", javaTime < calendar);
+		}
+	}
+
 }
@@ -732,6 +732,45 @@ public class DataBinderTests {
 		assertTrue(ObjectUtils.containsElement(disallowedFields, "someMap[key4]"));
 	}
 
+	@Test
+	public void testBindingWithAllowedFieldsAcrossBinders() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			TestBean rod = new TestBean();
+			DataBinder binder = new DataBinder(rod);
+			binder.setAllowedFields("nam*", "someMap[key1]");
+			MutablePropertyValues pvs = new MutablePropertyValues();
+			pvs.add("name", "Rod");
+			pvs.add("age", "32");
+			pvs.add("someMap['key1']", "value1");
+			binder.bind(pvs);
+
+			assertEquals("Rod", rod.getName());
+			assertEquals(0, rod.getAge());
+			assertEquals("value1", rod.getSomeMap().get("key1"));
+			assertArrayEquals(new String[] {"age"}, binder.getBindingResult().getSuppressedFields());
+		}
+
+		TestBean rod = new TestBean();
+		DataBinder binder = new DataBinder(rod);
+		binder.setAllowedFields("nam*", "someMap[key1]");
+		binder.setDisallowedFields("name");
+		MutablePropertyValues pvs = new MutablePropertyValues();
+		pvs.add("name", "Rod");
+		pvs.add("age", "32");
+		binder.bind(pvs);
+		assertNull(rod.getName());
+		assertEquals(0, rod.getAge());
+
+		binder.setAllowedFields("age");
+		binder.setDisallowedFields();
+		pvs = new MutablePropertyValues();
+		pvs.add("name", "Rod");
+		pvs.add("age", "32");
+		binder.bind(pvs);
+		assertNull(rod.getName());
+		assertEquals(32, rod.getAge());
+	}
+
 	/**
 	 * Tests for required field, both null, non-existing and empty strings.
 	 */
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,13 @@ package org.springframework.validation.beanvalidation;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.validation.Validation;
+import javax.validation.Validator;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.NotNull;
 import javax.validation.groups.Default;
@@ -65,6 +72,41 @@ public class MethodValidationTests {
 	}
 
 
+	@Test
+	public void testMethodValidationInterceptorSkipsUnconstrainedMethods() {
+		final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+		final AtomicInteger validatorCalls = new AtomicInteger();
+		Validator countingValidator = (Validator) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[] {Validator.class}, new InvocationHandler() {
+					@Override
+					public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+						validatorCalls.incrementAndGet();
+						try {
+							return method.invoke(validator, args);
+						}
+						catch (InvocationTargetException ex) {
+							throw ex.getTargetException();
+						}
+					}
+				});
+
+		MyValidBean bean = new MyValidBean();
+		ProxyFactory proxyFactory = new ProxyFactory(bean);
+		proxyFactory.addAdvice(new MethodValidationInterceptor(countingValidator));
+		MyValidInterface<?> proxy = (MyValidInterface<?>) proxyFactory.getProxy();
+
+		assertEquals("value", proxy.myUnconstrainedMethod("value"));
+		int introspectionCalls = validatorCalls.get();
+		for (int i = 0; i < 10; i++) {
+			assertNull(proxy.myUnconstrainedMethod(null));
+		}
+		assertEquals(introspectionCalls, validatorCalls.get());
+
+		doTestProxyValidation(proxy);
+		assertTrue(validatorCalls.get() > introspectionCalls);
+	}
+
+
 	private void doTestProxyValidation(MyValidInterface proxy) {
 		assertNotNull(proxy.myValidMethod("value", 5));
 		try {
@@ -132,6 +174,11 @@ public class MethodValidationTests {
 		public String myGenericMethod(String value) {
 			return value;
 		}
+
+		@Override
+		public String myUnconstrainedMethod(String value) {
+			return value;
+		}
 	}
 
 
@@ -143,6 +190,8 @@ public class MethodValidationTests {
 		@Async void myValidAsyncMethod(@NotNull(groups = OtherGroup.class) String arg1, @Max(10) int arg2);
 
 		T myGenericMethod(@NotNull T value);
+
+		String myUnconstrainedMethod(String value);
 	}
 
 
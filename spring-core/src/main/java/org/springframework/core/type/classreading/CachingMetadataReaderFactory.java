@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2012 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -96,14 +96,18 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 		if (getCacheLimit() <= 0) {
 			return super.getMetadataReader(resource);
 		}
+		MetadataReader metadataReader;
 		synchronized (this.metadataReaderCache) {
-			MetadataReader metadataReader = this.metadataReaderCache.get(resource);
-			if (metadataReader == null) {
-				metadataReader = super.getMetadataReader(resource);
+			metadataReader = this.metadataReaderCache.get(resource);
+		}
+		if (metadataReader == null) {
+			// Read outside of the lock, not blocking concurrent lookups for other classes
+			metadataReader = super.getMetadataReader(resource);
+			synchronized (this.metadataReaderCache) {
 				this.metadataReaderCache.put(resource, metadataReader);
 			}
-			return metadataReader;
 		}
+		return metadataReader;
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2014 the original author or authors.
+ * Copyright 2002-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,7 @@ import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.beans.factory.xml.ResourceEntityResolver;
 import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
+import org.springframework.core.task.AsyncTaskExecutor;
 
 /**
  * {@link org.springframework.web.context.WebApplicationContext} implementation
@@ -71,6 +72,20 @@ public class XmlWebApplicationContext extends AbstractRefreshableWebApplicationC
 	public static final String DEFAULT_CONFIG_LOCATION_SUFFIX = ".xml";
 
 
+	private AsyncTaskExecutor documentLoadingExecutor;
+
+
+	/**
+	 * Specify an executor for parsing multiple XML config files concurrently.
+	 * Bean definitions still get registered in the order of the config locations.
+	 * <p>Default is none, parsing one file after the other.
+	 * @since 4.3
+	 * @see XmlBeanDefinitionReader#setDocumentLoadingExecutor
+	 */
+	public void setDocumentLoadingExecutor(AsyncTaskExecutor documentLoadingExecutor) {
+		this.documentLoadingExecutor = documentLoadingExecutor;
+	}
+
 	/**
 	 * Loads the bean definitions via an XmlBeanDefinitionReader.
 	 * @see org.springframework.beans.factory.xml.XmlBeanDefinitionReader
@@ -87,6 +102,7 @@ public class XmlWebApplicationContext extends AbstractRefreshableWebApplicationC
 		beanDefinitionReader.setEnvironment(getEnvironment());
 		beanDefinitionReader.setResourceLoader(this);
 		beanDefinitionReader.setEntityResolver(new ResourceEntityResolver(this));
+		beanDefinitionReader.setDocumentLoadingExecutor(this.documentLoadingExecutor);
 
 		// Allow a subclass to provide custom initialization of the reader,
 		// then proceed with actually loading the bean definitions.
@@ -121,9 +137,7 @@ public class XmlWebApplicationContext extends AbstractRefreshableWebApplicationC
 	protected void loadBeanDefinitions(XmlBeanDefinitionReader reader) throws IOException {
 		String[] configLocations = getConfigLocations();
 		if (configLocations != null) {
-			for (String configLocation : configLocations) {
-				reader.loadBeanDefinitions(configLocation);
-			}
+			reader.loadBeanDefinitions(configLocations);
 		}
 	}
 